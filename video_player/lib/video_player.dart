@@ -35,14 +35,25 @@ class ExtendedVideoPlayerOptions extends VideoPlayerOptions {
     super.allowBackgroundPlayback,
     super.webOptions,
     this.viewType = VideoViewType.textureView,
+    this.positionUpdateInterval = kDefaultPositionUpdateInterval,
   });
 
+  /// The default value of [positionUpdateInterval].
+  static const Duration kDefaultPositionUpdateInterval =
+      Duration(milliseconds: 100);
+
   /// The type of view to use for rendering the video.
   ///
   /// [VideoViewType.textureView] uses Flutter's Texture widget (default).
   /// [VideoViewType.platformView] uses platform-specific views which might
   /// have better performance or additional features on certain platforms.
   final VideoViewType viewType;
+
+  /// How often [VideoPlayerValue.position] is updated while playing.
+  ///
+  /// Platforms that push position updates send one event per interval.
+  /// Others are polled at this rate.
+  final Duration positionUpdateInterval;
 }
 
 VideoPlayerPlatform? _lastVideoPlayerPlatform;
@@ -400,6 +411,7 @@ class VideoPlayerController extends ValueNotifier<VideoPlayerValue> {
   Future<ClosedCaptionFile>? _closedCaptionFileFuture;
   ClosedCaptionFile? _closedCaptionFile;
   Timer? _timer;
+  bool _receivesPositionUpdates = false;
   bool _isDisposed = false;
   Completer<void>? _creatingCompleter;
   StreamSubscription<dynamic>? _eventSubscription;
@@ -476,6 +488,13 @@ class VideoPlayerController extends ValueNotifier<VideoPlayerValue> {
         )) ??
         kUninitializedTextureId;
 
+    // Platforms that push position updates make the polling timer unnecessary.
+    _receivesPositionUpdates =
+        await _videoPlayerPlatform.setPositionUpdateInterval(
+      _textureId,
+      _positionUpdateInterval,
+    );
+
     _creatingCompleter!.complete(null);
     final Completer<void> initializingCompleter = Completer<void>();
 
@@ -529,6 +548,9 @@ class VideoPlayerController extends ValueNotifier<VideoPlayerValue> {
           value = value.copyWith(isBuffering: true);
         case VideoEventType.bufferingEnd:
           value = value.copyWith(isBuffering: false);
+        case VideoEventType.positionUpdate:
+          value = value.copyWith(buffered: event.buffered);
+          _updatePosition(event.position!);
         case VideoEventType.isPlayingStateUpdate:
           if (event.isPlaying ?? false) {
             value =
@@ -544,6 +566,10 @@ class VideoPlayerController extends ValueNotifier<VideoPlayerValue> {
           // No state changes needed for PiP events in the controller
           // The event will be propagated to listeners via isInPictureInPictureModeStream
           break;
+        case VideoEventType.playlistItemChanged:
+          // The position restarts with the new item, which has its own duration.
+          value = value.copyWith(duration: event.duration);
+          break;
         case VideoEventType.unknown:
           break;
       }
@@ -631,19 +657,21 @@ class VideoPlayerController extends ValueNotifier<VideoPlayerValue> {
       await _videoPlayerPlatform.play(_textureId);
 
       _timer?.cancel();
-      _timer = Timer.periodic(
-        const Duration(milliseconds: 100),
-        (Timer timer) async {
-          if (_isDisposed) {
-            return;
-          }
-          final Duration? newPosition = await position;
-          if (newPosition == null) {
-            return;
-          }
-          _updatePosition(newPosition);
-        },
-      );
+      if (!_receivesPositionUpdates) {
+        _timer = Timer.periodic(
+          _positionUpdateInterval,
+          (Timer timer) async {
+            if (_isDisposed) {
+              return;
+            }
+            final Duration? newPosition = await position;
+            if (newPosition == null) {
+              return;
+            }
+            _updatePosition(newPosition);
+          },
+        );
+      }
 
       // This ensures that the correct playback speed is always applied when
       // playing back. This is necessary because we do not set playback speed
@@ -835,6 +863,13 @@ class VideoPlayerController extends ValueNotifier<VideoPlayerValue> {
 
   bool get _isDisposedOrNotInitialized => _isDisposed || !value.isInitialized;
 
+  Duration get _positionUpdateInterval {
+    final VideoPlayerOptions? options = videoPlayerOptions;
+    return options is ExtendedVideoPlayerOptions
+        ? options.positionUpdateInterval
+        : ExtendedVideoPlayerOptions.kDefaultPositionUpdateInterval;
+  }
+
   /// Enters Picture-in-Picture mode if the device and platform support it.
   ///
   /// Returns true if PiP mode was successfully entered, false otherwise.
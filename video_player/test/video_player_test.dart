@@ -1081,6 +1081,41 @@ void main() {
     expect(positions[2] - positions[1], greaterThanOrEqualTo(updatesInterval));
   });
 
+  test('uses pushed position updates instead of polling', () async {
+    fakeVideoPlayerPlatform.pushesPositionUpdates = true;
+    final VideoPlayerController controller = VideoPlayerController.networkUrl(
+      _localhostUri,
+      videoPlayerOptions: ExtendedVideoPlayerOptions(
+        positionUpdateInterval: const Duration(milliseconds: 250),
+      ),
+    );
+    addTearDown(controller.dispose);
+
+    await controller.initialize();
+    expect(
+      fakeVideoPlayerPlatform.positionUpdateIntervals[controller.textureId],
+      const Duration(milliseconds: 250),
+    );
+
+    await controller.play();
+    await Future<void>.delayed(const Duration(milliseconds: 300));
+    expect(fakeVideoPlayerPlatform.calls, isNot(contains('position')));
+
+    final DurationRange buffered = DurationRange(
+      Duration.zero,
+      const Duration(milliseconds: 800),
+    );
+    fakeVideoPlayerPlatform.streams[controller.textureId]!.add(VideoEvent(
+      eventType: VideoEventType.positionUpdate,
+      position: const Duration(milliseconds: 500),
+      buffered: <DurationRange>[buffered],
+    ));
+    await Future<void>.delayed(Duration.zero);
+
+    expect(controller.value.position, const Duration(milliseconds: 500));
+    expect(controller.value.buffered, <DurationRange>[buffered]);
+  });
+
   group('DurationRange', () {
     test('uses given values', () {
       const Duration start = Duration(seconds: 2);
@@ -1439,7 +1474,9 @@ class FakeVideoPlayerPlatform extends VideoPlayerPlatform {
   final Map<int, StreamController<VideoEvent>> streams =
       <int, StreamController<VideoEvent>>{};
   bool forceInitError = false;
+  bool pushesPositionUpdates = false;
   int nextTextureId = 0;
+  final Map<int, Duration> positionUpdateIntervals = <int, Duration>{};
   final Map<int, Duration> _positions = <int, Duration>{};
   final Map<int, VideoPlayerWebOptions> webOptions =
       <int, VideoPlayerWebOptions>{};
@@ -1494,6 +1531,14 @@ class FakeVideoPlayerPlatform extends VideoPlayerPlatform {
     return _positions[textureId] ?? Duration.zero;
   }
 
+  @override
+  Future<bool> setPositionUpdateInterval(
+      int textureId, Duration interval) async {
+    calls.add('setPositionUpdateInterval');
+    positionUpdateIntervals[textureId] = interval;
+    return pushesPositionUpdates;
+  }
+
   @override
   Future<void> seekTo(int textureId, Duration position) async {
     calls.add('seekTo');
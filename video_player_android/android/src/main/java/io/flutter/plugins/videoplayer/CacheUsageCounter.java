@@ -0,0 +1,76 @@
+// Copyright 2013 The Flutter Authors. All rights reserved.
+// Use of this source code is governed by a BSD-style license that can be
+// found in the LICENSE file.
+
+package io.flutter.plugins.videoplayer;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.OptIn;
+import androidx.media3.common.util.UnstableApi;
+import androidx.media3.datasource.DataSource;
+import androidx.media3.datasource.DataSpec;
+import androidx.media3.datasource.TransferListener;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Counts the bytes a player read from the cache and from the network.
+ *
+ * <p>{@link androidx.media3.datasource.cache.CacheDataSource} forwards transfer events of both its
+ * cache and its upstream source, which report themselves as local and network transfers
+ * respectively. Transfers are also added to the process-wide totals in the {@link
+ * MetricsRegistry}.
+ */
+@OptIn(markerClass = UnstableApi.class)
+final class CacheUsageCounter implements TransferListener {
+  private static final MetricsRegistry.Counter CACHE_BYTES =
+      MetricsRegistry.getInstance().counter("cache.hitBytes");
+  private static final MetricsRegistry.Counter NETWORK_BYTES =
+      MetricsRegistry.getInstance().counter("cache.networkBytes");
+
+  private final AtomicLong cachedBytesRead = new AtomicLong();
+  private final AtomicLong networkBytesRead = new AtomicLong();
+
+  /**
+   * Returns a factory whose data sources report their transfers to this counter.
+   *
+   * @param factory the factory to wrap.
+   * @return the wrapping factory.
+   */
+  @NonNull
+  DataSource.Factory wrap(@NonNull DataSource.Factory factory) {
+    return () -> {
+      DataSource dataSource = factory.createDataSource();
+      dataSource.addTransferListener(this);
+      return dataSource;
+    };
+  }
+
+  /** Returns the number of bytes read from the cache. */
+  long getCachedBytesRead() {
+    return cachedBytesRead.get();
+  }
+
+  /** Returns the number of bytes read from the network. */
+  long getNetworkBytesRead() {
+    return networkBytesRead.get();
+  }
+
+  @Override
+  public void onTransferInitializing(
+      @NonNull DataSource source, @NonNull DataSpec dataSpec, boolean isNetwork) {}
+
+  @Override
+  public void onTransferStart(
+      @NonNull DataSource source, @NonNull DataSpec dataSpec, boolean isNetwork) {}
+
+  @Override
+  public void onBytesTransferred(
+      @NonNull DataSource source, @NonNull DataSpec dataSpec, boolean isNetwork, int bytes) {
+    (isNetwork ? networkBytesRead : cachedBytesRead).addAndGet(bytes);
+    (isNetwork ? NETWORK_BYTES : CACHE_BYTES).add(bytes);
+  }
+
+  @Override
+  public void onTransferEnd(
+      @NonNull DataSource source, @NonNull DataSpec dataSpec, boolean isNetwork) {}
+}
@@ -10,27 +10,24 @@ import androidx.annotation.NonNull;
 import androidx.annotation.Nullable;
 import androidx.media3.common.MediaItem;
 import androidx.media3.common.MimeTypes;
-import androidx.media3.common.C;
 import androidx.media3.datasource.DataSource;
-import androidx.media3.datasource.DefaultDataSource;
-import androidx.media3.datasource.DefaultHttpDataSource;
 import androidx.media3.exoplayer.source.DefaultMediaSourceFactory;
 import androidx.media3.exoplayer.source.MediaSource;
-import androidx.media3.exoplayer.drm.DrmSessionManager;
-import androidx.media3.exoplayer.drm.DrmSessionManagerProvider;
-import java.io.IOException;
 import java.util.Map;
 
 /**
  * A video asset that uses the download cache for offline playback.
+ *
+ * <p>Partially downloaded videos are played from the cached spans, fetching only the missing
+ * ranges from the network.
  */
 public class CachedHttpVideoAsset extends VideoAsset {
-    private static final String DEFAULT_USER_AGENT = "ExoPlayer";
-    private static final String HEADER_USER_AGENT = "User-Agent";
-    
     @Nullable private final String downloadId;
     @NonNull private final StreamingFormat streamingFormat;
     @NonNull private final Map<String, String> httpHeaders;
+    // The media source factory of this asset, and the shared factory it was built on
+    @Nullable private MediaSource.Factory mediaSourceFactory;
+    @Nullable private DataSource.Factory mediaSourceSharedFactory;
 
     /**
      * Creates a new video asset with download cache support.
@@ -79,83 +76,27 @@ public class CachedHttpVideoAsset extends VideoAsset {
         // Get the Video Cache Manager
         VideoCacheManager cacheManager = VideoCacheManager.getInstance(context);
         
-        // If this is a cached video, create a special MediaSource
-        if (downloadId != null) {
-            // Get the mime type for this video based on streaming format
-            String mimeType = null;
-            @C.ContentType int contentType = C.CONTENT_TYPE_OTHER;
-            
-            switch (streamingFormat) {
-                case SMOOTH:
-                    mimeType = MimeTypes.APPLICATION_SS;
-                    contentType = C.CONTENT_TYPE_SS;
-                    break;
-                case DYNAMIC_ADAPTIVE:
-                    mimeType = MimeTypes.APPLICATION_MPD;
-                    contentType = C.CONTENT_TYPE_DASH;
-                    break;
-                case HTTP_LIVE:
-                    mimeType = MimeTypes.APPLICATION_M3U8;
-                    contentType = C.CONTENT_TYPE_HLS;
-                    break;
-            }
-            
-            // For cached videos, we create a media source factory that respects the streaming format
-            final String finalMimeType = mimeType;
-            final int finalContentType = contentType;
-            
-            return new MediaSource.Factory() {
-                @Override
-                public MediaSource createMediaSource(MediaItem mediaItem) {
-                    // Set mime type on the media item if available
-                    if (finalMimeType != null) {
-                        mediaItem = mediaItem.buildUpon().setMimeType(finalMimeType).build();
-                    }
-                    
-                    // Return appropriate media source from cache manager
-                    return cacheManager.createMediaSource(context, assetUrl);
-                }
-                
-                @Override
-                public MediaSource.Factory setDrmSessionManagerProvider(
-                        @Nullable DrmSessionManagerProvider provider) {
-                    return this;
-                }
-
-                @Override
-                public int[] getSupportedTypes() {
-                    if (finalContentType != C.CONTENT_TYPE_OTHER) {
-                        return new int[] { finalContentType };
-                    }
-                    return new DefaultMediaSourceFactory(context).getSupportedTypes();
-                }
-                
-                public MediaSource.Factory setDrmSessionManager(
-                        @Nullable DrmSessionManager drmSessionManager) {
-                    return this;
-                }
-                
-                public MediaSource.Factory setLoadErrorHandlingPolicy(
-                        @Nullable androidx.media3.exoplayer.upstream.LoadErrorHandlingPolicy policy) {
-                    return this;
-                }
-            };
-        }
-        
-        // Otherwise, use the normal HTTP behavior similar to HttpVideoAsset
-        String userAgent = DEFAULT_USER_AGENT;
-        if (!httpHeaders.isEmpty() && httpHeaders.containsKey(HEADER_USER_AGENT)) {
-            userAgent = httpHeaders.get(HEADER_USER_AGENT);
-        }
-        
-        DefaultHttpDataSource.Factory initialFactory = new DefaultHttpDataSource.Factory();
-        initialFactory.setUserAgent(userAgent).setAllowCrossProtocolRedirects(true);
+        // If this video is fully or partially downloaded, read the cached spans from disk and
+        // fetch only the missing ones. Otherwise, use the normal HTTP behavior similar to
+        // HttpVideoAsset. Both stacks are shared by all players; only the headers of this video
+        // are added on top.
+        DataSource.Factory sharedFactory = downloadId != null
+                ? cacheManager.getCachedPlaybackDataSourceFactory()
+                : cacheManager.getStreamingDataSourceFactory();
         
-        if (!httpHeaders.isEmpty()) {
-            initialFactory.setDefaultRequestProperties(httpHeaders);
+        // Reused by every player of this asset until the shared factory is replaced by a
+        // reconfiguration of streaming caching
+        if (mediaSourceFactory != null && mediaSourceSharedFactory == sharedFactory) {
+            return mediaSourceFactory;
         }
+        DataSource.Factory dataSourceFactory =
+                new HttpHeaderResolver(httpHeaders).wrap(sharedFactory);
         
-        DataSource.Factory dataSourceFactory = new DefaultDataSource.Factory(context, initialFactory);
-        return new DefaultMediaSourceFactory(context).setDataSourceFactory(dataSourceFactory);
+        // The media item carries the MIME type of the streaming format, so the default factory
+        // picks the matching media source.
+        mediaSourceFactory = new DefaultMediaSourceFactory(context)
+                .setDataSourceFactory(cacheUsage.wrap(dataSourceFactory));
+        mediaSourceSharedFactory = sharedFactory;
+        return mediaSourceFactory;
     }
-} 
\ No newline at end of file
+}
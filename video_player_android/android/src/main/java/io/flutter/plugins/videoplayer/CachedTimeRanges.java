@@ -0,0 +1,179 @@
+// Copyright 2013 The Flutter Authors. All rights reserved.
+// Use of this source code is governed by a BSD-style license that can be
+// found in the LICENSE file.
+
+package io.flutter.plugins.videoplayer;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+import androidx.annotation.OptIn;
+import androidx.media3.common.C;
+import androidx.media3.common.util.UnstableApi;
+import androidx.media3.datasource.cache.Cache;
+import androidx.media3.datasource.cache.CacheSpan;
+import androidx.media3.datasource.cache.ContentMetadata;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.Executor;
+
+/**
+ * Tracks which parts of a progressive video are in the cache, as time ranges.
+ *
+ * <p>The cached spans are read once, on a background executor since the cache may be busy, and
+ * then kept current from the {@link Cache.Listener} callbacks, so queries never touch the cache.
+ * Nothing is reported until the spans have been read. Bytes are mapped to time linearly, which is
+ * exact for constant bitrate media and a close estimate otherwise.
+ *
+ * <p>Span callbacks arrive on loader threads, while queries are made on the main thread. The cache
+ * holds its own lock while calling the listener, so the cache is never called while holding the
+ * lock of this object.
+ */
+@OptIn(markerClass = UnstableApi.class)
+final class CachedTimeRanges implements Cache.Listener {
+  private final Cache cache;
+  private final String key;
+  private final Executor executor;
+  private boolean released;
+  // Cached spans, position to length. Spans of one key never overlap.
+  private final TreeMap<Long, Long> spans = new TreeMap<>();
+  // Positions changed by callbacks before the initial snapshot was applied, which therefore must
+  // not be overwritten by it. Null once the snapshot has been applied.
+  @Nullable private Set<Long> changedBeforeSnapshot = new HashSet<>();
+  // Spans merged into contiguous byte ranges, rebuilt on every change so that queries allocate
+  // nothing.
+  private long[] mergedStarts = new long[4];
+  private long[] mergedEnds = new long[4];
+  private int mergedCount;
+  private long contentLength = C.LENGTH_UNSET;
+
+  /**
+   * Starts tracking the cached spans of a key.
+   *
+   * @param cache the cache holding the content.
+   * @param key the cache key of the content, which is its URL unless a custom key is used.
+   * @param executor runs the calls into the cache, in submission order.
+   */
+  CachedTimeRanges(@NonNull Cache cache, @NonNull String key, @NonNull Executor executor) {
+    this.cache = cache;
+    this.key = key;
+    this.executor = executor;
+    executor.execute(this::start);
+  }
+
+  /** Stops tracking. The ranges are no longer updated afterwards. */
+  void release() {
+    synchronized (this) {
+      released = true;
+    }
+    executor.execute(() -> cache.removeListener(key, this));
+  }
+
+  private void start() {
+    synchronized (this) {
+      if (released) {
+        return;
+      }
+    }
+    NavigableSet<CacheSpan> snapshot = cache.addListener(key, this);
+    long snapshotContentLength = readContentLength();
+    synchronized (this) {
+      for (CacheSpan span : snapshot) {
+        if (!changedBeforeSnapshot.contains(span.position)) {
+          spans.put(span.position, span.length);
+        }
+      }
+      changedBeforeSnapshot = null;
+      updateContentLength(snapshotContentLength);
+      rebuildMergedRanges();
+    }
+  }
+
+  /**
+   * Copies the cached ranges, in milliseconds and in ascending order, as start/end pairs.
+   *
+   * <p>Nothing is copied while the content length is unknown. If there are more ranges than fit,
+   * the last ones are left out.
+   *
+   * @param durationMs duration of the video, which the content length is mapped to.
+   * @param ranges receives the start/end pairs.
+   * @param maxRanges the maximum number of ranges to copy.
+   * @return the number of ranges copied.
+   */
+  synchronized int copyTimeRanges(long durationMs, @NonNull long[] ranges, int maxRanges) {
+    if (contentLength <= 0 || durationMs <= 0) {
+      return 0;
+    }
+    int count = Math.min(mergedCount, maxRanges);
+    for (int i = 0; i < count; i++) {
+      ranges[2 * i] = mergedStarts[i] * durationMs / contentLength;
+      ranges[2 * i + 1] = Math.min(mergedEnds[i], contentLength) * durationMs / contentLength;
+    }
+    return count;
+  }
+
+  @Override
+  public void onSpanAdded(@NonNull Cache cache, @NonNull CacheSpan span) {
+    long spanContentLength = readContentLength();
+    synchronized (this) {
+      spans.put(span.position, span.length);
+      if (changedBeforeSnapshot != null) {
+        changedBeforeSnapshot.add(span.position);
+        return;
+      }
+      updateContentLength(spanContentLength);
+      rebuildMergedRanges();
+    }
+  }
+
+  @Override
+  public synchronized void onSpanRemoved(@NonNull Cache cache, @NonNull CacheSpan span) {
+    Long length = spans.get(span.position);
+    if (length != null && length == span.length) {
+      spans.remove(span.position);
+    }
+    if (changedBeforeSnapshot != null) {
+      changedBeforeSnapshot.add(span.position);
+      return;
+    }
+    rebuildMergedRanges();
+  }
+
+  @Override
+  public void onSpanTouched(
+      @NonNull Cache cache, @NonNull CacheSpan oldSpan, @NonNull CacheSpan newSpan) {
+    // Touching only renames the span file; the cached bytes stay the same.
+  }
+
+  // Must not be called while holding the lock of this object.
+  private long readContentLength() {
+    return ContentMetadata.getContentLength(cache.getContentMetadata(key));
+  }
+
+  private void updateContentLength(long contentLength) {
+    if (this.contentLength == C.LENGTH_UNSET) {
+      this.contentLength = contentLength;
+    }
+  }
+
+  private void rebuildMergedRanges() {
+    if (mergedStarts.length < spans.size()) {
+      mergedStarts = new long[spans.size()];
+      mergedEnds = new long[spans.size()];
+    }
+    mergedCount = 0;
+    for (Map.Entry<Long, Long> span : spans.entrySet()) {
+      long start = span.getKey();
+      long end = start + span.getValue();
+      if (mergedCount > 0 && mergedEnds[mergedCount - 1] >= start) {
+        mergedEnds[mergedCount - 1] = Math.max(mergedEnds[mergedCount - 1], end);
+      } else {
+        mergedStarts[mergedCount] = start;
+        mergedEnds[mergedCount] = end;
+        mergedCount++;
+      }
+    }
+  }
+}
@@ -0,0 +1,466 @@
+// Copyright 2013 The Flutter Authors. All rights reserved.
+// Use of this source code is governed by a BSD-style license that can be
+// found in the LICENSE file.
+
+package io.flutter.plugins.videoplayer;
+
+import static androidx.media3.common.util.Assertions.checkNotNull;
+
+import android.os.SystemClock;
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+import androidx.annotation.OptIn;
+import androidx.media3.common.C;
+import androidx.media3.common.util.UnstableApi;
+import androidx.media3.common.util.Util;
+import androidx.media3.datasource.DataSource;
+import androidx.media3.datasource.DataSpec;
+import androidx.media3.datasource.cache.Cache;
+import androidx.media3.datasource.cache.CacheDataSource;
+import androidx.media3.datasource.cache.CacheKeyFactory;
+import androidx.media3.datasource.cache.CacheWriter;
+import androidx.media3.datasource.cache.ContentMetadata;
+import androidx.media3.exoplayer.offline.DefaultDownloaderFactory;
+import androidx.media3.exoplayer.offline.DownloadRequest;
+import androidx.media3.exoplayer.offline.Downloader;
+import androidx.media3.exoplayer.offline.DownloaderFactory;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Downloads a progressive video as byte range chunks fetched over several connections at once.
+ *
+ * <p>The first chunk is requested without a length, so that the cache learns the length of the
+ * video; the other chunks are then fetched by a fixed number of workers, each writing its range
+ * into the cache. A resumed download skips the chunks that are fully cached and fetches only the
+ * missing bytes of the others. If the server does not report a length, the whole video is read by
+ * the first request.
+ */
+@OptIn(markerClass = UnstableApi.class)
+final class ChunkedProgressiveDownloader implements Downloader {
+  /** Default size of a chunk in bytes. */
+  static final long DEFAULT_CHUNK_BYTES = 4L * 1024 * 1024;
+
+  /** Default number of chunks fetched at once. */
+  static final int DEFAULT_PARALLELISM = 4;
+
+  @NonNull private final CacheDataSource.Factory cacheDataSourceFactory;
+  @NonNull private final Cache cache;
+  @NonNull private final DataSpec dataSpec;
+  @NonNull private final String cacheKey;
+  private final long chunkBytes;
+  private final int parallelism;
+  @NonNull private final AtomicLong bytesDownloaded = new AtomicLong();
+  // Writers of the chunks in flight, canceled together.
+  @NonNull
+  private final Set<CacheWriter> activeWriters = Collections.synchronizedSet(new HashSet<>());
+  @Nullable private ProgressListener progressListener;
+  private long contentLength = C.LENGTH_UNSET;
+  private volatile boolean isStopped;
+
+  /**
+   * Creates a downloader.
+   *
+   * @param request the download request of a progressive video.
+   * @param cacheDataSourceFactory factory for the data sources writing to the cache.
+   * @param chunkBytes size of a chunk in bytes.
+   * @param parallelism number of chunks fetched at once.
+   */
+  ChunkedProgressiveDownloader(
+      @NonNull DownloadRequest request,
+      @NonNull CacheDataSource.Factory cacheDataSourceFactory,
+      long chunkBytes,
+      int parallelism) {
+    if (chunkBytes <= 0 || parallelism < 1) {
+      throw new IllegalArgumentException(
+          "Invalid chunking: " + chunkBytes + " bytes, parallelism " + parallelism);
+    }
+    this.cacheDataSourceFactory = cacheDataSourceFactory;
+    this.cache = checkNotNull(cacheDataSourceFactory.getCache());
+    this.dataSpec =
+        new DataSpec.Builder()
+            .setUri(request.uri)
+            .setKey(request.customCacheKey)
+            .setFlags(DataSpec.FLAG_ALLOW_CACHE_FRAGMENTATION)
+            .build();
+    this.cacheKey = cacheDataSourceFactory.getCacheKeyFactory().buildCacheKey(dataSpec);
+    this.chunkBytes = chunkBytes;
+    this.parallelism = parallelism;
+  }
+
+  @Override
+  public void download(@Nullable ProgressListener progressListener)
+      throws IOException, InterruptedException {
+    this.progressListener = progressListener;
+    contentLength = getCachedContentLength();
+    if (contentLength == C.LENGTH_UNSET) {
+      // Reports the start, so that listeners see every byte of the first chunk.
+      onBytesCached(0);
+      cacheFirstChunk();
+      contentLength = getCachedContentLength();
+      if (contentLength == C.LENGTH_UNSET || isStopped) {
+        return;
+      }
+    }
+
+    // Fully cached chunks are skipped; partially cached ones only fetch their holes.
+    List<DataSpec> pendingChunks = new ArrayList<>();
+    long cachedBytes = 0;
+    for (long position = 0; position < contentLength; position += chunkBytes) {
+      long length = Math.min(chunkBytes, contentLength - position);
+      long chunkCachedBytes = cache.getCachedBytes(cacheKey, position, length);
+      cachedBytes += chunkCachedBytes;
+      if (chunkCachedBytes < length) {
+        pendingChunks.add(dataSpec.subrange(position, length));
+      }
+    }
+    bytesDownloaded.set(cachedBytes);
+    onBytesCached(0);
+    if (pendingChunks.isEmpty()) {
+      return;
+    }
+
+    int workerCount = Math.min(parallelism, pendingChunks.size());
+    ExecutorService workers = Executors.newFixedThreadPool(workerCount);
+    AtomicInteger nextChunk = new AtomicInteger();
+    List<Future<Void>> results = new ArrayList<>();
+    for (int i = 0; i < workerCount; i++) {
+      results.add(
+          workers.submit(
+              () -> {
+                byte[] buffer = new byte[CacheWriter.DEFAULT_BUFFER_SIZE_BYTES];
+                int index = nextChunk.getAndIncrement();
+                while (!isStopped && index < pendingChunks.size()) {
+                  cacheChunk(pendingChunks.get(index), buffer);
+                  index = nextChunk.getAndIncrement();
+                }
+                return null;
+              }));
+    }
+    try {
+      for (Future<Void> result : results) {
+        result.get();
+      }
+    } catch (ExecutionException e) {
+      // The first failure stops the other workers and fails the download; DownloadManager
+      // retries it later from the cached chunks.
+      stop();
+      Throwable cause = e.getCause();
+      if (cause instanceof IOException) {
+        throw (IOException) cause;
+      } else if (cause instanceof RuntimeException) {
+        throw (RuntimeException) cause;
+      } else if (cause instanceof Error) {
+        throw (Error) cause;
+      }
+      throw new IOException(cause);
+    } catch (InterruptedException e) {
+      stop();
+      throw e;
+    } finally {
+      workers.shutdownNow();
+    }
+  }
+
+  @Override
+  public void cancel() {
+    stop();
+  }
+
+  @Override
+  public void remove() {
+    cache.removeResource(cacheKey);
+  }
+
+  /** Returns the size of a chunk in bytes. */
+  long getChunkBytes() {
+    return chunkBytes;
+  }
+
+  /** Returns the number of chunks fetched at once. */
+  int getParallelism() {
+    return parallelism;
+  }
+
+  private long getCachedContentLength() {
+    return ContentMetadata.getContentLength(cache.getContentMetadata(cacheKey));
+  }
+
+  // Reads the first chunk through a request without length, which stores the length reported by
+  // the server in the cache. While no length is known, reads on to the end of the video.
+  private void cacheFirstChunk() throws IOException {
+    CacheDataSource dataSource = cacheDataSourceFactory.createDataSourceForDownloading();
+    byte[] buffer = new byte[CacheWriter.DEFAULT_BUFFER_SIZE_BYTES];
+    long position = 0;
+    try {
+      dataSource.open(dataSpec);
+      while (!isStopped
+          && (position < chunkBytes || getCachedContentLength() == C.LENGTH_UNSET)) {
+        int readLength =
+            position < chunkBytes
+                ? (int) Math.min(buffer.length, chunkBytes - position)
+                : buffer.length;
+        int bytesRead = dataSource.read(buffer, 0, readLength);
+        if (bytesRead == C.RESULT_END_OF_INPUT) {
+          break;
+        }
+        position += bytesRead;
+        onBytesCached(bytesRead);
+      }
+    } finally {
+      dataSource.close();
+    }
+  }
+
+  private void cacheChunk(@NonNull DataSpec chunk, @NonNull byte[] buffer) throws IOException {
+    CacheWriter writer =
+        new CacheWriter(
+            cacheDataSourceFactory.createDataSourceForDownloading(),
+            chunk,
+            buffer,
+            (requestLength, bytesCached, newBytesCached) -> onBytesCached(newBytesCached));
+    activeWriters.add(writer);
+    try {
+      // Checked after registering, so that a concurrent stop() either sees the writer or is seen.
+      if (!isStopped) {
+        writer.cache();
+      }
+    } finally {
+      activeWriters.remove(writer);
+    }
+  }
+
+  private void stop() {
+    isStopped = true;
+    synchronized (activeWriters) {
+      for (CacheWriter writer : activeWriters) {
+        writer.cancel();
+      }
+    }
+  }
+
+  // Called from the workers; DownloadManager only stores the reported values.
+  private synchronized void onBytesCached(long newBytesCached) {
+    long downloaded = bytesDownloaded.addAndGet(newBytesCached);
+    if (progressListener != null) {
+      progressListener.onProgress(
+          contentLength,
+          downloaded,
+          contentLength == C.LENGTH_UNSET
+              ? C.PERCENTAGE_UNSET
+              : downloaded * 100f / contentLength);
+    }
+  }
+
+  /**
+   * Creates {@link ChunkedProgressiveDownloader} for progressive videos and the default downloaders
+   * for adaptive streams.
+   *
+   * <p>The chunking can be changed at any time; it applies to downloads started, or resumed,
+   * afterwards.
+   */
+  static final class Factory implements DownloaderFactory {
+    /** Receives the cache keys that downloads write under. */
+    interface CacheKeyListener {
+      /**
+       * Called on a download thread whenever a download computes a cache key, e.g. once for the
+       * video of a progressive download and once per segment of an adaptive one.
+       *
+       * @param downloadId the {@link DownloadRequest#id} of the download.
+       * @param key the cache key.
+       */
+      void onCacheKey(@NonNull String downloadId, @NonNull String key);
+    }
+
+    /** Receives what each run of a download fetched. */
+    interface RunListener {
+      /**
+       * Called on a download thread whenever a run of a download ends, that is when {@link
+       * Downloader#download} returns or throws. A download that fails, is preempted or is paused
+       * runs again later, so the time in between is not part of any run.
+       *
+       * @param downloadId the {@link DownloadRequest#id} of the download.
+       * @param bytes the number of bytes the run added to the download.
+       * @param durationMs how long the run took.
+       */
+      void onRunEnded(@NonNull String downloadId, long bytes, long durationMs);
+    }
+
+    @NonNull private final Cache cache;
+    @NonNull private final DataSource.Factory upstreamFactory;
+    @NonNull private final Executor executor;
+    @Nullable private volatile CacheKeyListener cacheKeyListener;
+    @Nullable private volatile RunListener runListener;
+    private volatile long chunkBytes = DEFAULT_CHUNK_BYTES;
+    private volatile int parallelism = DEFAULT_PARALLELISM;
+
+    /**
+     * Creates a factory.
+     *
+     * @param cache the cache that downloads write to.
+     * @param upstreamFactory factory for the data sources reading from the network.
+     * @param executor executor of the default downloaders, which fetch as many segments of an
+     *     adaptive stream at once as it has threads.
+     */
+    Factory(
+        @NonNull Cache cache,
+        @NonNull DataSource.Factory upstreamFactory,
+        @NonNull Executor executor) {
+      this.cache = cache;
+      this.upstreamFactory = upstreamFactory;
+      this.executor = executor;
+    }
+
+    /**
+     * Sets the listener of the cache keys that downloads created afterwards write under.
+     *
+     * @param cacheKeyListener the listener, or null to stop reporting keys.
+     */
+    void setCacheKeyListener(@Nullable CacheKeyListener cacheKeyListener) {
+      this.cacheKeyListener = cacheKeyListener;
+    }
+
+    /**
+     * Sets the listener of the runs of downloads created afterwards.
+     *
+     * @param runListener the listener, or null to stop reporting runs.
+     */
+    void setRunListener(@Nullable RunListener runListener) {
+      this.runListener = runListener;
+    }
+
+    /**
+     * Sets how progressive videos are split.
+     *
+     * @param chunkBytes size of a chunk in bytes.
+     * @param parallelism number of chunks fetched at once; 1 downloads progressive videos with a
+     *     single request.
+     */
+    void setChunking(long chunkBytes, int parallelism) {
+      if (chunkBytes <= 0 || parallelism < 1) {
+        throw new IllegalArgumentException(
+            "Invalid chunking: " + chunkBytes + " bytes, parallelism " + parallelism);
+      }
+      // Read separately by createDownloader; a download racing this call may mix old and new.
+      this.chunkBytes = chunkBytes;
+      this.parallelism = parallelism;
+    }
+
+    @NonNull
+    @Override
+    public Downloader createDownloader(@NonNull DownloadRequest request) {
+      Downloader downloader = createUntimedDownloader(request);
+      RunListener runListener = this.runListener;
+      return runListener != null
+          ? new TimedDownloader(downloader, request.id, runListener)
+          : downloader;
+    }
+
+    @NonNull
+    private Downloader createUntimedDownloader(@NonNull DownloadRequest request) {
+      CacheDataSource.Factory cacheDataSourceFactory = buildCacheDataSourceFactory(request.id);
+      int parallelism = this.parallelism;
+      @C.ContentType
+      int contentType = Util.inferContentTypeForUriAndMimeType(request.uri, request.mimeType);
+      if (contentType != C.CONTENT_TYPE_OTHER || parallelism == 1) {
+        return new DefaultDownloaderFactory(cacheDataSourceFactory, executor)
+            .createDownloader(request);
+      }
+      return new ChunkedProgressiveDownloader(
+          request, cacheDataSourceFactory, chunkBytes, parallelism);
+    }
+
+    // Built for each download, so that the keys it writes under are reported with its ID.
+    private CacheDataSource.Factory buildCacheDataSourceFactory(@NonNull String downloadId) {
+      CacheDataSource.Factory cacheDataSourceFactory =
+          new CacheDataSource.Factory()
+              .setCache(cache)
+              .setUpstreamDataSourceFactory(upstreamFactory);
+      CacheKeyListener cacheKeyListener = this.cacheKeyListener;
+      if (cacheKeyListener != null) {
+        cacheDataSourceFactory.setCacheKeyFactory(
+            dataSpec -> {
+              String key = CacheKeyFactory.DEFAULT.buildCacheKey(dataSpec);
+              cacheKeyListener.onCacheKey(downloadId, key);
+              return key;
+            });
+      }
+      return cacheDataSourceFactory;
+    }
+
+    /** Reports each run of a downloader to a {@link RunListener}. */
+    private static final class TimedDownloader implements Downloader, ProgressListener {
+      @NonNull private final Downloader downloader;
+      @NonNull private final String downloadId;
+      @NonNull private final RunListener runListener;
+      @Nullable private ProgressListener progressListener;
+      private long runStartBytes;
+      private long runEndBytes;
+
+      TimedDownloader(
+          @NonNull Downloader downloader,
+          @NonNull String downloadId,
+          @NonNull RunListener runListener) {
+        this.downloader = downloader;
+        this.downloadId = downloadId;
+        this.runListener = runListener;
+      }
+
+      @Override
+      public void download(@Nullable ProgressListener progressListener)
+          throws IOException, InterruptedException {
+        synchronized (this) {
+          this.progressListener = progressListener;
+          runStartBytes = C.LENGTH_UNSET;
+          runEndBytes = C.LENGTH_UNSET;
+        }
+        long startRealtimeMs = SystemClock.elapsedRealtime();
+        try {
+          downloader.download(this);
+        } finally {
+          long durationMs = SystemClock.elapsedRealtime() - startRealtimeMs;
+          long bytes;
+          synchronized (this) {
+            // The first report of a run counts the bytes cached before it.
+            bytes = runStartBytes == C.LENGTH_UNSET ? 0 : Math.max(0, runEndBytes - runStartBytes);
+          }
+          runListener.onRunEnded(downloadId, bytes, durationMs);
+        }
+      }
+
+      // Called from the threads of the wrapped downloader.
+      @Override
+      public synchronized void onProgress(
+          long contentLength, long bytesDownloaded, float percentDownloaded) {
+        if (runStartBytes == C.LENGTH_UNSET) {
+          runStartBytes = bytesDownloaded;
+        }
+        runEndBytes = bytesDownloaded;
+        if (progressListener != null) {
+          progressListener.onProgress(contentLength, bytesDownloaded, percentDownloaded);
+        }
+      }
+
+      @Override
+      public void cancel() {
+        downloader.cancel();
+      }
+
+      @Override
+      public void remove() {
+        downloader.remove();
+      }
+    }
+  }
+}
@@ -0,0 +1,56 @@
+// Copyright 2013 The Flutter Authors. All rights reserved.
+// Use of this source code is governed by a BSD-style license that can be
+// found in the LICENSE file.
+
+package io.flutter.plugins.videoplayer;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.VisibleForTesting;
+import io.flutter.plugin.common.EventChannel;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Forwards download progress pushed by {@link VideoCacheManager} to an {@link EventChannel}.
+ *
+ * <p>The listener is only registered while the Dart side listens, so no progress is queued or
+ * computed for an idle channel.
+ */
+final class DownloadProgressEventCallbacks implements VideoCacheManager.ProgressListener {
+  private final EventChannel.EventSink eventSink;
+
+  static void bindTo(
+      @NonNull EventChannel eventChannel, @NonNull VideoCacheManager cacheManager) {
+    eventChannel.setStreamHandler(
+        new EventChannel.StreamHandler() {
+          @Override
+          public void onListen(Object arguments, EventChannel.EventSink events) {
+            cacheManager.setProgressListener(withSink(events));
+          }
+
+          @Override
+          public void onCancel(Object arguments) {
+            cacheManager.setProgressListener(null);
+          }
+        });
+  }
+
+  @VisibleForTesting
+  static DownloadProgressEventCallbacks withSink(EventChannel.EventSink eventSink) {
+    return new DownloadProgressEventCallbacks(eventSink);
+  }
+
+  private DownloadProgressEventCallbacks(EventChannel.EventSink eventSink) {
+    this.eventSink = eventSink;
+  }
+
+  @Override
+  public void onProgress(@NonNull String url, double progress, long bytesDownloaded, int state) {
+    Map<String, Object> event = new HashMap<>();
+    event.put("url", url);
+    event.put("progress", progress);
+    event.put("bytesDownloaded", bytesDownloaded);
+    event.put("state", state);
+    eventSink.success(event);
+  }
+}
@@ -0,0 +1,220 @@
+// Copyright 2013 The Flutter Authors. All rights reserved.
+// Use of this source code is governed by a BSD-style license that can be
+// found in the LICENSE file.
+
+package io.flutter.plugins.videoplayer;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.OptIn;
+import androidx.media3.common.util.UnstableApi;
+import androidx.media3.exoplayer.offline.Download;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Decides which downloads run, by priority.
+ *
+ * <p>At most {@code maxParallelDownloads} downloads run at once: the most urgent ones and, among
+ * downloads of equal priority, the running ones and then those started first. A download that
+ * falls out of that set while running is preempted by giving it the stop reason {@link
+ * #STOP_REASON_PREEMPTED}; the bytes it cached are kept, so it resumes where it stopped once a slot
+ * is free again.
+ *
+ * <p>Only accessed on the main thread.
+ */
+@OptIn(markerClass = UnstableApi.class)
+final class DownloadScheduler {
+  /** Priority of a video that is on screen. */
+  static final int PRIORITY_VISIBLE = 0;
+
+  /** Priority of a video that is about to be shown, such as the next one in a feed. */
+  static final int PRIORITY_NEXT = 1;
+
+  /** Priority of a video downloaded for later offline playback. */
+  static final int PRIORITY_BACKGROUND = 2;
+
+  /** The {@link Download#stopReason} of a download waiting for more urgent ones. */
+  static final int STOP_REASON_PREEMPTED = 1;
+
+  /** Applies the decisions of the scheduler, usually through a DownloadManager. */
+  interface StopReasonSetter {
+    /** Sets the stop reason of the download with {@code id}. */
+    void setStopReason(@NonNull String id, int stopReason);
+  }
+
+  @NonNull private final StopReasonSetter stopReasonSetter;
+  @NonNull private final Map<String, Entry> entries = new HashMap<>();
+  private final int maxParallelDownloads;
+  private long nextSequence;
+
+  /**
+   * Creates a scheduler.
+   *
+   * @param stopReasonSetter receives the stop reason changes of the scheduled downloads.
+   * @param maxParallelDownloads the number of downloads that may run at once.
+   */
+  DownloadScheduler(@NonNull StopReasonSetter stopReasonSetter, int maxParallelDownloads) {
+    if (maxParallelDownloads < 1) {
+      throw new IllegalArgumentException(
+          "maxParallelDownloads must be positive, got " + maxParallelDownloads);
+    }
+    this.stopReasonSetter = stopReasonSetter;
+    this.maxParallelDownloads = maxParallelDownloads;
+  }
+
+  /** Returns whether {@code priority} is one of the {@code PRIORITY_*} constants. */
+  static boolean isValidPriority(int priority) {
+    return priority >= PRIORITY_VISIBLE && priority <= PRIORITY_BACKGROUND;
+  }
+
+  /**
+   * Returns whether a download read from the download index is waiting for its turn or running,
+   * and so needs to be scheduled again.
+   */
+  static boolean isUnfinished(@NonNull Download download) {
+    switch (download.state) {
+      case Download.STATE_QUEUED:
+      case Download.STATE_DOWNLOADING:
+      case Download.STATE_RESTARTING:
+        return true;
+      case Download.STATE_STOPPED:
+        return download.stopReason == STOP_REASON_PREEMPTED;
+      default:
+        return false;
+    }
+  }
+
+  /**
+   * Schedules a download that was just added without a stop reason.
+   *
+   * <p>A download that is already scheduled keeps its place among downloads of equal priority.
+   *
+   * @param id ID of the download.
+   * @param priority one of the {@code PRIORITY_*} constants.
+   */
+  void add(@NonNull String id, int priority) {
+    checkPriority(priority);
+    Entry entry = entries.get(id);
+    if (entry == null) {
+      entries.put(id, new Entry(id, priority, nextSequence++, /* running= */ true));
+    } else {
+      entry.priority = priority;
+    }
+    schedule();
+  }
+
+  /**
+   * Schedules a download restored from the download index, with the lowest priority.
+   *
+   * <p>Does nothing if the download is already scheduled.
+   *
+   * @param id ID of the download.
+   * @param stopReason the {@link Download#stopReason} it was restored with.
+   */
+  void restore(@NonNull String id, int stopReason) {
+    if (entries.containsKey(id)) {
+      return;
+    }
+    entries.put(
+        id,
+        new Entry(
+            id,
+            PRIORITY_BACKGROUND,
+            nextSequence++,
+            /* running= */ stopReason != STOP_REASON_PREEMPTED));
+    schedule();
+  }
+
+  /**
+   * Changes the priority of a scheduled download.
+   *
+   * @param id ID of the download.
+   * @param priority one of the {@code PRIORITY_*} constants.
+   * @return whether the download is scheduled.
+   */
+  boolean setPriority(@NonNull String id, int priority) {
+    checkPriority(priority);
+    Entry entry = entries.get(id);
+    if (entry == null) {
+      return false;
+    }
+    if (entry.priority != priority) {
+      entry.priority = priority;
+      schedule();
+    }
+    return true;
+  }
+
+  /**
+   * Stops scheduling a download that completed, failed or was removed, which frees its slot.
+   *
+   * @param id ID of the download.
+   */
+  void remove(@NonNull String id) {
+    if (entries.remove(id) != null) {
+      schedule();
+    }
+  }
+
+  /** Returns whether the download with {@code id} is scheduled to run. */
+  boolean isRunning(@NonNull String id) {
+    Entry entry = entries.get(id);
+    return entry != null && entry.running;
+  }
+
+  private void schedule() {
+    List<Entry> order = new ArrayList<>(entries.values());
+    Collections.sort(
+        order,
+        (a, b) -> {
+          if (a.priority != b.priority) {
+            return Integer.compare(a.priority, b.priority);
+          }
+          // A running download is only preempted by a more urgent one.
+          if (a.running != b.running) {
+            return a.running ? -1 : 1;
+          }
+          return Long.compare(a.sequence, b.sequence);
+        });
+    // Preempt before resuming, so that the limit is never exceeded.
+    for (int i = maxParallelDownloads; i < order.size(); i++) {
+      Entry entry = order.get(i);
+      if (entry.running) {
+        entry.running = false;
+        stopReasonSetter.setStopReason(entry.id, STOP_REASON_PREEMPTED);
+      }
+    }
+    for (int i = 0; i < Math.min(maxParallelDownloads, order.size()); i++) {
+      Entry entry = order.get(i);
+      if (!entry.running) {
+        entry.running = true;
+        stopReasonSetter.setStopReason(entry.id, Download.STOP_REASON_NONE);
+      }
+    }
+  }
+
+  private static void checkPriority(int priority) {
+    if (!isValidPriority(priority)) {
+      throw new IllegalArgumentException("Unknown download priority " + priority);
+    }
+  }
+
+  private static final class Entry {
+    @NonNull final String id;
+    // Order in which downloads were scheduled, to break ties between equal priorities.
+    final long sequence;
+    int priority;
+    // Whether the download has no stop reason, i.e. is queued or downloading.
+    boolean running;
+
+    Entry(@NonNull String id, int priority, long sequence, boolean running) {
+      this.id = id;
+      this.priority = priority;
+      this.sequence = sequence;
+      this.running = running;
+    }
+  }
+}
@@ -0,0 +1,190 @@
+// Copyright 2013 The Flutter Authors. All rights reserved.
+// Use of this source code is governed by a BSD-style license that can be
+// found in the LICENSE file.
+
+package io.flutter.plugins.videoplayer;
+
+import android.content.Context;
+import android.os.Handler;
+import android.os.Looper;
+import androidx.annotation.NonNull;
+import androidx.annotation.OptIn;
+import androidx.annotation.VisibleForTesting;
+import androidx.media3.common.Player;
+import androidx.media3.common.util.UnstableApi;
+import androidx.media3.exoplayer.upstream.BandwidthMeter;
+import androidx.media3.exoplayer.upstream.DefaultBandwidthMeter;
+import java.util.List;
+
+/**
+ * Slows down downloads while a playing video is short of buffer.
+ *
+ * <p>While started, the buffer of the players is checked every {@link #CHECK_INTERVAL_MS}. Once a
+ * player that plays, or waits to play, holds less than the minimum buffer while loading more,
+ * downloads are limited to {@link #BACKOFF_SHARE} of the bandwidth estimate, leaving the rest to
+ * playback. The limit is lifted once every such player holds half again the minimum buffer, so
+ * that it does not flip at the threshold.
+ *
+ * <p>The throttle stops itself once there are no players, and is started again with the next one.
+ * Only accessed on the main thread.
+ */
+@OptIn(markerClass = UnstableApi.class)
+final class DownloadThrottle {
+  /** The default buffer below which a playing video slows down downloads. */
+  static final long DEFAULT_MIN_BUFFER_MS = 10_000;
+
+  /** Interval between two checks of the buffer of the players. */
+  static final long CHECK_INTERVAL_MS = 500;
+
+  /** Share of the bandwidth estimate left to downloads while backing off. */
+  static final double BACKOFF_SHARE = 0.1;
+
+  /** Lowest rate of downloads while backing off, so that they always make progress. */
+  static final long MIN_BACKOFF_BYTES_PER_SECOND = 16 * 1024;
+
+  private static final MetricsRegistry.Counter BACKOFFS =
+      MetricsRegistry.getInstance().counter("downloads.backoffs");
+
+  /** Lists the players whose buffer is watched. */
+  interface PlayerSource {
+    @NonNull
+    List<Player> getPlayers();
+  }
+
+  @NonNull private final TokenBucket tokenBucket;
+  @NonNull private final BandwidthMeter bandwidthMeter;
+  @NonNull private final PlayerSource playerSource;
+  @NonNull private final Handler handler;
+  private final Runnable checker = this::check;
+  private boolean enabled = true;
+  private long minBufferMs = DEFAULT_MIN_BUFFER_MS;
+  private boolean started;
+  private boolean backingOff;
+
+  /**
+   * Creates a throttle, stopped.
+   *
+   * @param tokenBucket the bucket that paces downloads.
+   * @param bandwidthMeter the bandwidth estimate shared with players.
+   * @param playerSource the players whose buffer is watched.
+   * @param handler the handler of the main thread, on which checks run.
+   */
+  DownloadThrottle(
+      @NonNull TokenBucket tokenBucket,
+      @NonNull BandwidthMeter bandwidthMeter,
+      @NonNull PlayerSource playerSource,
+      @NonNull Handler handler) {
+    this.tokenBucket = tokenBucket;
+    this.bandwidthMeter = bandwidthMeter;
+    this.playerSource = playerSource;
+    this.handler = handler;
+  }
+
+  /**
+   * Creates a throttle, stopped, that reads the application-wide bandwidth estimate of players.
+   *
+   * @param context the context of the application.
+   * @param tokenBucket the bucket that paces downloads.
+   * @param playerSource the players whose buffer is watched.
+   */
+  @NonNull
+  static DownloadThrottle create(
+      @NonNull Context context,
+      @NonNull TokenBucket tokenBucket,
+      @NonNull PlayerSource playerSource) {
+    return new DownloadThrottle(
+        tokenBucket,
+        DefaultBandwidthMeter.getSingletonInstance(context),
+        playerSource,
+        new Handler(Looper.getMainLooper()));
+  }
+
+  /**
+   * Enables or disables the throttle.
+   *
+   * @param enabled whether downloads slow down while a playing video is short of buffer.
+   * @param minBufferMs the buffer below which a playing video slows down downloads.
+   */
+  void setEnabled(boolean enabled, long minBufferMs) {
+    if (minBufferMs <= 0) {
+      throw new IllegalArgumentException("minBufferMs must be positive, got " + minBufferMs);
+    }
+    this.enabled = enabled;
+    this.minBufferMs = minBufferMs;
+    if (started) {
+      check();
+    }
+  }
+
+  /** Starts checking the buffer of the players, if not already started. */
+  void start() {
+    if (started) {
+      return;
+    }
+    started = true;
+    // A new player has yet to start loading, so the first check waits for an interval.
+    handler.postDelayed(checker, CHECK_INTERVAL_MS);
+  }
+
+  /** Stops checking the buffer of the players and lifts the limit on downloads. */
+  void stop() {
+    started = false;
+    handler.removeCallbacks(checker);
+    setBackingOff(false);
+  }
+
+  /** Returns whether downloads are slowed down. */
+  boolean isBackingOff() {
+    return backingOff;
+  }
+
+  @VisibleForTesting
+  void check() {
+    handler.removeCallbacks(checker);
+    if (!started) {
+      return;
+    }
+    List<Player> players = playerSource.getPlayers();
+    if (players.isEmpty()) {
+      stop();
+      return;
+    }
+    if (!enabled) {
+      // Checks resume when the throttle is enabled again.
+      setBackingOff(false);
+      return;
+    }
+    long thresholdMs = backingOff ? minBufferMs * 3 / 2 : minBufferMs;
+    boolean shortOfBuffer = false;
+    for (Player player : players) {
+      if (isWaitingForData(player) && player.getTotalBufferedDuration() < thresholdMs) {
+        shortOfBuffer = true;
+        break;
+      }
+    }
+    setBackingOff(shortOfBuffer);
+    handler.postDelayed(checker, CHECK_INTERVAL_MS);
+  }
+
+  private void setBackingOff(boolean backingOff) {
+    if (backingOff) {
+      // The estimate follows the share of the link that players get, so it is read on each check.
+      long bytesPerSecond = (long) (bandwidthMeter.getBitrateEstimate() / 8 * BACKOFF_SHARE);
+      tokenBucket.setRate(Math.max(MIN_BACKOFF_BYTES_PER_SECOND, bytesPerSecond));
+      if (!this.backingOff) {
+        BACKOFFS.increment();
+      }
+    } else if (this.backingOff) {
+      tokenBucket.setRate(TokenBucket.UNLIMITED);
+    }
+    this.backingOff = backingOff;
+  }
+
+  // Whether the player plays, or is about to, and still loads from the network.
+  private static boolean isWaitingForData(Player player) {
+    int state = player.getPlaybackState();
+    return player.getPlayWhenReady()
+        && (state == Player.STATE_READY || state == Player.STATE_BUFFERING)
+        && player.isLoading();
+  }
+}
@@ -5,13 +5,18 @@
 package io.flutter.plugins.videoplayer;
 
 import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+import androidx.media3.common.C;
+import androidx.media3.common.MediaItem;
 import androidx.media3.common.PlaybackException;
 import androidx.media3.common.Player;
+import androidx.media3.common.Timeline;
 import androidx.media3.exoplayer.ExoPlayer;
 
 public abstract class ExoPlayerEventListener implements Player.Listener {
   private boolean isBuffering = false;
   private boolean isInitialized;
+  private boolean isPlaylistItemChangePending;
   protected final ExoPlayer exoPlayer;
   protected final VideoPlayerCallbacks events;
 
@@ -67,7 +72,8 @@ public abstract class ExoPlayerEventListener implements Player.Listener {
     switch (playbackState) {
       case Player.STATE_BUFFERING:
         setBuffering(true);
-        events.onBufferingUpdate(exoPlayer.getBufferedPosition());
+        events.onBufferingUpdate(
+            exoPlayer.getCurrentPosition(), exoPlayer.getBufferedPosition());
         break;
       case Player.STATE_READY:
         if (!isInitialized) {
@@ -104,4 +110,32 @@ public abstract class ExoPlayerEventListener implements Player.Listener {
   public void onIsPlayingChanged(boolean isPlaying) {
     events.onIsPlayingStateUpdate(isPlaying);
   }
+
+  @Override
+  public void onMediaItemTransition(@Nullable MediaItem mediaItem, int reason) {
+    // Looping a single item does not change the item.
+    if (mediaItem == null || reason == Player.MEDIA_ITEM_TRANSITION_REASON_REPEAT) {
+      return;
+    }
+    isPlaylistItemChangePending = true;
+    sendPlaylistItemChangedIfDurationKnown();
+  }
+
+  @Override
+  public void onTimelineChanged(@NonNull Timeline timeline, int reason) {
+    if (isPlaylistItemChangePending) {
+      sendPlaylistItemChangedIfDurationKnown();
+    }
+  }
+
+  // The next item is usually prepared ahead of the transition, but its duration may only be known
+  // once its timeline arrives.
+  private void sendPlaylistItemChangedIfDurationKnown() {
+    long durationInMs = exoPlayer.getDuration();
+    if (durationInMs == C.TIME_UNSET) {
+      return;
+    }
+    isPlaylistItemChangePending = false;
+    events.onPlaylistItemChanged(exoPlayer.getCurrentMediaItemIndex(), durationInMs);
+  }
 }
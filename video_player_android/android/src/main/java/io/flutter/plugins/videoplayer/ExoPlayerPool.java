@@ -0,0 +1,288 @@
+// Copyright 2013 The Flutter Authors. All rights reserved.
+// Use of this source code is governed by a BSD-style license that can be
+// found in the LICENSE file.
+
+package io.flutter.plugins.videoplayer;
+
+import static androidx.media3.common.Player.REPEAT_MODE_OFF;
+
+import android.content.Context;
+import android.os.SystemClock;
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+import androidx.annotation.OptIn;
+import androidx.annotation.VisibleForTesting;
+import androidx.media3.common.C;
+import androidx.media3.common.MediaItem;
+import androidx.media3.common.PlaybackParameters;
+import androidx.media3.common.TrackSelectionParameters;
+import androidx.media3.common.util.UnstableApi;
+import androidx.media3.exoplayer.ExoPlayer;
+import androidx.media3.exoplayer.drm.DrmSessionManagerProvider;
+import androidx.media3.exoplayer.source.MediaSource;
+import androidx.media3.exoplayer.upstream.LoadErrorHandlingPolicy;
+import java.util.ArrayDeque;
+
+/**
+ * A bounded pool of idle {@link ExoPlayer} instances.
+ *
+ * <p>Building an {@link ExoPlayer} spins up its playback thread and renderers, which is a
+ * noticeable part of the time needed to create a video player. Players returned to the pool are
+ * stopped and reset, and the next video player leases one of them instead of building a new one.
+ *
+ * <p>Each pooled player is built around a media source factory that forwards to the factory of
+ * the asset it is currently leased for, so headers and caching behave exactly as for a freshly
+ * built player.
+ *
+ * <p>All methods must be called on the main thread, which is the application thread of every
+ * pooled player.
+ */
+@OptIn(markerClass = UnstableApi.class)
+public final class ExoPlayerPool {
+  /** Default number of idle players kept in the pool. */
+  static final int DEFAULT_MAX_IDLE_PLAYERS = 2;
+
+  private static ExoPlayerPool instance;
+
+  /** A closure-compatible signature since {@link java.util.function.Function} is API level 24. */
+  interface PlayerFactory {
+    /**
+     * Builds a new {@link ExoPlayer}.
+     *
+     * @param mediaSourceFactory factory the player must use for its media items.
+     * @return new instance.
+     */
+    @NonNull
+    ExoPlayer create(@NonNull MediaSource.Factory mediaSourceFactory);
+  }
+
+  @NonNull private final PlayerFactory playerFactory;
+  @NonNull private final ArrayDeque<PooledPlayer> idlePlayers = new ArrayDeque<>();
+  private int maxIdlePlayers;
+  private int generation;
+
+  private long hitCount;
+  private long missCount;
+  private long totalCreationTimeNs;
+
+  /**
+   * Returns the pool shared by all video players of the application.
+   *
+   * @param context any context; only its application context is retained.
+   * @return the shared pool.
+   */
+  @NonNull
+  public static synchronized ExoPlayerPool getInstance(@NonNull Context context) {
+    if (instance == null) {
+      Context applicationContext = context.getApplicationContext();
+      SharedPlaybackResources sharedResources =
+          SharedPlaybackResources.getInstance(applicationContext);
+      instance =
+          new ExoPlayerPool(
+              DEFAULT_MAX_IDLE_PLAYERS,
+              mediaSourceFactory -> {
+                ExoPlayer.Builder builder =
+                    new ExoPlayer.Builder(applicationContext)
+                        .setMediaSourceFactory(mediaSourceFactory);
+                if (sharedResources.isEnabled()) {
+                  sharedResources.applyTo(builder);
+                }
+                return builder.build();
+              });
+    }
+    return instance;
+  }
+
+  @VisibleForTesting
+  ExoPlayerPool(int maxIdlePlayers, @NonNull PlayerFactory playerFactory) {
+    this.maxIdlePlayers = maxIdlePlayers;
+    this.playerFactory = playerFactory;
+  }
+
+  /**
+   * Returns a provider that leases players from this pool and returns them on release.
+   *
+   * @param context context used to create the media source factory of {@code asset}.
+   * @param asset asset the leased players will play.
+   * @return a provider for a single {@link VideoPlayer}.
+   */
+  @NonNull
+  public VideoPlayer.ExoPlayerProvider newProvider(
+      @NonNull Context context, @NonNull VideoAsset asset) {
+    return new VideoPlayer.ExoPlayerProvider() {
+      @Nullable private PooledPlayer leased;
+
+      @NonNull
+      @Override
+      public ExoPlayer get() {
+        leased = lease(asset.getMediaSourceFactory(context));
+        return leased.exoPlayer;
+      }
+
+      @Override
+      public void release(@NonNull ExoPlayer exoPlayer) {
+        if (leased != null && leased.exoPlayer == exoPlayer) {
+          recycle(leased);
+          leased = null;
+        } else {
+          exoPlayer.release();
+        }
+      }
+    };
+  }
+
+  @VisibleForTesting
+  @NonNull
+  PooledPlayer lease(@NonNull MediaSource.Factory mediaSourceFactory) {
+    PooledPlayer pooled = idlePlayers.pollFirst();
+    if (pooled != null) {
+      hitCount++;
+      pooled.mediaSourceFactory.setDelegate(mediaSourceFactory);
+      return pooled;
+    }
+
+    missCount++;
+    long startNs = SystemClock.elapsedRealtimeNanos();
+    ForwardingMediaSourceFactory forwardingFactory =
+        new ForwardingMediaSourceFactory(mediaSourceFactory);
+    ExoPlayer exoPlayer = playerFactory.create(forwardingFactory);
+    totalCreationTimeNs += SystemClock.elapsedRealtimeNanos() - startNs;
+    return new PooledPlayer(
+        exoPlayer, forwardingFactory, exoPlayer.getTrackSelectionParameters(), generation);
+  }
+
+  @VisibleForTesting
+  void recycle(@NonNull PooledPlayer pooled) {
+    if (idlePlayers.size() >= maxIdlePlayers || pooled.generation != generation) {
+      pooled.exoPlayer.release();
+      return;
+    }
+
+    ExoPlayer exoPlayer = pooled.exoPlayer;
+    exoPlayer.stop();
+    exoPlayer.clearMediaItems();
+    exoPlayer.clearVideoSurface();
+    exoPlayer.setPlayWhenReady(false);
+    exoPlayer.setRepeatMode(REPEAT_MODE_OFF);
+    exoPlayer.setVolume(1f);
+    exoPlayer.setPlaybackParameters(PlaybackParameters.DEFAULT);
+    // Drops track overrides, e.g. the rendition a restored player started at.
+    exoPlayer.setTrackSelectionParameters(pooled.initialTrackSelectionParameters);
+    // Do not keep the previous asset's data sources reachable while idle.
+    pooled.mediaSourceFactory.setDelegate(MediaSource.Factory.UNSUPPORTED);
+    idlePlayers.addFirst(pooled);
+  }
+
+  /**
+   * Changes the number of idle players kept in the pool, releasing any excess players.
+   *
+   * @param maxIdlePlayers new bound; {@code 0} disables pooling.
+   */
+  public void setMaxIdlePlayers(int maxIdlePlayers) {
+    this.maxIdlePlayers = maxIdlePlayers;
+    while (idlePlayers.size() > maxIdlePlayers) {
+      idlePlayers.pollLast().exoPlayer.release();
+    }
+  }
+
+  /**
+   * Releases all idle players. Players leased at this point are released instead of being pooled
+   * when they are returned, so that later leases only get players built afterwards.
+   */
+  public void clear() {
+    generation++;
+    while (!idlePlayers.isEmpty()) {
+      idlePlayers.pollFirst().exoPlayer.release();
+    }
+  }
+
+  /** Returns the number of leases served by an idle player. */
+  public long getHitCount() {
+    return hitCount;
+  }
+
+  /** Returns the number of leases that had to build a new player. */
+  public long getMissCount() {
+    return missCount;
+  }
+
+  /** Returns the number of players currently idle in the pool. */
+  public int getIdleCount() {
+    return idlePlayers.size();
+  }
+
+  /** Returns the average time spent building a new player, in microseconds. */
+  public long getAverageCreationTimeUs() {
+    return missCount == 0 ? 0 : totalCreationTimeNs / missCount / 1000;
+  }
+
+  /**
+   * Returns an estimate of the creation time saved by the pool, in microseconds: the number of hits
+   * times the average time spent building a player.
+   */
+  public long getCreationTimeSavedUs() {
+    return hitCount * getAverageCreationTimeUs();
+  }
+
+  @VisibleForTesting
+  static final class PooledPlayer {
+    @NonNull final ExoPlayer exoPlayer;
+    @NonNull final ForwardingMediaSourceFactory mediaSourceFactory;
+    // The parameters the player was built with, restored before it is reused.
+    @NonNull final TrackSelectionParameters initialTrackSelectionParameters;
+    final int generation;
+
+    PooledPlayer(
+        @NonNull ExoPlayer exoPlayer,
+        @NonNull ForwardingMediaSourceFactory mediaSourceFactory,
+        @NonNull TrackSelectionParameters initialTrackSelectionParameters,
+        int generation) {
+      this.exoPlayer = exoPlayer;
+      this.mediaSourceFactory = mediaSourceFactory;
+      this.initialTrackSelectionParameters = initialTrackSelectionParameters;
+      this.generation = generation;
+    }
+  }
+
+  /** A {@link MediaSource.Factory} whose target can change between leases. */
+  @VisibleForTesting
+  static final class ForwardingMediaSourceFactory implements MediaSource.Factory {
+    @NonNull private MediaSource.Factory delegate;
+
+    ForwardingMediaSourceFactory(@NonNull MediaSource.Factory delegate) {
+      this.delegate = delegate;
+    }
+
+    void setDelegate(@NonNull MediaSource.Factory delegate) {
+      this.delegate = delegate;
+    }
+
+    @NonNull
+    @Override
+    public MediaSource.Factory setDrmSessionManagerProvider(
+        @NonNull DrmSessionManagerProvider drmSessionManagerProvider) {
+      delegate.setDrmSessionManagerProvider(drmSessionManagerProvider);
+      return this;
+    }
+
+    @NonNull
+    @Override
+    public MediaSource.Factory setLoadErrorHandlingPolicy(
+        @NonNull LoadErrorHandlingPolicy loadErrorHandlingPolicy) {
+      delegate.setLoadErrorHandlingPolicy(loadErrorHandlingPolicy);
+      return this;
+    }
+
+    @NonNull
+    @Override
+    public @C.ContentType int[] getSupportedTypes() {
+      return delegate.getSupportedTypes();
+    }
+
+    @NonNull
+    @Override
+    public MediaSource createMediaSource(@NonNull MediaItem mediaItem) {
+      return delegate.createMediaSource(mediaItem);
+    }
+  }
+}
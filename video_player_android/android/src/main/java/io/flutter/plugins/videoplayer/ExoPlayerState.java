@@ -5,7 +5,13 @@
 package io.flutter.plugins.videoplayer;
 
 import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+import androidx.media3.common.C;
 import androidx.media3.common.PlaybackParameters;
+import androidx.media3.common.Player;
+import androidx.media3.common.TrackSelectionOverride;
+import androidx.media3.common.TrackSelectionParameters;
+import androidx.media3.common.Tracks;
 import androidx.media3.exoplayer.ExoPlayer;
 
 /**
@@ -15,6 +21,12 @@ import androidx.media3.exoplayer.ExoPlayer;
  * rendered to by the player can be destroyed when the application is in the background and memory
  * is reclaimed. Upon <em>resume</em>, the player will need to be recreated, but start again at the
  * previous point (and settings).
+ *
+ * <p>The selected video rendition is restored as a temporary override, so that the new player
+ * starts at the quality the previous one had instead of ramping up again. The override is lifted
+ * once the first frame is rendered, handing control back to adaptive selection. The bandwidth
+ * estimate needs no saving, since players share the process-wide {@link
+ * androidx.media3.exoplayer.upstream.DefaultBandwidthMeter}, which outlives them.
  */
 public final class ExoPlayerState {
   /**
@@ -28,20 +40,54 @@ public final class ExoPlayerState {
   @NonNull
   public static ExoPlayerState save(@NonNull ExoPlayer exoPlayer) {
     return new ExoPlayerState(
+        /* mediaItemIndex= */ exoPlayer.getCurrentMediaItemIndex(),
         /* position= */ exoPlayer.getCurrentPosition(),
         /* repeatMode= */ exoPlayer.getRepeatMode(),
         /* volume= */ exoPlayer.getVolume(),
-        /* playbackParameters= */ exoPlayer.getPlaybackParameters());
+        /* playbackParameters= */ exoPlayer.getPlaybackParameters(),
+        /* playWhenReady= */ exoPlayer.getPlayWhenReady(),
+        /* trackSelectionParameters= */ exoPlayer.getTrackSelectionParameters(),
+        /* videoRendition= */ selectedVideoRendition(exoPlayer.getCurrentTracks()));
+  }
+
+  /** Returns the selected track of an adaptive video group, or null if there is none. */
+  @Nullable
+  private static TrackSelectionOverride selectedVideoRendition(@NonNull Tracks tracks) {
+    for (Tracks.Group group : tracks.getGroups()) {
+      if (group.getType() != C.TRACK_TYPE_VIDEO || group.length < 2) {
+        continue;
+      }
+      for (int i = 0; i < group.length; i++) {
+        if (group.isTrackSelected(i)) {
+          return new TrackSelectionOverride(group.getMediaTrackGroup(), i);
+        }
+      }
+    }
+    return null;
   }
 
   private ExoPlayerState(
-      long position, int repeatMode, float volume, PlaybackParameters playbackParameters) {
+      int mediaItemIndex,
+      long position,
+      int repeatMode,
+      float volume,
+      PlaybackParameters playbackParameters,
+      boolean playWhenReady,
+      TrackSelectionParameters trackSelectionParameters,
+      @Nullable TrackSelectionOverride videoRendition) {
+    this.mediaItemIndex = mediaItemIndex;
     this.position = position;
     this.repeatMode = repeatMode;
     this.volume = volume;
     this.playbackParameters = playbackParameters;
+    this.playWhenReady = playWhenReady;
+    this.trackSelectionParameters = trackSelectionParameters;
+    this.videoRendition = videoRendition;
   }
 
+  /** Previous value of {@link ExoPlayer#getCurrentMediaItemIndex()}. */
+  private final int mediaItemIndex;
+
   /** Previous value of {@link ExoPlayer#getCurrentPosition()}. */
   private final long position;
 
@@ -54,6 +100,15 @@ public final class ExoPlayerState {
   /** Previous value of {@link ExoPlayer#getPlaybackParameters()}. */
   private final PlaybackParameters playbackParameters;
 
+  /** Previous value of {@link ExoPlayer#getPlayWhenReady()}. */
+  private final boolean playWhenReady;
+
+  /** Previous value of {@link ExoPlayer#getTrackSelectionParameters()}. */
+  private final TrackSelectionParameters trackSelectionParameters;
+
+  /** Previously selected video rendition, if the video is adaptive. */
+  @Nullable private final TrackSelectionOverride videoRendition;
+
   /**
    * Restores the captured state onto the provided player.
    *
@@ -61,11 +116,39 @@ public final class ExoPlayerState {
    * listening to events.
    *
    * @param exoPlayer the new player instance to reflect the state back to.
+   * @return the listener that lifts the temporary rendition override on the first frame, or null if
+   *     there is none. It must be removed if the player is disposed of before that frame, so that
+   *     it does not act on a player reused for another video.
    */
-  public void restore(@NonNull ExoPlayer exoPlayer) {
-    exoPlayer.seekTo(position);
+  @Nullable
+  public Player.Listener restore(@NonNull ExoPlayer exoPlayer) {
+    exoPlayer.seekTo(mediaItemIndex, position);
     exoPlayer.setRepeatMode(repeatMode);
     exoPlayer.setVolume(volume);
     exoPlayer.setPlaybackParameters(playbackParameters);
+    Player.Listener firstFrameListener = null;
+    if (videoRendition == null
+        || trackSelectionParameters.overrides.containsKey(videoRendition.mediaTrackGroup)) {
+      exoPlayer.setTrackSelectionParameters(trackSelectionParameters);
+    } else {
+      exoPlayer.setTrackSelectionParameters(
+          trackSelectionParameters.buildUpon().setOverrideForType(videoRendition).build());
+      firstFrameListener =
+          new Player.Listener() {
+            @Override
+            public void onRenderedFirstFrame() {
+              exoPlayer.removeListener(this);
+              exoPlayer.setTrackSelectionParameters(
+                  exoPlayer
+                      .getTrackSelectionParameters()
+                      .buildUpon()
+                      .clearOverride(videoRendition.mediaTrackGroup)
+                      .build());
+            }
+          };
+      exoPlayer.addListener(firstFrameListener);
+    }
+    exoPlayer.setPlayWhenReady(playWhenReady);
+    return firstFrameListener;
   }
 }
@@ -0,0 +1,306 @@
+// Copyright 2013 The Flutter Authors. All rights reserved.
+// Use of this source code is governed by a BSD-style license that can be
+// found in the LICENSE file.
+
+package io.flutter.plugins.videoplayer;
+
+import android.net.Uri;
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+import androidx.annotation.OptIn;
+import androidx.media3.common.C;
+import androidx.media3.common.Format;
+import androidx.media3.common.util.UnstableApi;
+import androidx.media3.common.util.UriUtil;
+import androidx.media3.common.util.Util;
+import androidx.media3.datasource.DataSource;
+import androidx.media3.datasource.DataSpec;
+import androidx.media3.datasource.cache.Cache;
+import androidx.media3.datasource.cache.CacheDataSource;
+import androidx.media3.datasource.cache.CacheWriter;
+import androidx.media3.exoplayer.dash.DashSegmentIndex;
+import androidx.media3.exoplayer.dash.DashUtil;
+import androidx.media3.exoplayer.dash.DashWrappingSegmentIndex;
+import androidx.media3.exoplayer.dash.manifest.AdaptationSet;
+import androidx.media3.exoplayer.dash.manifest.DashManifest;
+import androidx.media3.exoplayer.dash.manifest.DashManifestParser;
+import androidx.media3.exoplayer.dash.manifest.Period;
+import androidx.media3.exoplayer.dash.manifest.RangedUri;
+import androidx.media3.exoplayer.dash.manifest.Representation;
+import androidx.media3.exoplayer.hls.playlist.HlsMediaPlaylist;
+import androidx.media3.exoplayer.hls.playlist.HlsMultivariantPlaylist;
+import androidx.media3.exoplayer.hls.playlist.HlsPlaylist;
+import androidx.media3.exoplayer.hls.playlist.HlsPlaylistParser;
+import androidx.media3.exoplayer.smoothstreaming.manifest.SsManifest;
+import androidx.media3.exoplayer.smoothstreaming.manifest.SsManifestParser;
+import androidx.media3.exoplayer.upstream.ParsingLoadable;
+import androidx.media3.extractor.ChunkIndex;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Caches the head of an adaptive stream: its manifest, the initialization data and the segments
+ * covering the first seconds of one rendition.
+ *
+ * <p>Everything is loaded through a {@link CacheDataSource} keyed like playback requests, so a
+ * player created afterwards finds the manifest and the first segments on disk. The cached spans
+ * are not pinned and are evicted like any other cached content.
+ *
+ * <p>Only audio and video renditions are prefetched; alternate HLS renditions declared with
+ * {@code EXT-X-MEDIA} and subtitles are left to the player.
+ *
+ * <p>All methods block on network and disk I/O and must not be called on the main thread.
+ */
+@OptIn(markerClass = UnstableApi.class)
+final class HeadPrefetcher {
+  @NonNull private final CacheDataSource.Factory cacheDataSourceFactory;
+
+  /**
+   * Creates a prefetcher.
+   *
+   * @param cache the cache to fill.
+   * @param upstreamFactory factory for the network data sources.
+   */
+  HeadPrefetcher(@NonNull Cache cache, @NonNull DataSource.Factory upstreamFactory) {
+    this.cacheDataSourceFactory =
+        new CacheDataSource.Factory()
+            .setCache(cache)
+            .setUpstreamDataSourceFactory(upstreamFactory)
+            .setFlags(CacheDataSource.FLAG_IGNORE_CACHE_ON_ERROR);
+  }
+
+  /**
+   * Caches the head of a stream.
+   *
+   * @param uri URI of the manifest.
+   * @param contentType one of {@link C#CONTENT_TYPE_HLS}, {@link C#CONTENT_TYPE_DASH} or {@link
+   *     C#CONTENT_TYPE_SS}.
+   * @param durationUs length of the head to cache.
+   * @param maxBitrate the rendition with the highest bitrate not above this value is cached, or
+   *     the lowest one if all exceed it.
+   * @return number of bytes that were not already cached and have been written.
+   * @throws IOException if the manifest or a segment could not be loaded.
+   */
+  long prefetch(@NonNull Uri uri, int contentType, long durationUs, int maxBitrate)
+      throws IOException {
+    CacheDataSource dataSource = cacheDataSourceFactory.createDataSource();
+    List<DataSpec> dataSpecs;
+    switch (contentType) {
+      case C.CONTENT_TYPE_HLS:
+        dataSpecs = getHlsDataSpecs(dataSource, uri, durationUs, maxBitrate);
+        break;
+      case C.CONTENT_TYPE_DASH:
+        dataSpecs = getDashDataSpecs(dataSource, uri, durationUs, maxBitrate);
+        break;
+      case C.CONTENT_TYPE_SS:
+        dataSpecs = getSsDataSpecs(dataSource, uri, durationUs, maxBitrate);
+        break;
+      default:
+        throw new IllegalArgumentException("Only HLS, DASH and SmoothStreaming can be prefetched");
+    }
+
+    long[] newBytesCached = {0};
+    byte[] buffer = new byte[CacheWriter.DEFAULT_BUFFER_SIZE_BYTES];
+    for (DataSpec dataSpec : dataSpecs) {
+      new CacheWriter(
+              dataSource,
+              dataSpec,
+              buffer,
+              (requestLength, bytesCached, newBytes) -> newBytesCached[0] += newBytes)
+          .cache();
+    }
+    return newBytesCached[0];
+  }
+
+  @NonNull
+  private static List<DataSpec> getHlsDataSpecs(
+      @NonNull DataSource dataSource, @NonNull Uri uri, long durationUs, int maxBitrate)
+      throws IOException {
+    HlsPlaylistParser parser = new HlsPlaylistParser();
+    HlsPlaylist playlist = ParsingLoadable.load(dataSource, parser, uri, C.DATA_TYPE_MANIFEST);
+    if (playlist instanceof HlsMultivariantPlaylist) {
+      List<HlsMultivariantPlaylist.Variant> variants =
+          ((HlsMultivariantPlaylist) playlist).variants;
+      if (variants.isEmpty()) {
+        return new ArrayList<>();
+      }
+      List<Format> formats = new ArrayList<>();
+      for (HlsMultivariantPlaylist.Variant variant : variants) {
+        formats.add(variant.format);
+      }
+      Uri variantUri = variants.get(selectFormat(formats, maxBitrate)).url;
+      playlist = ParsingLoadable.load(dataSource, parser, variantUri, C.DATA_TYPE_MANIFEST);
+    }
+
+    HlsMediaPlaylist mediaPlaylist = (HlsMediaPlaylist) playlist;
+    List<DataSpec> dataSpecs = new ArrayList<>();
+    HlsMediaPlaylist.Segment lastInitializationSegment = null;
+    for (HlsMediaPlaylist.Segment segment : mediaPlaylist.segments) {
+      if (segment.relativeStartTimeUs >= durationUs) {
+        break;
+      }
+      HlsMediaPlaylist.Segment initializationSegment = segment.initializationSegment;
+      if (initializationSegment != null && initializationSegment != lastInitializationSegment) {
+        dataSpecs.add(getHlsSegmentDataSpec(mediaPlaylist.baseUri, initializationSegment));
+        lastInitializationSegment = initializationSegment;
+      }
+      dataSpecs.add(getHlsSegmentDataSpec(mediaPlaylist.baseUri, segment));
+    }
+    return dataSpecs;
+  }
+
+  @NonNull
+  private static DataSpec getHlsSegmentDataSpec(
+      @NonNull String baseUri, @NonNull HlsMediaPlaylist.Segment segment) {
+    return new DataSpec(
+        UriUtil.resolveToUri(baseUri, segment.url),
+        segment.byteRangeOffset,
+        segment.byteRangeLength);
+  }
+
+  @NonNull
+  private static List<DataSpec> getDashDataSpecs(
+      @NonNull DataSource dataSource, @NonNull Uri uri, long durationUs, int maxBitrate)
+      throws IOException {
+    DashManifest manifest =
+        ParsingLoadable.load(dataSource, new DashManifestParser(), uri, C.DATA_TYPE_MANIFEST);
+    List<DataSpec> dataSpecs = new ArrayList<>();
+    if (manifest.getPeriodCount() == 0) {
+      return dataSpecs;
+    }
+
+    Period period = manifest.getPeriod(0);
+    long periodDurationUs = manifest.getPeriodDurationUs(0);
+    for (AdaptationSet adaptationSet : period.adaptationSets) {
+      if (adaptationSet.type != C.TRACK_TYPE_VIDEO && adaptationSet.type != C.TRACK_TYPE_AUDIO) {
+        continue;
+      }
+      if (adaptationSet.representations.isEmpty()) {
+        continue;
+      }
+      List<Format> formats = new ArrayList<>();
+      for (Representation representation : adaptationSet.representations) {
+        formats.add(representation.format);
+      }
+      // Audio is cheap compared to video, so only the video rendition honors maxBitrate.
+      int bitrateLimit = adaptationSet.type == C.TRACK_TYPE_VIDEO ? maxBitrate : 0;
+      Representation representation =
+          adaptationSet.representations.get(selectFormat(formats, bitrateLimit));
+      addDashRepresentationDataSpecs(
+          dataSource, adaptationSet.type, representation, periodDurationUs, durationUs, dataSpecs);
+    }
+    return dataSpecs;
+  }
+
+  private static void addDashRepresentationDataSpecs(
+      @NonNull DataSource dataSource,
+      int trackType,
+      @NonNull Representation representation,
+      long periodDurationUs,
+      long durationUs,
+      @NonNull List<DataSpec> dataSpecs)
+      throws IOException {
+    String baseUrl = representation.baseUrls.get(0).url;
+    RangedUri initializationUri = representation.getInitializationUri();
+    if (initializationUri != null) {
+      dataSpecs.add(DashUtil.buildDataSpec(representation, baseUrl, initializationUri, 0));
+    }
+
+    DashSegmentIndex index = representation.getIndex();
+    if (index == null) {
+      // The index is stored in the media, e.g. as a sidx box. Loading it caches it as well.
+      ChunkIndex chunkIndex = DashUtil.loadChunkIndex(dataSource, trackType, representation);
+      if (chunkIndex == null) {
+        return;
+      }
+      index = new DashWrappingSegmentIndex(chunkIndex, representation.presentationTimeOffsetUs);
+    }
+
+    long segmentCount = index.getSegmentCount(periodDurationUs);
+    if (segmentCount == C.LENGTH_UNSET) {
+      // Live streams have no fixed head to prefetch.
+      return;
+    }
+    long firstSegmentNum = index.getFirstSegmentNum();
+    long firstSegmentTimeUs = index.getTimeUs(firstSegmentNum);
+    for (long segmentNum = firstSegmentNum;
+        segmentNum < firstSegmentNum + segmentCount;
+        segmentNum++) {
+      if (index.getTimeUs(segmentNum) - firstSegmentTimeUs >= durationUs) {
+        break;
+      }
+      dataSpecs.add(
+          DashUtil.buildDataSpec(representation, baseUrl, index.getSegmentUrl(segmentNum), 0));
+    }
+  }
+
+  @NonNull
+  private static List<DataSpec> getSsDataSpecs(
+      @NonNull DataSource dataSource, @NonNull Uri uri, long durationUs, int maxBitrate)
+      throws IOException {
+    SsManifest manifest =
+        ParsingLoadable.load(dataSource, new SsManifestParser(), uri, C.DATA_TYPE_MANIFEST);
+    List<DataSpec> dataSpecs = new ArrayList<>();
+    for (SsManifest.StreamElement streamElement : manifest.streamElements) {
+      if (streamElement.type != C.TRACK_TYPE_VIDEO && streamElement.type != C.TRACK_TYPE_AUDIO) {
+        continue;
+      }
+      if (streamElement.formats.length == 0) {
+        continue;
+      }
+      int bitrateLimit = streamElement.type == C.TRACK_TYPE_VIDEO ? maxBitrate : 0;
+      int trackIndex = selectFormat(Arrays.asList(streamElement.formats), bitrateLimit);
+      // SmoothStreaming has no initialization segments; the player builds them from the manifest.
+      for (int chunkIndex = 0; chunkIndex < streamElement.chunkCount; chunkIndex++) {
+        if (streamElement.getStartTimeUs(chunkIndex) - streamElement.getStartTimeUs(0)
+            >= durationUs) {
+          break;
+        }
+        dataSpecs.add(new DataSpec(streamElement.buildRequestUri(trackIndex, chunkIndex)));
+      }
+    }
+    return dataSpecs;
+  }
+
+  /**
+   * Returns the index of the format with the highest bitrate not above {@code maxBitrate}, or of
+   * the format with the lowest bitrate if all exceed it.
+   */
+  private static int selectFormat(@NonNull List<Format> formats, int maxBitrate) {
+    int selected = -1;
+    int lowest = 0;
+    for (int i = 0; i < formats.size(); i++) {
+      int bitrate = formats.get(i).bitrate;
+      if (bitrate < formats.get(lowest).bitrate) {
+        lowest = i;
+      }
+      if (bitrate <= maxBitrate && (selected == -1 || bitrate > formats.get(selected).bitrate)) {
+        selected = i;
+      }
+    }
+    return selected == -1 ? lowest : selected;
+  }
+
+  /**
+   * Infers the content type of a stream from a format hint or its URI.
+   *
+   * @param uri URI of the manifest.
+   * @param formatHint one of {@code "hls"}, {@code "dash"}, {@code "ss"}, or {@code null}.
+   * @return the content type.
+   */
+  static int inferContentType(@NonNull Uri uri, @Nullable String formatHint) {
+    if (formatHint != null) {
+      switch (formatHint) {
+        case "hls":
+          return C.CONTENT_TYPE_HLS;
+        case "dash":
+          return C.CONTENT_TYPE_DASH;
+        case "ss":
+          return C.CONTENT_TYPE_SS;
+      }
+    }
+    return Util.inferContentType(uri);
+  }
+}
@@ -0,0 +1,31 @@
+// Copyright 2013 The Flutter Authors. All rights reserved.
+// Use of this source code is governed by a BSD-style license that can be
+// found in the LICENSE file.
+
+package io.flutter.plugins.videoplayer;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.OptIn;
+import androidx.media3.common.util.UnstableApi;
+import androidx.media3.datasource.HttpDataSource;
+
+/**
+ * Opens the HTTP connections of players.
+ *
+ * <p>The engine is the bottom of the data source stack shared by all players, below the cache and
+ * the headers of each video, so it decides how connections are pooled and which protocols are
+ * spoken. Data sources must not be configured with headers or a user agent of their own.
+ */
+@OptIn(markerClass = UnstableApi.class)
+interface HttpEngine {
+  /** Creates a data source for the requests of one loader. */
+  @NonNull
+  HttpDataSource createDataSource();
+
+  /**
+   * Releases the resources of the engine once it is replaced.
+   *
+   * <p>Data sources created before remain usable until they are closed.
+   */
+  void release();
+}
@@ -0,0 +1,61 @@
+// Copyright 2013 The Flutter Authors. All rights reserved.
+// Use of this source code is governed by a BSD-style license that can be
+// found in the LICENSE file.
+
+package io.flutter.plugins.videoplayer;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.OptIn;
+import androidx.annotation.VisibleForTesting;
+import androidx.media3.common.util.UnstableApi;
+import androidx.media3.datasource.DataSource;
+import androidx.media3.datasource.DataSpec;
+import androidx.media3.datasource.ResolvingDataSource;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Adds the HTTP headers of one video to every request made through a shared data source factory.
+ *
+ * <p>This lets all players share one network and cache stack, instead of building one configured
+ * with their headers. The headers reach the network data source through any {@link
+ * androidx.media3.datasource.cache.CacheDataSource} in between.
+ */
+@OptIn(markerClass = UnstableApi.class)
+final class HttpHeaderResolver implements ResolvingDataSource.Resolver {
+  @VisibleForTesting static final String DEFAULT_USER_AGENT = "ExoPlayer";
+  private static final String HEADER_USER_AGENT = "User-Agent";
+
+  @NonNull private final Map<String, String> httpHeaders;
+
+  /**
+   * Creates a resolver for the headers of a video.
+   *
+   * @param httpHeaders headers to send; a user agent is added if they have none.
+   */
+  HttpHeaderResolver(@NonNull Map<String, String> httpHeaders) {
+    Map<String, String> headers = new HashMap<>(httpHeaders);
+    if (!headers.containsKey(HEADER_USER_AGENT)) {
+      headers.put(HEADER_USER_AGENT, DEFAULT_USER_AGENT);
+    }
+    this.httpHeaders = Collections.unmodifiableMap(headers);
+  }
+
+  /**
+   * Returns a factory whose data sources add the headers to their requests.
+   *
+   * @param sharedFactory the shared factory to wrap.
+   * @return the wrapping factory.
+   */
+  @NonNull
+  DataSource.Factory wrap(@NonNull DataSource.Factory sharedFactory) {
+    return new ResolvingDataSource.Factory(sharedFactory, this);
+  }
+
+  @NonNull
+  @Override
+  public DataSpec resolveDataSpec(@NonNull DataSpec dataSpec) {
+    return dataSpec.withAdditionalHeaders(httpHeaders);
+  }
+}
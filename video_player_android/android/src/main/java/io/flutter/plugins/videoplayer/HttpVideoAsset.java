@@ -7,24 +7,20 @@ package io.flutter.plugins.videoplayer;
 import android.content.Context;
 import androidx.annotation.NonNull;
 import androidx.annotation.Nullable;
-import androidx.annotation.OptIn;
 import androidx.annotation.VisibleForTesting;
 import androidx.media3.common.MediaItem;
 import androidx.media3.common.MimeTypes;
-import androidx.media3.common.util.UnstableApi;
 import androidx.media3.datasource.DataSource;
-import androidx.media3.datasource.DefaultDataSource;
-import androidx.media3.datasource.DefaultHttpDataSource;
 import androidx.media3.exoplayer.source.DefaultMediaSourceFactory;
 import androidx.media3.exoplayer.source.MediaSource;
 import java.util.Map;
 
 final class HttpVideoAsset extends VideoAsset {
-  private static final String DEFAULT_USER_AGENT = "ExoPlayer";
-  private static final String HEADER_USER_AGENT = "User-Agent";
-
   @NonNull private final StreamingFormat streamingFormat;
   @NonNull private final Map<String, String> httpHeaders;
+  // The media source factory of this asset, and the shared factory it was built on.
+  @Nullable private MediaSource.Factory mediaSourceFactory;
+  @Nullable private DataSource.Factory mediaSourceSharedFactory;
 
   HttpVideoAsset(
       @Nullable String assetUrl,
@@ -60,39 +56,30 @@ final class HttpVideoAsset extends VideoAsset {
   @NonNull
   @Override
   public MediaSource.Factory getMediaSourceFactory(@NonNull Context context) {
-    return getMediaSourceFactory(context, new DefaultHttpDataSource.Factory());
+    DataSource.Factory sharedFactory =
+        VideoCacheManager.getInstance(context).getStreamingDataSourceFactory();
+    // Reused by every player of this asset, e.g. a preloaded one and a pooled one, until the
+    // shared factory is replaced by a reconfiguration of streaming caching.
+    if (mediaSourceFactory == null || mediaSourceSharedFactory != sharedFactory) {
+      mediaSourceFactory =
+          new DefaultMediaSourceFactory(context)
+              .setDataSourceFactory(getDataSourceFactory(sharedFactory));
+      mediaSourceSharedFactory = sharedFactory;
+    }
+    return mediaSourceFactory;
   }
 
   /**
-   * Returns a configured media source factory, starting at the provided factory.
+   * Returns the data source factory of this asset, on top of the shared factory of all players.
    *
    * <p>This method is provided for ease of testing without making real HTTP calls.
    *
-   * @param context application context.
-   * @param initialFactory initial factory, to be configured.
-   * @return configured factory, or {@code null} if not needed for this asset type.
+   * @param sharedFactory shared factory, which sends no headers of its own.
+   * @return factory that sends the headers of this asset.
    */
   @VisibleForTesting
-  MediaSource.Factory getMediaSourceFactory(
-      Context context, DefaultHttpDataSource.Factory initialFactory) {
-    String userAgent = DEFAULT_USER_AGENT;
-    if (!httpHeaders.isEmpty() && httpHeaders.containsKey(HEADER_USER_AGENT)) {
-      userAgent = httpHeaders.get(HEADER_USER_AGENT);
-    }
-    unstableUpdateDataSourceFactory(initialFactory, httpHeaders, userAgent);
-    DataSource.Factory dataSourceFactory = new DefaultDataSource.Factory(context, initialFactory);
-    return new DefaultMediaSourceFactory(context).setDataSourceFactory(dataSourceFactory);
-  }
-
-  // TODO: Migrate to stable API, see https://github.com/flutter/flutter/issues/147039.
-  @OptIn(markerClass = UnstableApi.class)
-  private static void unstableUpdateDataSourceFactory(
-      @NonNull DefaultHttpDataSource.Factory factory,
-      @NonNull Map<String, String> httpHeaders,
-      @Nullable String userAgent) {
-    factory.setUserAgent(userAgent).setAllowCrossProtocolRedirects(true);
-    if (!httpHeaders.isEmpty()) {
-      factory.setDefaultRequestProperties(httpHeaders);
-    }
+  @NonNull
+  DataSource.Factory getDataSourceFactory(@NonNull DataSource.Factory sharedFactory) {
+    return cacheUsage.wrap(new HttpHeaderResolver(httpHeaders).wrap(sharedFactory));
   }
 }
@@ -453,134 +453,1802 @@ public class Messages {
     }
   }
 
-  private static class PigeonCodec extends StandardMessageCodec {
-    public static final PigeonCodec INSTANCE = new PigeonCodec();
+  /**
+   * Size and eviction counters of the video cache.
+   *
+   * Generated class from Pigeon that represents data sent in messages.
+   */
+  public static final class CacheStats {
+    private @NonNull Long cachedBytes;
 
-    private PigeonCodec() {}
+    public @NonNull Long getCachedBytes() {
+      return cachedBytes;
+    }
 
-    @Override
-    protected Object readValueOfType(byte type, @NonNull ByteBuffer buffer) {
-      switch (type) {
-        case (byte) 129: {
-          Object value = readValue(buffer);
-          return value == null ? null : PlatformVideoViewType.values()[((Long) value).intValue()];
-        }
-        case (byte) 130: {
-          Object value = readValue(buffer);
-          return value == null ? null : DownloadState.values()[((Long) value).intValue()];
-        }
-        case (byte) 131:
-          return PlatformVideoViewCreationParams.fromList((ArrayList<Object>) readValue(buffer));
-        case (byte) 132:
-          return CreateMessage.fromList((ArrayList<Object>) readValue(buffer));
-        case (byte) 133:
-          return DownloadProgress.fromList((ArrayList<Object>) readValue(buffer));
-        default:
-          return super.readValueOfType(type, buffer);
+    public void setCachedBytes(@NonNull Long setterArg) {
+      if (setterArg == null) {
+        throw new IllegalStateException("Nonnull field \"cachedBytes\" is null.");
+      }
+      this.cachedBytes = setterArg;
+    }
+
+    private @NonNull Long maxBytes;
+
+    public @NonNull Long getMaxBytes() {
+      return maxBytes;
+    }
+
+    public void setMaxBytes(@NonNull Long setterArg) {
+      if (setterArg == null) {
+        throw new IllegalStateException("Nonnull field \"maxBytes\" is null.");
+      }
+      this.maxBytes = setterArg;
+    }
+
+    private @NonNull Long effectiveMaxBytes;
+
+    public @NonNull Long getEffectiveMaxBytes() {
+      return effectiveMaxBytes;
+    }
+
+    public void setEffectiveMaxBytes(@NonNull Long setterArg) {
+      if (setterArg == null) {
+        throw new IllegalStateException("Nonnull field \"effectiveMaxBytes\" is null.");
+      }
+      this.effectiveMaxBytes = setterArg;
+    }
+
+    private @NonNull Long hitCount;
+
+    public @NonNull Long getHitCount() {
+      return hitCount;
+    }
+
+    public void setHitCount(@NonNull Long setterArg) {
+      if (setterArg == null) {
+        throw new IllegalStateException("Nonnull field \"hitCount\" is null.");
+      }
+      this.hitCount = setterArg;
+    }
+
+    private @NonNull Long missCount;
+
+    public @NonNull Long getMissCount() {
+      return missCount;
+    }
+
+    public void setMissCount(@NonNull Long setterArg) {
+      if (setterArg == null) {
+        throw new IllegalStateException("Nonnull field \"missCount\" is null.");
+      }
+      this.missCount = setterArg;
+    }
+
+    private @NonNull Long evictedBytes;
+
+    public @NonNull Long getEvictedBytes() {
+      return evictedBytes;
+    }
+
+    public void setEvictedBytes(@NonNull Long setterArg) {
+      if (setterArg == null) {
+        throw new IllegalStateException("Nonnull field \"evictedBytes\" is null.");
+      }
+      this.evictedBytes = setterArg;
+    }
+
+    private @NonNull Long evictedSpanCount;
+
+    public @NonNull Long getEvictedSpanCount() {
+      return evictedSpanCount;
+    }
+
+    public void setEvictedSpanCount(@NonNull Long setterArg) {
+      if (setterArg == null) {
+        throw new IllegalStateException("Nonnull field \"evictedSpanCount\" is null.");
       }
+      this.evictedSpanCount = setterArg;
     }
 
+    /** Constructor is non-public to enforce null safety; use Builder. */
+    CacheStats() {}
+
     @Override
-    protected void writeValue(@NonNull ByteArrayOutputStream stream, Object value) {
-      if (value instanceof PlatformVideoViewType) {
-        stream.write(129);
-        writeValue(stream, value == null ? null : ((PlatformVideoViewType) value).index);
-      } else if (value instanceof DownloadState) {
-        stream.write(130);
-        writeValue(stream, value == null ? null : ((DownloadState) value).index);
-      } else if (value instanceof PlatformVideoViewCreationParams) {
-        stream.write(131);
-        writeValue(stream, ((PlatformVideoViewCreationParams) value).toList());
-      } else if (value instanceof CreateMessage) {
-        stream.write(132);
-        writeValue(stream, ((CreateMessage) value).toList());
-      } else if (value instanceof DownloadProgress) {
-        stream.write(133);
-        writeValue(stream, ((DownloadProgress) value).toList());
-      } else {
-        super.writeValue(stream, value);
+    public boolean equals(Object o) {
+      if (this == o) { return true; }
+      if (o == null || getClass() != o.getClass()) { return false; }
+      CacheStats that = (CacheStats) o;
+      return cachedBytes.equals(that.cachedBytes) && maxBytes.equals(that.maxBytes) && effectiveMaxBytes.equals(that.effectiveMaxBytes) && hitCount.equals(that.hitCount) && missCount.equals(that.missCount) && evictedBytes.equals(that.evictedBytes) && evictedSpanCount.equals(that.evictedSpanCount);
+    }
+
+    @Override
+    public int hashCode() {
+      return Objects.hash(cachedBytes, maxBytes, effectiveMaxBytes, hitCount, missCount, evictedBytes, evictedSpanCount);
+    }
+
+    public static final class Builder {
+
+      private @Nullable Long cachedBytes;
+
+      @CanIgnoreReturnValue
+      public @NonNull Builder setCachedBytes(@NonNull Long setterArg) {
+        this.cachedBytes = setterArg;
+        return this;
+      }
+
+      private @Nullable Long maxBytes;
+
+      @CanIgnoreReturnValue
+      public @NonNull Builder setMaxBytes(@NonNull Long setterArg) {
+        this.maxBytes = setterArg;
+        return this;
+      }
+
+      private @Nullable Long effectiveMaxBytes;
+
+      @CanIgnoreReturnValue
+      public @NonNull Builder setEffectiveMaxBytes(@NonNull Long setterArg) {
+        this.effectiveMaxBytes = setterArg;
+        return this;
+      }
+
+      private @Nullable Long hitCount;
+
+      @CanIgnoreReturnValue
+      public @NonNull Builder setHitCount(@NonNull Long setterArg) {
+        this.hitCount = setterArg;
+        return this;
+      }
+
+      private @Nullable Long missCount;
+
+      @CanIgnoreReturnValue
+      public @NonNull Builder setMissCount(@NonNull Long setterArg) {
+        this.missCount = setterArg;
+        return this;
+      }
+
+      private @Nullable Long evictedBytes;
+
+      @CanIgnoreReturnValue
+      public @NonNull Builder setEvictedBytes(@NonNull Long setterArg) {
+        this.evictedBytes = setterArg;
+        return this;
+      }
+
+      private @Nullable Long evictedSpanCount;
+
+      @CanIgnoreReturnValue
+      public @NonNull Builder setEvictedSpanCount(@NonNull Long setterArg) {
+        this.evictedSpanCount = setterArg;
+        return this;
+      }
+
+      public @NonNull CacheStats build() {
+        CacheStats pigeonReturn = new CacheStats();
+        pigeonReturn.setCachedBytes(cachedBytes);
+        pigeonReturn.setMaxBytes(maxBytes);
+        pigeonReturn.setEffectiveMaxBytes(effectiveMaxBytes);
+        pigeonReturn.setHitCount(hitCount);
+        pigeonReturn.setMissCount(missCount);
+        pigeonReturn.setEvictedBytes(evictedBytes);
+        pigeonReturn.setEvictedSpanCount(evictedSpanCount);
+        return pigeonReturn;
       }
     }
+
+    @NonNull
+    ArrayList<Object> toList() {
+      ArrayList<Object> toListResult = new ArrayList<>(7);
+      toListResult.add(cachedBytes);
+      toListResult.add(maxBytes);
+      toListResult.add(effectiveMaxBytes);
+      toListResult.add(hitCount);
+      toListResult.add(missCount);
+      toListResult.add(evictedBytes);
+      toListResult.add(evictedSpanCount);
+      return toListResult;
+    }
+
+    static @NonNull CacheStats fromList(@NonNull ArrayList<Object> pigeonVar_list) {
+      CacheStats pigeonResult = new CacheStats();
+      Object cachedBytes = pigeonVar_list.get(0);
+      pigeonResult.setCachedBytes((Long) cachedBytes);
+      Object maxBytes = pigeonVar_list.get(1);
+      pigeonResult.setMaxBytes((Long) maxBytes);
+      Object effectiveMaxBytes = pigeonVar_list.get(2);
+      pigeonResult.setEffectiveMaxBytes((Long) effectiveMaxBytes);
+      Object hitCount = pigeonVar_list.get(3);
+      pigeonResult.setHitCount((Long) hitCount);
+      Object missCount = pigeonVar_list.get(4);
+      pigeonResult.setMissCount((Long) missCount);
+      Object evictedBytes = pigeonVar_list.get(5);
+      pigeonResult.setEvictedBytes((Long) evictedBytes);
+      Object evictedSpanCount = pigeonVar_list.get(6);
+      pigeonResult.setEvictedSpanCount((Long) evictedSpanCount);
+      return pigeonResult;
+    }
   }
 
-  /** Generated interface from Pigeon that represents a handler of messages from Flutter. */
-  public interface AndroidVideoPlayerApi {
+  /**
+   * Bytes a player read from the video cache and from the network.
+   *
+   * Generated class from Pigeon that represents data sent in messages.
+   */
+  public static final class PlayerCacheStats {
+    private @NonNull Long cachedBytesRead;
 
-    void initialize();
+    public @NonNull Long getCachedBytesRead() {
+      return cachedBytesRead;
+    }
 
-    @NonNull 
-    Long create(@NonNull CreateMessage msg);
+    public void setCachedBytesRead(@NonNull Long setterArg) {
+      if (setterArg == null) {
+        throw new IllegalStateException("Nonnull field \"cachedBytesRead\" is null.");
+      }
+      this.cachedBytesRead = setterArg;
+    }
 
-    void dispose(@NonNull Long playerId);
+    private @NonNull Long networkBytesRead;
 
-    void setLooping(@NonNull Long playerId, @NonNull Boolean looping);
+    public @NonNull Long getNetworkBytesRead() {
+      return networkBytesRead;
+    }
 
-    void setVolume(@NonNull Long playerId, @NonNull Double volume);
+    public void setNetworkBytesRead(@NonNull Long setterArg) {
+      if (setterArg == null) {
+        throw new IllegalStateException("Nonnull field \"networkBytesRead\" is null.");
+      }
+      this.networkBytesRead = setterArg;
+    }
 
-    void setPlaybackSpeed(@NonNull Long playerId, @NonNull Double speed);
+    /** Constructor is non-public to enforce null safety; use Builder. */
+    PlayerCacheStats() {}
 
-    void play(@NonNull Long playerId);
+    @Override
+    public boolean equals(Object o) {
+      if (this == o) { return true; }
+      if (o == null || getClass() != o.getClass()) { return false; }
+      PlayerCacheStats that = (PlayerCacheStats) o;
+      return cachedBytesRead.equals(that.cachedBytesRead) && networkBytesRead.equals(that.networkBytesRead);
+    }
 
-    @NonNull 
-    Long position(@NonNull Long playerId);
+    @Override
+    public int hashCode() {
+      return Objects.hash(cachedBytesRead, networkBytesRead);
+    }
 
-    void seekTo(@NonNull Long playerId, @NonNull Long position);
+    public static final class Builder {
 
-    void pause(@NonNull Long playerId);
+      private @Nullable Long cachedBytesRead;
 
-    void setMixWithOthers(@NonNull Boolean mixWithOthers);
+      @CanIgnoreReturnValue
+      public @NonNull Builder setCachedBytesRead(@NonNull Long setterArg) {
+        this.cachedBytesRead = setterArg;
+        return this;
+      }
 
-    @NonNull 
-    String startDownload(@NonNull String url);
+      private @Nullable Long networkBytesRead;
 
-    @NonNull 
-    Boolean cancelDownload(@NonNull String url);
+      @CanIgnoreReturnValue
+      public @NonNull Builder setNetworkBytesRead(@NonNull Long setterArg) {
+        this.networkBytesRead = setterArg;
+        return this;
+      }
 
-    @NonNull 
-    Boolean removeDownload(@NonNull String url);
+      public @NonNull PlayerCacheStats build() {
+        PlayerCacheStats pigeonReturn = new PlayerCacheStats();
+        pigeonReturn.setCachedBytesRead(cachedBytesRead);
+        pigeonReturn.setNetworkBytesRead(networkBytesRead);
+        return pigeonReturn;
+      }
+    }
 
-    @NonNull 
-    DownloadProgress getDownloadProgress(@NonNull String url);
+    @NonNull
+    ArrayList<Object> toList() {
+      ArrayList<Object> toListResult = new ArrayList<>(2);
+      toListResult.add(cachedBytesRead);
+      toListResult.add(networkBytesRead);
+      return toListResult;
+    }
 
-    @Nullable 
-    String getCachedVideoPath(@NonNull String url);
+    static @NonNull PlayerCacheStats fromList(@NonNull ArrayList<Object> pigeonVar_list) {
+      PlayerCacheStats pigeonResult = new PlayerCacheStats();
+      Object cachedBytesRead = pigeonVar_list.get(0);
+      pigeonResult.setCachedBytesRead((Long) cachedBytesRead);
+      Object networkBytesRead = pigeonVar_list.get(1);
+      pigeonResult.setNetworkBytesRead((Long) networkBytesRead);
+      return pigeonResult;
+    }
+  }
 
-    @NonNull 
-    Long getMaxConcurrentDownloads();
+  /**
+   * Hit and timing counters of the pool of idle ExoPlayer instances.
+   *
+   * Generated class from Pigeon that represents data sent in messages.
+   */
+  public static final class PlayerPoolStats {
+    private @NonNull Long hitCount;
 
-    @NonNull 
-    DownloadState getDownloadState(@NonNull String url);
+    public @NonNull Long getHitCount() {
+      return hitCount;
+    }
 
-    @NonNull 
-    Boolean enterPictureInPictureMode(@NonNull Long playerId);
+    public void setHitCount(@NonNull Long setterArg) {
+      if (setterArg == null) {
+        throw new IllegalStateException("Nonnull field \"hitCount\" is null.");
+      }
+      this.hitCount = setterArg;
+    }
 
-    @NonNull 
-    Boolean isPictureInPictureSupported();
+    private @NonNull Long missCount;
 
-    @NonNull 
-    Boolean isInPictureInPictureMode(@NonNull Long playerId);
+    public @NonNull Long getMissCount() {
+      return missCount;
+    }
 
-    /** The codec used by AndroidVideoPlayerApi. */
-    static @NonNull MessageCodec<Object> getCodec() {
-      return PigeonCodec.INSTANCE;
+    public void setMissCount(@NonNull Long setterArg) {
+      if (setterArg == null) {
+        throw new IllegalStateException("Nonnull field \"missCount\" is null.");
+      }
+      this.missCount = setterArg;
     }
-    /**Sets up an instance of `AndroidVideoPlayerApi` to handle messages through the `binaryMessenger`. */
-    static void setUp(@NonNull BinaryMessenger binaryMessenger, @Nullable AndroidVideoPlayerApi api) {
-      setUp(binaryMessenger, "", api);
+
+    private @NonNull Long idleCount;
+
+    public @NonNull Long getIdleCount() {
+      return idleCount;
     }
-    static void setUp(@NonNull BinaryMessenger binaryMessenger, @NonNull String messageChannelSuffix, @Nullable AndroidVideoPlayerApi api) {
-      messageChannelSuffix = messageChannelSuffix.isEmpty() ? "" : "." + messageChannelSuffix;
+
+    public void setIdleCount(@NonNull Long setterArg) {
+      if (setterArg == null) {
+        throw new IllegalStateException("Nonnull field \"idleCount\" is null.");
+      }
+      this.idleCount = setterArg;
+    }
+
+    private @NonNull Long averageCreationTimeUs;
+
+    public @NonNull Long getAverageCreationTimeUs() {
+      return averageCreationTimeUs;
+    }
+
+    public void setAverageCreationTimeUs(@NonNull Long setterArg) {
+      if (setterArg == null) {
+        throw new IllegalStateException("Nonnull field \"averageCreationTimeUs\" is null.");
+      }
+      this.averageCreationTimeUs = setterArg;
+    }
+
+    private @NonNull Long creationTimeSavedUs;
+
+    public @NonNull Long getCreationTimeSavedUs() {
+      return creationTimeSavedUs;
+    }
+
+    public void setCreationTimeSavedUs(@NonNull Long setterArg) {
+      if (setterArg == null) {
+        throw new IllegalStateException("Nonnull field \"creationTimeSavedUs\" is null.");
+      }
+      this.creationTimeSavedUs = setterArg;
+    }
+
+    /** Constructor is non-public to enforce null safety; use Builder. */
+    PlayerPoolStats() {}
+
+    @Override
+    public boolean equals(Object o) {
+      if (this == o) { return true; }
+      if (o == null || getClass() != o.getClass()) { return false; }
+      PlayerPoolStats that = (PlayerPoolStats) o;
+      return hitCount.equals(that.hitCount) && missCount.equals(that.missCount) && idleCount.equals(that.idleCount) && averageCreationTimeUs.equals(that.averageCreationTimeUs) && creationTimeSavedUs.equals(that.creationTimeSavedUs);
+    }
+
+    @Override
+    public int hashCode() {
+      return Objects.hash(hitCount, missCount, idleCount, averageCreationTimeUs, creationTimeSavedUs);
+    }
+
+    public static final class Builder {
+
+      private @Nullable Long hitCount;
+
+      @CanIgnoreReturnValue
+      public @NonNull Builder setHitCount(@NonNull Long setterArg) {
+        this.hitCount = setterArg;
+        return this;
+      }
+
+      private @Nullable Long missCount;
+
+      @CanIgnoreReturnValue
+      public @NonNull Builder setMissCount(@NonNull Long setterArg) {
+        this.missCount = setterArg;
+        return this;
+      }
+
+      private @Nullable Long idleCount;
+
+      @CanIgnoreReturnValue
+      public @NonNull Builder setIdleCount(@NonNull Long setterArg) {
+        this.idleCount = setterArg;
+        return this;
+      }
+
+      private @Nullable Long averageCreationTimeUs;
+
+      @CanIgnoreReturnValue
+      public @NonNull Builder setAverageCreationTimeUs(@NonNull Long setterArg) {
+        this.averageCreationTimeUs = setterArg;
+        return this;
+      }
+
+      private @Nullable Long creationTimeSavedUs;
+
+      @CanIgnoreReturnValue
+      public @NonNull Builder setCreationTimeSavedUs(@NonNull Long setterArg) {
+        this.creationTimeSavedUs = setterArg;
+        return this;
+      }
+
+      public @NonNull PlayerPoolStats build() {
+        PlayerPoolStats pigeonReturn = new PlayerPoolStats();
+        pigeonReturn.setHitCount(hitCount);
+        pigeonReturn.setMissCount(missCount);
+        pigeonReturn.setIdleCount(idleCount);
+        pigeonReturn.setAverageCreationTimeUs(averageCreationTimeUs);
+        pigeonReturn.setCreationTimeSavedUs(creationTimeSavedUs);
+        return pigeonReturn;
+      }
+    }
+
+    @NonNull
+    ArrayList<Object> toList() {
+      ArrayList<Object> toListResult = new ArrayList<>(5);
+      toListResult.add(hitCount);
+      toListResult.add(missCount);
+      toListResult.add(idleCount);
+      toListResult.add(averageCreationTimeUs);
+      toListResult.add(creationTimeSavedUs);
+      return toListResult;
+    }
+
+    static @NonNull PlayerPoolStats fromList(@NonNull ArrayList<Object> pigeonVar_list) {
+      PlayerPoolStats pigeonResult = new PlayerPoolStats();
+      Object hitCount = pigeonVar_list.get(0);
+      pigeonResult.setHitCount((Long) hitCount);
+      Object missCount = pigeonVar_list.get(1);
+      pigeonResult.setMissCount((Long) missCount);
+      Object idleCount = pigeonVar_list.get(2);
+      pigeonResult.setIdleCount((Long) idleCount);
+      Object averageCreationTimeUs = pigeonVar_list.get(3);
+      pigeonResult.setAverageCreationTimeUs((Long) averageCreationTimeUs);
+      Object creationTimeSavedUs = pigeonVar_list.get(4);
+      pigeonResult.setCreationTimeSavedUs((Long) creationTimeSavedUs);
+      return pigeonResult;
+    }
+  }
+
+  /**
+   * Events that a player queued before its listener attached and then discarded.
+   *
+   * Generated class from Pigeon that represents data sent in messages.
+   */
+  public static final class PlayerEventStats {
+    private @NonNull Long droppedEventCount;
+
+    public @NonNull Long getDroppedEventCount() {
+      return droppedEventCount;
+    }
+
+    public void setDroppedEventCount(@NonNull Long setterArg) {
+      if (setterArg == null) {
+        throw new IllegalStateException("Nonnull field \"droppedEventCount\" is null.");
+      }
+      this.droppedEventCount = setterArg;
+    }
+
+    private @NonNull Long coalescedEventCount;
+
+    public @NonNull Long getCoalescedEventCount() {
+      return coalescedEventCount;
+    }
+
+    public void setCoalescedEventCount(@NonNull Long setterArg) {
+      if (setterArg == null) {
+        throw new IllegalStateException("Nonnull field \"coalescedEventCount\" is null.");
+      }
+      this.coalescedEventCount = setterArg;
+    }
+
+    /** Constructor is non-public to enforce null safety; use Builder. */
+    PlayerEventStats() {}
+
+    @Override
+    public boolean equals(Object o) {
+      if (this == o) { return true; }
+      if (o == null || getClass() != o.getClass()) { return false; }
+      PlayerEventStats that = (PlayerEventStats) o;
+      return droppedEventCount.equals(that.droppedEventCount) && coalescedEventCount.equals(that.coalescedEventCount);
+    }
+
+    @Override
+    public int hashCode() {
+      return Objects.hash(droppedEventCount, coalescedEventCount);
+    }
+
+    public static final class Builder {
+
+      private @Nullable Long droppedEventCount;
+
+      @CanIgnoreReturnValue
+      public @NonNull Builder setDroppedEventCount(@NonNull Long setterArg) {
+        this.droppedEventCount = setterArg;
+        return this;
+      }
+
+      private @Nullable Long coalescedEventCount;
+
+      @CanIgnoreReturnValue
+      public @NonNull Builder setCoalescedEventCount(@NonNull Long setterArg) {
+        this.coalescedEventCount = setterArg;
+        return this;
+      }
+
+      public @NonNull PlayerEventStats build() {
+        PlayerEventStats pigeonReturn = new PlayerEventStats();
+        pigeonReturn.setDroppedEventCount(droppedEventCount);
+        pigeonReturn.setCoalescedEventCount(coalescedEventCount);
+        return pigeonReturn;
+      }
+    }
+
+    @NonNull
+    ArrayList<Object> toList() {
+      ArrayList<Object> toListResult = new ArrayList<>(2);
+      toListResult.add(droppedEventCount);
+      toListResult.add(coalescedEventCount);
+      return toListResult;
+    }
+
+    static @NonNull PlayerEventStats fromList(@NonNull ArrayList<Object> pigeonVar_list) {
+      PlayerEventStats pigeonResult = new PlayerEventStats();
+      Object droppedEventCount = pigeonVar_list.get(0);
+      pigeonResult.setDroppedEventCount((Long) droppedEventCount);
+      Object coalescedEventCount = pigeonVar_list.get(1);
+      pigeonResult.setCoalescedEventCount((Long) coalescedEventCount);
+      return pigeonResult;
+    }
+  }
+
+  /**
+   * Quality of experience metrics of one player.
+   *
+   * Generated class from Pigeon that represents data sent in messages.
+   */
+  public static final class PlaybackStats {
+    private @Nullable Long timeToFirstFrameMs;
+
+    public @Nullable Long getTimeToFirstFrameMs() {
+      return timeToFirstFrameMs;
+    }
+
+    public void setTimeToFirstFrameMs(@Nullable Long setterArg) {
+      this.timeToFirstFrameMs = setterArg;
+    }
+
+    private @Nullable Long joinLatencyMs;
+
+    public @Nullable Long getJoinLatencyMs() {
+      return joinLatencyMs;
+    }
+
+    public void setJoinLatencyMs(@Nullable Long setterArg) {
+      this.joinLatencyMs = setterArg;
+    }
+
+    private @NonNull Long rebufferCount;
+
+    public @NonNull Long getRebufferCount() {
+      return rebufferCount;
+    }
+
+    public void setRebufferCount(@NonNull Long setterArg) {
+      if (setterArg == null) {
+        throw new IllegalStateException("Nonnull field \"rebufferCount\" is null.");
+      }
+      this.rebufferCount = setterArg;
+    }
+
+    private @NonNull Long rebufferDurationMs;
+
+    public @NonNull Long getRebufferDurationMs() {
+      return rebufferDurationMs;
+    }
+
+    public void setRebufferDurationMs(@NonNull Long setterArg) {
+      if (setterArg == null) {
+        throw new IllegalStateException("Nonnull field \"rebufferDurationMs\" is null.");
+      }
+      this.rebufferDurationMs = setterArg;
+    }
+
+    private @NonNull Long droppedFrameCount;
+
+    public @NonNull Long getDroppedFrameCount() {
+      return droppedFrameCount;
+    }
+
+    public void setDroppedFrameCount(@NonNull Long setterArg) {
+      if (setterArg == null) {
+        throw new IllegalStateException("Nonnull field \"droppedFrameCount\" is null.");
+      }
+      this.droppedFrameCount = setterArg;
+    }
+
+    private @NonNull Long bitrateSwitchCount;
+
+    public @NonNull Long getBitrateSwitchCount() {
+      return bitrateSwitchCount;
+    }
+
+    public void setBitrateSwitchCount(@NonNull Long setterArg) {
+      if (setterArg == null) {
+        throw new IllegalStateException("Nonnull field \"bitrateSwitchCount\" is null.");
+      }
+      this.bitrateSwitchCount = setterArg;
+    }
+
+    private @NonNull Long bytesLoaded;
+
+    public @NonNull Long getBytesLoaded() {
+      return bytesLoaded;
+    }
+
+    public void setBytesLoaded(@NonNull Long setterArg) {
+      if (setterArg == null) {
+        throw new IllegalStateException("Nonnull field \"bytesLoaded\" is null.");
+      }
+      this.bytesLoaded = setterArg;
+    }
+
+    /** Time from the latest reattachment of the video surface to its first frame. */
+    private @Nullable Long resumeTimeMs;
+
+    public @Nullable Long getResumeTimeMs() {
+      return resumeTimeMs;
+    }
+
+    public void setResumeTimeMs(@Nullable Long setterArg) {
+      this.resumeTimeMs = setterArg;
+    }
+
+    /** Constructor is non-public to enforce null safety; use Builder. */
+    PlaybackStats() {}
+
+    @Override
+    public boolean equals(Object o) {
+      if (this == o) { return true; }
+      if (o == null || getClass() != o.getClass()) { return false; }
+      PlaybackStats that = (PlaybackStats) o;
+      return Objects.equals(timeToFirstFrameMs, that.timeToFirstFrameMs) && Objects.equals(joinLatencyMs, that.joinLatencyMs) && rebufferCount.equals(that.rebufferCount) && rebufferDurationMs.equals(that.rebufferDurationMs) && droppedFrameCount.equals(that.droppedFrameCount) && bitrateSwitchCount.equals(that.bitrateSwitchCount) && bytesLoaded.equals(that.bytesLoaded) && Objects.equals(resumeTimeMs, that.resumeTimeMs);
+    }
+
+    @Override
+    public int hashCode() {
+      return Objects.hash(timeToFirstFrameMs, joinLatencyMs, rebufferCount, rebufferDurationMs, droppedFrameCount, bitrateSwitchCount, bytesLoaded, resumeTimeMs);
+    }
+
+    public static final class Builder {
+
+      private @Nullable Long timeToFirstFrameMs;
+
+      @CanIgnoreReturnValue
+      public @NonNull Builder setTimeToFirstFrameMs(@Nullable Long setterArg) {
+        this.timeToFirstFrameMs = setterArg;
+        return this;
+      }
+
+      private @Nullable Long joinLatencyMs;
+
+      @CanIgnoreReturnValue
+      public @NonNull Builder setJoinLatencyMs(@Nullable Long setterArg) {
+        this.joinLatencyMs = setterArg;
+        return this;
+      }
+
+      private @Nullable Long rebufferCount;
+
+      @CanIgnoreReturnValue
+      public @NonNull Builder setRebufferCount(@NonNull Long setterArg) {
+        this.rebufferCount = setterArg;
+        return this;
+      }
+
+      private @Nullable Long rebufferDurationMs;
+
+      @CanIgnoreReturnValue
+      public @NonNull Builder setRebufferDurationMs(@NonNull Long setterArg) {
+        this.rebufferDurationMs = setterArg;
+        return this;
+      }
+
+      private @Nullable Long droppedFrameCount;
+
+      @CanIgnoreReturnValue
+      public @NonNull Builder setDroppedFrameCount(@NonNull Long setterArg) {
+        this.droppedFrameCount = setterArg;
+        return this;
+      }
+
+      private @Nullable Long bitrateSwitchCount;
+
+      @CanIgnoreReturnValue
+      public @NonNull Builder setBitrateSwitchCount(@NonNull Long setterArg) {
+        this.bitrateSwitchCount = setterArg;
+        return this;
+      }
+
+      private @Nullable Long bytesLoaded;
+
+      @CanIgnoreReturnValue
+      public @NonNull Builder setBytesLoaded(@NonNull Long setterArg) {
+        this.bytesLoaded = setterArg;
+        return this;
+      }
+
+      private @Nullable Long resumeTimeMs;
+
+      @CanIgnoreReturnValue
+      public @NonNull Builder setResumeTimeMs(@Nullable Long setterArg) {
+        this.resumeTimeMs = setterArg;
+        return this;
+      }
+
+      public @NonNull PlaybackStats build() {
+        PlaybackStats pigeonReturn = new PlaybackStats();
+        pigeonReturn.setTimeToFirstFrameMs(timeToFirstFrameMs);
+        pigeonReturn.setJoinLatencyMs(joinLatencyMs);
+        pigeonReturn.setRebufferCount(rebufferCount);
+        pigeonReturn.setRebufferDurationMs(rebufferDurationMs);
+        pigeonReturn.setDroppedFrameCount(droppedFrameCount);
+        pigeonReturn.setBitrateSwitchCount(bitrateSwitchCount);
+        pigeonReturn.setBytesLoaded(bytesLoaded);
+        pigeonReturn.setResumeTimeMs(resumeTimeMs);
+        return pigeonReturn;
+      }
+    }
+
+    @NonNull
+    ArrayList<Object> toList() {
+      ArrayList<Object> toListResult = new ArrayList<>(8);
+      toListResult.add(timeToFirstFrameMs);
+      toListResult.add(joinLatencyMs);
+      toListResult.add(rebufferCount);
+      toListResult.add(rebufferDurationMs);
+      toListResult.add(droppedFrameCount);
+      toListResult.add(bitrateSwitchCount);
+      toListResult.add(bytesLoaded);
+      toListResult.add(resumeTimeMs);
+      return toListResult;
+    }
+
+    static @NonNull PlaybackStats fromList(@NonNull ArrayList<Object> pigeonVar_list) {
+      PlaybackStats pigeonResult = new PlaybackStats();
+      Object timeToFirstFrameMs = pigeonVar_list.get(0);
+      pigeonResult.setTimeToFirstFrameMs((Long) timeToFirstFrameMs);
+      Object joinLatencyMs = pigeonVar_list.get(1);
+      pigeonResult.setJoinLatencyMs((Long) joinLatencyMs);
+      Object rebufferCount = pigeonVar_list.get(2);
+      pigeonResult.setRebufferCount((Long) rebufferCount);
+      Object rebufferDurationMs = pigeonVar_list.get(3);
+      pigeonResult.setRebufferDurationMs((Long) rebufferDurationMs);
+      Object droppedFrameCount = pigeonVar_list.get(4);
+      pigeonResult.setDroppedFrameCount((Long) droppedFrameCount);
+      Object bitrateSwitchCount = pigeonVar_list.get(5);
+      pigeonResult.setBitrateSwitchCount((Long) bitrateSwitchCount);
+      Object bytesLoaded = pigeonVar_list.get(6);
+      pigeonResult.setBytesLoaded((Long) bytesLoaded);
+      Object resumeTimeMs = pigeonVar_list.get(7);
+      pigeonResult.setResumeTimeMs((Long) resumeTimeMs);
+      return pigeonResult;
+    }
+  }
+
+  /**
+   * The value of a process-wide counter.
+   *
+   * Generated class from Pigeon that represents data sent in messages.
+   */
+  public static final class CounterMetric {
+    private @NonNull String name;
+
+    public @NonNull String getName() {
+      return name;
+    }
+
+    public void setName(@NonNull String setterArg) {
+      if (setterArg == null) {
+        throw new IllegalStateException("Nonnull field \"name\" is null.");
+      }
+      this.name = setterArg;
+    }
+
+    private @NonNull Long value;
+
+    public @NonNull Long getValue() {
+      return value;
+    }
+
+    public void setValue(@NonNull Long setterArg) {
+      if (setterArg == null) {
+        throw new IllegalStateException("Nonnull field \"value\" is null.");
+      }
+      this.value = setterArg;
+    }
+
+    /** Constructor is non-public to enforce null safety; use Builder. */
+    CounterMetric() {}
+
+    @Override
+    public boolean equals(Object o) {
+      if (this == o) { return true; }
+      if (o == null || getClass() != o.getClass()) { return false; }
+      CounterMetric that = (CounterMetric) o;
+      return name.equals(that.name) && value.equals(that.value);
+    }
+
+    @Override
+    public int hashCode() {
+      return Objects.hash(name, value);
+    }
+
+    public static final class Builder {
+
+      private @Nullable String name;
+
+      @CanIgnoreReturnValue
+      public @NonNull Builder setName(@NonNull String setterArg) {
+        this.name = setterArg;
+        return this;
+      }
+
+      private @Nullable Long value;
+
+      @CanIgnoreReturnValue
+      public @NonNull Builder setValue(@NonNull Long setterArg) {
+        this.value = setterArg;
+        return this;
+      }
+
+      public @NonNull CounterMetric build() {
+        CounterMetric pigeonReturn = new CounterMetric();
+        pigeonReturn.setName(name);
+        pigeonReturn.setValue(value);
+        return pigeonReturn;
+      }
+    }
+
+    @NonNull
+    ArrayList<Object> toList() {
+      ArrayList<Object> toListResult = new ArrayList<>(2);
+      toListResult.add(name);
+      toListResult.add(value);
+      return toListResult;
+    }
+
+    static @NonNull CounterMetric fromList(@NonNull ArrayList<Object> pigeonVar_list) {
+      CounterMetric pigeonResult = new CounterMetric();
+      Object name = pigeonVar_list.get(0);
+      pigeonResult.setName((String) name);
+      Object value = pigeonVar_list.get(1);
+      pigeonResult.setValue((Long) value);
+      return pigeonResult;
+    }
+  }
+
+  /**
+   * A summary of a process-wide histogram.
+   *
+   * Latencies are in microseconds; percentiles are rounded up to a power of two.
+   *
+   * Generated class from Pigeon that represents data sent in messages.
+   */
+  public static final class HistogramMetric {
+    private @NonNull String name;
+
+    public @NonNull String getName() {
+      return name;
+    }
+
+    public void setName(@NonNull String setterArg) {
+      if (setterArg == null) {
+        throw new IllegalStateException("Nonnull field \"name\" is null.");
+      }
+      this.name = setterArg;
+    }
+
+    private @NonNull Long count;
+
+    public @NonNull Long getCount() {
+      return count;
+    }
+
+    public void setCount(@NonNull Long setterArg) {
+      if (setterArg == null) {
+        throw new IllegalStateException("Nonnull field \"count\" is null.");
+      }
+      this.count = setterArg;
+    }
+
+    private @NonNull Long sum;
+
+    public @NonNull Long getSum() {
+      return sum;
+    }
+
+    public void setSum(@NonNull Long setterArg) {
+      if (setterArg == null) {
+        throw new IllegalStateException("Nonnull field \"sum\" is null.");
+      }
+      this.sum = setterArg;
+    }
+
+    private @NonNull Long max;
+
+    public @NonNull Long getMax() {
+      return max;
+    }
+
+    public void setMax(@NonNull Long setterArg) {
+      if (setterArg == null) {
+        throw new IllegalStateException("Nonnull field \"max\" is null.");
+      }
+      this.max = setterArg;
+    }
+
+    private @NonNull Long p50;
+
+    public @NonNull Long getP50() {
+      return p50;
+    }
+
+    public void setP50(@NonNull Long setterArg) {
+      if (setterArg == null) {
+        throw new IllegalStateException("Nonnull field \"p50\" is null.");
+      }
+      this.p50 = setterArg;
+    }
+
+    private @NonNull Long p90;
+
+    public @NonNull Long getP90() {
+      return p90;
+    }
+
+    public void setP90(@NonNull Long setterArg) {
+      if (setterArg == null) {
+        throw new IllegalStateException("Nonnull field \"p90\" is null.");
+      }
+      this.p90 = setterArg;
+    }
+
+    private @NonNull Long p99;
+
+    public @NonNull Long getP99() {
+      return p99;
+    }
+
+    public void setP99(@NonNull Long setterArg) {
+      if (setterArg == null) {
+        throw new IllegalStateException("Nonnull field \"p99\" is null.");
+      }
+      this.p99 = setterArg;
+    }
+
+    /** Constructor is non-public to enforce null safety; use Builder. */
+    HistogramMetric() {}
+
+    @Override
+    public boolean equals(Object o) {
+      if (this == o) { return true; }
+      if (o == null || getClass() != o.getClass()) { return false; }
+      HistogramMetric that = (HistogramMetric) o;
+      return name.equals(that.name) && count.equals(that.count) && sum.equals(that.sum) && max.equals(that.max) && p50.equals(that.p50) && p90.equals(that.p90) && p99.equals(that.p99);
+    }
+
+    @Override
+    public int hashCode() {
+      return Objects.hash(name, count, sum, max, p50, p90, p99);
+    }
+
+    public static final class Builder {
+
+      private @Nullable String name;
+
+      @CanIgnoreReturnValue
+      public @NonNull Builder setName(@NonNull String setterArg) {
+        this.name = setterArg;
+        return this;
+      }
+
+      private @Nullable Long count;
+
+      @CanIgnoreReturnValue
+      public @NonNull Builder setCount(@NonNull Long setterArg) {
+        this.count = setterArg;
+        return this;
+      }
+
+      private @Nullable Long sum;
+
+      @CanIgnoreReturnValue
+      public @NonNull Builder setSum(@NonNull Long setterArg) {
+        this.sum = setterArg;
+        return this;
+      }
+
+      private @Nullable Long max;
+
+      @CanIgnoreReturnValue
+      public @NonNull Builder setMax(@NonNull Long setterArg) {
+        this.max = setterArg;
+        return this;
+      }
+
+      private @Nullable Long p50;
+
+      @CanIgnoreReturnValue
+      public @NonNull Builder setP50(@NonNull Long setterArg) {
+        this.p50 = setterArg;
+        return this;
+      }
+
+      private @Nullable Long p90;
+
+      @CanIgnoreReturnValue
+      public @NonNull Builder setP90(@NonNull Long setterArg) {
+        this.p90 = setterArg;
+        return this;
+      }
+
+      private @Nullable Long p99;
+
+      @CanIgnoreReturnValue
+      public @NonNull Builder setP99(@NonNull Long setterArg) {
+        this.p99 = setterArg;
+        return this;
+      }
+
+      public @NonNull HistogramMetric build() {
+        HistogramMetric pigeonReturn = new HistogramMetric();
+        pigeonReturn.setName(name);
+        pigeonReturn.setCount(count);
+        pigeonReturn.setSum(sum);
+        pigeonReturn.setMax(max);
+        pigeonReturn.setP50(p50);
+        pigeonReturn.setP90(p90);
+        pigeonReturn.setP99(p99);
+        return pigeonReturn;
+      }
+    }
+
+    @NonNull
+    ArrayList<Object> toList() {
+      ArrayList<Object> toListResult = new ArrayList<>(7);
+      toListResult.add(name);
+      toListResult.add(count);
+      toListResult.add(sum);
+      toListResult.add(max);
+      toListResult.add(p50);
+      toListResult.add(p90);
+      toListResult.add(p99);
+      return toListResult;
+    }
+
+    static @NonNull HistogramMetric fromList(@NonNull ArrayList<Object> pigeonVar_list) {
+      HistogramMetric pigeonResult = new HistogramMetric();
+      Object name = pigeonVar_list.get(0);
+      pigeonResult.setName((String) name);
+      Object count = pigeonVar_list.get(1);
+      pigeonResult.setCount((Long) count);
+      Object sum = pigeonVar_list.get(2);
+      pigeonResult.setSum((Long) sum);
+      Object max = pigeonVar_list.get(3);
+      pigeonResult.setMax((Long) max);
+      Object p50 = pigeonVar_list.get(4);
+      pigeonResult.setP50((Long) p50);
+      Object p90 = pigeonVar_list.get(5);
+      pigeonResult.setP90((Long) p90);
+      Object p99 = pigeonVar_list.get(6);
+      pigeonResult.setP99((Long) p99);
+      return pigeonResult;
+    }
+  }
+
+  /**
+   * The process-wide metrics of the plugin.
+   *
+   * Generated class from Pigeon that represents data sent in messages.
+   */
+  public static final class MetricsSnapshot {
+    private @NonNull List<CounterMetric> counters;
+
+    public @NonNull List<CounterMetric> getCounters() {
+      return counters;
+    }
+
+    public void setCounters(@NonNull List<CounterMetric> setterArg) {
+      if (setterArg == null) {
+        throw new IllegalStateException("Nonnull field \"counters\" is null.");
+      }
+      this.counters = setterArg;
+    }
+
+    private @NonNull List<HistogramMetric> histograms;
+
+    public @NonNull List<HistogramMetric> getHistograms() {
+      return histograms;
+    }
+
+    public void setHistograms(@NonNull List<HistogramMetric> setterArg) {
+      if (setterArg == null) {
+        throw new IllegalStateException("Nonnull field \"histograms\" is null.");
+      }
+      this.histograms = setterArg;
+    }
+
+    /** Constructor is non-public to enforce null safety; use Builder. */
+    MetricsSnapshot() {}
+
+    @Override
+    public boolean equals(Object o) {
+      if (this == o) { return true; }
+      if (o == null || getClass() != o.getClass()) { return false; }
+      MetricsSnapshot that = (MetricsSnapshot) o;
+      return counters.equals(that.counters) && histograms.equals(that.histograms);
+    }
+
+    @Override
+    public int hashCode() {
+      return Objects.hash(counters, histograms);
+    }
+
+    public static final class Builder {
+
+      private @Nullable List<CounterMetric> counters;
+
+      @CanIgnoreReturnValue
+      public @NonNull Builder setCounters(@NonNull List<CounterMetric> setterArg) {
+        this.counters = setterArg;
+        return this;
+      }
+
+      private @Nullable List<HistogramMetric> histograms;
+
+      @CanIgnoreReturnValue
+      public @NonNull Builder setHistograms(@NonNull List<HistogramMetric> setterArg) {
+        this.histograms = setterArg;
+        return this;
+      }
+
+      public @NonNull MetricsSnapshot build() {
+        MetricsSnapshot pigeonReturn = new MetricsSnapshot();
+        pigeonReturn.setCounters(counters);
+        pigeonReturn.setHistograms(histograms);
+        return pigeonReturn;
+      }
+    }
+
+    @NonNull
+    ArrayList<Object> toList() {
+      ArrayList<Object> toListResult = new ArrayList<>(2);
+      toListResult.add(counters);
+      toListResult.add(histograms);
+      return toListResult;
+    }
+
+    static @NonNull MetricsSnapshot fromList(@NonNull ArrayList<Object> pigeonVar_list) {
+      MetricsSnapshot pigeonResult = new MetricsSnapshot();
+      Object counters = pigeonVar_list.get(0);
+      pigeonResult.setCounters((List<CounterMetric>) counters);
+      Object histograms = pigeonVar_list.get(1);
+      pigeonResult.setHistograms((List<HistogramMetric>) histograms);
+      return pigeonResult;
+    }
+  }
+
+  private static class PigeonCodec extends StandardMessageCodec {
+    public static final PigeonCodec INSTANCE = new PigeonCodec();
+
+    private PigeonCodec() {}
+
+    @Override
+    protected Object readValueOfType(byte type, @NonNull ByteBuffer buffer) {
+      switch (type) {
+        case (byte) 129: {
+          Object value = readValue(buffer);
+          return value == null ? null : PlatformVideoViewType.values()[((Long) value).intValue()];
+        }
+        case (byte) 130: {
+          Object value = readValue(buffer);
+          return value == null ? null : DownloadState.values()[((Long) value).intValue()];
+        }
+        case (byte) 131:
+          return PlatformVideoViewCreationParams.fromList((ArrayList<Object>) readValue(buffer));
+        case (byte) 132:
+          return CreateMessage.fromList((ArrayList<Object>) readValue(buffer));
+        case (byte) 133:
+          return DownloadProgress.fromList((ArrayList<Object>) readValue(buffer));
+        case (byte) 134:
+          return CacheStats.fromList((ArrayList<Object>) readValue(buffer));
+        case (byte) 135:
+          return PlayerCacheStats.fromList((ArrayList<Object>) readValue(buffer));
+        case (byte) 136:
+          return PlayerPoolStats.fromList((ArrayList<Object>) readValue(buffer));
+        case (byte) 137:
+          return PlayerEventStats.fromList((ArrayList<Object>) readValue(buffer));
+        case (byte) 138:
+          return PlaybackStats.fromList((ArrayList<Object>) readValue(buffer));
+        case (byte) 139:
+          return CounterMetric.fromList((ArrayList<Object>) readValue(buffer));
+        case (byte) 140:
+          return HistogramMetric.fromList((ArrayList<Object>) readValue(buffer));
+        case (byte) 141:
+          return MetricsSnapshot.fromList((ArrayList<Object>) readValue(buffer));
+        default:
+          return super.readValueOfType(type, buffer);
+      }
+    }
+
+    @Override
+    protected void writeValue(@NonNull ByteArrayOutputStream stream, Object value) {
+      if (value instanceof PlatformVideoViewType) {
+        stream.write(129);
+        writeValue(stream, value == null ? null : ((PlatformVideoViewType) value).index);
+      } else if (value instanceof DownloadState) {
+        stream.write(130);
+        writeValue(stream, value == null ? null : ((DownloadState) value).index);
+      } else if (value instanceof PlatformVideoViewCreationParams) {
+        stream.write(131);
+        writeValue(stream, ((PlatformVideoViewCreationParams) value).toList());
+      } else if (value instanceof CreateMessage) {
+        stream.write(132);
+        writeValue(stream, ((CreateMessage) value).toList());
+      } else if (value instanceof DownloadProgress) {
+        stream.write(133);
+        writeValue(stream, ((DownloadProgress) value).toList());
+      } else if (value instanceof CacheStats) {
+        stream.write(134);
+        writeValue(stream, ((CacheStats) value).toList());
+      } else if (value instanceof PlayerCacheStats) {
+        stream.write(135);
+        writeValue(stream, ((PlayerCacheStats) value).toList());
+      } else if (value instanceof PlayerPoolStats) {
+        stream.write(136);
+        writeValue(stream, ((PlayerPoolStats) value).toList());
+      } else if (value instanceof PlayerEventStats) {
+        stream.write(137);
+        writeValue(stream, ((PlayerEventStats) value).toList());
+      } else if (value instanceof PlaybackStats) {
+        stream.write(138);
+        writeValue(stream, ((PlaybackStats) value).toList());
+      } else if (value instanceof CounterMetric) {
+        stream.write(139);
+        writeValue(stream, ((CounterMetric) value).toList());
+      } else if (value instanceof HistogramMetric) {
+        stream.write(140);
+        writeValue(stream, ((HistogramMetric) value).toList());
+      } else if (value instanceof MetricsSnapshot) {
+        stream.write(141);
+        writeValue(stream, ((MetricsSnapshot) value).toList());
+      } else {
+        super.writeValue(stream, value);
+      }
+    }
+  }
+
+  /** Asynchronous error handling return type for non-nullable API method returns. */
+  public interface Result<T> {
+    /** Success case callback method for handling returns. */
+    void success(@NonNull T result);
+
+    /** Failure case callback method for handling errors. */
+    void error(@NonNull Throwable error);
+  }
+  /** Asynchronous error handling return type for nullable API method returns. */
+  public interface NullableResult<T> {
+    /** Success case callback method for handling returns. */
+    void success(@Nullable T result);
+
+    /** Failure case callback method for handling errors. */
+    void error(@NonNull Throwable error);
+  }
+  /** Asynchronous error handling return type for void API method returns. */
+  public interface VoidResult {
+    /** Success case callback method for handling returns. */
+    void success();
+
+    /** Failure case callback method for handling errors. */
+    void error(@NonNull Throwable error);
+  }
+  /** Generated interface from Pigeon that represents a handler of messages from Flutter. */
+  public interface AndroidVideoPlayerApi {
+
+    void initialize();
+
+    @NonNull 
+    Long create(@NonNull CreateMessage msg);
+
+    void dispose(@NonNull Long playerId);
+
+    void setLooping(@NonNull Long playerId, @NonNull Boolean looping);
+
+    void setVolume(@NonNull Long playerId, @NonNull Double volume);
+
+    void setPlaybackSpeed(@NonNull Long playerId, @NonNull Double speed);
+
+    void play(@NonNull Long playerId);
+
+    @NonNull 
+    Long position(@NonNull Long playerId);
+
+    void seekTo(@NonNull Long playerId, @NonNull Long position);
+
+    void pause(@NonNull Long playerId);
+
+    void setMixWithOthers(@NonNull Boolean mixWithOthers);
+
+    void startDownload(@NonNull String url, @NonNull Long priority, @NonNull Result<String> result);
+
+    void cancelDownload(@NonNull String url, @NonNull Result<Boolean> result);
+
+    void removeDownload(@NonNull String url, @NonNull Result<Boolean> result);
+
+    @NonNull 
+    DownloadProgress getDownloadProgress(@NonNull String url);
+
+    @Nullable 
+    String getCachedVideoPath(@NonNull String url);
+
+    @NonNull 
+    Long getMaxConcurrentDownloads();
+
+    @NonNull 
+    DownloadState getDownloadState(@NonNull String url);
+
+    @NonNull 
+    Boolean enterPictureInPictureMode(@NonNull Long playerId);
+
+    @NonNull 
+    Boolean isPictureInPictureSupported();
+
+    @NonNull 
+    Boolean isInPictureInPictureMode(@NonNull Long playerId);
+
+    void setMaxCacheSize(@NonNull Long maxBytes);
+
+    @NonNull 
+    CacheStats getCacheStats();
+
+    void startDownloads(
+        @NonNull List<String> urls, @NonNull Long priority, @NonNull Result<List<String>> result);
+
+    void cancelDownloads(@NonNull List<String> urls, @NonNull Result<List<Boolean>> result);
+
+    @NonNull 
+    List<DownloadProgress> getDownloadProgresses(@NonNull List<String> urls);
+
+    @NonNull 
+    List<DownloadState> getDownloadStates(@NonNull List<String> urls);
+
+    void setStreamingCache(@NonNull Boolean enabled, @NonNull Long maxItemBytes);
+
+    @NonNull 
+    PlayerCacheStats getPlayerCacheStats(@NonNull Long playerId);
+
+    void prefetchHead(@NonNull String url, @NonNull Long durationMs, @Nullable String formatHint, @Nullable Long maxBitrate, @NonNull Result<Long> result);
+
+    void setPlayerPoolSize(@NonNull Long maxIdlePlayers);
+
+    @NonNull 
+    PlayerPoolStats getPlayerPoolStats();
+
+    void setSharedPlaybackResources(@NonNull Boolean enabled, @NonNull Long totalBufferBytes);
+
+    void setPositionUpdateInterval(@NonNull Long playerId, @NonNull Long intervalMs);
+
+    @NonNull 
+    PlayerEventStats getPlayerEventStats(@NonNull Long playerId);
+
+    @NonNull 
+    Boolean preload(@NonNull String url, @Nullable String formatHint, @NonNull Map<String, String> httpHeaders, @NonNull Long durationMs);
+
+    void addPlaylistItem(@NonNull Long playerId, @NonNull String uri, @Nullable String formatHint, @NonNull Map<String, String> httpHeaders);
+
+    void removePlaylistItem(@NonNull Long playerId, @NonNull Long index);
+
+    @NonNull 
+    PlaybackStats getPlaybackStats(@NonNull Long playerId);
+
+    @NonNull 
+    MetricsSnapshot getMetricsSnapshot();
+
+    void setHttpEngine(@NonNull Boolean pooled, @NonNull Long maxIdleConnections);
+
+    void setDownloadChunking(@NonNull Long chunkBytes, @NonNull Long parallelism);
+
+    @NonNull 
+    Boolean setDownloadPriority(@NonNull String url, @NonNull Long priority);
+
+    void setDownloadThrottling(@NonNull Boolean enabled, @NonNull Long minBufferMs);
+
+    /** The codec used by AndroidVideoPlayerApi. */
+    static @NonNull MessageCodec<Object> getCodec() {
+      return PigeonCodec.INSTANCE;
+    }
+    /**Sets up an instance of `AndroidVideoPlayerApi` to handle messages through the `binaryMessenger`. */
+    static void setUp(@NonNull BinaryMessenger binaryMessenger, @Nullable AndroidVideoPlayerApi api) {
+      setUp(binaryMessenger, "", api);
+    }
+    static void setUp(@NonNull BinaryMessenger binaryMessenger, @NonNull String messageChannelSuffix, @Nullable AndroidVideoPlayerApi api) {
+      messageChannelSuffix = messageChannelSuffix.isEmpty() ? "" : "." + messageChannelSuffix;
+      {
+        BasicMessageChannel<Object> channel =
+            new BasicMessageChannel<>(
+                binaryMessenger, "dev.flutter.pigeon.video_player_android.AndroidVideoPlayerApi.initialize" + messageChannelSuffix, getCodec());
+        if (api != null) {
+          channel.setMessageHandler(
+              (message, reply) -> {
+                ArrayList<Object> wrapped = new ArrayList<>();
+                try {
+                  api.initialize();
+                  wrapped.add(0, null);
+                }
+ catch (Throwable exception) {
+                  wrapped = wrapError(exception);
+                }
+                reply.reply(wrapped);
+              });
+        } else {
+          channel.setMessageHandler(null);
+        }
+      }
+      {
+        BasicMessageChannel<Object> channel =
+            new BasicMessageChannel<>(
+                binaryMessenger, "dev.flutter.pigeon.video_player_android.AndroidVideoPlayerApi.create" + messageChannelSuffix, getCodec());
+        if (api != null) {
+          channel.setMessageHandler(
+              (message, reply) -> {
+                ArrayList<Object> wrapped = new ArrayList<>();
+                ArrayList<Object> args = (ArrayList<Object>) message;
+                CreateMessage msgArg = (CreateMessage) args.get(0);
+                try {
+                  Long output = api.create(msgArg);
+                  wrapped.add(0, output);
+                }
+ catch (Throwable exception) {
+                  wrapped = wrapError(exception);
+                }
+                reply.reply(wrapped);
+              });
+        } else {
+          channel.setMessageHandler(null);
+        }
+      }
+      {
+        BasicMessageChannel<Object> channel =
+            new BasicMessageChannel<>(
+                binaryMessenger, "dev.flutter.pigeon.video_player_android.AndroidVideoPlayerApi.dispose" + messageChannelSuffix, getCodec());
+        if (api != null) {
+          channel.setMessageHandler(
+              (message, reply) -> {
+                ArrayList<Object> wrapped = new ArrayList<>();
+                ArrayList<Object> args = (ArrayList<Object>) message;
+                Long playerIdArg = (Long) args.get(0);
+                try {
+                  api.dispose(playerIdArg);
+                  wrapped.add(0, null);
+                }
+ catch (Throwable exception) {
+                  wrapped = wrapError(exception);
+                }
+                reply.reply(wrapped);
+              });
+        } else {
+          channel.setMessageHandler(null);
+        }
+      }
+      {
+        BasicMessageChannel<Object> channel =
+            new BasicMessageChannel<>(
+                binaryMessenger, "dev.flutter.pigeon.video_player_android.AndroidVideoPlayerApi.setLooping" + messageChannelSuffix, getCodec());
+        if (api != null) {
+          channel.setMessageHandler(
+              (message, reply) -> {
+                ArrayList<Object> wrapped = new ArrayList<>();
+                ArrayList<Object> args = (ArrayList<Object>) message;
+                Long playerIdArg = (Long) args.get(0);
+                Boolean loopingArg = (Boolean) args.get(1);
+                try {
+                  api.setLooping(playerIdArg, loopingArg);
+                  wrapped.add(0, null);
+                }
+ catch (Throwable exception) {
+                  wrapped = wrapError(exception);
+                }
+                reply.reply(wrapped);
+              });
+        } else {
+          channel.setMessageHandler(null);
+        }
+      }
+      {
+        BasicMessageChannel<Object> channel =
+            new BasicMessageChannel<>(
+                binaryMessenger, "dev.flutter.pigeon.video_player_android.AndroidVideoPlayerApi.setVolume" + messageChannelSuffix, getCodec());
+        if (api != null) {
+          channel.setMessageHandler(
+              (message, reply) -> {
+                ArrayList<Object> wrapped = new ArrayList<>();
+                ArrayList<Object> args = (ArrayList<Object>) message;
+                Long playerIdArg = (Long) args.get(0);
+                Double volumeArg = (Double) args.get(1);
+                try {
+                  api.setVolume(playerIdArg, volumeArg);
+                  wrapped.add(0, null);
+                }
+ catch (Throwable exception) {
+                  wrapped = wrapError(exception);
+                }
+                reply.reply(wrapped);
+              });
+        } else {
+          channel.setMessageHandler(null);
+        }
+      }
+      {
+        BasicMessageChannel<Object> channel =
+            new BasicMessageChannel<>(
+                binaryMessenger, "dev.flutter.pigeon.video_player_android.AndroidVideoPlayerApi.setPlaybackSpeed" + messageChannelSuffix, getCodec());
+        if (api != null) {
+          channel.setMessageHandler(
+              (message, reply) -> {
+                ArrayList<Object> wrapped = new ArrayList<>();
+                ArrayList<Object> args = (ArrayList<Object>) message;
+                Long playerIdArg = (Long) args.get(0);
+                Double speedArg = (Double) args.get(1);
+                try {
+                  api.setPlaybackSpeed(playerIdArg, speedArg);
+                  wrapped.add(0, null);
+                }
+ catch (Throwable exception) {
+                  wrapped = wrapError(exception);
+                }
+                reply.reply(wrapped);
+              });
+        } else {
+          channel.setMessageHandler(null);
+        }
+      }
+      {
+        BasicMessageChannel<Object> channel =
+            new BasicMessageChannel<>(
+                binaryMessenger, "dev.flutter.pigeon.video_player_android.AndroidVideoPlayerApi.play" + messageChannelSuffix, getCodec());
+        if (api != null) {
+          channel.setMessageHandler(
+              (message, reply) -> {
+                ArrayList<Object> wrapped = new ArrayList<>();
+                ArrayList<Object> args = (ArrayList<Object>) message;
+                Long playerIdArg = (Long) args.get(0);
+                try {
+                  api.play(playerIdArg);
+                  wrapped.add(0, null);
+                }
+ catch (Throwable exception) {
+                  wrapped = wrapError(exception);
+                }
+                reply.reply(wrapped);
+              });
+        } else {
+          channel.setMessageHandler(null);
+        }
+      }
+      {
+        BasicMessageChannel<Object> channel =
+            new BasicMessageChannel<>(
+                binaryMessenger, "dev.flutter.pigeon.video_player_android.AndroidVideoPlayerApi.position" + messageChannelSuffix, getCodec());
+        if (api != null) {
+          channel.setMessageHandler(
+              (message, reply) -> {
+                ArrayList<Object> wrapped = new ArrayList<>();
+                ArrayList<Object> args = (ArrayList<Object>) message;
+                Long playerIdArg = (Long) args.get(0);
+                try {
+                  Long output = api.position(playerIdArg);
+                  wrapped.add(0, output);
+                }
+ catch (Throwable exception) {
+                  wrapped = wrapError(exception);
+                }
+                reply.reply(wrapped);
+              });
+        } else {
+          channel.setMessageHandler(null);
+        }
+      }
+      {
+        BasicMessageChannel<Object> channel =
+            new BasicMessageChannel<>(
+                binaryMessenger, "dev.flutter.pigeon.video_player_android.AndroidVideoPlayerApi.seekTo" + messageChannelSuffix, getCodec());
+        if (api != null) {
+          channel.setMessageHandler(
+              (message, reply) -> {
+                ArrayList<Object> wrapped = new ArrayList<>();
+                ArrayList<Object> args = (ArrayList<Object>) message;
+                Long playerIdArg = (Long) args.get(0);
+                Long positionArg = (Long) args.get(1);
+                try {
+                  api.seekTo(playerIdArg, positionArg);
+                  wrapped.add(0, null);
+                }
+ catch (Throwable exception) {
+                  wrapped = wrapError(exception);
+                }
+                reply.reply(wrapped);
+              });
+        } else {
+          channel.setMessageHandler(null);
+        }
+      }
+      {
+        BasicMessageChannel<Object> channel =
+            new BasicMessageChannel<>(
+                binaryMessenger, "dev.flutter.pigeon.video_player_android.AndroidVideoPlayerApi.pause" + messageChannelSuffix, getCodec());
+        if (api != null) {
+          channel.setMessageHandler(
+              (message, reply) -> {
+                ArrayList<Object> wrapped = new ArrayList<>();
+                ArrayList<Object> args = (ArrayList<Object>) message;
+                Long playerIdArg = (Long) args.get(0);
+                try {
+                  api.pause(playerIdArg);
+                  wrapped.add(0, null);
+                }
+ catch (Throwable exception) {
+                  wrapped = wrapError(exception);
+                }
+                reply.reply(wrapped);
+              });
+        } else {
+          channel.setMessageHandler(null);
+        }
+      }
+      {
+        BasicMessageChannel<Object> channel =
+            new BasicMessageChannel<>(
+                binaryMessenger, "dev.flutter.pigeon.video_player_android.AndroidVideoPlayerApi.setMixWithOthers" + messageChannelSuffix, getCodec());
+        if (api != null) {
+          channel.setMessageHandler(
+              (message, reply) -> {
+                ArrayList<Object> wrapped = new ArrayList<>();
+                ArrayList<Object> args = (ArrayList<Object>) message;
+                Boolean mixWithOthersArg = (Boolean) args.get(0);
+                try {
+                  api.setMixWithOthers(mixWithOthersArg);
+                  wrapped.add(0, null);
+                }
+ catch (Throwable exception) {
+                  wrapped = wrapError(exception);
+                }
+                reply.reply(wrapped);
+              });
+        } else {
+          channel.setMessageHandler(null);
+        }
+      }
+      {
+        BasicMessageChannel<Object> channel =
+            new BasicMessageChannel<>(
+                binaryMessenger, "dev.flutter.pigeon.video_player_android.AndroidVideoPlayerApi.startDownload" + messageChannelSuffix, getCodec());
+        if (api != null) {
+          channel.setMessageHandler(
+              (message, reply) -> {
+                ArrayList<Object> wrapped = new ArrayList<>();
+                ArrayList<Object> args = (ArrayList<Object>) message;
+                String urlArg = (String) args.get(0);
+                Long priorityArg = (Long) args.get(1);
+                Result<String> resultCallback =
+                    new Result<String>() {
+                      public void success(String result) {
+                        wrapped.add(0, result);
+                        reply.reply(wrapped);
+                      }
+
+                      public void error(Throwable error) {
+                        ArrayList<Object> wrappedError = wrapError(error);
+                        reply.reply(wrappedError);
+                      }
+                    };
+
+                api.startDownload(urlArg, priorityArg, resultCallback);
+              });
+        } else {
+          channel.setMessageHandler(null);
+        }
+      }
+      {
+        BasicMessageChannel<Object> channel =
+            new BasicMessageChannel<>(
+                binaryMessenger, "dev.flutter.pigeon.video_player_android.AndroidVideoPlayerApi.cancelDownload" + messageChannelSuffix, getCodec());
+        if (api != null) {
+          channel.setMessageHandler(
+              (message, reply) -> {
+                ArrayList<Object> wrapped = new ArrayList<>();
+                ArrayList<Object> args = (ArrayList<Object>) message;
+                String urlArg = (String) args.get(0);
+                Result<Boolean> resultCallback =
+                    new Result<Boolean>() {
+                      public void success(Boolean result) {
+                        wrapped.add(0, result);
+                        reply.reply(wrapped);
+                      }
+
+                      public void error(Throwable error) {
+                        ArrayList<Object> wrappedError = wrapError(error);
+                        reply.reply(wrappedError);
+                      }
+                    };
+
+                api.cancelDownload(urlArg, resultCallback);
+              });
+        } else {
+          channel.setMessageHandler(null);
+        }
+      }
+      {
+        BasicMessageChannel<Object> channel =
+            new BasicMessageChannel<>(
+                binaryMessenger, "dev.flutter.pigeon.video_player_android.AndroidVideoPlayerApi.removeDownload" + messageChannelSuffix, getCodec());
+        if (api != null) {
+          channel.setMessageHandler(
+              (message, reply) -> {
+                ArrayList<Object> wrapped = new ArrayList<>();
+                ArrayList<Object> args = (ArrayList<Object>) message;
+                String urlArg = (String) args.get(0);
+                Result<Boolean> resultCallback =
+                    new Result<Boolean>() {
+                      public void success(Boolean result) {
+                        wrapped.add(0, result);
+                        reply.reply(wrapped);
+                      }
+
+                      public void error(Throwable error) {
+                        ArrayList<Object> wrappedError = wrapError(error);
+                        reply.reply(wrappedError);
+                      }
+                    };
+
+                api.removeDownload(urlArg, resultCallback);
+              });
+        } else {
+          channel.setMessageHandler(null);
+        }
+      }
       {
         BasicMessageChannel<Object> channel =
             new BasicMessageChannel<>(
-                binaryMessenger, "dev.flutter.pigeon.video_player_android.AndroidVideoPlayerApi.initialize" + messageChannelSuffix, getCodec());
+                binaryMessenger, "dev.flutter.pigeon.video_player_android.AndroidVideoPlayerApi.getDownloadProgress" + messageChannelSuffix, getCodec());
         if (api != null) {
           channel.setMessageHandler(
               (message, reply) -> {
                 ArrayList<Object> wrapped = new ArrayList<>();
+                ArrayList<Object> args = (ArrayList<Object>) message;
+                String urlArg = (String) args.get(0);
                 try {
-                  api.initialize();
-                  wrapped.add(0, null);
+                  DownloadProgress output = api.getDownloadProgress(urlArg);
+                  wrapped.add(0, output);
                 }
  catch (Throwable exception) {
                   wrapped = wrapError(exception);
@@ -594,15 +2262,15 @@ public class Messages {
       {
         BasicMessageChannel<Object> channel =
             new BasicMessageChannel<>(
-                binaryMessenger, "dev.flutter.pigeon.video_player_android.AndroidVideoPlayerApi.create" + messageChannelSuffix, getCodec());
+                binaryMessenger, "dev.flutter.pigeon.video_player_android.AndroidVideoPlayerApi.getCachedVideoPath" + messageChannelSuffix, getCodec());
         if (api != null) {
           channel.setMessageHandler(
               (message, reply) -> {
                 ArrayList<Object> wrapped = new ArrayList<>();
                 ArrayList<Object> args = (ArrayList<Object>) message;
-                CreateMessage msgArg = (CreateMessage) args.get(0);
+                String urlArg = (String) args.get(0);
                 try {
-                  Long output = api.create(msgArg);
+                  String output = api.getCachedVideoPath(urlArg);
                   wrapped.add(0, output);
                 }
  catch (Throwable exception) {
@@ -617,16 +2285,37 @@ public class Messages {
       {
         BasicMessageChannel<Object> channel =
             new BasicMessageChannel<>(
-                binaryMessenger, "dev.flutter.pigeon.video_player_android.AndroidVideoPlayerApi.dispose" + messageChannelSuffix, getCodec());
+                binaryMessenger, "dev.flutter.pigeon.video_player_android.AndroidVideoPlayerApi.getMaxConcurrentDownloads" + messageChannelSuffix, getCodec());
+        if (api != null) {
+          channel.setMessageHandler(
+              (message, reply) -> {
+                ArrayList<Object> wrapped = new ArrayList<>();
+                try {
+                  Long output = api.getMaxConcurrentDownloads();
+                  wrapped.add(0, output);
+                }
+ catch (Throwable exception) {
+                  wrapped = wrapError(exception);
+                }
+                reply.reply(wrapped);
+              });
+        } else {
+          channel.setMessageHandler(null);
+        }
+      }
+      {
+        BasicMessageChannel<Object> channel =
+            new BasicMessageChannel<>(
+                binaryMessenger, "dev.flutter.pigeon.video_player_android.AndroidVideoPlayerApi.getDownloadState" + messageChannelSuffix, getCodec());
         if (api != null) {
           channel.setMessageHandler(
               (message, reply) -> {
                 ArrayList<Object> wrapped = new ArrayList<>();
                 ArrayList<Object> args = (ArrayList<Object>) message;
-                Long playerIdArg = (Long) args.get(0);
+                String urlArg = (String) args.get(0);
                 try {
-                  api.dispose(playerIdArg);
-                  wrapped.add(0, null);
+                  DownloadState output = api.getDownloadState(urlArg);
+                  wrapped.add(0, output);
                 }
  catch (Throwable exception) {
                   wrapped = wrapError(exception);
@@ -640,17 +2329,16 @@ public class Messages {
       {
         BasicMessageChannel<Object> channel =
             new BasicMessageChannel<>(
-                binaryMessenger, "dev.flutter.pigeon.video_player_android.AndroidVideoPlayerApi.setLooping" + messageChannelSuffix, getCodec());
+                binaryMessenger, "dev.flutter.pigeon.video_player_android.AndroidVideoPlayerApi.enterPictureInPictureMode" + messageChannelSuffix, getCodec());
         if (api != null) {
           channel.setMessageHandler(
               (message, reply) -> {
                 ArrayList<Object> wrapped = new ArrayList<>();
                 ArrayList<Object> args = (ArrayList<Object>) message;
                 Long playerIdArg = (Long) args.get(0);
-                Boolean loopingArg = (Boolean) args.get(1);
                 try {
-                  api.setLooping(playerIdArg, loopingArg);
-                  wrapped.add(0, null);
+                  Boolean output = api.enterPictureInPictureMode(playerIdArg);
+                  wrapped.add(0, output);
                 }
  catch (Throwable exception) {
                   wrapped = wrapError(exception);
@@ -664,17 +2352,37 @@ public class Messages {
       {
         BasicMessageChannel<Object> channel =
             new BasicMessageChannel<>(
-                binaryMessenger, "dev.flutter.pigeon.video_player_android.AndroidVideoPlayerApi.setVolume" + messageChannelSuffix, getCodec());
+                binaryMessenger, "dev.flutter.pigeon.video_player_android.AndroidVideoPlayerApi.isPictureInPictureSupported" + messageChannelSuffix, getCodec());
+        if (api != null) {
+          channel.setMessageHandler(
+              (message, reply) -> {
+                ArrayList<Object> wrapped = new ArrayList<>();
+                try {
+                  Boolean output = api.isPictureInPictureSupported();
+                  wrapped.add(0, output);
+                }
+ catch (Throwable exception) {
+                  wrapped = wrapError(exception);
+                }
+                reply.reply(wrapped);
+              });
+        } else {
+          channel.setMessageHandler(null);
+        }
+      }
+      {
+        BasicMessageChannel<Object> channel =
+            new BasicMessageChannel<>(
+                binaryMessenger, "dev.flutter.pigeon.video_player_android.AndroidVideoPlayerApi.isInPictureInPictureMode" + messageChannelSuffix, getCodec());
         if (api != null) {
           channel.setMessageHandler(
               (message, reply) -> {
                 ArrayList<Object> wrapped = new ArrayList<>();
                 ArrayList<Object> args = (ArrayList<Object>) message;
                 Long playerIdArg = (Long) args.get(0);
-                Double volumeArg = (Double) args.get(1);
                 try {
-                  api.setVolume(playerIdArg, volumeArg);
-                  wrapped.add(0, null);
+                  Boolean output = api.isInPictureInPictureMode(playerIdArg);
+                  wrapped.add(0, output);
                 }
  catch (Throwable exception) {
                   wrapped = wrapError(exception);
@@ -688,16 +2396,15 @@ public class Messages {
       {
         BasicMessageChannel<Object> channel =
             new BasicMessageChannel<>(
-                binaryMessenger, "dev.flutter.pigeon.video_player_android.AndroidVideoPlayerApi.setPlaybackSpeed" + messageChannelSuffix, getCodec());
+                binaryMessenger, "dev.flutter.pigeon.video_player_android.AndroidVideoPlayerApi.setMaxCacheSize" + messageChannelSuffix, getCodec());
         if (api != null) {
           channel.setMessageHandler(
               (message, reply) -> {
                 ArrayList<Object> wrapped = new ArrayList<>();
                 ArrayList<Object> args = (ArrayList<Object>) message;
-                Long playerIdArg = (Long) args.get(0);
-                Double speedArg = (Double) args.get(1);
+                Long maxBytesArg = (Long) args.get(0);
                 try {
-                  api.setPlaybackSpeed(playerIdArg, speedArg);
+                  api.setMaxCacheSize(maxBytesArg);
                   wrapped.add(0, null);
                 }
  catch (Throwable exception) {
@@ -712,15 +2419,142 @@ public class Messages {
       {
         BasicMessageChannel<Object> channel =
             new BasicMessageChannel<>(
-                binaryMessenger, "dev.flutter.pigeon.video_player_android.AndroidVideoPlayerApi.play" + messageChannelSuffix, getCodec());
+                binaryMessenger, "dev.flutter.pigeon.video_player_android.AndroidVideoPlayerApi.getCacheStats" + messageChannelSuffix, getCodec());
+        if (api != null) {
+          channel.setMessageHandler(
+              (message, reply) -> {
+                ArrayList<Object> wrapped = new ArrayList<>();
+                try {
+                  CacheStats output = api.getCacheStats();
+                  wrapped.add(0, output);
+                }
+ catch (Throwable exception) {
+                  wrapped = wrapError(exception);
+                }
+                reply.reply(wrapped);
+              });
+        } else {
+          channel.setMessageHandler(null);
+        }
+      }
+      {
+        BasicMessageChannel<Object> channel =
+            new BasicMessageChannel<>(
+                binaryMessenger, "dev.flutter.pigeon.video_player_android.AndroidVideoPlayerApi.startDownloads" + messageChannelSuffix, getCodec());
         if (api != null) {
           channel.setMessageHandler(
               (message, reply) -> {
                 ArrayList<Object> wrapped = new ArrayList<>();
                 ArrayList<Object> args = (ArrayList<Object>) message;
-                Long playerIdArg = (Long) args.get(0);
+                List<String> urlsArg = (List<String>) args.get(0);
+                Long priorityArg = (Long) args.get(1);
+                Result<List<String>> resultCallback =
+                    new Result<List<String>>() {
+                      public void success(List<String> result) {
+                        wrapped.add(0, result);
+                        reply.reply(wrapped);
+                      }
+
+                      public void error(Throwable error) {
+                        ArrayList<Object> wrappedError = wrapError(error);
+                        reply.reply(wrappedError);
+                      }
+                    };
+
+                api.startDownloads(urlsArg, priorityArg, resultCallback);
+              });
+        } else {
+          channel.setMessageHandler(null);
+        }
+      }
+      {
+        BasicMessageChannel<Object> channel =
+            new BasicMessageChannel<>(
+                binaryMessenger, "dev.flutter.pigeon.video_player_android.AndroidVideoPlayerApi.cancelDownloads" + messageChannelSuffix, getCodec());
+        if (api != null) {
+          channel.setMessageHandler(
+              (message, reply) -> {
+                ArrayList<Object> wrapped = new ArrayList<>();
+                ArrayList<Object> args = (ArrayList<Object>) message;
+                List<String> urlsArg = (List<String>) args.get(0);
+                Result<List<Boolean>> resultCallback =
+                    new Result<List<Boolean>>() {
+                      public void success(List<Boolean> result) {
+                        wrapped.add(0, result);
+                        reply.reply(wrapped);
+                      }
+
+                      public void error(Throwable error) {
+                        ArrayList<Object> wrappedError = wrapError(error);
+                        reply.reply(wrappedError);
+                      }
+                    };
+
+                api.cancelDownloads(urlsArg, resultCallback);
+              });
+        } else {
+          channel.setMessageHandler(null);
+        }
+      }
+      {
+        BasicMessageChannel<Object> channel =
+            new BasicMessageChannel<>(
+                binaryMessenger, "dev.flutter.pigeon.video_player_android.AndroidVideoPlayerApi.getDownloadProgresses" + messageChannelSuffix, getCodec());
+        if (api != null) {
+          channel.setMessageHandler(
+              (message, reply) -> {
+                ArrayList<Object> wrapped = new ArrayList<>();
+                ArrayList<Object> args = (ArrayList<Object>) message;
+                List<String> urlsArg = (List<String>) args.get(0);
                 try {
-                  api.play(playerIdArg);
+                  List<DownloadProgress> output = api.getDownloadProgresses(urlsArg);
+                  wrapped.add(0, output);
+                }
+ catch (Throwable exception) {
+                  wrapped = wrapError(exception);
+                }
+                reply.reply(wrapped);
+              });
+        } else {
+          channel.setMessageHandler(null);
+        }
+      }
+      {
+        BasicMessageChannel<Object> channel =
+            new BasicMessageChannel<>(
+                binaryMessenger, "dev.flutter.pigeon.video_player_android.AndroidVideoPlayerApi.getDownloadStates" + messageChannelSuffix, getCodec());
+        if (api != null) {
+          channel.setMessageHandler(
+              (message, reply) -> {
+                ArrayList<Object> wrapped = new ArrayList<>();
+                ArrayList<Object> args = (ArrayList<Object>) message;
+                List<String> urlsArg = (List<String>) args.get(0);
+                try {
+                  List<DownloadState> output = api.getDownloadStates(urlsArg);
+                  wrapped.add(0, output);
+                }
+ catch (Throwable exception) {
+                  wrapped = wrapError(exception);
+                }
+                reply.reply(wrapped);
+              });
+        } else {
+          channel.setMessageHandler(null);
+        }
+      }
+      {
+        BasicMessageChannel<Object> channel =
+            new BasicMessageChannel<>(
+                binaryMessenger, "dev.flutter.pigeon.video_player_android.AndroidVideoPlayerApi.setStreamingCache" + messageChannelSuffix, getCodec());
+        if (api != null) {
+          channel.setMessageHandler(
+              (message, reply) -> {
+                ArrayList<Object> wrapped = new ArrayList<>();
+                ArrayList<Object> args = (ArrayList<Object>) message;
+                Boolean enabledArg = (Boolean) args.get(0);
+                Long maxItemBytesArg = (Long) args.get(1);
+                try {
+                  api.setStreamingCache(enabledArg, maxItemBytesArg);
                   wrapped.add(0, null);
                 }
  catch (Throwable exception) {
@@ -735,7 +2569,7 @@ public class Messages {
       {
         BasicMessageChannel<Object> channel =
             new BasicMessageChannel<>(
-                binaryMessenger, "dev.flutter.pigeon.video_player_android.AndroidVideoPlayerApi.position" + messageChannelSuffix, getCodec());
+                binaryMessenger, "dev.flutter.pigeon.video_player_android.AndroidVideoPlayerApi.getPlayerCacheStats" + messageChannelSuffix, getCodec());
         if (api != null) {
           channel.setMessageHandler(
               (message, reply) -> {
@@ -743,7 +2577,7 @@ public class Messages {
                 ArrayList<Object> args = (ArrayList<Object>) message;
                 Long playerIdArg = (Long) args.get(0);
                 try {
-                  Long output = api.position(playerIdArg);
+                  PlayerCacheStats output = api.getPlayerCacheStats(playerIdArg);
                   wrapped.add(0, output);
                 }
  catch (Throwable exception) {
@@ -758,16 +2592,47 @@ public class Messages {
       {
         BasicMessageChannel<Object> channel =
             new BasicMessageChannel<>(
-                binaryMessenger, "dev.flutter.pigeon.video_player_android.AndroidVideoPlayerApi.seekTo" + messageChannelSuffix, getCodec());
+                binaryMessenger, "dev.flutter.pigeon.video_player_android.AndroidVideoPlayerApi.prefetchHead" + messageChannelSuffix, getCodec());
         if (api != null) {
           channel.setMessageHandler(
               (message, reply) -> {
                 ArrayList<Object> wrapped = new ArrayList<>();
                 ArrayList<Object> args = (ArrayList<Object>) message;
-                Long playerIdArg = (Long) args.get(0);
-                Long positionArg = (Long) args.get(1);
+                String urlArg = (String) args.get(0);
+                Long durationMsArg = (Long) args.get(1);
+                String formatHintArg = (String) args.get(2);
+                Long maxBitrateArg = (Long) args.get(3);
+                Result<Long> resultCallback =
+                    new Result<Long>() {
+                      public void success(Long result) {
+                        wrapped.add(0, result);
+                        reply.reply(wrapped);
+                      }
+
+                      public void error(Throwable error) {
+                        ArrayList<Object> wrappedError = wrapError(error);
+                        reply.reply(wrappedError);
+                      }
+                    };
+
+                api.prefetchHead(urlArg, durationMsArg, formatHintArg, maxBitrateArg, resultCallback);
+              });
+        } else {
+          channel.setMessageHandler(null);
+        }
+      }
+      {
+        BasicMessageChannel<Object> channel =
+            new BasicMessageChannel<>(
+                binaryMessenger, "dev.flutter.pigeon.video_player_android.AndroidVideoPlayerApi.setPlayerPoolSize" + messageChannelSuffix, getCodec());
+        if (api != null) {
+          channel.setMessageHandler(
+              (message, reply) -> {
+                ArrayList<Object> wrapped = new ArrayList<>();
+                ArrayList<Object> args = (ArrayList<Object>) message;
+                Long maxIdlePlayersArg = (Long) args.get(0);
                 try {
-                  api.seekTo(playerIdArg, positionArg);
+                  api.setPlayerPoolSize(maxIdlePlayersArg);
                   wrapped.add(0, null);
                 }
  catch (Throwable exception) {
@@ -782,15 +2647,37 @@ public class Messages {
       {
         BasicMessageChannel<Object> channel =
             new BasicMessageChannel<>(
-                binaryMessenger, "dev.flutter.pigeon.video_player_android.AndroidVideoPlayerApi.pause" + messageChannelSuffix, getCodec());
+                binaryMessenger, "dev.flutter.pigeon.video_player_android.AndroidVideoPlayerApi.getPlayerPoolStats" + messageChannelSuffix, getCodec());
+        if (api != null) {
+          channel.setMessageHandler(
+              (message, reply) -> {
+                ArrayList<Object> wrapped = new ArrayList<>();
+                try {
+                  PlayerPoolStats output = api.getPlayerPoolStats();
+                  wrapped.add(0, output);
+                }
+ catch (Throwable exception) {
+                  wrapped = wrapError(exception);
+                }
+                reply.reply(wrapped);
+              });
+        } else {
+          channel.setMessageHandler(null);
+        }
+      }
+      {
+        BasicMessageChannel<Object> channel =
+            new BasicMessageChannel<>(
+                binaryMessenger, "dev.flutter.pigeon.video_player_android.AndroidVideoPlayerApi.setSharedPlaybackResources" + messageChannelSuffix, getCodec());
         if (api != null) {
           channel.setMessageHandler(
               (message, reply) -> {
                 ArrayList<Object> wrapped = new ArrayList<>();
                 ArrayList<Object> args = (ArrayList<Object>) message;
-                Long playerIdArg = (Long) args.get(0);
+                Boolean enabledArg = (Boolean) args.get(0);
+                Long totalBufferBytesArg = (Long) args.get(1);
                 try {
-                  api.pause(playerIdArg);
+                  api.setSharedPlaybackResources(enabledArg, totalBufferBytesArg);
                   wrapped.add(0, null);
                 }
  catch (Throwable exception) {
@@ -805,15 +2692,16 @@ public class Messages {
       {
         BasicMessageChannel<Object> channel =
             new BasicMessageChannel<>(
-                binaryMessenger, "dev.flutter.pigeon.video_player_android.AndroidVideoPlayerApi.setMixWithOthers" + messageChannelSuffix, getCodec());
+                binaryMessenger, "dev.flutter.pigeon.video_player_android.AndroidVideoPlayerApi.setPositionUpdateInterval" + messageChannelSuffix, getCodec());
         if (api != null) {
           channel.setMessageHandler(
               (message, reply) -> {
                 ArrayList<Object> wrapped = new ArrayList<>();
                 ArrayList<Object> args = (ArrayList<Object>) message;
-                Boolean mixWithOthersArg = (Boolean) args.get(0);
+                Long playerIdArg = (Long) args.get(0);
+                Long intervalMsArg = (Long) args.get(1);
                 try {
-                  api.setMixWithOthers(mixWithOthersArg);
+                  api.setPositionUpdateInterval(playerIdArg, intervalMsArg);
                   wrapped.add(0, null);
                 }
  catch (Throwable exception) {
@@ -828,15 +2716,15 @@ public class Messages {
       {
         BasicMessageChannel<Object> channel =
             new BasicMessageChannel<>(
-                binaryMessenger, "dev.flutter.pigeon.video_player_android.AndroidVideoPlayerApi.startDownload" + messageChannelSuffix, getCodec());
+                binaryMessenger, "dev.flutter.pigeon.video_player_android.AndroidVideoPlayerApi.getPlayerEventStats" + messageChannelSuffix, getCodec());
         if (api != null) {
           channel.setMessageHandler(
               (message, reply) -> {
                 ArrayList<Object> wrapped = new ArrayList<>();
                 ArrayList<Object> args = (ArrayList<Object>) message;
-                String urlArg = (String) args.get(0);
+                Long playerIdArg = (Long) args.get(0);
                 try {
-                  String output = api.startDownload(urlArg);
+                  PlayerEventStats output = api.getPlayerEventStats(playerIdArg);
                   wrapped.add(0, output);
                 }
  catch (Throwable exception) {
@@ -851,15 +2739,18 @@ public class Messages {
       {
         BasicMessageChannel<Object> channel =
             new BasicMessageChannel<>(
-                binaryMessenger, "dev.flutter.pigeon.video_player_android.AndroidVideoPlayerApi.cancelDownload" + messageChannelSuffix, getCodec());
+                binaryMessenger, "dev.flutter.pigeon.video_player_android.AndroidVideoPlayerApi.preload" + messageChannelSuffix, getCodec());
         if (api != null) {
           channel.setMessageHandler(
               (message, reply) -> {
                 ArrayList<Object> wrapped = new ArrayList<>();
                 ArrayList<Object> args = (ArrayList<Object>) message;
                 String urlArg = (String) args.get(0);
+                String formatHintArg = (String) args.get(1);
+                Map<String, String> httpHeadersArg = (Map<String, String>) args.get(2);
+                Long durationMsArg = (Long) args.get(3);
                 try {
-                  Boolean output = api.cancelDownload(urlArg);
+                  Boolean output = api.preload(urlArg, formatHintArg, httpHeadersArg, durationMsArg);
                   wrapped.add(0, output);
                 }
  catch (Throwable exception) {
@@ -874,16 +2765,19 @@ public class Messages {
       {
         BasicMessageChannel<Object> channel =
             new BasicMessageChannel<>(
-                binaryMessenger, "dev.flutter.pigeon.video_player_android.AndroidVideoPlayerApi.removeDownload" + messageChannelSuffix, getCodec());
+                binaryMessenger, "dev.flutter.pigeon.video_player_android.AndroidVideoPlayerApi.addPlaylistItem" + messageChannelSuffix, getCodec());
         if (api != null) {
           channel.setMessageHandler(
               (message, reply) -> {
                 ArrayList<Object> wrapped = new ArrayList<>();
                 ArrayList<Object> args = (ArrayList<Object>) message;
-                String urlArg = (String) args.get(0);
+                Long playerIdArg = (Long) args.get(0);
+                String uriArg = (String) args.get(1);
+                String formatHintArg = (String) args.get(2);
+                Map<String, String> httpHeadersArg = (Map<String, String>) args.get(3);
                 try {
-                  Boolean output = api.removeDownload(urlArg);
-                  wrapped.add(0, output);
+                  api.addPlaylistItem(playerIdArg, uriArg, formatHintArg, httpHeadersArg);
+                  wrapped.add(0, null);
                 }
  catch (Throwable exception) {
                   wrapped = wrapError(exception);
@@ -897,16 +2791,17 @@ public class Messages {
       {
         BasicMessageChannel<Object> channel =
             new BasicMessageChannel<>(
-                binaryMessenger, "dev.flutter.pigeon.video_player_android.AndroidVideoPlayerApi.getDownloadProgress" + messageChannelSuffix, getCodec());
+                binaryMessenger, "dev.flutter.pigeon.video_player_android.AndroidVideoPlayerApi.removePlaylistItem" + messageChannelSuffix, getCodec());
         if (api != null) {
           channel.setMessageHandler(
               (message, reply) -> {
                 ArrayList<Object> wrapped = new ArrayList<>();
                 ArrayList<Object> args = (ArrayList<Object>) message;
-                String urlArg = (String) args.get(0);
+                Long playerIdArg = (Long) args.get(0);
+                Long indexArg = (Long) args.get(1);
                 try {
-                  DownloadProgress output = api.getDownloadProgress(urlArg);
-                  wrapped.add(0, output);
+                  api.removePlaylistItem(playerIdArg, indexArg);
+                  wrapped.add(0, null);
                 }
  catch (Throwable exception) {
                   wrapped = wrapError(exception);
@@ -920,15 +2815,15 @@ public class Messages {
       {
         BasicMessageChannel<Object> channel =
             new BasicMessageChannel<>(
-                binaryMessenger, "dev.flutter.pigeon.video_player_android.AndroidVideoPlayerApi.getCachedVideoPath" + messageChannelSuffix, getCodec());
+                binaryMessenger, "dev.flutter.pigeon.video_player_android.AndroidVideoPlayerApi.getPlaybackStats" + messageChannelSuffix, getCodec());
         if (api != null) {
           channel.setMessageHandler(
               (message, reply) -> {
                 ArrayList<Object> wrapped = new ArrayList<>();
                 ArrayList<Object> args = (ArrayList<Object>) message;
-                String urlArg = (String) args.get(0);
+                Long playerIdArg = (Long) args.get(0);
                 try {
-                  String output = api.getCachedVideoPath(urlArg);
+                  PlaybackStats output = api.getPlaybackStats(playerIdArg);
                   wrapped.add(0, output);
                 }
  catch (Throwable exception) {
@@ -943,13 +2838,13 @@ public class Messages {
       {
         BasicMessageChannel<Object> channel =
             new BasicMessageChannel<>(
-                binaryMessenger, "dev.flutter.pigeon.video_player_android.AndroidVideoPlayerApi.getMaxConcurrentDownloads" + messageChannelSuffix, getCodec());
+                binaryMessenger, "dev.flutter.pigeon.video_player_android.AndroidVideoPlayerApi.getMetricsSnapshot" + messageChannelSuffix, getCodec());
         if (api != null) {
           channel.setMessageHandler(
               (message, reply) -> {
                 ArrayList<Object> wrapped = new ArrayList<>();
                 try {
-                  Long output = api.getMaxConcurrentDownloads();
+                  MetricsSnapshot output = api.getMetricsSnapshot();
                   wrapped.add(0, output);
                 }
  catch (Throwable exception) {
@@ -964,16 +2859,17 @@ public class Messages {
       {
         BasicMessageChannel<Object> channel =
             new BasicMessageChannel<>(
-                binaryMessenger, "dev.flutter.pigeon.video_player_android.AndroidVideoPlayerApi.getDownloadState" + messageChannelSuffix, getCodec());
+                binaryMessenger, "dev.flutter.pigeon.video_player_android.AndroidVideoPlayerApi.setHttpEngine" + messageChannelSuffix, getCodec());
         if (api != null) {
           channel.setMessageHandler(
               (message, reply) -> {
                 ArrayList<Object> wrapped = new ArrayList<>();
                 ArrayList<Object> args = (ArrayList<Object>) message;
-                String urlArg = (String) args.get(0);
+                Boolean pooledArg = (Boolean) args.get(0);
+                Long maxIdleConnectionsArg = (Long) args.get(1);
                 try {
-                  DownloadState output = api.getDownloadState(urlArg);
-                  wrapped.add(0, output);
+                  api.setHttpEngine(pooledArg, maxIdleConnectionsArg);
+                  wrapped.add(0, null);
                 }
  catch (Throwable exception) {
                   wrapped = wrapError(exception);
@@ -987,16 +2883,17 @@ public class Messages {
       {
         BasicMessageChannel<Object> channel =
             new BasicMessageChannel<>(
-                binaryMessenger, "dev.flutter.pigeon.video_player_android.AndroidVideoPlayerApi.enterPictureInPictureMode" + messageChannelSuffix, getCodec());
+                binaryMessenger, "dev.flutter.pigeon.video_player_android.AndroidVideoPlayerApi.setDownloadChunking" + messageChannelSuffix, getCodec());
         if (api != null) {
           channel.setMessageHandler(
               (message, reply) -> {
                 ArrayList<Object> wrapped = new ArrayList<>();
                 ArrayList<Object> args = (ArrayList<Object>) message;
-                Long playerIdArg = (Long) args.get(0);
+                Long chunkBytesArg = (Long) args.get(0);
+                Long parallelismArg = (Long) args.get(1);
                 try {
-                  Boolean output = api.enterPictureInPictureMode(playerIdArg);
-                  wrapped.add(0, output);
+                  api.setDownloadChunking(chunkBytesArg, parallelismArg);
+                  wrapped.add(0, null);
                 }
  catch (Throwable exception) {
                   wrapped = wrapError(exception);
@@ -1010,13 +2907,16 @@ public class Messages {
       {
         BasicMessageChannel<Object> channel =
             new BasicMessageChannel<>(
-                binaryMessenger, "dev.flutter.pigeon.video_player_android.AndroidVideoPlayerApi.isPictureInPictureSupported" + messageChannelSuffix, getCodec());
+                binaryMessenger, "dev.flutter.pigeon.video_player_android.AndroidVideoPlayerApi.setDownloadPriority" + messageChannelSuffix, getCodec());
         if (api != null) {
           channel.setMessageHandler(
               (message, reply) -> {
                 ArrayList<Object> wrapped = new ArrayList<>();
+                ArrayList<Object> args = (ArrayList<Object>) message;
+                String urlArg = (String) args.get(0);
+                Long priorityArg = (Long) args.get(1);
                 try {
-                  Boolean output = api.isPictureInPictureSupported();
+                  Boolean output = api.setDownloadPriority(urlArg, priorityArg);
                   wrapped.add(0, output);
                 }
  catch (Throwable exception) {
@@ -1031,16 +2931,17 @@ public class Messages {
       {
         BasicMessageChannel<Object> channel =
             new BasicMessageChannel<>(
-                binaryMessenger, "dev.flutter.pigeon.video_player_android.AndroidVideoPlayerApi.isInPictureInPictureMode" + messageChannelSuffix, getCodec());
+                binaryMessenger, "dev.flutter.pigeon.video_player_android.AndroidVideoPlayerApi.setDownloadThrottling" + messageChannelSuffix, getCodec());
         if (api != null) {
           channel.setMessageHandler(
               (message, reply) -> {
                 ArrayList<Object> wrapped = new ArrayList<>();
                 ArrayList<Object> args = (ArrayList<Object>) message;
-                Long playerIdArg = (Long) args.get(0);
+                Boolean enabledArg = (Boolean) args.get(0);
+                Long minBufferMsArg = (Long) args.get(1);
                 try {
-                  Boolean output = api.isInPictureInPictureMode(playerIdArg);
-                  wrapped.add(0, output);
+                  api.setDownloadThrottling(enabledArg, minBufferMsArg);
+                  wrapped.add(0, null);
                 }
  catch (Throwable exception) {
                   wrapped = wrapError(exception);
@@ -0,0 +1,104 @@
+// Copyright 2013 The Flutter Authors. All rights reserved.
+// Use of this source code is governed by a BSD-style license that can be
+// found in the LICENSE file.
+
+package io.flutter.plugins.videoplayer;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+import io.flutter.plugin.common.BinaryMessenger;
+import java.nio.ByteBuffer;
+
+/**
+ * A {@link BinaryMessenger} that records the calls handled on each channel in the {@link
+ * MetricsRegistry}.
+ *
+ * <p>A call is timed from the arrival of the message until its reply, so the latency of an
+ * asynchronous host method includes the work it does before replying. Each channel is recorded
+ * as a {@code pigeon.<method>} histogram, named after the last segment of the channel name, whose
+ * count is the number of calls.
+ */
+final class MetricsBinaryMessenger implements BinaryMessenger {
+  private static final String PIGEON_PREFIX = "dev.flutter.pigeon.";
+
+  @NonNull private final BinaryMessenger messenger;
+  @NonNull private final MetricsRegistry metrics;
+
+  MetricsBinaryMessenger(@NonNull BinaryMessenger messenger, @NonNull MetricsRegistry metrics) {
+    this.messenger = messenger;
+    this.metrics = metrics;
+  }
+
+  /**
+   * Returns the name of the histogram recorded for {@code channel}.
+   *
+   * <p>Pigeon channels are named {@code dev.flutter.pigeon.<package>.<api>.<method>}, optionally
+   * followed by a suffix that is ignored here.
+   */
+  @NonNull
+  static String metricName(@NonNull String channel) {
+    if (!channel.startsWith(PIGEON_PREFIX)) {
+      return "channel." + channel;
+    }
+    String[] segments = channel.substring(PIGEON_PREFIX.length()).split("\\.");
+    return segments.length >= 3 ? "pigeon." + segments[2] : "pigeon." + channel;
+  }
+
+  @Override
+  public void send(@NonNull String channel, @Nullable ByteBuffer message) {
+    messenger.send(channel, message);
+  }
+
+  @Override
+  public void send(
+      @NonNull String channel, @Nullable ByteBuffer message, @Nullable BinaryReply callback) {
+    messenger.send(channel, message, callback);
+  }
+
+  @Override
+  public void setMessageHandler(@NonNull String channel, @Nullable BinaryMessageHandler handler) {
+    messenger.setMessageHandler(channel, wrap(channel, handler));
+  }
+
+  @Override
+  public void setMessageHandler(
+      @NonNull String channel,
+      @Nullable BinaryMessageHandler handler,
+      @Nullable TaskQueue taskQueue) {
+    messenger.setMessageHandler(channel, wrap(channel, handler), taskQueue);
+  }
+
+  @NonNull
+  @Override
+  public TaskQueue makeBackgroundTaskQueue(@NonNull TaskQueueOptions options) {
+    return messenger.makeBackgroundTaskQueue(options);
+  }
+
+  @Override
+  public void enableBufferingIncomingMessages() {
+    messenger.enableBufferingIncomingMessages();
+  }
+
+  @Override
+  public void disableBufferingIncomingMessages() {
+    messenger.disableBufferingIncomingMessages();
+  }
+
+  @Nullable
+  private BinaryMessageHandler wrap(
+      @NonNull String channel, @Nullable BinaryMessageHandler handler) {
+    if (handler == null) {
+      return null;
+    }
+    MetricsRegistry.Histogram latency = metrics.histogram(metricName(channel));
+    return (message, reply) -> {
+      long startNanoTime = System.nanoTime();
+      handler.onMessage(
+          message,
+          result -> {
+            latency.recordSince(startNanoTime);
+            reply.reply(result);
+          });
+    };
+  }
+}
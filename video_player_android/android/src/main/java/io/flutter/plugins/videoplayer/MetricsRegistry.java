@@ -0,0 +1,250 @@
+// Copyright 2013 The Flutter Authors. All rights reserved.
+// Use of this source code is governed by a BSD-style license that can be
+// found in the LICENSE file.
+
+package io.flutter.plugins.videoplayer;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.VisibleForTesting;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Process-wide counters and histograms of the plugin, cheap enough to stay enabled in production.
+ *
+ * <p>Updates take no lock. Each metric keeps several stripes of cells, one of which is picked by
+ * the updating thread, so that threads updating the same metric rarely write to the same cache
+ * line. Reads sum the stripes; a snapshot taken while a metric is updated may miss updates in
+ * flight, but never sees a torn value.
+ *
+ * <p>Metrics are created by name on first use and live as long as the process. Callers keep the
+ * returned handles instead of looking them up on every update.
+ */
+public final class MetricsRegistry {
+  // A power of two, so that a stripe is picked with a mask.
+  private static final int STRIPES = 8;
+  // Longs per 64 byte cache line.
+  private static final int LONGS_PER_LINE = 8;
+
+  private static final MetricsRegistry instance = new MetricsRegistry();
+
+  @NonNull private final ConcurrentHashMap<String, Counter> counters = new ConcurrentHashMap<>();
+
+  @NonNull
+  private final ConcurrentHashMap<String, Histogram> histograms = new ConcurrentHashMap<>();
+
+  /** Returns the registry shared by the whole process. */
+  @NonNull
+  public static MetricsRegistry getInstance() {
+    return instance;
+  }
+
+  @VisibleForTesting
+  MetricsRegistry() {}
+
+  /** Returns the counter named {@code name}, creating it if needed. */
+  @NonNull
+  public Counter counter(@NonNull String name) {
+    Counter counter = counters.get(name);
+    if (counter == null) {
+      // ConcurrentHashMap#computeIfAbsent is API level 24.
+      Counter created = new Counter();
+      counter = counters.putIfAbsent(name, created);
+      if (counter == null) {
+        counter = created;
+      }
+    }
+    return counter;
+  }
+
+  /** Returns the histogram named {@code name}, creating it if needed. */
+  @NonNull
+  public Histogram histogram(@NonNull String name) {
+    Histogram histogram = histograms.get(name);
+    if (histogram == null) {
+      Histogram created = new Histogram();
+      histogram = histograms.putIfAbsent(name, created);
+      if (histogram == null) {
+        histogram = created;
+      }
+    }
+    return histogram;
+  }
+
+  /** Returns the current value of every counter, sorted by name. */
+  @NonNull
+  public Map<String, Long> snapshotCounters() {
+    Map<String, Long> snapshot = new TreeMap<>();
+    for (Map.Entry<String, Counter> entry : counters.entrySet()) {
+      snapshot.put(entry.getKey(), entry.getValue().get());
+    }
+    return snapshot;
+  }
+
+  /** Returns a summary of every histogram, sorted by name. */
+  @NonNull
+  public Map<String, HistogramSnapshot> snapshotHistograms() {
+    Map<String, HistogramSnapshot> snapshot = new TreeMap<>();
+    for (Map.Entry<String, Histogram> entry : histograms.entrySet()) {
+      snapshot.put(entry.getKey(), entry.getValue().snapshot());
+    }
+    return snapshot;
+  }
+
+  // Thread IDs are handed out sequentially, so consecutive threads get different stripes.
+  private static int stripe() {
+    return (int) Thread.currentThread().getId() & (STRIPES - 1);
+  }
+
+  /**
+   * A monotonically increasing count.
+   *
+   * <p>This is {@link java.util.concurrent.atomic.LongAdder}, which is API level 24, with a fixed
+   * number of stripes.
+   */
+  public static final class Counter {
+    // One used cell per cache line.
+    @NonNull private final AtomicLongArray cells = new AtomicLongArray(STRIPES * LONGS_PER_LINE);
+
+    private Counter() {}
+
+    /** Adds one. */
+    public void increment() {
+      add(1);
+    }
+
+    /** Adds {@code delta}. */
+    public void add(long delta) {
+      cells.getAndAdd(stripe() * LONGS_PER_LINE, delta);
+    }
+
+    /** Returns the sum of all additions. */
+    public long get() {
+      long sum = 0;
+      for (int i = 0; i < STRIPES; i++) {
+        sum += cells.get(i * LONGS_PER_LINE);
+      }
+      return sum;
+    }
+  }
+
+  /**
+   * A distribution of non-negative values in power of two buckets.
+   *
+   * <p>Bucket {@code i > 0} counts the values in [2^(i-1), 2^i), so percentiles are reported as the
+   * upper bound of their bucket, at most twice the actual value. Latencies are recorded in
+   * microseconds.
+   */
+  public static final class Histogram {
+    private static final int BUCKETS = 40;
+    private static final int COUNT = 0;
+    private static final int SUM = 1;
+    private static final int MAX = 2;
+    private static final int FIRST_BUCKET = 3;
+    // Each stripe starts on its own cache line.
+    private static final int STRIDE =
+        (FIRST_BUCKET + BUCKETS + LONGS_PER_LINE - 1) / LONGS_PER_LINE * LONGS_PER_LINE;
+
+    @NonNull private final AtomicLongArray cells = new AtomicLongArray(STRIPES * STRIDE);
+
+    private Histogram() {}
+
+    /** Records {@code value}; negative values are recorded as zero. */
+    public void record(long value) {
+      value = Math.max(0, value);
+      int bucket = Math.min(BUCKETS - 1, 64 - Long.numberOfLeadingZeros(value));
+      int base = stripe() * STRIDE;
+      cells.getAndIncrement(base + COUNT);
+      cells.getAndAdd(base + SUM, value);
+      cells.getAndIncrement(base + FIRST_BUCKET + bucket);
+      long max = cells.get(base + MAX);
+      while (value > max && !cells.compareAndSet(base + MAX, max, value)) {
+        max = cells.get(base + MAX);
+      }
+    }
+
+    /**
+     * Records the microseconds elapsed since {@code startNanoTime}.
+     *
+     * @param startNanoTime {@link System#nanoTime()} at the start of the measured operation.
+     */
+    public void recordSince(long startNanoTime) {
+      record((System.nanoTime() - startNanoTime) / 1000);
+    }
+
+    /** Returns a summary of the values recorded so far. */
+    @NonNull
+    public HistogramSnapshot snapshot() {
+      long count = 0;
+      long sum = 0;
+      long max = 0;
+      long[] buckets = new long[BUCKETS];
+      for (int stripe = 0; stripe < STRIPES; stripe++) {
+        int base = stripe * STRIDE;
+        count += cells.get(base + COUNT);
+        sum += cells.get(base + SUM);
+        max = Math.max(max, cells.get(base + MAX));
+        for (int i = 0; i < BUCKETS; i++) {
+          buckets[i] += cells.get(base + FIRST_BUCKET + i);
+        }
+      }
+      return new HistogramSnapshot(
+          count,
+          sum,
+          max,
+          percentile(buckets, 0.5, max),
+          percentile(buckets, 0.9, max),
+          percentile(buckets, 0.99, max));
+    }
+
+    private static long percentile(long[] buckets, double quantile, long max) {
+      // The stripes are read one after the other, so sum the buckets rather than trust the count.
+      long total = 0;
+      for (long bucket : buckets) {
+        total += bucket;
+      }
+      long rank = (long) Math.ceil(quantile * total);
+      long seen = 0;
+      for (int i = 0; i < BUCKETS; i++) {
+        seen += buckets[i];
+        if (seen >= rank && seen > 0) {
+          long upperBound = i == 0 ? 0 : (1L << i) - 1;
+          return Math.min(upperBound, max);
+        }
+      }
+      return 0;
+    }
+  }
+
+  /** An immutable summary of a {@link Histogram}. */
+  public static final class HistogramSnapshot {
+    /** The number of recorded values. */
+    public final long count;
+
+    /** The sum of the recorded values. */
+    public final long sum;
+
+    /** The largest recorded value. */
+    public final long max;
+
+    /** The median, rounded up to its bucket. */
+    public final long p50;
+
+    /** The 90th percentile, rounded up to its bucket. */
+    public final long p90;
+
+    /** The 99th percentile, rounded up to its bucket. */
+    public final long p99;
+
+    HistogramSnapshot(long count, long sum, long max, long p50, long p90, long p99) {
+      this.count = count;
+      this.sum = sum;
+      this.max = max;
+      this.p50 = p50;
+      this.p90 = p90;
+      this.p99 = p99;
+    }
+  }
+}
@@ -0,0 +1,33 @@
+// Copyright 2013 The Flutter Authors. All rights reserved.
+// Use of this source code is governed by a BSD-style license that can be
+// found in the LICENSE file.
+
+package io.flutter.plugins.videoplayer;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.OptIn;
+import androidx.media3.common.util.UnstableApi;
+import androidx.media3.datasource.DefaultHttpDataSource;
+import androidx.media3.datasource.HttpDataSource;
+
+/**
+ * An {@link HttpEngine} on top of the platform {@link java.net.HttpURLConnection}.
+ *
+ * <p>The platform keeps idle connections alive in a process-wide pool that the engine cannot size,
+ * and only speaks HTTP/1.1, so concurrent fetches each need their own connection.
+ */
+@OptIn(markerClass = UnstableApi.class)
+final class PlatformHttpEngine implements HttpEngine {
+  @NonNull
+  private final DefaultHttpDataSource.Factory dataSourceFactory =
+      new DefaultHttpDataSource.Factory().setAllowCrossProtocolRedirects(true);
+
+  @NonNull
+  @Override
+  public HttpDataSource createDataSource() {
+    return dataSourceFactory.createDataSource();
+  }
+
+  @Override
+  public void release() {}
+}
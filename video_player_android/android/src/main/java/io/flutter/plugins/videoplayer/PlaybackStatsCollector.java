@@ -0,0 +1,234 @@
+// Copyright 2013 The Flutter Authors. All rights reserved.
+// Use of this source code is governed by a BSD-style license that can be
+// found in the LICENSE file.
+
+package io.flutter.plugins.videoplayer;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+import androidx.annotation.OptIn;
+import androidx.media3.common.C;
+import androidx.media3.common.Format;
+import androidx.media3.common.Player;
+import androidx.media3.common.util.UnstableApi;
+import androidx.media3.exoplayer.analytics.AnalyticsListener;
+import androidx.media3.exoplayer.source.LoadEventInfo;
+import androidx.media3.exoplayer.source.MediaLoadData;
+import androidx.media3.exoplayer.source.MediaSource.MediaPeriodId;
+import java.util.Objects;
+
+/**
+ * Aggregates quality of experience metrics of one video player from {@link AnalyticsListener}
+ * events.
+ *
+ * <p>The time to first frame is measured from the creation of the video player, and the join
+ * latency from the first play request until playback starts. Buffering while playback is requested
+ * counts as a rebuffer once playback has started, except right after a seek. The resume time is
+ * measured from the latest reattachment of the video surface to the first frame rendered on it.
+ *
+ * <p>The collector outlives the players it is attached to, so a recreated player adds to the same
+ * totals. Events arrive on the main thread, where the totals are also read.
+ */
+@OptIn(markerClass = UnstableApi.class)
+final class PlaybackStatsCollector implements AnalyticsListener {
+  private final long createdRealtimeMs;
+  private long timeToFirstFrameMs = C.TIME_UNSET;
+  private long playRequestedRealtimeMs = C.TIME_UNSET;
+  private long joinLatencyMs = C.TIME_UNSET;
+  private boolean playWhenReady;
+  private boolean isSeeking;
+  private long rebufferStartRealtimeMs = C.TIME_UNSET;
+  private int rebufferCount;
+  private long rebufferDurationMs;
+  private long droppedFrameCount;
+  private int videoBitrate = Format.NO_VALUE;
+  // The period that videoBitrate was loaded for.
+  @Nullable private MediaPeriodId videoBitratePeriodId;
+  private int bitrateSwitchCount;
+  private long bytesLoaded;
+  private long surfaceReattachedRealtimeMs = C.TIME_UNSET;
+  private long resumeTimeMs = C.TIME_UNSET;
+
+  /**
+   * Creates a collector for a video player.
+   *
+   * @param createdRealtimeMs {@link android.os.SystemClock#elapsedRealtime()} when the video player
+   *     was created.
+   */
+  PlaybackStatsCollector(long createdRealtimeMs) {
+    this.createdRealtimeMs = createdRealtimeMs;
+  }
+
+  /** Returns the time from creation to the first rendered frame, or {@link C#TIME_UNSET}. */
+  long getTimeToFirstFrameMs() {
+    return timeToFirstFrameMs;
+  }
+
+  /**
+   * Returns the time from the first play request until playback started, or {@link C#TIME_UNSET}.
+   */
+  long getJoinLatencyMs() {
+    return joinLatencyMs;
+  }
+
+  /** Returns the number of times playback stalled to buffer. */
+  int getRebufferCount() {
+    return rebufferCount;
+  }
+
+  /**
+   * Returns the total time playback stalled to buffer.
+   *
+   * @param nowRealtimeMs the current {@link android.os.SystemClock#elapsedRealtime()}, up to which
+   *     an ongoing rebuffer is counted.
+   */
+  long getRebufferDurationMs(long nowRealtimeMs) {
+    if (rebufferStartRealtimeMs == C.TIME_UNSET) {
+      return rebufferDurationMs;
+    }
+    return rebufferDurationMs + nowRealtimeMs - rebufferStartRealtimeMs;
+  }
+
+  /** Returns the number of video frames dropped by the renderer. */
+  long getDroppedFrameCount() {
+    return droppedFrameCount;
+  }
+
+  /** Returns the number of times the bitrate of the played video rendition changed. */
+  int getBitrateSwitchCount() {
+    return bitrateSwitchCount;
+  }
+
+  /** Returns the number of bytes loaded for media and manifests. */
+  long getBytesLoaded() {
+    return bytesLoaded;
+  }
+
+  /**
+   * Returns the time from the latest reattachment of the video surface to the first frame rendered
+   * on it, or {@link C#TIME_UNSET}.
+   */
+  long getResumeTimeMs() {
+    return resumeTimeMs;
+  }
+
+  /**
+   * Starts measuring the resume time.
+   *
+   * @param realtimeMs the {@link android.os.SystemClock#elapsedRealtime()} at which the video
+   *     surface was attached again.
+   */
+  void onSurfaceReattached(long realtimeMs) {
+    surfaceReattachedRealtimeMs = realtimeMs;
+    resumeTimeMs = C.TIME_UNSET;
+  }
+
+  private void endRebuffer(long realtimeMs) {
+    if (rebufferStartRealtimeMs != C.TIME_UNSET) {
+      rebufferDurationMs += realtimeMs - rebufferStartRealtimeMs;
+      rebufferStartRealtimeMs = C.TIME_UNSET;
+    }
+  }
+
+  @Override
+  public void onPlayWhenReadyChanged(
+      @NonNull EventTime eventTime, boolean playWhenReady, int reason) {
+    this.playWhenReady = playWhenReady;
+    if (playWhenReady && playRequestedRealtimeMs == C.TIME_UNSET) {
+      playRequestedRealtimeMs = eventTime.realtimeMs;
+    } else if (!playWhenReady) {
+      // Waiting for a paused player is not a stall.
+      endRebuffer(eventTime.realtimeMs);
+    }
+  }
+
+  @Override
+  public void onIsPlayingChanged(@NonNull EventTime eventTime, boolean isPlaying) {
+    if (isPlaying && joinLatencyMs == C.TIME_UNSET && playRequestedRealtimeMs != C.TIME_UNSET) {
+      joinLatencyMs = eventTime.realtimeMs - playRequestedRealtimeMs;
+    }
+  }
+
+  @Override
+  public void onPlaybackStateChanged(@NonNull EventTime eventTime, int state) {
+    if (state != Player.STATE_BUFFERING) {
+      endRebuffer(eventTime.realtimeMs);
+      isSeeking = false;
+      return;
+    }
+    boolean hasStarted = joinLatencyMs != C.TIME_UNSET;
+    if (playWhenReady && hasStarted && !isSeeking && rebufferStartRealtimeMs == C.TIME_UNSET) {
+      rebufferCount++;
+      rebufferStartRealtimeMs = eventTime.realtimeMs;
+    }
+  }
+
+  @Override
+  public void onPositionDiscontinuity(
+      @NonNull EventTime eventTime,
+      @NonNull Player.PositionInfo oldPosition,
+      @NonNull Player.PositionInfo newPosition,
+      int reason) {
+    if (reason == Player.DISCONTINUITY_REASON_SEEK) {
+      // Buffering at the new position was asked for, so it is not a stall.
+      isSeeking = true;
+      endRebuffer(eventTime.realtimeMs);
+    }
+  }
+
+  @Override
+  public void onRenderedFirstFrame(
+      @NonNull EventTime eventTime, @NonNull Object output, long renderTimeMs) {
+    if (timeToFirstFrameMs == C.TIME_UNSET) {
+      timeToFirstFrameMs = eventTime.realtimeMs - createdRealtimeMs;
+    }
+    // The player reports a first frame again for every new video surface.
+    if (surfaceReattachedRealtimeMs != C.TIME_UNSET) {
+      resumeTimeMs = eventTime.realtimeMs - surfaceReattachedRealtimeMs;
+      surfaceReattachedRealtimeMs = C.TIME_UNSET;
+    }
+  }
+
+  @Override
+  public void onDroppedVideoFrames(
+      @NonNull EventTime eventTime, int droppedFrames, long elapsedMs) {
+    droppedFrameCount += droppedFrames;
+  }
+
+  @Override
+  public void onDownstreamFormatChanged(
+      @NonNull EventTime eventTime, @NonNull MediaLoadData mediaLoadData) {
+    Format format = mediaLoadData.trackFormat;
+    boolean isVideo =
+        mediaLoadData.trackType == C.TRACK_TYPE_VIDEO
+            || mediaLoadData.trackType == C.TRACK_TYPE_DEFAULT;
+    if (!isVideo || format == null || format.bitrate == Format.NO_VALUE) {
+      return;
+    }
+    // Formats are reported as they are loaded, so the next playlist item, or the next loop of
+    // the same one, arrives while the current one plays. Only changes within a period count.
+    if (videoBitrate != Format.NO_VALUE
+        && format.bitrate != videoBitrate
+        && Objects.equals(eventTime.mediaPeriodId, videoBitratePeriodId)) {
+      bitrateSwitchCount++;
+    }
+    videoBitrate = format.bitrate;
+    videoBitratePeriodId = eventTime.mediaPeriodId;
+  }
+
+  @Override
+  public void onLoadCompleted(
+      @NonNull EventTime eventTime,
+      @NonNull LoadEventInfo loadEventInfo,
+      @NonNull MediaLoadData mediaLoadData) {
+    bytesLoaded += loadEventInfo.bytesLoaded;
+  }
+
+  @Override
+  public void onLoadCanceled(
+      @NonNull EventTime eventTime,
+      @NonNull LoadEventInfo loadEventInfo,
+      @NonNull MediaLoadData mediaLoadData) {
+    bytesLoaded += loadEventInfo.bytesLoaded;
+  }
+}
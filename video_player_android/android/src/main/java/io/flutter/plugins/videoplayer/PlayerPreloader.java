@@ -0,0 +1,277 @@
+// Copyright 2013 The Flutter Authors. All rights reserved.
+// Use of this source code is governed by a BSD-style license that can be
+// found in the LICENSE file.
+
+package io.flutter.plugins.videoplayer;
+
+import android.content.Context;
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+import androidx.annotation.OptIn;
+import androidx.annotation.VisibleForTesting;
+import androidx.media3.common.C;
+import androidx.media3.common.util.UnstableApi;
+import androidx.media3.exoplayer.DefaultLoadControl;
+import androidx.media3.exoplayer.ExoPlayer;
+import androidx.media3.exoplayer.LoadControl;
+import androidx.media3.exoplayer.source.MediaSource;
+import androidx.media3.exoplayer.upstream.DefaultAllocator;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Prepares players for videos that are about to be shown, before the UI creates them.
+ *
+ * <p>A preloaded player is prepared off screen and buffers the requested duration, up to a byte
+ * budget. When a video player is later created for the same asset, it takes over the prepared
+ * player with its buffer instead of starting from nothing, so the first frame can be shown on the
+ * first draw. At most {@link #DEFAULT_MAX_PRELOADED_PLAYERS} players are preloaded; the oldest
+ * one is released to make room for a new one.
+ *
+ * <p>This class is not thread-safe; it must only be used on the main thread.
+ */
+@OptIn(markerClass = UnstableApi.class)
+public final class PlayerPreloader {
+  /** Default maximum number of preloaded players. */
+  static final int DEFAULT_MAX_PRELOADED_PLAYERS = 3;
+
+  /** Default maximum number of bytes buffered by each preloaded player. */
+  static final int DEFAULT_MAX_PRELOAD_BYTES = 8 * 1024 * 1024;
+
+  private static PlayerPreloader instance;
+
+  /** A closure-compatible signature since {@link java.util.function.Function} is API level 24. */
+  interface PlayerFactory {
+    /**
+     * Builds a new {@link ExoPlayer}.
+     *
+     * @param mediaSourceFactory factory the player must use for its media items.
+     * @param loadControl load control the player must use.
+     * @return new instance.
+     */
+    @NonNull
+    ExoPlayer create(
+        @NonNull MediaSource.Factory mediaSourceFactory, @NonNull LoadControl loadControl);
+  }
+
+  @NonNull private final Context context;
+  @NonNull private final PlayerFactory playerFactory;
+  private final int maxPreloadedPlayers;
+  private final int maxPreloadBytes;
+  // Insertion-ordered, so that the oldest preload is evicted first.
+  @NonNull private final LinkedHashMap<String, PreloadedPlayer> preloadedPlayers =
+      new LinkedHashMap<>();
+
+  /**
+   * Returns the preloader shared by all video players of the application.
+   *
+   * @param context any context; only its application context is retained.
+   * @return the shared preloader.
+   */
+  @NonNull
+  public static synchronized PlayerPreloader getInstance(@NonNull Context context) {
+    if (instance == null) {
+      Context applicationContext = context.getApplicationContext();
+      instance =
+          new PlayerPreloader(
+              applicationContext,
+              DEFAULT_MAX_PRELOADED_PLAYERS,
+              DEFAULT_MAX_PRELOAD_BYTES,
+              (mediaSourceFactory, loadControl) -> {
+                SharedPlaybackResources sharedResources =
+                    SharedPlaybackResources.getInstance(applicationContext);
+                ExoPlayer.Builder builder =
+                    new ExoPlayer.Builder(applicationContext)
+                        .setMediaSourceFactory(mediaSourceFactory);
+                if (sharedResources.isEnabled()) {
+                  sharedResources.applyTo(builder);
+                }
+                // Preloads are bounded by their own budget, even in shared mode.
+                return builder.setLoadControl(loadControl).build();
+              });
+    }
+    return instance;
+  }
+
+  @VisibleForTesting
+  PlayerPreloader(
+      @NonNull Context context,
+      int maxPreloadedPlayers,
+      int maxPreloadBytes,
+      @NonNull PlayerFactory playerFactory) {
+    this.context = context;
+    this.maxPreloadedPlayers = maxPreloadedPlayers;
+    this.maxPreloadBytes = maxPreloadBytes;
+    this.playerFactory = playerFactory;
+  }
+
+  /**
+   * Prepares a player for {@code asset} and buffers up to {@code durationMs} of it.
+   *
+   * <p>Does nothing if a player is already preloaded under {@code key}.
+   *
+   * @param key identifies the source, so that a later create call can find the preloaded asset.
+   * @param asset asset to preload.
+   * @param durationMs duration to buffer ahead.
+   */
+  public void preload(@NonNull String key, @NonNull VideoAsset asset, long durationMs) {
+    if (preloadedPlayers.containsKey(key) || maxPreloadedPlayers <= 0) {
+      return;
+    }
+    while (preloadedPlayers.size() >= maxPreloadedPlayers) {
+      Iterator<PreloadedPlayer> oldest = preloadedPlayers.values().iterator();
+      oldest.next().exoPlayer.release();
+      oldest.remove();
+    }
+
+    PreloadLoadControl loadControl = new PreloadLoadControl(durationMs, maxPreloadBytes);
+    ExoPlayer exoPlayer = playerFactory.create(asset.getMediaSourceFactory(context), loadControl);
+    exoPlayer.setMediaItem(asset.getMediaItem());
+    exoPlayer.prepare();
+    preloadedPlayers.put(key, new PreloadedPlayer(asset, exoPlayer, loadControl));
+  }
+
+  /**
+   * Returns the asset preloaded under {@code key}, or null if there is none.
+   *
+   * <p>A video player created for the returned asset takes over the preloaded player.
+   */
+  @Nullable
+  public VideoAsset getPreloadedAsset(@NonNull String key) {
+    PreloadedPlayer preloaded = preloadedPlayers.get(key);
+    return preloaded == null ? null : preloaded.asset;
+  }
+
+  /**
+   * Returns a provider for a single {@link VideoPlayer} of {@code asset}.
+   *
+   * <p>If {@code asset} was preloaded, the provider first hands out the preloaded player, which
+   * buffers normally from then on. Otherwise, and for any player requested afterwards, players are
+   * leased from the {@link ExoPlayerPool}.
+   *
+   * @param context context used to create the media source factory of {@code asset}.
+   * @param asset asset the players will play.
+   * @return a provider for a single {@link VideoPlayer}.
+   */
+  @NonNull
+  public VideoPlayer.ExoPlayerProvider newProvider(
+      @NonNull Context context, @NonNull VideoAsset asset) {
+    VideoPlayer.ExoPlayerProvider poolProvider =
+        ExoPlayerPool.getInstance(context).newProvider(context, asset);
+    PreloadedPlayer preloaded = take(asset);
+    if (preloaded == null) {
+      return poolProvider;
+    }
+    preloaded.loadControl.endPreload();
+    return new VideoPlayer.ExoPlayerProvider() {
+      @Nullable private ExoPlayer preloadedPlayer = preloaded.exoPlayer;
+
+      @NonNull
+      @Override
+      public ExoPlayer get() {
+        if (preloadedPlayer == null) {
+          return poolProvider.get();
+        }
+        ExoPlayer exoPlayer = preloadedPlayer;
+        preloadedPlayer = null;
+        return exoPlayer;
+      }
+
+      @Override
+      public void release(@NonNull ExoPlayer exoPlayer) {
+        // The pool only recycles players it leased, and releases any other.
+        poolProvider.release(exoPlayer);
+      }
+    };
+  }
+
+  @Nullable
+  private PreloadedPlayer take(@NonNull VideoAsset asset) {
+    Iterator<Map.Entry<String, PreloadedPlayer>> entries = preloadedPlayers.entrySet().iterator();
+    while (entries.hasNext()) {
+      PreloadedPlayer preloaded = entries.next().getValue();
+      if (preloaded.asset == asset) {
+        entries.remove();
+        return preloaded;
+      }
+    }
+    return null;
+  }
+
+  /** Releases all preloaded players. */
+  public void clear() {
+    for (PreloadedPlayer preloaded : preloadedPlayers.values()) {
+      preloaded.exoPlayer.release();
+    }
+    preloadedPlayers.clear();
+  }
+
+  /** Returns the number of players currently preloaded. */
+  public int getPreloadedCount() {
+    return preloadedPlayers.size();
+  }
+
+  private static final class PreloadedPlayer {
+    @NonNull final VideoAsset asset;
+    @NonNull final ExoPlayer exoPlayer;
+    @NonNull final PreloadLoadControl loadControl;
+
+    PreloadedPlayer(
+        @NonNull VideoAsset asset,
+        @NonNull ExoPlayer exoPlayer,
+        @NonNull PreloadLoadControl loadControl) {
+      this.asset = asset;
+      this.exoPlayer = exoPlayer;
+      this.loadControl = loadControl;
+    }
+  }
+
+  /**
+   * A {@link DefaultLoadControl} that stops loading at the preload duration or byte budget until
+   * the player is taken over.
+   *
+   * <p>Playback may start once the preload duration is buffered, if that is shorter than the
+   * default threshold, so that a preloaded player is ready when it is taken over.
+   */
+  @VisibleForTesting
+  static final class PreloadLoadControl extends DefaultLoadControl {
+    private final long maxPreloadBytes;
+    private volatile long preloadDurationUs;
+
+    PreloadLoadControl(long preloadDurationMs, long maxPreloadBytes) {
+      super(
+          new DefaultAllocator(/* trimOnReset= */ true, C.DEFAULT_BUFFER_SEGMENT_SIZE),
+          DefaultLoadControl.DEFAULT_MIN_BUFFER_MS,
+          DefaultLoadControl.DEFAULT_MAX_BUFFER_MS,
+          (int)
+              Math.max(
+                  0,
+                  Math.min(preloadDurationMs, DefaultLoadControl.DEFAULT_BUFFER_FOR_PLAYBACK_MS)),
+          DefaultLoadControl.DEFAULT_BUFFER_FOR_PLAYBACK_AFTER_REBUFFER_MS,
+          DefaultLoadControl.DEFAULT_TARGET_BUFFER_BYTES,
+          DefaultLoadControl.DEFAULT_PRIORITIZE_TIME_OVER_SIZE_THRESHOLDS,
+          DefaultLoadControl.DEFAULT_BACK_BUFFER_DURATION_MS,
+          DefaultLoadControl.DEFAULT_RETAIN_BACK_BUFFER_FROM_KEYFRAME);
+      this.maxPreloadBytes = maxPreloadBytes;
+      this.preloadDurationUs = Math.max(0, preloadDurationMs) * 1000;
+    }
+
+    /** Lifts the preload limits. */
+    void endPreload() {
+      preloadDurationUs = C.TIME_UNSET;
+    }
+
+    // ExoPlayer only calls the overload taking the parameters.
+    @Override
+    public boolean shouldContinueLoading(@NonNull Parameters parameters) {
+      long limitUs = preloadDurationUs;
+      if (limitUs != C.TIME_UNSET
+          && (parameters.bufferedDurationUs >= limitUs
+              || getAllocator().getTotalBytesAllocated() >= maxPreloadBytes)) {
+        return false;
+      }
+      return super.shouldContinueLoading(parameters);
+    }
+  }
+}
@@ -0,0 +1,128 @@
+// Copyright 2013 The Flutter Authors. All rights reserved.
+// Use of this source code is governed by a BSD-style license that can be
+// found in the LICENSE file.
+
+package io.flutter.plugins.videoplayer;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+import androidx.annotation.OptIn;
+import androidx.annotation.VisibleForTesting;
+import androidx.media3.common.util.UnstableApi;
+import androidx.media3.datasource.DefaultHttpDataSource;
+import androidx.media3.datasource.HttpDataSource;
+import androidx.media3.datasource.okhttp.OkHttpDataSource;
+import java.net.InetSocketAddress;
+import java.net.Proxy;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import okhttp3.Call;
+import okhttp3.Connection;
+import okhttp3.ConnectionPool;
+import okhttp3.EventListener;
+import okhttp3.OkHttpClient;
+import okhttp3.Protocol;
+
+/**
+ * An {@link HttpEngine} on top of one OkHttp client shared by all players.
+ *
+ * <p>Idle connections are kept alive in a pool of the engine, so consecutive segment fetches of a
+ * stream, and fetches of different players from the same host, reuse a warm connection instead of
+ * paying for a new TCP and TLS handshake. Over TLS, servers that support HTTP/2 multiplex
+ * concurrent segment fetches on a single connection.
+ *
+ * <p>The connections opened and acquired are counted in the {@link MetricsRegistry}; each
+ * acquisition beyond the opened connections is a reuse.
+ */
+@OptIn(markerClass = UnstableApi.class)
+final class PooledHttpEngine implements HttpEngine {
+  /** Default maximum number of idle connections kept alive. */
+  static final int DEFAULT_MAX_IDLE_CONNECTIONS = 8;
+
+  /** How long an idle connection is kept alive. */
+  static final long KEEP_ALIVE_MS = 5 * 60 * 1000;
+
+  private static final MetricsRegistry.Counter CONNECTIONS_OPENED =
+      MetricsRegistry.getInstance().counter("http.connectionsOpened");
+  private static final MetricsRegistry.Counter CONNECTIONS_ACQUIRED =
+      MetricsRegistry.getInstance().counter("http.connectionsAcquired");
+
+  @NonNull private final OkHttpClient client;
+  @NonNull private final OkHttpDataSource.Factory dataSourceFactory;
+  @NonNull private final AtomicLong connectionsOpened = new AtomicLong();
+  @NonNull private final AtomicLong connectionsAcquired = new AtomicLong();
+
+  /**
+   * Creates an engine.
+   *
+   * @param maxIdleConnections maximum number of idle connections kept alive.
+   */
+  PooledHttpEngine(int maxIdleConnections) {
+    this(new OkHttpClient.Builder(), maxIdleConnections);
+  }
+
+  @VisibleForTesting
+  PooledHttpEngine(@NonNull OkHttpClient.Builder clientBuilder, int maxIdleConnections) {
+    if (maxIdleConnections < 0) {
+      throw new IllegalArgumentException(
+          "maxIdleConnections must not be negative, got " + maxIdleConnections);
+    }
+    // The timeouts match those of DefaultHttpDataSource. OkHttp follows redirects between HTTP
+    // and HTTPS by default.
+    client =
+        clientBuilder
+            .connectionPool(
+                new ConnectionPool(maxIdleConnections, KEEP_ALIVE_MS, TimeUnit.MILLISECONDS))
+            .connectTimeout(
+                DefaultHttpDataSource.DEFAULT_CONNECT_TIMEOUT_MILLIS, TimeUnit.MILLISECONDS)
+            .readTimeout(DefaultHttpDataSource.DEFAULT_READ_TIMEOUT_MILLIS, TimeUnit.MILLISECONDS)
+            .eventListener(new ConnectionCounter())
+            .build();
+    dataSourceFactory = new OkHttpDataSource.Factory(client);
+  }
+
+  @NonNull
+  @Override
+  public HttpDataSource createDataSource() {
+    return dataSourceFactory.createDataSource();
+  }
+
+  @Override
+  public void release() {
+    // Connections in use are closed by their data sources.
+    client.connectionPool().evictAll();
+  }
+
+  /** Returns the number of connections this engine opened. */
+  long getConnectionsOpened() {
+    return connectionsOpened.get();
+  }
+
+  /** Returns the number of times a request acquired a new or pooled connection. */
+  long getConnectionsAcquired() {
+    return connectionsAcquired.get();
+  }
+
+  /** Returns the number of connections currently idle in the pool. */
+  int getIdleConnectionCount() {
+    return client.connectionPool().idleConnectionCount();
+  }
+
+  private final class ConnectionCounter extends EventListener {
+    @Override
+    public void connectEnd(
+        @NonNull Call call,
+        @NonNull InetSocketAddress inetSocketAddress,
+        @NonNull Proxy proxy,
+        @Nullable Protocol protocol) {
+      connectionsOpened.incrementAndGet();
+      CONNECTIONS_OPENED.increment();
+    }
+
+    @Override
+    public void connectionAcquired(@NonNull Call call, @NonNull Connection connection) {
+      connectionsAcquired.incrementAndGet();
+      CONNECTIONS_ACQUIRED.increment();
+    }
+  }
+}
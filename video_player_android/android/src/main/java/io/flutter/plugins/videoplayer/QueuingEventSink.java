@@ -4,6 +4,7 @@
 
 package io.flutter.plugins.videoplayer;
 
+import androidx.annotation.NonNull;
 import io.flutter.plugin.common.EventChannel;
 import java.util.ArrayList;
 
@@ -13,13 +14,60 @@ import java.util.ArrayList;
  * <p>It delivers messages immediately when downstream is available, but it queues messages before
  * the delegate event sink is set with setDelegate.
  *
+ * <p>The queue is bounded. An event that supersedes a queued event of the same kind, as decided by
+ * the {@link EventPolicy}, replaces it. When the queue is full, the oldest event that is not
+ * terminal is dropped. Terminal events, errors and the end of stream are always kept.
+ *
  * <p>This class is not thread-safe. All calls must be done on the same thread or synchronized
  * externally.
  */
 final class QueuingEventSink implements EventChannel.EventSink {
+  /** Default maximum number of queued events. */
+  static final int DEFAULT_MAX_QUEUED_EVENTS = 32;
+
+  /** Decides which queued events may be replaced or dropped. */
+  interface EventPolicy {
+    /** Returned by {@link #coalescingKey(Object)} for events that are never replaced. */
+    int NOT_COALESCED = -1;
+
+    /**
+     * Returns a key that is equal for events superseding each other, or {@link #NOT_COALESCED}.
+     */
+    int coalescingKey(@NonNull Object event);
+
+    /** Whether the event must be delivered even if the queue overflows. */
+    boolean isTerminal(@NonNull Object event);
+  }
+
+  private static final EventPolicy DEFAULT_POLICY =
+      new EventPolicy() {
+        @Override
+        public int coalescingKey(@NonNull Object event) {
+          return NOT_COALESCED;
+        }
+
+        @Override
+        public boolean isTerminal(@NonNull Object event) {
+          return false;
+        }
+      };
+
   private EventChannel.EventSink delegate;
   private final ArrayList<Object> eventQueue = new ArrayList<>();
+  private final int maxQueuedEvents;
+  @NonNull private final EventPolicy policy;
   private boolean done = false;
+  private long droppedEventCount;
+  private long coalescedEventCount;
+
+  QueuingEventSink() {
+    this(DEFAULT_MAX_QUEUED_EVENTS, DEFAULT_POLICY);
+  }
+
+  QueuingEventSink(int maxQueuedEvents, @NonNull EventPolicy policy) {
+    this.maxQueuedEvents = maxQueuedEvents;
+    this.policy = policy;
+  }
 
   public void setDelegate(EventChannel.EventSink delegate) {
     this.delegate = delegate;
@@ -45,18 +93,81 @@ final class QueuingEventSink implements EventChannel.EventSink {
     maybeFlush();
   }
 
+  /** Number of events dropped because the queue was full. */
+  long getDroppedEventCount() {
+    return droppedEventCount;
+  }
+
+  /** Number of queued events replaced by a newer event of the same kind. */
+  long getCoalescedEventCount() {
+    return coalescedEventCount;
+  }
+
   private void enqueue(Object event) {
     if (done) {
       return;
     }
+    if (delegate == null) {
+      // Senders may reuse byte arrays once success returns, so queued ones must be copies.
+      if (event instanceof byte[]) {
+        event = ((byte[]) event).clone();
+      }
+      coalesce(event);
+      if (eventQueue.size() >= maxQueuedEvents && !makeRoomFor(event)) {
+        droppedEventCount++;
+        return;
+      }
+    }
     eventQueue.add(event);
   }
 
+  private void coalesce(Object event) {
+    int key = coalescingKeyOf(event);
+    if (key == EventPolicy.NOT_COALESCED) {
+      return;
+    }
+    for (int i = 0; i < eventQueue.size(); i++) {
+      if (coalescingKeyOf(eventQueue.get(i)) == key) {
+        // Removed rather than replaced in place, so that the newer state is delivered last.
+        eventQueue.remove(i);
+        coalescedEventCount++;
+        return;
+      }
+    }
+  }
+
+  /** Drops the oldest non-terminal event, returning false if the new event has to go instead. */
+  private boolean makeRoomFor(Object event) {
+    for (int i = 0; i < eventQueue.size(); i++) {
+      if (!isTerminal(eventQueue.get(i))) {
+        eventQueue.remove(i);
+        droppedEventCount++;
+        return true;
+      }
+    }
+    return isTerminal(event);
+  }
+
+  private int coalescingKeyOf(Object event) {
+    if (event instanceof EndOfStreamEvent || event instanceof ErrorEvent) {
+      return EventPolicy.NOT_COALESCED;
+    }
+    return policy.coalescingKey(event);
+  }
+
+  private boolean isTerminal(Object event) {
+    return event instanceof EndOfStreamEvent
+        || event instanceof ErrorEvent
+        || policy.isTerminal(event);
+  }
+
   private void maybeFlush() {
     if (delegate == null) {
       return;
     }
-    for (Object event : eventQueue) {
+    // Indexed to avoid allocating an iterator for every event.
+    for (int i = 0; i < eventQueue.size(); i++) {
+      Object event = eventQueue.get(i);
       if (event instanceof EndOfStreamEvent) {
         delegate.endOfStream();
       } else if (event instanceof ErrorEvent) {
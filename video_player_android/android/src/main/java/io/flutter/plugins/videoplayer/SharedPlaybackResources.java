@@ -0,0 +1,263 @@
+// Copyright 2013 The Flutter Authors. All rights reserved.
+// Use of this source code is governed by a BSD-style license that can be
+// found in the LICENSE file.
+
+package io.flutter.plugins.videoplayer;
+
+import android.content.Context;
+import android.os.HandlerThread;
+import android.os.Looper;
+import android.os.Process;
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+import androidx.annotation.OptIn;
+import androidx.annotation.VisibleForTesting;
+import androidx.media3.common.C;
+import androidx.media3.common.util.UnstableApi;
+import androidx.media3.exoplayer.DefaultLoadControl;
+import androidx.media3.exoplayer.ExoPlayer;
+import androidx.media3.exoplayer.analytics.PlayerId;
+import androidx.media3.exoplayer.upstream.Allocation;
+import androidx.media3.exoplayer.upstream.Allocator;
+import androidx.media3.exoplayer.upstream.BandwidthMeter;
+import androidx.media3.exoplayer.upstream.DefaultAllocator;
+import androidx.media3.exoplayer.upstream.DefaultBandwidthMeter;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Playback resources shared by all players while the shared-resources mode is enabled.
+ *
+ * <p>By default every {@link ExoPlayer} starts its own playback thread, estimates bandwidth on
+ * its own and buffers up to its own memory budget. In shared mode, players built with {@link
+ * #applyTo(ExoPlayer.Builder)} instead share:
+ *
+ * <ul>
+ *   <li>a single playback thread,
+ *   <li>the application-wide {@link DefaultBandwidthMeter}, so a new player starts from the
+ *       estimate of the previous ones,
+ *   <li>one {@link DefaultAllocator}, whose budget is split evenly across the prepared players.
+ * </ul>
+ *
+ * <p>The split is recomputed whenever a player is prepared, stopped or released. A player stops
+ * loading once it holds its share, and all players stop once the allocator holds the whole budget,
+ * so buffer memory stays bounded however many players exist. A player that joins when the budget
+ * is used up starts loading as the others consume their buffers.
+ *
+ * <p>The mode only affects players built after it changes.
+ */
+@OptIn(markerClass = UnstableApi.class)
+public final class SharedPlaybackResources {
+  /** Default buffer budget shared by all players. */
+  static final long DEFAULT_TOTAL_BUFFER_BYTES = 64L * 1024 * 1024;
+
+  private static SharedPlaybackResources instance;
+
+  @NonNull private final Context context;
+  @NonNull private final DefaultAllocator allocator;
+  @NonNull private final AtomicInteger preparedPlayers = new AtomicInteger();
+  @Nullable private HandlerThread playbackThread;
+
+  private volatile boolean enabled;
+  private volatile int totalBufferBytes = (int) DEFAULT_TOTAL_BUFFER_BYTES;
+
+  /**
+   * Returns the resources shared by all video players of the application.
+   *
+   * @param context any context; only its application context is retained.
+   * @return the shared resources.
+   */
+  @NonNull
+  public static synchronized SharedPlaybackResources getInstance(@NonNull Context context) {
+    if (instance == null) {
+      instance = new SharedPlaybackResources(context.getApplicationContext());
+    }
+    return instance;
+  }
+
+  @VisibleForTesting
+  SharedPlaybackResources(@NonNull Context context) {
+    this.context = context;
+    // The allocator outlives every single player, so a player being reset must not trim it.
+    this.allocator = new DefaultAllocator(/* trimOnReset= */ false, C.DEFAULT_BUFFER_SEGMENT_SIZE);
+  }
+
+  /**
+   * Enables or disables the shared-resources mode for players built afterwards.
+   *
+   * @param enabled whether new players share resources.
+   * @param totalBufferBytes buffer budget shared by all players.
+   */
+  public void setEnabled(boolean enabled, long totalBufferBytes) {
+    this.totalBufferBytes = (int) Math.max(0, Math.min(totalBufferBytes, Integer.MAX_VALUE));
+    this.enabled = enabled;
+  }
+
+  public boolean isEnabled() {
+    return enabled;
+  }
+
+  /**
+   * Configures {@code builder} to use the shared resources.
+   *
+   * @param builder builder of a new player.
+   * @return {@code builder}.
+   */
+  @NonNull
+  public ExoPlayer.Builder applyTo(@NonNull ExoPlayer.Builder builder) {
+    return builder
+        .setPlaybackLooper(getPlaybackLooper())
+        .setBandwidthMeter(getBandwidthMeter())
+        .setLoadControl(createLoadControl());
+  }
+
+  @NonNull
+  private synchronized Looper getPlaybackLooper() {
+    if (playbackThread == null) {
+      // Players never quit a looper they were given, so the thread lives as long as the process.
+      playbackThread =
+          new HandlerThread("ExoPlayer:SharedPlayback", Process.THREAD_PRIORITY_AUDIO);
+      playbackThread.start();
+    }
+    return playbackThread.getLooper();
+  }
+
+  @NonNull
+  private BandwidthMeter getBandwidthMeter() {
+    return DefaultBandwidthMeter.getSingletonInstance(context);
+  }
+
+  @VisibleForTesting
+  @NonNull
+  SharedLoadControl createLoadControl() {
+    return new SharedLoadControl();
+  }
+
+  /** Returns the number of bytes currently allocated by all players in shared mode. */
+  long getAllocatedBytes() {
+    return allocator.getTotalBytesAllocated();
+  }
+
+  /** Returns the buffer budget of each prepared player. */
+  long getPerPlayerBufferBytes() {
+    return totalBufferBytes / Math.max(1, preparedPlayers.get());
+  }
+
+  /**
+   * A {@link DefaultLoadControl} drawing from the shared allocator.
+   *
+   * <p>Each player has its own instance, so the inherited size threshold only covers the player
+   * itself. This class checks the per-player share and the total allocated by all players on top
+   * of it.
+   */
+  @VisibleForTesting
+  final class SharedLoadControl extends DefaultLoadControl {
+    @NonNull private final CountingAllocator playerAllocator;
+    private boolean prepared;
+
+    SharedLoadControl() {
+      super(
+          allocator,
+          DefaultLoadControl.DEFAULT_MIN_BUFFER_MS,
+          DefaultLoadControl.DEFAULT_MAX_BUFFER_MS,
+          DefaultLoadControl.DEFAULT_BUFFER_FOR_PLAYBACK_MS,
+          DefaultLoadControl.DEFAULT_BUFFER_FOR_PLAYBACK_AFTER_REBUFFER_MS,
+          totalBufferBytes,
+          DefaultLoadControl.DEFAULT_PRIORITIZE_TIME_OVER_SIZE_THRESHOLDS,
+          DefaultLoadControl.DEFAULT_BACK_BUFFER_DURATION_MS,
+          DefaultLoadControl.DEFAULT_RETAIN_BACK_BUFFER_FROM_KEYFRAME);
+      this.playerAllocator = new CountingAllocator(allocator);
+    }
+
+    // ExoPlayer only calls the overloads taking the PlayerId, so those are the ones overridden.
+    @Override
+    public void onPrepared(@NonNull PlayerId playerId) {
+      super.onPrepared(playerId);
+      setPrepared(true);
+    }
+
+    @Override
+    public void onStopped(@NonNull PlayerId playerId) {
+      super.onStopped(playerId);
+      setPrepared(false);
+    }
+
+    @Override
+    public void onReleased(@NonNull PlayerId playerId) {
+      super.onReleased(playerId);
+      setPrepared(false);
+    }
+
+    private void setPrepared(boolean prepared) {
+      if (this.prepared != prepared) {
+        this.prepared = prepared;
+        preparedPlayers.addAndGet(prepared ? 1 : -1);
+      }
+    }
+
+    @NonNull
+    @Override
+    public Allocator getAllocator() {
+      return playerAllocator;
+    }
+
+    @Override
+    public boolean shouldContinueLoading(@NonNull Parameters parameters) {
+      if (playerAllocator.getTotalBytesAllocated() >= getPerPlayerBufferBytes()
+          || allocator.getTotalBytesAllocated() >= totalBufferBytes) {
+        return false;
+      }
+      return super.shouldContinueLoading(parameters);
+    }
+  }
+
+  /** An {@link Allocator} that counts the bytes one player holds in a shared allocator. */
+  @VisibleForTesting
+  static final class CountingAllocator implements Allocator {
+    @NonNull private final Allocator delegate;
+    private final AtomicLong allocatedCount = new AtomicLong();
+
+    CountingAllocator(@NonNull Allocator delegate) {
+      this.delegate = delegate;
+    }
+
+    @NonNull
+    @Override
+    public Allocation allocate() {
+      Allocation allocation = delegate.allocate();
+      allocatedCount.incrementAndGet();
+      return allocation;
+    }
+
+    @Override
+    public void release(@NonNull Allocation allocation) {
+      delegate.release(allocation);
+      allocatedCount.decrementAndGet();
+    }
+
+    @Override
+    public void release(@Nullable AllocationNode allocationNode) {
+      long released = 0;
+      for (AllocationNode node = allocationNode; node != null; node = node.next()) {
+        released++;
+      }
+      delegate.release(allocationNode);
+      allocatedCount.addAndGet(-released);
+    }
+
+    @Override
+    public void trim() {
+      delegate.trim();
+    }
+
+    @Override
+    public int getTotalBytesAllocated() {
+      return (int) (allocatedCount.get() * delegate.getIndividualAllocationLength());
+    }
+
+    @Override
+    public int getIndividualAllocationLength() {
+      return delegate.getIndividualAllocationLength();
+    }
+  }
+}
@@ -0,0 +1,99 @@
+// Copyright 2013 The Flutter Authors. All rights reserved.
+// Use of this source code is governed by a BSD-style license that can be
+// found in the LICENSE file.
+
+package io.flutter.plugins.videoplayer;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+import androidx.annotation.OptIn;
+import androidx.media3.common.util.UnstableApi;
+import androidx.media3.datasource.DataSink;
+import androidx.media3.datasource.DataSpec;
+import androidx.media3.datasource.cache.Cache;
+import androidx.media3.datasource.cache.CacheDataSink;
+import androidx.media3.datasource.cache.CacheSpan;
+import java.io.IOException;
+
+/**
+ * A {@link DataSink} that writes streamed bytes into the cache, but stops once a stream occupies
+ * {@code maxItemBytes}.
+ *
+ * <p>A stream is what one data source loads: a progressive video, or the segments of one track of
+ * an adaptive stream, which each have their own cache key. The budget is therefore spent by the
+ * bytes this sink has written under any key, or by the bytes already cached under the key being
+ * written, whichever is more.
+ *
+ * <p>Playback keeps reading from upstream after the cap is reached; the remaining bytes are simply
+ * not cached. Whatever was written stays subject to {@link VideoCacheEvictor} like any other
+ * unpinned span.
+ */
+@OptIn(markerClass = UnstableApi.class)
+final class StreamingCacheDataSink implements DataSink {
+  @NonNull private final Cache cache;
+  private final long maxItemBytes;
+
+  @Nullable private CacheDataSink delegate;
+  private long remainingBytes;
+  private long writtenBytes;
+
+  /**
+   * Creates a sink.
+   *
+   * @param cache the cache to write into.
+   * @param maxItemBytes maximum number of bytes cached for a single stream.
+   */
+  StreamingCacheDataSink(@NonNull Cache cache, long maxItemBytes) {
+    this.cache = cache;
+    this.maxItemBytes = maxItemBytes;
+  }
+
+  @Override
+  public void open(@NonNull DataSpec dataSpec) throws IOException {
+    // CacheDataSource always sets the cache key on the spec it hands to its sink.
+    String key = dataSpec.key != null ? dataSpec.key : dataSpec.uri.toString();
+    remainingBytes = maxItemBytes - Math.max(getCachedBytes(key), writtenBytes);
+    if (remainingBytes <= 0) {
+      return;
+    }
+    delegate = new CacheDataSink(cache, CacheDataSink.DEFAULT_FRAGMENT_SIZE);
+    delegate.open(dataSpec);
+  }
+
+  @Override
+  public void write(@NonNull byte[] buffer, int offset, int length) throws IOException {
+    if (delegate == null) {
+      return;
+    }
+    int bytesToWrite = (int) Math.min(length, remainingBytes);
+    delegate.write(buffer, offset, bytesToWrite);
+    remainingBytes -= bytesToWrite;
+    writtenBytes += bytesToWrite;
+    if (remainingBytes <= 0) {
+      // Commit what has been written and drop the rest of the stream.
+      closeDelegate();
+    }
+  }
+
+  @Override
+  public void close() throws IOException {
+    closeDelegate();
+  }
+
+  private void closeDelegate() throws IOException {
+    if (delegate == null) {
+      return;
+    }
+    CacheDataSink sink = delegate;
+    delegate = null;
+    sink.close();
+  }
+
+  private long getCachedBytes(@NonNull String key) {
+    long cachedBytes = 0;
+    for (CacheSpan span : cache.getCachedSpans(key)) {
+      cachedBytes += span.length;
+    }
+    return cachedBytes;
+  }
+}
@@ -0,0 +1,93 @@
+// Copyright 2013 The Flutter Authors. All rights reserved.
+// Use of this source code is governed by a BSD-style license that can be
+// found in the LICENSE file.
+
+package io.flutter.plugins.videoplayer;
+
+import android.net.Uri;
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+import androidx.annotation.OptIn;
+import androidx.media3.common.util.UnstableApi;
+import androidx.media3.datasource.DataSource;
+import androidx.media3.datasource.DataSpec;
+import androidx.media3.datasource.TransferListener;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A {@link DataSource} whose reads are paced by a {@link TokenBucket}.
+ *
+ * <p>Reads are paid for after they return, so the socket buffer of the upstream source fills at
+ * most once before the pace applies; from then on, the server is slowed down by TCP flow control.
+ */
+@OptIn(markerClass = UnstableApi.class)
+final class ThrottledDataSource implements DataSource {
+  /** Creates {@link ThrottledDataSource} instances sharing one {@link TokenBucket}. */
+  static final class Factory implements DataSource.Factory {
+    @NonNull private final DataSource.Factory upstreamFactory;
+    @NonNull private final TokenBucket tokenBucket;
+
+    Factory(@NonNull DataSource.Factory upstreamFactory, @NonNull TokenBucket tokenBucket) {
+      this.upstreamFactory = upstreamFactory;
+      this.tokenBucket = tokenBucket;
+    }
+
+    @NonNull
+    @Override
+    public DataSource createDataSource() {
+      return new ThrottledDataSource(upstreamFactory.createDataSource(), tokenBucket);
+    }
+  }
+
+  @NonNull private final DataSource upstream;
+  @NonNull private final TokenBucket tokenBucket;
+
+  ThrottledDataSource(@NonNull DataSource upstream, @NonNull TokenBucket tokenBucket) {
+    this.upstream = upstream;
+    this.tokenBucket = tokenBucket;
+  }
+
+  @Override
+  public void addTransferListener(@NonNull TransferListener transferListener) {
+    upstream.addTransferListener(transferListener);
+  }
+
+  @Override
+  public long open(@NonNull DataSpec dataSpec) throws IOException {
+    return upstream.open(dataSpec);
+  }
+
+  @Override
+  public int read(@NonNull byte[] buffer, int offset, int length) throws IOException {
+    int bytesRead = upstream.read(buffer, offset, length);
+    if (bytesRead > 0) {
+      try {
+        tokenBucket.acquire(bytesRead);
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        throw new InterruptedIOException();
+      }
+    }
+    return bytesRead;
+  }
+
+  @Nullable
+  @Override
+  public Uri getUri() {
+    return upstream.getUri();
+  }
+
+  @NonNull
+  @Override
+  public Map<String, List<String>> getResponseHeaders() {
+    return upstream.getResponseHeaders();
+  }
+
+  @Override
+  public void close() throws IOException {
+    upstream.close();
+  }
+}
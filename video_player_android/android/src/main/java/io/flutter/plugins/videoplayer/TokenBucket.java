@@ -0,0 +1,76 @@
+// Copyright 2013 The Flutter Authors. All rights reserved.
+// Use of this source code is governed by a BSD-style license that can be
+// found in the LICENSE file.
+
+package io.flutter.plugins.videoplayer;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Limits the rate at which several threads transfer bytes.
+ *
+ * <p>Tokens accrue at the current rate, up to one second worth of bytes. A thread takes tokens for
+ * the bytes it transferred and, if that leaves the bucket in debt, blocks until the debt is paid
+ * off. Threads sharing the bucket therefore transfer at most the rate together, plus the burst.
+ *
+ * <p>Changing the rate wakes the blocked threads, so lifting the limit releases them at once.
+ */
+final class TokenBucket {
+  /** A rate that does not limit transfers. */
+  static final long UNLIMITED = Long.MAX_VALUE;
+
+  private long bytesPerSecond = UNLIMITED;
+  // Negative while the threads owe bytes.
+  private double tokens;
+  private long lastRefillNanoTime = System.nanoTime();
+
+  /**
+   * Sets the rate.
+   *
+   * @param bytesPerSecond a positive number of bytes per second, or {@link #UNLIMITED}.
+   */
+  synchronized void setRate(long bytesPerSecond) {
+    if (bytesPerSecond <= 0) {
+      throw new IllegalArgumentException("bytesPerSecond must be positive, got " + bytesPerSecond);
+    }
+    refill();
+    this.bytesPerSecond = bytesPerSecond;
+    // Lifting the limit forgives the debt; a new limit starts with an empty bucket.
+    tokens = bytesPerSecond == UNLIMITED ? 0 : Math.min(tokens, bytesPerSecond);
+    notifyAll();
+  }
+
+  /** Returns the rate in bytes per second, or {@link #UNLIMITED}. */
+  synchronized long getRate() {
+    return bytesPerSecond;
+  }
+
+  /**
+   * Takes the tokens for {@code bytes}, blocking while the bucket is in debt.
+   *
+   * @param bytes the number of bytes transferred.
+   * @throws InterruptedException if the thread is interrupted while blocked.
+   */
+  synchronized void acquire(long bytes) throws InterruptedException {
+    if (bytesPerSecond == UNLIMITED) {
+      return;
+    }
+    refill();
+    tokens -= bytes;
+    while (tokens < 0 && bytesPerSecond != UNLIMITED) {
+      long waitNanos = (long) Math.ceil(-tokens * TimeUnit.SECONDS.toNanos(1) / bytesPerSecond);
+      TimeUnit.NANOSECONDS.timedWait(this, waitNanos);
+      refill();
+    }
+  }
+
+  private void refill() {
+    long nanoTime = System.nanoTime();
+    if (bytesPerSecond != UNLIMITED) {
+      double accrued =
+          (double) (nanoTime - lastRefillNanoTime) * bytesPerSecond / TimeUnit.SECONDS.toNanos(1);
+      tokens = Math.min(bytesPerSecond, tokens + accrued);
+    }
+    lastRefillNanoTime = nanoTime;
+  }
+}
@@ -77,11 +77,24 @@ public abstract class VideoAsset {
   }
 
   @Nullable protected final String assetUrl;
+  @NonNull protected final CacheUsageCounter cacheUsage = new CacheUsageCounter();
 
   protected VideoAsset(@Nullable String assetUrl) {
     this.assetUrl = assetUrl;
   }
 
+  /**
+   * Returns the counter of bytes read from the cache and from the network for this asset.
+   *
+   * <p>Only assets that stream over HTTP report any bytes.
+   *
+   * @return the counter.
+   */
+  @NonNull
+  CacheUsageCounter getCacheUsage() {
+    return cacheUsage;
+  }
+
   /**
    * Returns the configured media item to be played.
    *
@@ -0,0 +1,235 @@
+// Copyright 2013 The Flutter Authors. All rights reserved.
+// Use of this source code is governed by a BSD-style license that can be
+// found in the LICENSE file.
+
+package io.flutter.plugins.videoplayer;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.OptIn;
+import androidx.media3.common.C;
+import androidx.media3.common.util.UnstableApi;
+import androidx.media3.datasource.cache.Cache;
+import androidx.media3.datasource.cache.CacheEvictor;
+import androidx.media3.datasource.cache.CacheSpan;
+import java.util.Iterator;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * A {@link CacheEvictor} that keeps the {@link androidx.media3.datasource.cache.SimpleCache} used
+ * by {@link VideoCacheManager} within a byte budget.
+ *
+ * <p>Spans are evicted in least-recently-used order, except for spans whose cache key has been
+ * pinned with {@link #pin(String)}; those belong to explicit downloads and are never evicted. The
+ * effective budget is additionally capped so that at least {@code minFreeBytes} of disk space
+ * remain available on the volume holding the cache.
+ *
+ * <p>All {@link Cache.Listener} callbacks are invoked by the cache while it holds its own lock, so
+ * the span bookkeeping here needs no further synchronization. The budget, pins and counters may be
+ * read or changed from any thread.
+ */
+@OptIn(markerClass = UnstableApi.class)
+final class VideoCacheEvictor implements CacheEvictor {
+  /** A closure-compatible signature since {@link java.util.function.LongSupplier} is API 24. */
+  interface FreeSpaceProvider {
+    /**
+     * Returns the number of bytes currently available on the volume holding the cache.
+     *
+     * @return available bytes.
+     */
+    long getFreeBytes();
+  }
+
+  @NonNull private final FreeSpaceProvider freeSpaceProvider;
+  @NonNull private final TreeSet<CacheSpan> leastRecentlyUsed;
+  @NonNull private final Set<String> pinnedKeys = ConcurrentHashMap.newKeySet();
+
+  private volatile long maxBytes;
+  private volatile long minFreeBytes;
+  private volatile long currentSize;
+
+  private final AtomicLong hitCount = new AtomicLong();
+  private final AtomicLong missCount = new AtomicLong();
+  private final AtomicLong evictedBytes = new AtomicLong();
+  private final AtomicLong evictedSpanCount = new AtomicLong();
+
+  /**
+   * Creates an evictor.
+   *
+   * @param maxBytes maximum number of bytes the cache may hold.
+   * @param minFreeBytes number of bytes that must stay free on the cache volume.
+   * @param freeSpaceProvider source of the currently free bytes on the cache volume.
+   */
+  VideoCacheEvictor(
+      long maxBytes, long minFreeBytes, @NonNull FreeSpaceProvider freeSpaceProvider) {
+    this.maxBytes = maxBytes;
+    this.minFreeBytes = minFreeBytes;
+    this.freeSpaceProvider = freeSpaceProvider;
+    this.leastRecentlyUsed = new TreeSet<>(VideoCacheEvictor::compare);
+  }
+
+  @Override
+  public boolean requiresCacheSpanTouches() {
+    return true;
+  }
+
+  @Override
+  public void onCacheInitialized() {
+    // Do nothing.
+  }
+
+  @Override
+  public void onStartFile(@NonNull Cache cache, @NonNull String key, long position, long length) {
+    // A new file is only started when the requested range was not cached.
+    missCount.incrementAndGet();
+    if (length != C.LENGTH_UNSET) {
+      evictCache(cache, length);
+    }
+  }
+
+  @Override
+  public void onSpanAdded(@NonNull Cache cache, @NonNull CacheSpan span) {
+    leastRecentlyUsed.add(span);
+    currentSize += span.length;
+    evictCache(cache, 0);
+  }
+
+  @Override
+  public void onSpanRemoved(@NonNull Cache cache, @NonNull CacheSpan span) {
+    leastRecentlyUsed.remove(span);
+    currentSize -= span.length;
+  }
+
+  @Override
+  public void onSpanTouched(
+      @NonNull Cache cache, @NonNull CacheSpan oldSpan, @NonNull CacheSpan newSpan) {
+    hitCount.incrementAndGet();
+    onSpanRemoved(cache, oldSpan);
+    onSpanAdded(cache, newSpan);
+  }
+
+  /**
+   * Prevents all spans stored under {@code key} from being evicted.
+   *
+   * @param key cache key written by a download: the URL of a progressive video, or that of a
+   *     playlist, manifest or segment of an adaptive one.
+   */
+  void pin(@NonNull String key) {
+    pinnedKeys.add(key);
+  }
+
+  /**
+   * Makes the spans stored under {@code key} eligible for eviction again.
+   *
+   * @param key cache key previously passed to {@link #pin(String)}.
+   */
+  void unpin(@NonNull String key) {
+    pinnedKeys.remove(key);
+  }
+
+  boolean isPinned(@NonNull String key) {
+    return pinnedKeys.contains(key);
+  }
+
+  /**
+   * Changes the byte budget. Call {@link #trim(Cache)} afterwards to apply a smaller budget to
+   * content that is already cached.
+   */
+  void setMaxBytes(long maxBytes) {
+    this.maxBytes = maxBytes;
+  }
+
+  long getMaxBytes() {
+    return maxBytes;
+  }
+
+  /** Changes the amount of disk space that must stay free on the cache volume. */
+  void setMinFreeBytes(long minFreeBytes) {
+    this.minFreeBytes = minFreeBytes;
+  }
+
+  /**
+   * Evicts unpinned spans until the cache fits the current budget.
+   *
+   * <p>This performs file I/O and must not be called on the main thread.
+   *
+   * @param cache the cache this evictor is attached to.
+   */
+  void trim(@NonNull Cache cache) {
+    synchronized (cache) {
+      evictCache(cache, 0);
+    }
+  }
+
+  /** Returns the number of bytes the evictor is currently tracking. */
+  long getCurrentSize() {
+    return currentSize;
+  }
+
+  /** Returns the number of reads that were served by an existing cache span. */
+  long getHitCount() {
+    return hitCount.get();
+  }
+
+  /** Returns the number of cache files started because the requested range was not cached. */
+  long getMissCount() {
+    return missCount.get();
+  }
+
+  /** Returns the total number of bytes removed by eviction. */
+  long getEvictedBytes() {
+    return evictedBytes.get();
+  }
+
+  /** Returns the total number of spans removed by eviction. */
+  long getEvictedSpanCount() {
+    return evictedSpanCount.get();
+  }
+
+  /**
+   * Returns the budget in effect right now: the configured maximum, reduced if the volume would
+   * otherwise drop below {@code minFreeBytes} of free space.
+   */
+  long getEffectiveMaxBytes() {
+    long headroom = currentSize + freeSpaceProvider.getFreeBytes() - minFreeBytes;
+    return Math.max(0, Math.min(maxBytes, headroom));
+  }
+
+  private void evictCache(@NonNull Cache cache, long requiredSpace) {
+    long budget = getEffectiveMaxBytes();
+    while (currentSize + requiredSpace > budget) {
+      CacheSpan victim = findEvictionCandidate();
+      if (victim == null) {
+        // Everything left belongs to a pinned download.
+        return;
+      }
+      evictedBytes.addAndGet(victim.length);
+      evictedSpanCount.incrementAndGet();
+      cache.removeSpan(victim);
+      // Other writers on the same volume may have changed the free space meanwhile.
+      budget = getEffectiveMaxBytes();
+    }
+  }
+
+  private CacheSpan findEvictionCandidate() {
+    Iterator<CacheSpan> iterator = leastRecentlyUsed.iterator();
+    while (iterator.hasNext()) {
+      CacheSpan span = iterator.next();
+      if (!pinnedKeys.contains(span.key)) {
+        return span;
+      }
+    }
+    return null;
+  }
+
+  private static int compare(CacheSpan lhs, CacheSpan rhs) {
+    long lastTouchTimestampDelta = lhs.lastTouchTimestamp - rhs.lastTouchTimestamp;
+    if (lastTouchTimestampDelta == 0) {
+      // Use the standard compareTo method as a tie-break.
+      return lhs.compareTo(rhs);
+    }
+    return lhs.lastTouchTimestamp < rhs.lastTouchTimestamp ? -1 : 1;
+  }
+}
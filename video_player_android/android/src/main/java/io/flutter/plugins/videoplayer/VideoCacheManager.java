@@ -14,6 +14,7 @@ import android.util.Pair;
 
 import androidx.annotation.NonNull;
 import androidx.annotation.Nullable;
+import androidx.annotation.VisibleForTesting;
 import androidx.media3.common.MediaItem;
 import androidx.media3.common.C;
 import androidx.media3.common.util.Util;
@@ -24,9 +25,9 @@ import androidx.media3.datasource.DefaultDataSource;
 import androidx.media3.datasource.DefaultHttpDataSource;
 import androidx.media3.datasource.cache.Cache;
 import androidx.media3.datasource.cache.CacheDataSource;
-import androidx.media3.datasource.cache.LeastRecentlyUsedCacheEvictor;
-import androidx.media3.datasource.cache.NoOpCacheEvictor;
+import androidx.media3.datasource.cache.ContentMetadataMutations;
 import androidx.media3.datasource.cache.SimpleCache;
+import androidx.media3.exoplayer.offline.DefaultDownloadIndex;
 import androidx.media3.exoplayer.offline.Download;
 import androidx.media3.exoplayer.offline.DownloadCursor;
 import androidx.media3.exoplayer.offline.DownloadIndex;
@@ -36,13 +37,17 @@ import androidx.media3.exoplayer.offline.DownloadService;
 import androidx.media3.exoplayer.source.MediaSource;
 import androidx.media3.exoplayer.source.ProgressiveMediaSource;
 import androidx.media3.exoplayer.source.DefaultMediaSourceFactory;
-import androidx.media3.exoplayer.upstream.DefaultBandwidthMeter;
 
 import java.io.File;
 import java.io.IOException;
 import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.Executor;
 import java.util.concurrent.Executors;
@@ -50,19 +55,127 @@ import java.util.concurrent.Executors;
 /** Manages downloading and caching of video files using ExoPlayer's download capabilities. */
 public class VideoCacheManager {
     private static final String TAG = "VideoCacheManager";
-    private static final int MAX_CACHE_SIZE = 2 * 1024 * 1024 * 1024; // 2GB
+    private static final long DEFAULT_MAX_CACHE_SIZE = 2L * 1024 * 1024 * 1024; // 2GB
+    private static final long DEFAULT_MIN_FREE_SPACE = 500L * 1024 * 1024; // 500MB
     private static final int MAX_CONCURRENT_DOWNLOADS = 3;
+    // Segments of adaptive streams fetched at once, across all downloads
+    private static final int SEGMENT_DOWNLOAD_THREADS = 4;
+    private static final long PROGRESS_INTERVAL_MS = 500;
+    // Time after which a request still waiting for a previous download to be removed is added
+    // anyway
+    @VisibleForTesting static final long PENDING_REMOVAL_TIMEOUT_MS = 5000;
+    // Content metadata naming the download that wrote a cache key, so that the key is pinned
+    // again after a restart
+    private static final String METADATA_DOWNLOAD_ID = "video_player_download_id";
+    private static final MetricsRegistry.Counter DOWNLOADS_COMPLETED =
+            MetricsRegistry.getInstance().counter("downloads.completed");
+    private static final MetricsRegistry.Counter DOWNLOADS_FAILED =
+            MetricsRegistry.getInstance().counter("downloads.failed");
+    private static final MetricsRegistry.Counter DOWNLOADED_BYTES =
+            MetricsRegistry.getInstance().counter("downloads.bytes");
+    // Bytes per second of each completed download, over the time it was fetching. Time spent
+    // queued, preempted or waiting to retry is left out
+    private static final MetricsRegistry.Histogram DOWNLOAD_THROUGHPUT =
+            MetricsRegistry.getInstance().histogram("downloads.throughput");
+    private static final MetricsRegistry.Histogram DOWNLOAD_INDEX_QUERY =
+            MetricsRegistry.getInstance().histogram("downloadIndex.query");
 
     private static VideoCacheManager instance;
     private final Context context;
     private final Cache downloadCache;
+    private final VideoCacheEvictor cacheEvictor;
     private final DownloadManager downloadManager;
+    private final ChunkedProgressiveDownloader.Factory downloaderFactory;
+    // Decides which downloads run. Only accessed on the main thread.
+    private final DownloadScheduler downloadScheduler;
+    // Paces downloads and prefetches, so that they leave bandwidth to playback
+    private final TokenBucket downloadTokenBucket = new TokenBucket();
     private final DatabaseProvider databaseProvider;
     private final Map<String, DownloadTracker> activeDownloads = new ConcurrentHashMap<>();
-    private final Map<String, Handler> progressHandlers = new ConcurrentHashMap<>();
-    private final Map<String, Runnable> progressRunnables = new ConcurrentHashMap<>();
+    // Cache keys pinned for each download ID. HLS and DASH downloads write every segment under
+    // its own key. Guarded by itself.
+    private final Map<String, Set<String>> downloadKeys = new HashMap<>();
+    // Cache keys reported by downloads resumed before the mirror was loaded, by download ID, so
+    // that they are pinned once it is known whether their download is kept. Guarded by itself.
+    private final Map<String, Set<String>> keysReportedWhileLoading = new HashMap<>();
+    // In-memory mirror of the DownloadIndex keyed by download ID, so that queries never touch the
+    // database. Filled once by loadExistingDownloads and kept current by the DownloadListener.
+    private final Map<String, Download> downloads = new ConcurrentHashMap<>();
+    // IDs removed while the mirror was still loading, so that stale rows are not resurrected.
+    private final Set<String> removedWhileLoading = ConcurrentHashMap.newKeySet();
+    // Whether the mirror holds the downloads read from the index at startup.
+    private volatile boolean downloadsLoaded;
+    // Changes to downloads requested before the mirror was loaded, run in order once it is. Only
+    // accessed on the main thread.
+    private final List<Runnable> waitingForDownloads = new ArrayList<>();
+    // Requests waiting for a previous download with the same ID to be removed. Only accessed on
+    // the main thread.
+    private final Map<String, PendingDownload> pendingDownloads = new HashMap<>();
+    // Bytes fetched and time spent fetching by the runs of each download so far. Only accessed on
+    // the main thread.
+    private final Map<String, DownloadActivity> downloadActivities = new HashMap<>();
     private final Handler mainHandler = new Handler(Looper.getMainLooper());
+    // Reads and trims the cache and the download index. Never runs downloads, so that this work
+    // does not queue behind segments.
     private final Executor executor = Executors.newSingleThreadExecutor();
+    // Fetches the segments of adaptive stream downloads.
+    private final Executor segmentExecutor =
+            Executors.newFixedThreadPool(SEGMENT_DOWNLOAD_THREADS);
+    // Prefetches run apart from downloads, so that a long download never delays them.
+    private final Executor prefetchExecutor = Executors.newSingleThreadExecutor();
+    private final HeadPrefetcher headPrefetcher;
+    // Opens the connections of players; read for every new data source, so that replacing it
+    // applies to all later requests.
+    private volatile HttpEngine httpEngine =
+            new PooledHttpEngine(PooledHttpEngine.DEFAULT_MAX_IDLE_CONNECTIONS);
+    // Network stack shared by all players. The headers of each video are added per request, so
+    // that creating a player does not rebuild the stack.
+    private final DataSource.Factory playbackUpstreamFactory;
+    private final CacheDataSource.Factory cachedPlaybackDataSourceFactory;
+    // Reads cached spans, e.g. prefetched heads. It is cachedPlaybackDataSourceFactory while
+    // streaming caching is disabled, and also writes streamed bytes otherwise; replaced when
+    // streaming caching is reconfigured.
+    private volatile DataSource.Factory streamingDataSourceFactory;
+    private final MediaSource.Factory downloadMediaSourceFactory;
+    @Nullable private volatile ProgressListener progressListener;
+    // Only accessed on the main thread.
+    private boolean progressTickerRunning = false;
+
+    /**
+     * Receives download progress pushed by {@link VideoCacheManager}.
+     *
+     * <p>All callbacks are invoked on the main thread.
+     */
+    public interface ProgressListener {
+        /**
+         * Called when the progress or the state of a download changed.
+         *
+         * @param url URL of the video
+         * @param progress value between 0.0 and 1.0
+         * @param bytesDownloaded number of bytes downloaded so far
+         * @param state download state (initial, downloading, downloaded, failed)
+         */
+        void onProgress(@NonNull String url, double progress, long bytesDownloaded, int state);
+    }
+
+    // A single ticker publishes byte counts of all running downloads, since DownloadManager only
+    // reports state transitions. It runs only while there are active downloads.
+    private final Runnable progressTicker = new Runnable() {
+        @Override
+        public void run() {
+            for (Download download : downloadManager.getCurrentDownloads()) {
+                if (download.state == Download.STATE_DOWNLOADING
+                        && !pendingDownloads.containsKey(download.request.id)) {
+                    publishProgress(download);
+                }
+            }
+            if (activeDownloads.isEmpty()) {
+                progressTickerRunning = false;
+            } else {
+                mainHandler.postDelayed(this, PROGRESS_INTERVAL_MS);
+            }
+        }
+    };
 
     /** Get the singleton instance of VideoCacheManager */
     public static synchronized VideoCacheManager getInstance(Context context) {
@@ -72,7 +185,9 @@ public class VideoCacheManager {
         return instance;
     }
 
-    private VideoCacheManager(Context context) {
+    // Only creates instances apart from the singleton in tests, which release them once done.
+    @VisibleForTesting
+    VideoCacheManager(Context context) {
         this.context = context;
         
         // Create cache directory
@@ -84,139 +199,314 @@ public class VideoCacheManager {
         // Setup database and cache
         databaseProvider = new StandaloneDatabaseProvider(context);
         
-        // Create download cache with no eviction
+        // Create download cache bounded by a byte budget and the free space on the volume.
+        // Spans belonging to explicit downloads are pinned and never evicted.
+        cacheEvictor = new VideoCacheEvictor(
+                DEFAULT_MAX_CACHE_SIZE,
+                DEFAULT_MIN_FREE_SPACE,
+                cacheDir::getUsableSpace);
         downloadCache = new SimpleCache(
                 cacheDir,
-                new NoOpCacheEvictor(),
+                cacheEvictor,
                 databaseProvider);
 
+        // Build the data source stacks once, for all players
+        playbackUpstreamFactory = buildPlaybackUpstreamFactory(context);
+        cachedPlaybackDataSourceFactory =
+                buildCachedPlaybackDataSourceFactory(playbackUpstreamFactory);
+        streamingDataSourceFactory = cachedPlaybackDataSourceFactory;
+
         // Create download manager
         DataSource.Factory dataSourceFactory = buildDataSourceFactory(context);
+        downloadMediaSourceFactory = new DefaultMediaSourceFactory(context)
+                .setDataSourceFactory(buildCachedPlaybackDataSourceFactory(dataSourceFactory));
+        // Progressive videos are fetched as byte range chunks over several connections
+        downloaderFactory = new ChunkedProgressiveDownloader.Factory(
+                downloadCache, dataSourceFactory, segmentExecutor);
+        downloaderFactory.setCacheKeyListener(this::onDownloadCacheKey);
+        downloaderFactory.setRunListener(this::onDownloadRunEnded);
         downloadManager = new DownloadManager(
                 context,
-                databaseProvider,
-                downloadCache,
-                dataSourceFactory,
-                executor);
+                new DefaultDownloadIndex(databaseProvider),
+                downloaderFactory);
+        downloadManager.setMaxParallelDownloads(MAX_CONCURRENT_DOWNLOADS);
+        downloadManager.addListener(new DownloadListener());
+        downloadScheduler = new DownloadScheduler(
+                downloadManager::setStopReason, MAX_CONCURRENT_DOWNLOADS);
+        headPrefetcher = new HeadPrefetcher(downloadCache, dataSourceFactory);
+        
+        // Read existing downloads on the executor. Queries never wait for it; changes to downloads
+        // requested meanwhile are applied once it is done.
+        loadExistingDownloads();
         
         // Start the download manager
         downloadManager.resumeDownloads();
-        
-        // Read existing downloads
-        loadExistingDownloads();
     }
 
     /**
      * Starts downloading a video for offline playback.
      *
+     * <p>A download of the URL that is queued, running or preempted is kept, and only takes the new
+     * priority. This never blocks: if a failed or stopped download for the same URL has to be
+     * removed first, the new download is only added once the {@link DownloadManager} reports the
+     * removal. Must be called on the main thread.
+     *
      * @param url URL of the video to download
-     * @return A unique ID for the download (base64 encoded URL)
+     * @param priority one of the {@code DownloadScheduler.PRIORITY_*} constants
+     * @param result receives a unique ID for the download (base64 encoded URL) once it has been
+     *     queued, or an empty string if it could not be started
      */
-    public String startDownload(String url) {
+    public void startDownload(
+            String url, int priority, @NonNull Messages.Result<String> result) {
         if (url == null || url.isEmpty()) {
-            return "";
+            result.success("");
+            return;
+        }
+        if (!DownloadScheduler.isValidPriority(priority)) {
+            result.error(new IllegalArgumentException("Unknown download priority " + priority));
+            return;
+        }
+        
+        // Whether the video is downloaded is only known once the index has been read
+        if (!downloadsLoaded) {
+            waitingForDownloads.add(() -> startDownload(url, priority, result));
+            return;
         }
         
         String urlId = generateUrlId(url);
         
-        // Ensure any previous download is properly cleaned up
+        // Check if already cached and completed
+        if (isDownloaded(url)) {
+            Log.d(TAG, "Video already downloaded: " + url);
+            result.success(urlId);
+            return;
+        }
+        
+        // Check if a request is already waiting for a stale download to be removed
+        PendingDownload pending = pendingDownloads.get(urlId);
+        if (pending != null) {
+            Log.d(TAG, "Download already pending: " + url);
+            pending.priority = priority;
+            result.success(urlId);
+            return;
+        }
+        
+        // A download that is queued, running or preempted keeps its progress; only its priority
+        // changes
+        Download existing = getDownload(urlId);
+        if (existing != null && DownloadScheduler.isUnfinished(existing)
+                && downloadScheduler.setPriority(urlId, priority)) {
+            Log.d(TAG, "Download already scheduled: " + url);
+            result.success(urlId);
+            return;
+        }
+        
+        DownloadRequest downloadRequest;
         try {
-            // Check if there's an existing download in a non-completed state
-            DownloadIndex downloadIndex = downloadManager.getDownloadIndex();
-            Download download = null;
-            try {
-                download = downloadIndex.getDownload(urlId);
-            } catch (IOException e) {
-                // Ignore - just means no download exists
-            }
-            
-            if (download != null && download.state != Download.STATE_COMPLETED) {
-                // Remove the existing download before starting a new one
-                downloadManager.removeDownload(urlId);
-                
-                // Remove from active downloads and stop progress updates
-                activeDownloads.remove(urlId);
-                stopProgressUpdates(urlId);
-                
-                // Small delay to ensure ExoPlayer has processed the removal
-                try {
-                    Thread.sleep(100);
-                } catch (InterruptedException e) {
-                    // Ignore
-                }
-            }
+            downloadRequest = buildDownloadRequest(url, urlId);
         } catch (Exception e) {
-            Log.w(TAG, "Error clearing previous download: " + e.getMessage());
-            // Continue with the download attempt anyway
+            Log.e(TAG, "Error starting download: " + e.getMessage(), e);
+            result.success("");
+            return;
         }
         
-        // Check if already cached and completed
-        if (isDownloaded(url)) {
-            Log.d(TAG, "Video already downloaded: " + url);
-            return urlId;
+        // Keep the downloaded spans out of reach of the evictor
+        pinDownloadKey(urlId, url);
+        
+        // Create and store a download tracker
+        activeDownloads.put(urlId, new DownloadTracker(url, urlId));
+        
+        // Any other previous download, e.g. a failed one, is removed before starting a new one. The
+        // request is added by the DownloadListener once the removal has been processed.
+        if (getDownload(urlId) != null) {
+            PendingDownload pendingDownload =
+                    new PendingDownload(downloadRequest, priority, result);
+            pendingDownloads.put(urlId, pendingDownload);
+            downloadManager.removeDownload(urlId);
+            // The DownloadManager does not report the removal of a download it no longer knows,
+            // e.g. if the mirror entry is stale, so the request is added anyway after a while. A
+            // download added while it is still being removed restarts once the removal is done.
+            mainHandler.postDelayed(() -> {
+                if (pendingDownloads.get(urlId) == pendingDownload) {
+                    Log.w(TAG, "Removal of previous download not reported: " + url);
+                    pendingDownloads.remove(urlId);
+                    addDownload(pendingDownload.request, pendingDownload.priority,
+                            pendingDownload.result);
+                }
+            }, PENDING_REMOVAL_TIMEOUT_MS);
+            Log.d(TAG, "Removing previous download before starting: " + url);
+            return;
         }
         
-        // Check if already downloading
-        if (activeDownloads.containsKey(urlId)) {
-            Log.d(TAG, "Download already in progress: " + url);
-            return urlId;
+        addDownload(downloadRequest, priority, result);
+    }
+
+    /**
+     * Starts downloading several videos for offline playback.
+     *
+     * <p>Each URL is handled as by {@link #startDownload(String, int, Messages.Result)}. Must be
+     * called on the main thread.
+     *
+     * @param urls URLs of the videos to download
+     * @param priority one of the {@code DownloadScheduler.PRIORITY_*} constants, for all videos
+     * @param result receives the download IDs in the order of {@code urls} once all of them have
+     *     been queued
+     */
+    public void startDownloads(
+            @NonNull List<String> urls,
+            int priority,
+            @NonNull Messages.Result<List<String>> result) {
+        if (urls.isEmpty()) {
+            result.success(new ArrayList<>());
+            return;
         }
         
+        String[] downloadIds = new String[urls.size()];
+        int[] remaining = {urls.size()};
+        for (int i = 0; i < urls.size(); i++) {
+            final int index = i;
+            startDownload(urls.get(i), priority, new Messages.Result<String>() {
+                @Override
+                public void success(@NonNull String downloadId) {
+                    downloadIds[index] = downloadId;
+                    if (--remaining[0] == 0) {
+                        result.success(Arrays.asList(downloadIds));
+                    }
+                }
+
+                @Override
+                public void error(@NonNull Throwable error) {
+                    success("");
+                }
+            });
+        }
+    }
+
+    /**
+     * Changes the priority of a download, e.g. as the video scrolls in or out of view.
+     *
+     * <p>A download made more urgent than a running one preempts it; the preempted download keeps
+     * its cached bytes and resumes once a slot is free. Must be called on the main thread.
+     *
+     * @param url URL of the video
+     * @param priority one of the {@code DownloadScheduler.PRIORITY_*} constants
+     * @return true if the download is queued or running, false otherwise
+     */
+    public boolean setDownloadPriority(String url, int priority) {
+        if (!DownloadScheduler.isValidPriority(priority)) {
+            throw new IllegalArgumentException("Unknown download priority " + priority);
+        }
+        String urlId = generateUrlId(url);
+        PendingDownload pendingDownload = pendingDownloads.get(urlId);
+        if (pendingDownload != null) {
+            pendingDownload.priority = priority;
+            return true;
+        }
+        return downloadScheduler.setPriority(urlId, priority);
+    }
+
+    // Hands a download request to the download manager and the scheduler and starts publishing
+    // its progress
+    private void addDownload(
+            @NonNull DownloadRequest downloadRequest,
+            int priority,
+            @NonNull Messages.Result<String> result) {
+        String urlId = downloadRequest.id;
         try {
-            // Create media item
-            Uri uri = Uri.parse(url);
-            MediaItem mediaItem = MediaItem.fromUri(uri);
-            
-            // Set MIME type if possible to help with progress reporting
-            String mimeType = null;
-            if (url.toLowerCase().endsWith(".mp4")) {
-                mimeType = "video/mp4";
-            } else if (url.toLowerCase().endsWith(".m3u8")) {
-                mimeType = "application/x-mpegURL";
-            } else if (url.toLowerCase().endsWith(".mpd")) {
-                mimeType = "application/dash+xml";
-            }
-            
-            // Create download request with proper metadata
-            DownloadRequest.Builder requestBuilder = new DownloadRequest.Builder(urlId, uri)
-                    .setData(url.getBytes(StandardCharsets.UTF_8));
-            
-            // Add mime type if available
-            if (mimeType != null) {
-                requestBuilder.setMimeType(mimeType);
-            }
-            
-            DownloadRequest downloadRequest = requestBuilder.build();
-            
-            // Add to download manager
             downloadManager.addDownload(downloadRequest);
-            
-            // Create and store a download tracker
-            DownloadTracker tracker = new DownloadTracker(url, urlId);
-            activeDownloads.put(urlId, tracker);
-            
-            // Start tracking progress
-            startProgressUpdates(urlId);
-            
-            Log.d(TAG, "Started download for: " + url + " with ID: " + urlId);
-            return urlId;
         } catch (Exception e) {
             Log.e(TAG, "Error starting download: " + e.getMessage(), e);
-            return "";
+            activeDownloads.remove(urlId);
+            result.success("");
+            return;
+        }
+        
+        // May preempt a less urgent download, or wait for a more urgent one
+        downloadScheduler.add(urlId, priority);
+        
+        // Start publishing progress
+        startProgressTicker();
+        
+        Log.d(TAG, "Started download with ID: " + urlId);
+        result.success(urlId);
+    }
+
+    // Helper method to build the download request for a URL
+    private DownloadRequest buildDownloadRequest(String url, String urlId) {
+        Uri uri = Uri.parse(url);
+        
+        // Set MIME type if possible to help with progress reporting
+        String mimeType = null;
+        if (url.toLowerCase().endsWith(".mp4")) {
+            mimeType = "video/mp4";
+        } else if (url.toLowerCase().endsWith(".m3u8")) {
+            mimeType = "application/x-mpegURL";
+        } else if (url.toLowerCase().endsWith(".mpd")) {
+            mimeType = "application/dash+xml";
+        }
+        
+        // Create download request with proper metadata
+        DownloadRequest.Builder requestBuilder = new DownloadRequest.Builder(urlId, uri)
+                .setData(url.getBytes(StandardCharsets.UTF_8));
+        
+        // Add mime type if available
+        if (mimeType != null) {
+            requestBuilder.setMimeType(mimeType);
         }
+        
+        return requestBuilder.build();
     }
 
     /**
      * Cancels an active download.
      *
+     * <p>Until the downloads of a previous run have been read at startup, the cancellation is
+     * applied once they are. Must be called on the main thread.
+     *
      * @param url URL of the video download to cancel
-     * @return true if successfully canceled, false otherwise
+     * @param result receives true if the download was canceled, false otherwise, once the
+     *     cancellation has been applied
+     */
+    public void cancelDownload(String url, @NonNull Messages.Result<Boolean> result) {
+        if (!downloadsLoaded) {
+            waitingForDownloads.add(() -> cancelDownload(url, result));
+            return;
+        }
+        result.success(cancelLoadedDownload(url));
+    }
+
+    /**
+     * Cancels several active downloads.
+     *
+     * <p>Each URL is handled as by {@link #cancelDownload(String, Messages.Result)}. Must be
+     * called on the main thread.
+     *
+     * @param urls URLs of the video downloads to cancel
+     * @param result receives, in the order of {@code urls}, whether each download was canceled,
+     *     once all cancellations have been applied
      */
-    public boolean cancelDownload(String url) {
+    public void cancelDownloads(
+            @NonNull List<String> urls, @NonNull Messages.Result<List<Boolean>> result) {
+        if (!downloadsLoaded) {
+            waitingForDownloads.add(() -> cancelDownloads(urls, result));
+            return;
+        }
+        List<Boolean> canceled = new ArrayList<>(urls.size());
+        for (String url : urls) {
+            canceled.add(cancelLoadedDownload(url));
+        }
+        result.success(canceled);
+    }
+
+    // Helper method to cancel a download once the mirror is loaded. Returns whether it was active
+    private boolean cancelLoadedDownload(String url) {
         String urlId = generateUrlId(url);
         
-        // Stop progress updates
-        stopProgressUpdates(urlId);
+        // Drop a request that is still waiting for a previous download to be removed
+        PendingDownload pendingDownload = pendingDownloads.remove(urlId);
+        if (pendingDownload != null) {
+            pendingDownload.result.success("");
+        }
         
         // Remove from active downloads
         DownloadTracker tracker = activeDownloads.remove(urlId);
@@ -226,6 +516,13 @@ public class VideoCacheManager {
         
         // Remove from download manager
         downloadManager.removeDownload(urlId);
+        unpinDownload(urlId);
+        
+        // The removal is not reported for untracked downloads, so notify the listener here
+        ProgressListener listener = progressListener;
+        if (listener != null) {
+            listener.onProgress(url, 0.0, 0, 0);
+        }
         
         Log.d(TAG, "Canceled download for: " + url);
         return true;
@@ -234,12 +531,26 @@ public class VideoCacheManager {
     /**
      * Removes a downloaded video from the cache.
      *
+     * <p>Until the downloads of a previous run have been read at startup, the removal is applied
+     * once they are. Must be called on the main thread.
+     *
      * @param url URL of the video to remove
-     * @return true if successfully removed, false otherwise
+     * @param result receives true if the video was removed, false otherwise, once the removal has
+     *     been applied
      */
-    public boolean removeDownload(String url) {
+    public void removeDownload(String url, @NonNull Messages.Result<Boolean> result) {
+        if (!downloadsLoaded) {
+            waitingForDownloads.add(() -> removeDownload(url, result));
+            return;
+        }
+        result.success(removeLoadedDownload(url));
+    }
+
+    // Helper method to remove a downloaded video once the mirror is loaded. Returns whether it was
+    // downloaded
+    private boolean removeLoadedDownload(String url) {
         // First cancel any active download
-        cancelDownload(url);
+        cancelLoadedDownload(url);
         
         String urlId = generateUrlId(url);
         
@@ -254,10 +565,10 @@ public class VideoCacheManager {
             
             // Remove from download manager and cache
             downloadManager.removeDownload(urlId);
+            unpinDownload(urlId);
             
             // Ensure the download is completely removed from tracking
             activeDownloads.remove(urlId);
-            stopProgressUpdates(urlId);
             
             // Clear any cache entries for this URL to prevent stale data
             try {
@@ -301,19 +612,12 @@ public class VideoCacheManager {
             return tracker.getProgress();
         }
         
-        // Check download index for status
-        try {
-            DownloadIndex downloadIndex = downloadManager.getDownloadIndex();
-            Download download = downloadIndex.getDownload(urlId);
-            if (download != null) {
-                if (download.state == Download.STATE_COMPLETED) {
-                    return 1.0;
-                } else if (download.state == Download.STATE_DOWNLOADING) {
-                    return download.getPercentDownloaded() / 100.0;
-                }
-            }
-        } catch (IOException e) {
-            Log.e(TAG, "Error getting download progress: " + e.getMessage(), e);
+        // Check the last known download status
+        Download download = getDownload(urlId);
+        if (download != null
+                && download.state == Download.STATE_DOWNLOADING
+                && download.getPercentDownloaded() != C.PERCENTAGE_UNSET) {
+            return download.getPercentDownloaded() / 100.0;
         }
         
         return 0.0;
@@ -330,18 +634,12 @@ public class VideoCacheManager {
         String urlId = generateUrlId(url);
         
         // Check if video is fully downloaded
-        try {
-            DownloadIndex downloadIndex = downloadManager.getDownloadIndex();
-            Download download = downloadIndex.getDownload(urlId);
-            
-            if (download != null && download.state == Download.STATE_COMPLETED) {
-                // For ExoPlayer, we don't have direct file path access
-                // Instead, we return a placeholder path that will be recognized
-                // by the video player when it's used to build a MediaSource
-                return "exoplayer://download/" + urlId;
-            }
-        } catch (IOException e) {
-            Log.e(TAG, "Error checking download status: " + e.getMessage(), e);
+        Download download = getDownload(urlId);
+        if (download != null && download.state == Download.STATE_COMPLETED) {
+            // For ExoPlayer, we don't have direct file path access
+            // Instead, we return a placeholder path that will be recognized
+            // by the video player when it's used to build a MediaSource
+            return "exoplayer://download/" + urlId;
         }
         
         return null;
@@ -357,6 +655,208 @@ public class VideoCacheManager {
         return getCachedVideoPath(url) != null;
     }
 
+    /**
+     * Gets the ID of the download of a video, in any state.
+     *
+     * <p>This reads the in-memory mirror of the download index only.
+     *
+     * @param url URL of the video
+     * @return the download ID (base64 encoded URL), or null if the video has no download
+     */
+    @Nullable
+    public String getDownloadId(String url) {
+        String urlId = generateUrlId(url);
+        return getDownload(urlId) != null ? urlId : null;
+    }
+
+    /**
+     * Sets the maximum number of bytes the cache may occupy.
+     *
+     * <p>Content that no longer fits is evicted in least-recently-used order on a background
+     * thread. Downloaded videos are never evicted.
+     *
+     * @param maxBytes the new byte budget
+     */
+    public void setMaxCacheSize(long maxBytes) {
+        if (maxBytes <= 0) {
+            throw new IllegalArgumentException("maxBytes must be positive, got " + maxBytes);
+        }
+        cacheEvictor.setMaxBytes(maxBytes);
+        executor.execute(() -> cacheEvictor.trim(downloadCache));
+    }
+
+    /**
+     * Returns a snapshot of the cache size and the eviction counters.
+     *
+     * @return current cache statistics
+     */
+    @NonNull
+    public Messages.CacheStats getCacheStats() {
+        return new Messages.CacheStats.Builder()
+                .setCachedBytes(cacheEvictor.getCurrentSize())
+                .setMaxBytes(cacheEvictor.getMaxBytes())
+                .setEffectiveMaxBytes(cacheEvictor.getEffectiveMaxBytes())
+                .setHitCount(cacheEvictor.getHitCount())
+                .setMissCount(cacheEvictor.getMissCount())
+                .setEvictedBytes(cacheEvictor.getEvictedBytes())
+                .setEvictedSpanCount(cacheEvictor.getEvictedSpanCount())
+                .build();
+    }
+
+    /**
+     * Starts tracking which parts of a progressive video are cached.
+     *
+     * <p>The returned tracker follows the cache incrementally and must be released once the player
+     * is disposed. It reads the cache on the executor, so this never waits for the cache. Adaptive
+     * streams are cached as many segments under separate keys, which do not map linearly to time,
+     * so they are not tracked. Neither are videos that can have no cached parts: those without a
+     * download while streaming caching is disabled.
+     *
+     * @param url URL of the video, which is its cache key
+     * @param formatHint {@code "hls"}, {@code "dash"}, {@code "ss"}, or {@code null} to infer the
+     *     format from the URL
+     * @return the tracker, or {@code null} if the video is an adaptive stream or cannot be cached
+     */
+    @Nullable
+    CachedTimeRanges trackCachedTimeRanges(@NonNull String url, @Nullable String formatHint) {
+        if (HeadPrefetcher.inferContentType(Uri.parse(url), formatHint) != C.CONTENT_TYPE_OTHER) {
+            return null;
+        }
+        // Until the mirror is loaded, a download cannot be ruled out.
+        boolean streamingCacheEnabled =
+                streamingDataSourceFactory != cachedPlaybackDataSourceFactory;
+        if (!streamingCacheEnabled && downloadsLoaded && getDownloadId(url) == null) {
+            return null;
+        }
+        return new CachedTimeRanges(downloadCache, url, executor);
+    }
+
+    /**
+     * Enables or disables caching of streamed playback.
+     *
+     * <p>When enabled, players created afterwards write the bytes they stream into the cache, so
+     * that replays and seeks back are served from disk. Streamed content is evicted like any other
+     * cached content, unlike explicit downloads. Either way, players read what is already cached,
+     * such as heads cached by {@link #prefetchHead}.
+     *
+     * <p>The limit applies per stream that a player loads: a progressive video, or each track of an
+     * adaptive stream, across all of its segments. See {@link StreamingCacheDataSink}.
+     *
+     * @param enabled whether streamed playback should fill the cache
+     * @param maxItemBytes maximum number of bytes cached for a single stream; ignored when
+     *     disabling
+     */
+    public void setStreamingCache(boolean enabled, long maxItemBytes) {
+        if (enabled && maxItemBytes <= 0) {
+            throw new IllegalArgumentException(
+                    "maxItemBytes must be positive, got " + maxItemBytes);
+        }
+        streamingDataSourceFactory = enabled
+                ? new CacheDataSource.Factory()
+                        .setCache(downloadCache)
+                        .setUpstreamDataSourceFactory(playbackUpstreamFactory)
+                        .setCacheWriteDataSinkFactory(
+                                () -> new StreamingCacheDataSink(downloadCache, maxItemBytes))
+                        .setFlags(CacheDataSource.FLAG_IGNORE_CACHE_ON_ERROR)
+                : cachedPlaybackDataSourceFactory;
+    }
+
+    /**
+     * Sets how downloads of progressive videos are split into byte range chunks.
+     *
+     * <p>Applies to downloads started or resumed afterwards. A resumed download keeps the chunks
+     * that were fully cached before, whatever their size.
+     *
+     * @param chunkBytes size of a chunk in bytes
+     * @param parallelism number of chunks fetched at once; 1 fetches the whole video with a single
+     *     request
+     */
+    void setDownloadChunking(long chunkBytes, int parallelism) {
+        downloaderFactory.setChunking(chunkBytes, parallelism);
+    }
+
+    /**
+     * Returns the token bucket that paces downloads and prefetches.
+     *
+     * <p>Reads from the cache are not paced, only those from the network.
+     */
+    TokenBucket getDownloadTokenBucket() {
+        return downloadTokenBucket;
+    }
+
+    /**
+     * Replaces the engine that opens the HTTP connections of players.
+     *
+     * <p>Requests started afterwards, including those of existing players, use the new engine. The
+     * idle connections of the previous engine are closed.
+     *
+     * @param engine the new engine
+     */
+    void setHttpEngine(@NonNull HttpEngine engine) {
+        HttpEngine previousEngine = httpEngine;
+        httpEngine = engine;
+        previousEngine.release();
+    }
+
+    /**
+     * Returns the shared data source factory for streaming players.
+     *
+     * <p>It reads from and, if streaming caching is enabled, writes to the cache. It sends no
+     * headers of its own; wrap it with a {@link HttpHeaderResolver} for the headers of a video.
+     */
+    @NonNull
+    public DataSource.Factory getStreamingDataSourceFactory() {
+        return streamingDataSourceFactory;
+    }
+
+    /**
+     * Returns the shared data source factory for playing a downloaded or partially downloaded
+     * video.
+     *
+     * <p>Cached spans are read from disk and only the missing ranges are fetched from the network.
+     * Nothing is written to the cache, since the download owns its content. It sends no headers of
+     * its own; wrap it with a {@link HttpHeaderResolver} for the headers of a video.
+     */
+    @NonNull
+    public DataSource.Factory getCachedPlaybackDataSourceFactory() {
+        return cachedPlaybackDataSourceFactory;
+    }
+
+    /**
+     * Caches the manifest, the initialization data and the first segments of an adaptive stream,
+     * so that a player created afterwards can start from disk, whether or not streaming caching is
+     * enabled.
+     *
+     * <p>Unlike downloads, prefetched content is not pinned and is evicted like streamed content.
+     *
+     * @param url URL of the HLS, DASH or SmoothStreaming manifest
+     * @param durationMs length of the head to cache
+     * @param formatHint {@code "hls"}, {@code "dash"}, {@code "ss"}, or {@code null} to infer the
+     *     format from the URL
+     * @param maxBitrate the rendition with the highest bitrate not above this value is cached, or
+     *     the lowest one if all exceed it
+     * @param result receives the number of newly cached bytes on the main thread
+     */
+    public void prefetchHead(
+            @NonNull String url,
+            long durationMs,
+            @Nullable String formatHint,
+            int maxBitrate,
+            @NonNull Messages.Result<Long> result) {
+        Uri uri = Uri.parse(url);
+        int contentType = HeadPrefetcher.inferContentType(uri, formatHint);
+        prefetchExecutor.execute(() -> {
+            try {
+                long bytesCached = headPrefetcher.prefetch(
+                        uri, contentType, durationMs * 1000, maxBitrate);
+                mainHandler.post(() -> result.success(bytesCached));
+            } catch (Exception e) {
+                Log.w(TAG, "Error prefetching " + url + ": " + e.getMessage());
+                mainHandler.post(() -> result.error(e));
+            }
+        });
+    }
+
     /**
      * Gets the maximum number of concurrent downloads supported.
      *
@@ -380,21 +880,12 @@ public class VideoCacheManager {
             return 1; // downloading
         }
         
-        // Check if already downloaded
-        if (isDownloaded(url)) {
-            return 2; // downloaded
-        }
-        
-        // Check if download failed
-        try {
-            DownloadIndex downloadIndex = downloadManager.getDownloadIndex();
-            Download download = downloadIndex.getDownload(urlId);
-            
-            if (download != null && download.state == Download.STATE_FAILED) {
-                return 3; // failed
-            }
-        } catch (IOException e) {
-            // Ignore - treat as initial state
+        // Check if already downloaded or failed
+        Download download = getDownload(urlId);
+        if (download != null
+                && (download.state == Download.STATE_COMPLETED
+                        || download.state == Download.STATE_FAILED)) {
+            return toDownloadState(download.state);
         }
         
         // Default state
@@ -411,115 +902,293 @@ public class VideoCacheManager {
     public MediaSource createMediaSource(Context context, String url) {
         Uri uri = Uri.parse(url);
         
-        // Build data source factory that uses the download cache
-        CacheDataSource.Factory cacheDataSourceFactory = buildCacheDataSourceFactory(context);
-        
-        // Create a MediaSource using the cached data source and DefaultMediaSourceFactory
-        // which will automatically detect the correct type of MediaSource based on the URI/extension
-        return new DefaultMediaSourceFactory(context)
-                .setDataSourceFactory(cacheDataSourceFactory)
-                .createMediaSource(MediaItem.fromUri(uri));
+        // The shared DefaultMediaSourceFactory reads from the download cache and automatically
+        // detects the correct type of MediaSource based on the URI/extension
+        return downloadMediaSourceFactory.createMediaSource(MediaItem.fromUri(uri));
     }
 
-    // Helper method to start progress updates for a download
-    private void startProgressUpdates(String urlId) {
-        stopProgressUpdates(urlId);
-        
-        Handler handler = new Handler(Looper.getMainLooper());
-        Runnable runnable = new Runnable() {
-            @Override
-            public void run() {
-                updateProgress(urlId);
-                handler.postDelayed(this, 500); // Update every 500ms
+    /** Returns whether the downloads of a previous run have been read at startup. */
+    @VisibleForTesting
+    boolean isDownloadsLoaded() {
+        return downloadsLoaded;
+    }
+
+    /** Releases the download manager and the cache of an instance created by a test. */
+    @VisibleForTesting
+    void release() {
+        mainHandler.removeCallbacksAndMessages(null);
+        downloadManager.release();
+        downloadCache.release();
+    }
+
+    /**
+     * Sets the listener that receives download progress, or {@code null} to stop receiving it.
+     *
+     * @param listener the listener to notify on the main thread
+     */
+    public void setProgressListener(@Nullable ProgressListener listener) {
+        progressListener = listener;
+    }
+
+    // Starts the shared progress ticker if it is not already running. Must be called on the main
+    // thread.
+    private void startProgressTicker() {
+        if (progressTickerRunning || activeDownloads.isEmpty()) {
+            return;
+        }
+        progressTickerRunning = true;
+        mainHandler.postDelayed(progressTicker, PROGRESS_INTERVAL_MS);
+    }
+
+    // Updates the tracker of a download and notifies the listener if anything changed since the
+    // last notification.
+    private void publishProgress(@NonNull Download download) {
+        String urlId = download.request.id;
+        DownloadTracker tracker = activeDownloads.get(urlId);
+        if (tracker == null) {
+            return;
+        }
+
+        double percentDownloaded = download.getPercentDownloaded();
+        long bytesDownloaded = download.getBytesDownloaded();
+        long contentLength = download.contentLength;
+
+        // Calculate progress manually if percentDownloaded is not available
+        if (percentDownloaded == C.PERCENTAGE_UNSET) {
+            percentDownloaded = contentLength > 0 && bytesDownloaded > 0
+                    ? (bytesDownloaded * 100.0) / contentLength
+                    : 0;
+        }
+        double progress = download.state == Download.STATE_COMPLETED ? 1.0 : percentDownloaded / 100.0;
+        int state = toDownloadState(download.state);
+
+        if (!tracker.update(progress, bytesDownloaded, state)) {
+            return;
+        }
+        ProgressListener listener = progressListener;
+        if (listener != null) {
+            listener.onProgress(tracker.url, progress, bytesDownloaded, state);
+        }
+    }
+
+    // Helper method to map a Media3 download state to the plugin's download state
+    private static int toDownloadState(int state) {
+        switch (state) {
+            case Download.STATE_COMPLETED: return 2; // downloaded
+            case Download.STATE_FAILED: return 3; // failed
+            case Download.STATE_QUEUED:
+            case Download.STATE_STOPPED: // preempted by a more urgent download
+            case Download.STATE_DOWNLOADING:
+            case Download.STATE_RESTARTING: return 1; // downloading
+            default: return 0; // initial
+        }
+    }
+
+    /** Tracks download state transitions reported by the {@link DownloadManager}. */
+    private final class DownloadListener implements DownloadManager.Listener {
+        @Override
+        public void onDownloadChanged(
+                @NonNull DownloadManager downloadManager,
+                @NonNull Download download,
+                @Nullable Exception finalException) {
+            String urlId = download.request.id;
+            downloads.put(urlId, download);
+            if (pendingDownloads.containsKey(urlId)) {
+                // The previous download is being removed; its state is of no interest anymore.
+                return;
             }
-        };
-        
-        progressHandlers.put(urlId, handler);
-        progressRunnables.put(urlId, runnable);
-        handler.post(runnable);
+            publishProgress(download);
+
+            if (download.state == Download.STATE_COMPLETED) {
+                Log.d(TAG, "Download completed for: " + urlId);
+                activeDownloads.remove(urlId);
+                downloadScheduler.remove(urlId);
+                recordCompletedDownload(download);
+                downloadActivities.remove(urlId);
+            } else if (download.state == Download.STATE_FAILED) {
+                Log.e(TAG, "Download failed for: " + urlId, finalException);
+                activeDownloads.remove(urlId);
+                downloadScheduler.remove(urlId);
+                // Failed downloads are not pinned after a restart either
+                unpinDownload(urlId);
+                DOWNLOADS_FAILED.increment();
+                downloadActivities.remove(urlId);
+            } else if (download.state == Download.STATE_DOWNLOADING) {
+                Log.d(TAG, "Download " + urlId + " is " + stateToString(download.state));
+            }
+        }
+
+        @Override
+        public void onDownloadRemoved(
+                @NonNull DownloadManager downloadManager, @NonNull Download download) {
+            String urlId = download.request.id;
+            if (!downloadsLoaded) {
+                removedWhileLoading.add(urlId);
+            }
+            downloads.remove(urlId);
+            downloadScheduler.remove(urlId);
+            downloadActivities.remove(urlId);
+            PendingDownload pendingDownload = pendingDownloads.remove(urlId);
+            if (pendingDownload != null) {
+                addDownload(
+                        pendingDownload.request, pendingDownload.priority, pendingDownload.result);
+            } else {
+                activeDownloads.remove(urlId);
+            }
+        }
     }
 
-    // Helper method to stop progress updates for a download
-    private void stopProgressUpdates(String urlId) {
-        Handler handler = progressHandlers.get(urlId);
-        Runnable runnable = progressRunnables.get(urlId);
-        
-        if (handler != null && runnable != null) {
-            handler.removeCallbacks(runnable);
+    // Helper method to add a completed download to the process-wide metrics
+    private void recordCompletedDownload(Download download) {
+        DOWNLOADS_COMPLETED.increment();
+        DOWNLOADED_BYTES.add(download.getBytesDownloaded());
+        DownloadActivity activity = downloadActivities.get(download.request.id);
+        if (activity != null && activity.durationMs > 0) {
+            DOWNLOAD_THROUGHPUT.record(activity.bytes * 1000 / activity.durationMs);
         }
-        
-        progressHandlers.remove(urlId);
-        progressRunnables.remove(urlId);
     }
 
-    // Helper method to update progress for a download
-    private void updateProgress(String urlId) {
-        try {
-            // Check if we already removed this download from tracking - avoid processing again
-            if (!progressHandlers.containsKey(urlId) && !activeDownloads.containsKey(urlId)) {
+    // Helper method to add up the runs of a download. A run posts this before it returns, so the
+    // totals are complete by the time the DownloadManager reports the download as completed
+    private void onDownloadRunEnded(String urlId, long bytes, long durationMs) {
+        mainHandler.post(() -> {
+            DownloadActivity activity = downloadActivities.get(urlId);
+            if (activity == null) {
+                activity = new DownloadActivity();
+                downloadActivities.put(urlId, activity);
+            }
+            activity.bytes += bytes;
+            activity.durationMs += durationMs;
+        });
+    }
+
+    // Helper method to look up the last known status of a download without any disk I/O or
+    // waiting. Until the mirror is loaded at startup, downloads of a previous run that the listener
+    // has not reported yet are unknown, so queries answer with their initial state.
+    @Nullable
+    private Download getDownload(String urlId) {
+        return downloads.get(urlId);
+    }
+
+    // Helper method to run the changes requested while the mirror was loading, in order
+    private void runWaitingForDownloads() {
+        List<Runnable> waiting = new ArrayList<>(waitingForDownloads);
+        waitingForDownloads.clear();
+        for (Runnable runnable : waiting) {
+            runnable.run();
+        }
+    }
+
+    // Helper method to pin a cache key written by a download. Returns whether the key is new to
+    // the download
+    private boolean pinDownloadKey(String urlId, String key) {
+        synchronized (downloadKeys) {
+            Set<String> keys = downloadKeys.get(urlId);
+            if (keys == null) {
+                keys = new HashSet<>();
+                downloadKeys.put(urlId, keys);
+            }
+            cacheEvictor.pin(key);
+            return keys.add(key);
+        }
+    }
+
+    // Helper method to unpin the cache keys of a download, except those another download shares
+    private void unpinDownload(String urlId) {
+        synchronized (downloadKeys) {
+            Set<String> keys = downloadKeys.remove(urlId);
+            if (keys == null) {
                 return;
             }
-            
-            DownloadIndex downloadIndex = downloadManager.getDownloadIndex();
-            Download download = downloadIndex.getDownload(urlId);
-            
-            if (download != null) {
-                DownloadTracker tracker = activeDownloads.get(urlId);
-                
-                if (tracker != null) {
-                    double percentDownloaded = download.getPercentDownloaded();
-                    long bytesDownloaded = download.getBytesDownloaded();
-                    long contentLength = download.contentLength;
-                    int state = download.state;
-                    
-                    // Calculate progress manually if percentDownloaded is not available
-                    if (percentDownloaded == C.PERCENTAGE_UNSET && contentLength > 0 && bytesDownloaded > 0) {
-                        percentDownloaded = (bytesDownloaded * 100.0) / contentLength;
+            for (String key : keys) {
+                boolean shared = false;
+                for (Set<String> otherKeys : downloadKeys.values()) {
+                    if (otherKeys.contains(key)) {
+                        shared = true;
+                        break;
                     }
-                    
-                    // Log download progress details (only for active/downloading states)
-                    if (state == Download.STATE_DOWNLOADING) {
-                        Log.d(TAG, "Download progress for " + urlId + ": " + 
-                              percentDownloaded + "%, bytes: " + bytesDownloaded + 
-                              ", total: " + contentLength + ", state: " + stateToString(state));
-                    }
-                    
-                    tracker.update(percentDownloaded / 100.0, bytesDownloaded);
-                    
-                    // If download completed or failed, stop tracking
-                    if (download.state == Download.STATE_COMPLETED || 
-                        download.state == Download.STATE_FAILED) {
-                        
-                        if (download.state == Download.STATE_COMPLETED) {
-                            // Mark as fully downloaded
-                            tracker.update(1.0, bytesDownloaded);
-                            Log.d(TAG, "Download completed for: " + urlId);
-                        } else if (download.state == Download.STATE_FAILED) {
-                            Log.e(TAG, "Download failed for: " + urlId);
-                        }
-                        
-                        // Clean up everything related to this download to avoid repeated logging
-                        stopProgressUpdates(urlId);
-                        activeDownloads.remove(urlId);
+                }
+                if (!shared) {
+                    cacheEvictor.unpin(key);
+                }
+            }
+        }
+    }
+
+    // Called on download threads for each cache key a download opens, including the segments of
+    // HLS and DASH downloads, which are not stored under the URL of the video
+    private void onDownloadCacheKey(String urlId, String key) {
+        // Until the mirror is loaded, whether the download is kept is not known yet
+        if (!downloadsLoaded) {
+            synchronized (keysReportedWhileLoading) {
+                if (!downloadsLoaded) {
+                    Set<String> keys = keysReportedWhileLoading.get(urlId);
+                    if (keys == null) {
+                        keys = new HashSet<>();
+                        keysReportedWhileLoading.put(urlId, keys);
                     }
-                } else {
-                    Log.d(TAG, "No tracker found for download: " + urlId);
-                    stopProgressUpdates(urlId);
+                    keys.add(key);
+                    return;
                 }
-            } else {
-                // Download entry not found, stop tracking
-                Log.d(TAG, "No download found for ID: " + urlId);
-                stopProgressUpdates(urlId);
-                activeDownloads.remove(urlId);
             }
-        } catch (IOException e) {
-            Log.e(TAG, "Error updating download progress: " + e.getMessage(), e);
-            // On error, also stop tracking to avoid repeated failures
-            stopProgressUpdates(urlId);
-            activeDownloads.remove(urlId);
+        }
+        // Keys opened while a canceled download is removed are not pinned again
+        if (!activeDownloads.containsKey(urlId) || !pinDownloadKey(urlId, key)) {
+            return;
+        }
+        tagDownloadKey(urlId, key);
+    }
+
+    // Helper method to tag a cache key with its download, so that it is pinned again after a
+    // restart
+    private void tagDownloadKey(String urlId, String key) {
+        try {
+            String taggedId = downloadCache.getContentMetadata(key).get(METADATA_DOWNLOAD_ID, null);
+            if (!urlId.equals(taggedId)) {
+                downloadCache.applyContentMetadataMutations(
+                        key, new ContentMetadataMutations().set(METADATA_DOWNLOAD_ID, urlId));
+            }
+        } catch (Cache.CacheException e) {
+            Log.w(TAG, "Error tagging cache key of download " + urlId, e);
+        }
+    }
+
+    // Helper method to pin the keys reported while the mirror was loading, if their download is
+    // finished or still running. Runs on the executor.
+    private void pinKeysReportedWhileLoading(Map<String, Set<String>> reportedKeys) {
+        for (Map.Entry<String, Set<String>> entry : reportedKeys.entrySet()) {
+            String urlId = entry.getKey();
+            Download download = downloads.get(urlId);
+            if (download == null
+                    || download.state == Download.STATE_FAILED
+                    || download.state == Download.STATE_REMOVING) {
+                continue;
+            }
+            for (String key : entry.getValue()) {
+                if (pinDownloadKey(urlId, key)) {
+                    tagDownloadKey(urlId, key);
+                }
+            }
+        }
+    }
+
+    // Helper method to pin the keys tagged by downloads that are finished or still running, once
+    // the mirror holds all downloads. Runs on the executor.
+    private void pinTaggedDownloadKeys() {
+        for (String key : downloadCache.getKeys()) {
+            String urlId = downloadCache.getContentMetadata(key).get(METADATA_DOWNLOAD_ID, null);
+            if (urlId == null) {
+                continue;
+            }
+            Download download = downloads.get(urlId);
+            if (download != null
+                    && download.state != Download.STATE_FAILED
+                    && download.state != Download.STATE_REMOVING) {
+                pinDownloadKey(urlId, key);
+            }
         }
     }
-    
+
     // Helper method to convert download state to string for debugging
     private String stateToString(int state) {
         switch (state) {
@@ -543,6 +1212,7 @@ public class VideoCacheManager {
     private void loadExistingDownloads() {
         executor.execute(() -> {
             try {
+                long queryStartNanoTime = System.nanoTime();
                 DownloadIndex downloadIndex = downloadManager.getDownloadIndex();
                 DownloadCursor downloadCursor = downloadIndex.getDownloads();
                 
@@ -551,6 +1221,11 @@ public class VideoCacheManager {
                         Download download = downloadCursor.getDownload();
                         String urlId = download.request.id;
                         
+                        // Listener updates received meanwhile are newer than the index
+                        if (!removedWhileLoading.contains(urlId)) {
+                            downloads.putIfAbsent(urlId, download);
+                        }
+                        
                         // Try to recover the URL from the download data
                         String url = null;
                         if (download.request.data != null) {
@@ -562,29 +1237,60 @@ public class VideoCacheManager {
                             continue;
                         }
                         
-                        // Create a tracker for active downloads
-                        if (download.state == Download.STATE_DOWNLOADING) {
+                        // Downloaded or in-flight content must survive eviction
+                        if (download.state != Download.STATE_FAILED
+                                && download.state != Download.STATE_REMOVING) {
+                            pinDownloadKey(urlId, url);
+                        }
+                        
+                        // Create a tracker for downloads that are running or waiting for their turn
+                        if (DownloadScheduler.isUnfinished(download)) {
                             DownloadTracker tracker = new DownloadTracker(url, urlId);
-                            tracker.update(download.getPercentDownloaded() / 100.0, download.getBytesDownloaded());
+                            double percentDownloaded = download.getPercentDownloaded();
+                            tracker.update(
+                                    percentDownloaded != C.PERCENTAGE_UNSET
+                                            ? percentDownloaded / 100.0
+                                            : 0.0,
+                                    download.getBytesDownloaded(),
+                                    toDownloadState(download.state));
                             activeDownloads.put(urlId, tracker);
                             
-                            // Start tracking progress
-                            startProgressUpdates(urlId);
+                            // Schedule it again with the lowest priority, since priorities are
+                            // not persisted, unless the listener saw it finish meanwhile. Then
+                            // start publishing progress
+                            mainHandler.post(() -> {
+                                Download current = downloads.get(urlId);
+                                if (current != null && DownloadScheduler.isUnfinished(current)) {
+                                    downloadScheduler.restore(urlId, current.stopReason);
+                                }
+                                startProgressTicker();
+                            });
                         }
                     }
                 } finally {
                     downloadCursor.close();
+                    DOWNLOAD_INDEX_QUERY.recordSince(queryStartNanoTime);
                 }
+                pinTaggedDownloadKeys();
             } catch (IOException e) {
                 Log.e(TAG, "Error loading existing downloads: " + e.getMessage(), e);
+            } finally {
+                removedWhileLoading.clear();
+                Map<String, Set<String>> reportedKeys;
+                synchronized (keysReportedWhileLoading) {
+                    downloadsLoaded = true;
+                    reportedKeys = new HashMap<>(keysReportedWhileLoading);
+                    keysReportedWhileLoading.clear();
+                }
+                pinKeysReportedWhileLoading(reportedKeys);
+                mainHandler.post(this::runWaitingForDownloads);
             }
         });
     }
 
-    // Build a CacheDataSource.Factory that uses the download cache
-    private CacheDataSource.Factory buildCacheDataSourceFactory(Context context) {
-        DataSource.Factory upstreamFactory = buildDataSourceFactory(context);
-        
+    // Build a read-only CacheDataSource.Factory on top of the given network stack
+    private CacheDataSource.Factory buildCachedPlaybackDataSourceFactory(
+            DataSource.Factory upstreamFactory) {
         return new CacheDataSource.Factory()
                 .setCache(downloadCache)
                 .setUpstreamDataSourceFactory(upstreamFactory)
@@ -592,14 +1298,39 @@ public class VideoCacheManager {
                 .setFlags(CacheDataSource.FLAG_IGNORE_CACHE_ON_ERROR);
     }
 
-    // Build a DataSource.Factory for use by ExoPlayer
+    // Build the network stack of players on top of the current HTTP engine. The user agent is
+    // left to the HttpHeaderResolver of each video.
+    private DataSource.Factory buildPlaybackUpstreamFactory(Context context) {
+        return new DefaultDataSource.Factory(context, () -> httpEngine.createDataSource());
+    }
+
+    // Build the DataSource.Factory used by downloads, paced by the download token bucket
     private DataSource.Factory buildDataSourceFactory(Context context) {
-        DefaultBandwidthMeter bandwidthMeter = new DefaultBandwidthMeter.Builder(context).build();
         DefaultHttpDataSource.Factory httpFactory = new DefaultHttpDataSource.Factory()
                 .setAllowCrossProtocolRedirects(true)
                 .setUserAgent(Util.getUserAgent(context, "VideoPlayerPlugin"));
         
-        return new DefaultDataSource.Factory(context, httpFactory);
+        return new ThrottledDataSource.Factory(
+                new DefaultDataSource.Factory(context, httpFactory), downloadTokenBucket);
+    }
+
+    /** A download request waiting for the previous download with the same ID to be removed. */
+    private static final class PendingDownload {
+        final DownloadRequest request;
+        final Messages.Result<String> result;
+        int priority;
+
+        PendingDownload(DownloadRequest request, int priority, Messages.Result<String> result) {
+            this.request = request;
+            this.priority = priority;
+            this.result = result;
+        }
+    }
+
+    /** Bytes fetched and time spent fetching by the runs of a download. */
+    private static final class DownloadActivity {
+        long bytes;
+        long durationMs;
     }
 
     /**
@@ -608,19 +1339,29 @@ public class VideoCacheManager {
     private static class DownloadTracker {
         private final String url;
         private final String urlId;
-        private double progress;
-        private long bytesDownloaded;
+        private volatile double progress;
+        private volatile long bytesDownloaded;
+        private volatile int state;
 
         DownloadTracker(String url, String urlId) {
             this.url = url;
             this.urlId = urlId;
             this.progress = 0.0;
             this.bytesDownloaded = 0;
+            this.state = 1; // downloading
         }
 
-        void update(double progress, long bytesDownloaded) {
+        /** Returns true if any of the values changed. */
+        boolean update(double progress, long bytesDownloaded, int state) {
+            if (this.progress == progress
+                    && this.bytesDownloaded == bytesDownloaded
+                    && this.state == state) {
+                return false;
+            }
             this.progress = progress;
             this.bytesDownloaded = bytesDownloaded;
+            this.state = state;
+            return true;
         }
 
         double getProgress() {
@@ -647,19 +1388,14 @@ public class VideoCacheManager {
             return tracker.getBytesDownloaded();
         }
         
-        // Check download index for status
-        try {
-            DownloadIndex downloadIndex = downloadManager.getDownloadIndex();
-            Download download = downloadIndex.getDownload(urlId);
-            if (download != null) {
-                if (download.state == Download.STATE_COMPLETED) {
-                    return download.contentLength > 0 ? download.contentLength : download.getBytesDownloaded();
-                } else if (download.state == Download.STATE_DOWNLOADING) {
-                    return download.getBytesDownloaded();
-                }
+        // Check the last known download status
+        Download download = getDownload(urlId);
+        if (download != null) {
+            if (download.state == Download.STATE_COMPLETED) {
+                return download.contentLength > 0 ? download.contentLength : download.getBytesDownloaded();
+            } else if (download.state == Download.STATE_DOWNLOADING) {
+                return download.getBytesDownloaded();
             }
-        } catch (IOException e) {
-            Log.e(TAG, "Error getting bytes downloaded: " + e.getMessage(), e);
         }
         
         return 0;
@@ -7,20 +7,31 @@ package io.flutter.plugins.videoplayer;
 import static androidx.media3.common.Player.REPEAT_MODE_ALL;
 import static androidx.media3.common.Player.REPEAT_MODE_OFF;
 
+import android.os.Handler;
+import android.os.Looper;
+import android.os.SystemClock;
 import androidx.annotation.NonNull;
 import androidx.annotation.Nullable;
 import androidx.media3.common.AudioAttributes;
 import androidx.media3.common.C;
 import androidx.media3.common.MediaItem;
 import androidx.media3.common.PlaybackParameters;
+import androidx.media3.common.Player;
 import androidx.media3.common.VideoSize;
 import androidx.media3.exoplayer.ExoPlayer;
+import androidx.media3.exoplayer.source.MediaSource;
 import io.flutter.view.TextureRegistry.SurfaceProducer;
+import java.util.ArrayList;
+import java.util.List;
 
 /**
  * A class responsible for managing video playback using {@link ExoPlayer}.
  *
  * <p>It provides methods to control playback, adjust volume, and handle seeking.
+ *
+ * <p>Items appended with {@link #addPlaylistItem} are queued behind the item the player was created
+ * with, in the same {@link ExoPlayer}. The player buffers into the next item before the current one
+ * ends and plays it without a gap or a new decoder.
  */
 public abstract class VideoPlayer {
   @NonNull private final ExoPlayerProvider exoPlayerProvider;
@@ -29,6 +40,28 @@ public abstract class VideoPlayer {
   @NonNull protected final VideoPlayerCallbacks videoPlayerEvents;
   @Nullable protected final SurfaceProducer surfaceProducer;
   @NonNull protected ExoPlayer exoPlayer;
+  @Nullable private ExoPlayerEventListener exoPlayerEventListener;
+  // The items of the playlist, or null until an item is added, so that a recreated player gets them
+  // back. The first entry starts as the item the player was created with.
+  @Nullable private List<PlaylistItem> playlist;
+  @NonNull
+  private final PlaybackStatsCollector playbackStats =
+      new PlaybackStatsCollector(SystemClock.elapsedRealtime());
+
+  // Pushes position updates while playing so that Dart does not have to poll position().
+  @NonNull private final Handler positionUpdateHandler = new Handler(Looper.getMainLooper());
+  @NonNull private final Runnable positionUpdater = this::sendPositionUpdate;
+
+  @NonNull
+  private final Player.Listener positionUpdateListener =
+      new Player.Listener() {
+        @Override
+        public void onIsPlayingChanged(boolean isPlaying) {
+          updatePositionUpdates();
+        }
+      };
+
+  private long positionUpdateIntervalMs;
 
   /** A closure-compatible signature since {@link java.util.function.Supplier} is API level 24. */
   public interface ExoPlayerProvider {
@@ -39,6 +72,16 @@ public abstract class VideoPlayer {
      */
     @NonNull
     ExoPlayer get();
+
+    /**
+     * Releases an {@link ExoPlayer} returned by {@link #get()} once the video player is done with
+     * it.
+     *
+     * @param exoPlayer instance to release.
+     */
+    default void release(@NonNull ExoPlayer exoPlayer) {
+      exoPlayer.release();
+    }
   }
 
   public VideoPlayer(
@@ -58,10 +101,28 @@ public abstract class VideoPlayer {
   @NonNull
   protected ExoPlayer createVideoPlayer() {
     ExoPlayer exoPlayer = exoPlayerProvider.get();
-    exoPlayer.setMediaItem(mediaItem);
-    exoPlayer.prepare();
-    exoPlayer.addListener(createExoPlayerEventListener(exoPlayer, surfaceProducer));
+    // A preloaded player is already prepared with this item, and must keep its buffer.
+    boolean preloaded =
+        mediaItem.equals(exoPlayer.getCurrentMediaItem())
+            && exoPlayer.getPlaybackState() != Player.STATE_IDLE;
+    if (playlist != null) {
+      for (PlaylistItem item : playlist) {
+        item.addTo(exoPlayer);
+      }
+      exoPlayer.prepare();
+    } else if (!preloaded) {
+      exoPlayer.setMediaItem(mediaItem);
+      exoPlayer.prepare();
+    }
+    exoPlayerEventListener = createExoPlayerEventListener(exoPlayer, surfaceProducer);
+    exoPlayer.addListener(exoPlayerEventListener);
+    exoPlayer.addListener(positionUpdateListener);
+    exoPlayer.addAnalyticsListener(playbackStats);
     setAudioAttributes(exoPlayer, options.mixWithOthers);
+    if (exoPlayer.getPlaybackState() == Player.STATE_READY) {
+      // The player became ready before the listener was added, so it will not report it.
+      exoPlayerEventListener.onPlaybackStateChanged(Player.STATE_READY);
+    }
 
     return exoPlayer;
   }
@@ -71,7 +132,41 @@ public abstract class VideoPlayer {
       @NonNull ExoPlayer exoPlayer, @Nullable SurfaceProducer surfaceProducer);
 
   void sendBufferingUpdate() {
-    videoPlayerEvents.onBufferingUpdate(exoPlayer.getBufferedPosition());
+    videoPlayerEvents.onBufferingUpdate(
+        exoPlayer.getCurrentPosition(), exoPlayer.getBufferedPosition());
+  }
+
+  /**
+   * Sets how often position updates are sent while the video is playing.
+   *
+   * @param intervalMs time between updates, or 0 to stop sending them.
+   */
+  void setPositionUpdateInterval(long intervalMs) {
+    positionUpdateIntervalMs = Math.max(0, intervalMs);
+    updatePositionUpdates();
+  }
+
+  private void updatePositionUpdates() {
+    positionUpdateHandler.removeCallbacks(positionUpdater);
+    if (positionUpdateIntervalMs > 0 && exoPlayer.isPlaying()) {
+      positionUpdateHandler.post(positionUpdater);
+    }
+  }
+
+  /** Starts measuring the time until the first frame on a video surface attached again. */
+  protected void onVideoSurfaceReattached() {
+    playbackStats.onSurfaceReattached(SystemClock.elapsedRealtime());
+  }
+
+  /** Stops sending position updates until the player starts playing again. */
+  protected void stopPositionUpdates() {
+    positionUpdateHandler.removeCallbacks(positionUpdater);
+  }
+
+  private void sendPositionUpdate() {
+    videoPlayerEvents.onPositionUpdate(
+        exoPlayer.getCurrentPosition(), exoPlayer.getBufferedPosition());
+    positionUpdateHandler.postDelayed(positionUpdater, positionUpdateIntervalMs);
   }
   
   /**
@@ -136,12 +231,97 @@ public abstract class VideoPlayer {
     return exoPlayer.getCurrentPosition();
   }
 
+  /**
+   * Appends an item to the playlist.
+   *
+   * @param mediaItem item to append.
+   * @param mediaSourceFactory factory for the media source of the item, which carries its headers
+   *     and cache settings.
+   */
+  void addPlaylistItem(
+      @NonNull MediaItem mediaItem, @NonNull MediaSource.Factory mediaSourceFactory) {
+    PlaylistItem item = new PlaylistItem(mediaItem, mediaSourceFactory);
+    getPlaylist().add(item);
+    item.addTo(exoPlayer);
+  }
+
+  /**
+   * Removes an item from the playlist.
+   *
+   * <p>Removing the current item continues with the next one.
+   *
+   * @param index index of the item in the playlist; the item the player was created with is 0.
+   */
+  void removePlaylistItem(int index) {
+    List<PlaylistItem> playlist = getPlaylist();
+    if (index < 0 || index >= playlist.size()) {
+      throw new IllegalArgumentException(
+          "Playlist index "
+              + index
+              + " is out of range, the playlist has "
+              + playlist.size()
+              + " items");
+    }
+    playlist.remove(index);
+    videoPlayerEvents.onPlaylistItemRemoved(index);
+    exoPlayer.removeMediaItem(index);
+  }
+
+  @NonNull
+  private List<PlaylistItem> getPlaylist() {
+    if (playlist == null) {
+      playlist = new ArrayList<>();
+      playlist.add(new PlaylistItem(mediaItem, null));
+    }
+    return playlist;
+  }
+
+  /** Returns the quality of experience metrics of this player. */
+  @NonNull
+  PlaybackStatsCollector getPlaybackStats() {
+    return playbackStats;
+  }
+
   @NonNull
   public ExoPlayer getExoPlayer() {
     return exoPlayer;
   }
 
+  /**
+   * Releases resources that can be recreated later, if the system is low on memory.
+   *
+   * @param level the trim level passed to {@link android.content.ComponentCallbacks2}.
+   */
+  public void onTrimMemory(int level) {}
+
+  /** An item of the playlist, with the factory for its media source. */
+  private static final class PlaylistItem {
+    @NonNull private final MediaItem mediaItem;
+    // Null for the item the player was created with, which the player's own factory serves.
+    @Nullable private final MediaSource.Factory mediaSourceFactory;
+
+    PlaylistItem(@NonNull MediaItem mediaItem, @Nullable MediaSource.Factory mediaSourceFactory) {
+      this.mediaItem = mediaItem;
+      this.mediaSourceFactory = mediaSourceFactory;
+    }
+
+    void addTo(@NonNull ExoPlayer exoPlayer) {
+      if (mediaSourceFactory == null) {
+        exoPlayer.addMediaItem(mediaItem);
+      } else {
+        exoPlayer.addMediaSource(mediaSourceFactory.createMediaSource(mediaItem));
+      }
+    }
+  }
+
   public void dispose() {
-    exoPlayer.release();
+    stopPositionUpdates();
+    // The instance may be reused by another video player, which must not receive our events.
+    if (exoPlayerEventListener != null) {
+      exoPlayer.removeListener(exoPlayerEventListener);
+    }
+    exoPlayer.removeListener(positionUpdateListener);
+    exoPlayer.removeAnalyticsListener(playbackStats);
+    exoPlayerProvider.release(exoPlayer);
   }
 }
@@ -21,7 +21,7 @@ public interface VideoPlayerCallbacks {
 
   void onBufferingStart();
 
-  void onBufferingUpdate(long bufferedPosition);
+  void onBufferingUpdate(long positionInMs, long bufferedPositionInMs);
 
   void onBufferingEnd();
 
@@ -30,6 +30,12 @@ public interface VideoPlayerCallbacks {
   void onError(@NonNull String code, @Nullable String message, @Nullable Object details);
 
   void onIsPlayingStateUpdate(boolean isPlaying);
+
+  /**
+   * Called periodically while the video is playing, see {@link
+   * VideoPlayer#setPositionUpdateInterval(long)}.
+   */
+  void onPositionUpdate(long positionInMs, long bufferedPositionInMs);
   
   /**
    * Called when the video enters Picture-in-Picture mode.
@@ -40,4 +46,23 @@ public interface VideoPlayerCallbacks {
    * Called when the video exits Picture-in-Picture mode.
    */
   void onPictureInPictureExited();
+
+  /**
+   * Called when playback moves to another item of the playlist, see {@link
+   * VideoPlayer#addPlaylistItem}.
+   *
+   * @param index index of the now current item in the playlist.
+   * @param durationInMs duration of the now current item.
+   */
+  void onPlaylistItemChanged(int index, long durationInMs);
+
+  /**
+   * Called when an item is removed from the playlist, see {@link VideoPlayer#removePlaylistItem}.
+   *
+   * <p>If the removed item was playing, {@link #onPlaylistItemChanged} follows once the next item
+   * plays.
+   *
+   * @param index index the removed item had in the playlist.
+   */
+  void onPlaylistItemRemoved(int index);
 }
@@ -8,17 +8,112 @@ import androidx.annotation.NonNull;
 import androidx.annotation.Nullable;
 import androidx.annotation.VisibleForTesting;
 import io.flutter.plugin.common.EventChannel;
-import java.util.Arrays;
-import java.util.Collections;
-import java.util.HashMap;
-import java.util.List;
-import java.util.Map;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
 
+/**
+ * Sends video events as compact byte arrays instead of maps.
+ *
+ * <p>Each event starts with a one byte tag, followed by its fields in little-endian order. Buffered
+ * ranges are an int32 count followed by int64 start/end pairs in milliseconds. Every event kind
+ * writes into its own preallocated array, so sending an event allocates nothing in this class once
+ * each range count has been seen. The event sink encodes the array before returning, except for
+ * {@link QueuingEventSink}, which copies arrays it has to hold on to.
+ *
+ * <p>Buffered ranges are the in-memory buffer ahead of the playback position, merged with the
+ * cached parts of the video if {@link #setCachedTimeRanges} was called. Those belong to the item the
+ * player was created with, so they are only merged while that item plays.
+ *
+ * <p>The tags and layouts must match the decoder in android_video_player.dart.
+ */
 final class VideoPlayerEventCallbacks implements VideoPlayerCallbacks {
+  static final byte TAG_INITIALIZED = 0;
+  static final byte TAG_COMPLETED = 1;
+  static final byte TAG_BUFFERING_UPDATE = 2;
+  static final byte TAG_BUFFERING_START = 3;
+  static final byte TAG_BUFFERING_END = 4;
+  static final byte TAG_IS_PLAYING_STATE_UPDATE = 5;
+  static final byte TAG_POSITION_UPDATE = 6;
+  static final byte TAG_PIP_ENTERED = 7;
+  static final byte TAG_PIP_EXITED = 8;
+  static final byte TAG_PLAYLIST_ITEM_CHANGED = 9;
+
+  // Latest-state events replace queued events with the same tag. Initialized and completed are
+  // never dropped.
+  private static final QueuingEventSink.EventPolicy EVENT_POLICY =
+      new QueuingEventSink.EventPolicy() {
+        @Override
+        public int coalescingKey(@NonNull Object event) {
+          byte tag = ((byte[]) event)[0];
+          switch (tag) {
+            case TAG_BUFFERING_UPDATE:
+            case TAG_IS_PLAYING_STATE_UPDATE:
+            case TAG_POSITION_UPDATE:
+            case TAG_PLAYLIST_ITEM_CHANGED:
+              return tag;
+            default:
+              return NOT_COALESCED;
+          }
+        }
+
+        @Override
+        public boolean isTerminal(@NonNull Object event) {
+          byte tag = ((byte[]) event)[0];
+          return tag == TAG_INITIALIZED || tag == TAG_COMPLETED;
+        }
+      };
+
+  // Sent events per tag, in tag order, and errors.
+  private static final MetricsRegistry.Counter[] EVENTS_SENT =
+      eventCounters(
+          "initialized",
+          "completed",
+          "bufferingUpdate",
+          "bufferingStart",
+          "bufferingEnd",
+          "isPlayingStateUpdate",
+          "positionUpdate",
+          "pipEntered",
+          "pipExited",
+          "playlistItemChanged");
+  private static final MetricsRegistry.Counter ERRORS_SENT =
+      MetricsRegistry.getInstance().counter("events.error");
+
+  /** Maximum number of buffered ranges sent with an event; later cached ranges are left out. */
+  static final int MAX_BUFFERED_RANGES = 8;
+
   private final EventChannel.EventSink eventSink;
+  // The cached parts of the item the player was created with, until that item is removed.
+  @Nullable private CachedTimeRanges firstItemCachedTimeRanges;
+  // Either firstItemCachedTimeRanges or null, depending on the current item.
+  @Nullable private CachedTimeRanges cachedTimeRanges;
+  private long durationInMs;
+
+  // tag, width, height, duration, rotation correction.
+  private final ByteBuffer initializedEvent = allocate(1 + 4 + 4 + 8 + 4);
+  // tag, buffered ranges; indexed by the number of ranges and allocated on first use.
+  private final ByteBuffer[] bufferingUpdateEvents = new ByteBuffer[MAX_BUFFERED_RANGES + 1];
+  // tag, isPlaying.
+  private final ByteBuffer isPlayingStateUpdateEvent = allocate(1 + 1);
+  // tag, position, buffered ranges; indexed by the number of ranges and allocated on first use.
+  private final ByteBuffer[] positionUpdateEvents = new ByteBuffer[MAX_BUFFERED_RANGES + 1];
+  // tag, index, duration.
+  private final ByteBuffer playlistItemChangedEvent = allocate(1 + 4 + 8);
+  // Scratch start/end pairs of the cached ranges and of the merged buffered ranges.
+  private final long[] cachedRanges = new long[2 * MAX_BUFFERED_RANGES];
+  private final long[] bufferedRanges = new long[2 * MAX_BUFFERED_RANGES];
+  private final byte[] completedEvent = {TAG_COMPLETED};
+  private final byte[] bufferingStartEvent = {TAG_BUFFERING_START};
+  private final byte[] bufferingEndEvent = {TAG_BUFFERING_END};
+  private final byte[] pipEnteredEvent = {TAG_PIP_ENTERED};
+  private final byte[] pipExitedEvent = {TAG_PIP_EXITED};
 
-  static VideoPlayerEventCallbacks bindTo(EventChannel eventChannel) {
-    QueuingEventSink eventSink = new QueuingEventSink();
+  /** Creates a bounded queue that coalesces superseded player events. */
+  static QueuingEventSink createEventSink() {
+    return new QueuingEventSink(QueuingEventSink.DEFAULT_MAX_QUEUED_EVENTS, EVENT_POLICY);
+  }
+
+  static VideoPlayerEventCallbacks bindTo(EventChannel eventChannel, QueuingEventSink eventSink) {
     eventChannel.setStreamHandler(
         new EventChannel.StreamHandler() {
           @Override
@@ -43,76 +138,179 @@ final class VideoPlayerEventCallbacks implements VideoPlayerCallbacks {
     this.eventSink = eventSink;
   }
 
+  /**
+   * Sets the cached parts of the video to report as buffered, or null to report the in-memory
+   * buffer only.
+   */
+  void setCachedTimeRanges(@Nullable CachedTimeRanges cachedTimeRanges) {
+    this.firstItemCachedTimeRanges = cachedTimeRanges;
+    this.cachedTimeRanges = cachedTimeRanges;
+  }
+
+  private static ByteBuffer allocate(int size) {
+    return ByteBuffer.allocate(size).order(ByteOrder.LITTLE_ENDIAN);
+  }
+
+  private static ByteBuffer eventWithRanges(ByteBuffer[] events, int headerSize, int rangeCount) {
+    ByteBuffer event = events[rangeCount];
+    if (event == null) {
+      event = allocate(headerSize + 4 + 16 * rangeCount);
+      events[rangeCount] = event;
+    }
+    return event;
+  }
+
+  /**
+   * Merges the in-memory buffer with the cached ranges into {@link #bufferedRanges}.
+   *
+   * @return the number of merged ranges.
+   */
+  private int mergeBufferedRanges(long positionInMs, long bufferedPositionInMs) {
+    int cachedCount = 0;
+    if (cachedTimeRanges != null) {
+      cachedCount =
+          cachedTimeRanges.copyTimeRanges(durationInMs, cachedRanges, MAX_BUFFERED_RANGES - 1);
+    }
+    boolean memoryPending = bufferedPositionInMs > positionInMs;
+    int count = 0;
+    int i = 0;
+    while (i < cachedCount || memoryPending) {
+      long start;
+      long end;
+      if (memoryPending && (i == cachedCount || positionInMs <= cachedRanges[2 * i])) {
+        start = positionInMs;
+        end = bufferedPositionInMs;
+        memoryPending = false;
+      } else {
+        start = cachedRanges[2 * i];
+        end = cachedRanges[2 * i + 1];
+        i++;
+      }
+      if (count > 0 && start <= bufferedRanges[2 * count - 1]) {
+        bufferedRanges[2 * count - 1] = Math.max(bufferedRanges[2 * count - 1], end);
+      } else {
+        bufferedRanges[2 * count] = start;
+        bufferedRanges[2 * count + 1] = end;
+        count++;
+      }
+    }
+    return count;
+  }
+
+  private void putBufferedRanges(ByteBuffer event, int offset, int count) {
+    event.putInt(offset, count);
+    for (int i = 0; i < count; i++) {
+      event
+          .putLong(offset + 4 + 16 * i, bufferedRanges[2 * i])
+          .putLong(offset + 12 + 16 * i, bufferedRanges[2 * i + 1]);
+    }
+  }
+
+  private static MetricsRegistry.Counter[] eventCounters(String... names) {
+    MetricsRegistry.Counter[] counters = new MetricsRegistry.Counter[names.length];
+    for (int i = 0; i < names.length; i++) {
+      counters[i] = MetricsRegistry.getInstance().counter("events." + names[i]);
+    }
+    return counters;
+  }
+
+  private void send(ByteBuffer event) {
+    send(event.array());
+  }
+
+  private void send(byte[] event) {
+    EVENTS_SENT[event[0]].increment();
+    eventSink.success(event);
+  }
+
   @Override
   public void onInitialized(
       int width, int height, long durationInMs, int rotationCorrectionInDegrees) {
-    Map<String, Object> event = new HashMap<>();
-    event.put("event", "initialized");
-    event.put("width", width);
-    event.put("height", height);
-    event.put("duration", durationInMs);
-    if (rotationCorrectionInDegrees != 0) {
-      event.put("rotationCorrection", rotationCorrectionInDegrees);
-    }
-    eventSink.success(event);
+    this.durationInMs = durationInMs;
+    initializedEvent
+        .put(0, TAG_INITIALIZED)
+        .putInt(1, width)
+        .putInt(5, height)
+        .putLong(9, durationInMs)
+        .putInt(17, rotationCorrectionInDegrees);
+    send(initializedEvent);
   }
 
   @Override
   public void onBufferingStart() {
-    Map<String, Object> event = new HashMap<>();
-    event.put("event", "bufferingStart");
-    eventSink.success(event);
+    send(bufferingStartEvent);
   }
 
   @Override
-  public void onBufferingUpdate(long bufferedPosition) {
-    // iOS supports a list of buffered ranges, so we send as a list with a single range.
-    Map<String, Object> event = new HashMap<>();
-    event.put("event", "bufferingUpdate");
-
-    List<? extends Number> range = Arrays.asList(0, bufferedPosition);
-    event.put("values", Collections.singletonList(range));
-    eventSink.success(event);
+  public void onBufferingUpdate(long positionInMs, long bufferedPositionInMs) {
+    int count = mergeBufferedRanges(positionInMs, bufferedPositionInMs);
+    ByteBuffer event = eventWithRanges(bufferingUpdateEvents, 1, count);
+    event.put(0, TAG_BUFFERING_UPDATE);
+    putBufferedRanges(event, 1, count);
+    send(event);
   }
 
   @Override
   public void onBufferingEnd() {
-    Map<String, Object> event = new HashMap<>();
-    event.put("event", "bufferingEnd");
-    eventSink.success(event);
+    send(bufferingEndEvent);
   }
 
   @Override
   public void onCompleted() {
-    Map<String, Object> event = new HashMap<>();
-    event.put("event", "completed");
-    eventSink.success(event);
+    send(completedEvent);
   }
 
   @Override
   public void onError(@NonNull String code, @Nullable String message, @Nullable Object details) {
+    ERRORS_SENT.increment();
     eventSink.error(code, message, details);
   }
 
   @Override
   public void onIsPlayingStateUpdate(boolean isPlaying) {
-    Map<String, Object> event = new HashMap<>();
-    event.put("event", "isPlayingStateUpdate");
-    event.put("isPlaying", isPlaying);
-    eventSink.success(event);
+    isPlayingStateUpdateEvent
+        .put(0, TAG_IS_PLAYING_STATE_UPDATE)
+        .put(1, (byte) (isPlaying ? 1 : 0));
+    send(isPlayingStateUpdateEvent);
+  }
+
+  @Override
+  public void onPositionUpdate(long positionInMs, long bufferedPositionInMs) {
+    int count = mergeBufferedRanges(positionInMs, bufferedPositionInMs);
+    ByteBuffer event = eventWithRanges(positionUpdateEvents, 1 + 8, count);
+    event.put(0, TAG_POSITION_UPDATE).putLong(1, positionInMs);
+    putBufferedRanges(event, 9, count);
+    send(event);
   }
   
   @Override
   public void onPictureInPictureEntered() {
-    Map<String, Object> event = new HashMap<>();
-    event.put("event", "pipEntered");
-    eventSink.success(event);
+    send(pipEnteredEvent);
   }
   
   @Override
   public void onPictureInPictureExited() {
-    Map<String, Object> event = new HashMap<>();
-    event.put("event", "pipExited");
-    eventSink.success(event);
+    send(pipExitedEvent);
+  }
+
+  @Override
+  public void onPlaylistItemChanged(int index, long durationInMs) {
+    this.durationInMs = durationInMs;
+    // Items are only appended, so the item the player was created with stays first until removed.
+    cachedTimeRanges = index == 0 ? firstItemCachedTimeRanges : null;
+    playlistItemChangedEvent
+        .put(0, TAG_PLAYLIST_ITEM_CHANGED)
+        .putInt(1, index)
+        .putLong(5, durationInMs);
+    send(playlistItemChangedEvent);
+  }
+
+  @Override
+  public void onPlaylistItemRemoved(int index) {
+    if (index == 0) {
+      // The item the player was created with is gone, and with it any ranges merged for it.
+      firstItemCachedTimeRanges = null;
+      cachedTimeRanges = null;
+    }
   }
 }
@@ -6,10 +6,13 @@ package io.flutter.plugins.videoplayer;
 
 import android.app.Activity;
 import android.app.PictureInPictureParams;
+import android.content.ComponentCallbacks2;
 import android.content.Context;
 import android.content.pm.PackageManager;
+import android.content.res.Configuration;
 import android.os.Build;
 import android.os.Environment;
+import android.os.SystemClock;
 import android.util.Log;
 import android.util.LongSparseArray;
 import android.util.Rational;
@@ -17,6 +20,9 @@ import android.view.View;
 import androidx.annotation.NonNull;
 import androidx.annotation.Nullable;
 import androidx.annotation.RequiresApi;
+import androidx.annotation.VisibleForTesting;
+import androidx.media3.common.C;
+import androidx.media3.common.Player;
 import io.flutter.FlutterInjector;
 import io.flutter.embedding.engine.plugins.FlutterPlugin;
 import io.flutter.embedding.engine.plugins.activity.ActivityAware;
@@ -24,14 +30,27 @@ import io.flutter.embedding.engine.plugins.activity.ActivityPluginBinding;
 import io.flutter.plugin.common.BinaryMessenger;
 import io.flutter.plugin.common.EventChannel;
 import io.flutter.plugins.videoplayer.Messages.AndroidVideoPlayerApi;
+import io.flutter.plugins.videoplayer.Messages.CacheStats;
+import io.flutter.plugins.videoplayer.Messages.CounterMetric;
 import io.flutter.plugins.videoplayer.Messages.CreateMessage;
 import io.flutter.plugins.videoplayer.Messages.DownloadProgress;
 import io.flutter.plugins.videoplayer.Messages.DownloadState;
+import io.flutter.plugins.videoplayer.Messages.HistogramMetric;
+import io.flutter.plugins.videoplayer.Messages.MetricsSnapshot;
 import io.flutter.plugins.videoplayer.Messages.PlatformVideoViewType;
+import io.flutter.plugins.videoplayer.Messages.PlaybackStats;
+import io.flutter.plugins.videoplayer.Messages.PlayerCacheStats;
+import io.flutter.plugins.videoplayer.Messages.PlayerEventStats;
+import io.flutter.plugins.videoplayer.Messages.PlayerPoolStats;
 import io.flutter.plugins.videoplayer.platformview.PlatformVideoViewFactory;
 import io.flutter.plugins.videoplayer.platformview.PlatformViewVideoPlayer;
 import io.flutter.plugins.videoplayer.texture.TextureVideoPlayer;
 import io.flutter.view.TextureRegistry;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
 import android.app.Application;
 import android.app.Application.ActivityLifecycleCallbacks;
 import android.os.Bundle;
@@ -39,10 +58,19 @@ import android.os.Bundle;
 /** Android platform implementation of the VideoPlayerPlugin. */
 public class VideoPlayerPlugin implements FlutterPlugin, AndroidVideoPlayerApi, ActivityAware {
   private static final String TAG = "VideoPlayerPlugin";
+  private static final MetricsRegistry.Counter PLAYERS_CREATED =
+      MetricsRegistry.getInstance().counter("players.created");
+  private static final MetricsRegistry.Counter PLAYERS_DISPOSED =
+      MetricsRegistry.getInstance().counter("players.disposed");
   private final LongSparseArray<VideoPlayer> videoPlayers = new LongSparseArray<>();
+  private final LongSparseArray<CacheUsageCounter> cacheUsages = new LongSparseArray<>();
+  private final LongSparseArray<QueuingEventSink> eventSinks = new LongSparseArray<>();
+  private final LongSparseArray<CachedTimeRanges> cachedTimeRanges = new LongSparseArray<>();
   private FlutterState flutterState;
   private final VideoPlayerOptions options = new VideoPlayerOptions();
   private VideoCacheManager cacheManager;
+  @Nullable private DownloadThrottle downloadThrottle;
+  private EventChannel downloadProgressChannel;
   private Activity activity;
   private boolean pipChangeEventSent = false;
   private boolean wasInPipMode = false;
@@ -55,6 +83,30 @@ public class VideoPlayerPlugin implements FlutterPlugin, AndroidVideoPlayerApi,
    */
   private Long nextPlatformViewPlayerId = Long.MAX_VALUE;
 
+  // Lets players release what they can recreate when the system is low on memory.
+  private final ComponentCallbacks2 memoryPressureMonitor =
+      new ComponentCallbacks2() {
+        @Override
+        public void onTrimMemory(int level) {
+          for (int i = 0; i < videoPlayers.size(); i++) {
+            videoPlayers.valueAt(i).onTrimMemory(level);
+          }
+          // Preloads are only a head start, so they go first.
+          if (level >= TRIM_MEMORY_RUNNING_LOW && flutterState != null) {
+            PlayerPreloader.getInstance(flutterState.applicationContext).clear();
+          }
+        }
+
+        @Override
+        @SuppressWarnings("deprecation")
+        public void onLowMemory() {
+          onTrimMemory(TRIM_MEMORY_COMPLETE);
+        }
+
+        @Override
+        public void onConfigurationChanged(@NonNull Configuration newConfig) {}
+      };
+
   /** Register this with the v2 embedding for the plugin to respond to lifecycle callbacks. */
   public VideoPlayerPlugin() {}
 
@@ -69,9 +121,18 @@ public class VideoPlayerPlugin implements FlutterPlugin, AndroidVideoPlayerApi,
             injector.flutterLoader()::getLookupKeyForAsset,
             binding.getTextureRegistry());
     flutterState.startListening(this, binding.getBinaryMessenger());
+    binding.getApplicationContext().registerComponentCallbacks(memoryPressureMonitor);
 
     // Initialize the cache manager
     cacheManager = VideoCacheManager.getInstance(binding.getApplicationContext());
+    downloadProgressChannel =
+        new EventChannel(binding.getBinaryMessenger(), "flutter.io/videoPlayer/downloadProgress");
+    DownloadProgressEventCallbacks.bindTo(downloadProgressChannel, cacheManager);
+    downloadThrottle =
+        DownloadThrottle.create(
+            binding.getApplicationContext(),
+            cacheManager.getDownloadTokenBucket(),
+            this::getExoPlayers);
 
     binding
         .getPlatformViewRegistry()
@@ -87,14 +148,44 @@ public class VideoPlayerPlugin implements FlutterPlugin, AndroidVideoPlayerApi,
     }
     flutterState.stopListening(binding.getBinaryMessenger());
     flutterState = null;
+    binding.getApplicationContext().unregisterComponentCallbacks(memoryPressureMonitor);
+    if (downloadProgressChannel != null) {
+      downloadProgressChannel.setStreamHandler(null);
+      downloadProgressChannel = null;
+    }
+    if (cacheManager != null) {
+      cacheManager.setProgressListener(null);
+    }
+    if (downloadThrottle != null) {
+      downloadThrottle.stop();
+      downloadThrottle = null;
+    }
     onDestroy();
+    // The disposed players went back to the pool; nothing is left to lease them.
+    ExoPlayerPool.getInstance(binding.getApplicationContext()).clear();
+    PlayerPreloader.getInstance(binding.getApplicationContext()).clear();
+  }
+
+  private List<Player> getExoPlayers() {
+    List<Player> players = new ArrayList<>(videoPlayers.size());
+    for (int i = 0; i < videoPlayers.size(); i++) {
+      players.add(videoPlayers.valueAt(i).getExoPlayer());
+    }
+    return players;
   }
 
   private void disposeAllPlayers() {
     for (int i = 0; i < videoPlayers.size(); i++) {
       videoPlayers.valueAt(i).dispose();
     }
+    PLAYERS_DISPOSED.add(videoPlayers.size());
     videoPlayers.clear();
+    cacheUsages.clear();
+    eventSinks.clear();
+    for (int i = 0; i < cachedTimeRanges.size(); i++) {
+      cachedTimeRanges.valueAt(i).release();
+    }
+    cachedTimeRanges.clear();
   }
 
   public void onDestroy() {
@@ -339,6 +430,7 @@ public class VideoPlayerPlugin implements FlutterPlugin, AndroidVideoPlayerApi,
   @Override
   public @NonNull Long create(@NonNull CreateMessage arg) {
     final VideoAsset videoAsset;
+    CachedTimeRanges cachedRanges = null;
     if (arg.getAsset() != null) {
       String assetLookupKey;
       if (arg.getPackageName() != null) {
@@ -351,70 +443,118 @@ public class VideoPlayerPlugin implements FlutterPlugin, AndroidVideoPlayerApi,
     } else if (arg.getUri().startsWith("rtsp://")) {
       videoAsset = VideoAsset.fromRtspUrl(arg.getUri());
     } else {
-      VideoAsset.StreamingFormat streamingFormat = VideoAsset.StreamingFormat.UNKNOWN;
-      String formatHint = arg.getFormatHint();
-      if (formatHint != null) {
-        switch (formatHint) {
-          case "ss":
-            streamingFormat = VideoAsset.StreamingFormat.SMOOTH;
-            break;
-          case "dash":
-            streamingFormat = VideoAsset.StreamingFormat.DYNAMIC_ADAPTIVE;
-            break;
-          case "hls":
-            streamingFormat = VideoAsset.StreamingFormat.HTTP_LIVE;
-            break;
-        }
-      }
-      
-      // Check if the video is cached
       String url = arg.getUri();
-      String cachedPath = getCachedVideoPath(url);
-      
-      if (cachedPath != null && cachedPath.startsWith("exoplayer://download/")) {
-        // Extract download ID from path
-        String downloadId = cachedPath.replace("exoplayer://download/", "");
-        
-        // Create a cached video asset
-        videoAsset = VideoAsset.fromCachedRemoteUrl(
-            url, 
-            downloadId,
-            streamingFormat, 
-            arg.getHttpHeaders());
-        
-        Log.d(TAG, "Using cached video for URL: " + url);
-      } else {
-        // Create a regular HTTP video asset
-        videoAsset = VideoAsset.fromRemoteUrl(url, streamingFormat, arg.getHttpHeaders());
+      String formatHint = arg.getFormatHint();
+      // A player preloaded for the same source is taken over along with its asset.
+      VideoAsset preloadedAsset =
+          PlayerPreloader.getInstance(flutterState.applicationContext)
+              .getPreloadedAsset(preloadKey(url, formatHint, arg.getHttpHeaders()));
+      videoAsset =
+          preloadedAsset != null
+              ? preloadedAsset
+              : createRemoteAsset(url, formatHint, arg.getHttpHeaders());
+
+      if (cacheManager != null && url.startsWith("http")) {
+        cachedRanges = cacheManager.trackCachedTimeRanges(url, formatHint);
       }
     }
 
     long id;
     VideoPlayer videoPlayer;
+    QueuingEventSink eventSink = VideoPlayerEventCallbacks.createEventSink();
+    VideoPlayerEventCallbacks callbacks;
     if (arg.getViewType() == Messages.PlatformVideoViewType.PLATFORM_VIEW) {
       id = nextPlatformViewPlayerId--;
+      callbacks = VideoPlayerEventCallbacks.bindTo(createEventChannel(id), eventSink);
+      callbacks.setCachedTimeRanges(cachedRanges);
       videoPlayer =
           PlatformViewVideoPlayer.create(
-              flutterState.applicationContext,
-              VideoPlayerEventCallbacks.bindTo(createEventChannel(id)),
-              videoAsset,
-              options);
+              flutterState.applicationContext, callbacks, videoAsset, options);
     } else {
       TextureRegistry.SurfaceProducer handle = flutterState.textureRegistry.createSurfaceProducer();
       id = handle.id();
+      callbacks = VideoPlayerEventCallbacks.bindTo(createEventChannel(id), eventSink);
+      callbacks.setCachedTimeRanges(cachedRanges);
       videoPlayer =
           TextureVideoPlayer.create(
-              flutterState.applicationContext,
-              VideoPlayerEventCallbacks.bindTo(createEventChannel(id)),
-              handle,
-              videoAsset,
-              options);
+              flutterState.applicationContext, callbacks, handle, videoAsset, options);
     }
 
     videoPlayers.put(id, videoPlayer);
+    PLAYERS_CREATED.increment();
+    if (downloadThrottle != null) {
+      downloadThrottle.start();
+    }
+    cacheUsages.put(id, videoAsset.getCacheUsage());
+    eventSinks.put(id, eventSink);
+    if (cachedRanges != null) {
+      cachedTimeRanges.put(id, cachedRanges);
+    }
     return id;
   }
 
+  @NonNull
+  private VideoAsset createRemoteAsset(
+      @NonNull String url, @Nullable String formatHint, @NonNull Map<String, String> httpHeaders) {
+    return createRemoteAsset(cacheManager, url, formatHint, httpHeaders);
+  }
+
+  /**
+   * Creates the asset of a network video.
+   *
+   * <p>A video with a download reads through the download stack. Any other video, including a
+   * prefetched one, streams through the shared stack, which also reads cached spans.
+   */
+  @VisibleForTesting
+  @NonNull
+  static VideoAsset createRemoteAsset(
+      @Nullable VideoCacheManager cacheManager,
+      @NonNull String url,
+      @Nullable String formatHint,
+      @NonNull Map<String, String> httpHeaders) {
+    VideoAsset.StreamingFormat streamingFormat = VideoAsset.StreamingFormat.UNKNOWN;
+    if (formatHint != null) {
+      switch (formatHint) {
+        case "ss":
+          streamingFormat = VideoAsset.StreamingFormat.SMOOTH;
+          break;
+        case "dash":
+          streamingFormat = VideoAsset.StreamingFormat.DYNAMIC_ADAPTIVE;
+          break;
+        case "hls":
+          streamingFormat = VideoAsset.StreamingFormat.HTTP_LIVE;
+          break;
+      }
+    }
+
+    // Check if the video is cached
+    String cachedPath = cacheManager != null ? cacheManager.getCachedVideoPath(url) : null;
+
+    if (cachedPath != null && cachedPath.startsWith("exoplayer://download/")) {
+      // Extract download ID from path
+      String downloadId = cachedPath.replace("exoplayer://download/", "");
+
+      Log.d(TAG, "Using cached video for URL: " + url);
+      // Create a cached video asset
+      return VideoAsset.fromCachedRemoteUrl(url, downloadId, streamingFormat, httpHeaders);
+    }
+    String downloadId = cacheManager != null ? cacheManager.getDownloadId(url) : null;
+    if (downloadId != null) {
+      Log.d(TAG, "Using partially downloaded video for URL: " + url);
+      // Serve the downloaded spans from disk and fetch only the missing ones
+      return VideoAsset.fromCachedRemoteUrl(url, downloadId, streamingFormat, httpHeaders);
+    }
+    // Create a regular HTTP video asset, which streams through the cache
+    return VideoAsset.fromRemoteUrl(url, streamingFormat, httpHeaders);
+  }
+
+  /** Identifies a remote source, so that create can find a player preloaded for it. */
+  @NonNull
+  private static String preloadKey(
+      @NonNull String url, @Nullable String formatHint, @NonNull Map<String, String> httpHeaders) {
+    return url + '\n' + formatHint + '\n' + new TreeMap<>(httpHeaders);
+  }
+
   @NonNull
   private EventChannel createEventChannel(long id) {
     return new EventChannel(
@@ -441,7 +581,15 @@ public class VideoPlayerPlugin implements FlutterPlugin, AndroidVideoPlayerApi,
   public void dispose(@NonNull Long playerId) {
     VideoPlayer player = getPlayer(playerId);
     player.dispose();
+    PLAYERS_DISPOSED.increment();
     videoPlayers.remove(playerId);
+    cacheUsages.remove(playerId);
+    eventSinks.remove(playerId);
+    CachedTimeRanges cachedRanges = cachedTimeRanges.get(playerId);
+    if (cachedRanges != null) {
+      cachedRanges.release();
+      cachedTimeRanges.remove(playerId);
+    }
   }
 
   @Override
@@ -476,6 +624,12 @@ public class VideoPlayerPlugin implements FlutterPlugin, AndroidVideoPlayerApi,
     return position;
   }
 
+  @Override
+  public void setPositionUpdateInterval(@NonNull Long playerId, @NonNull Long intervalMs) {
+    VideoPlayer player = getPlayer(playerId);
+    player.setPositionUpdateInterval(intervalMs);
+  }
+
   @Override
   public void seekTo(@NonNull Long playerId, @NonNull Long position) {
     VideoPlayer player = getPlayer(playerId);
@@ -496,27 +650,31 @@ public class VideoPlayerPlugin implements FlutterPlugin, AndroidVideoPlayerApi,
   // Video caching API implementation
   
   @Override
-  public @NonNull String startDownload(@NonNull String url) {
+  public void startDownload(
+      @NonNull String url, @NonNull Long priority, @NonNull Messages.Result<String> result) {
     if (cacheManager == null) {
-      return "";
+      result.success("");
+      return;
     }
-    return cacheManager.startDownload(url);
+    cacheManager.startDownload(url, priority.intValue(), result);
   }
 
   @Override
-  public @NonNull Boolean cancelDownload(@NonNull String url) {
+  public void cancelDownload(@NonNull String url, @NonNull Messages.Result<Boolean> result) {
     if (cacheManager == null) {
-      return false;
+      result.success(false);
+      return;
     }
-    return cacheManager.cancelDownload(url);
+    cacheManager.cancelDownload(url, result);
   }
 
   @Override
-  public @NonNull Boolean removeDownload(@NonNull String url) {
+  public void removeDownload(@NonNull String url, @NonNull Messages.Result<Boolean> result) {
     if (cacheManager == null) {
-      return false;
+      result.success(false);
+      return;
     }
-    return cacheManager.removeDownload(url);
+    cacheManager.removeDownload(url, result);
   }
 
   @Override
@@ -563,9 +721,11 @@ public class VideoPlayerPlugin implements FlutterPlugin, AndroidVideoPlayerApi,
 
   @Override
   public @NonNull DownloadState getDownloadState(@NonNull String url) {
-    int state = cacheManager.getDownloadState(url);
-    
-    // Convert the integer state from VideoCacheManager to DownloadState enum
+    return toDownloadState(cacheManager.getDownloadState(url));
+  }
+
+  // Convert the integer state from VideoCacheManager to DownloadState enum
+  private static @NonNull DownloadState toDownloadState(int state) {
     switch (state) {
       case 0:
         return DownloadState.INITIAL;
@@ -580,6 +740,264 @@ public class VideoPlayerPlugin implements FlutterPlugin, AndroidVideoPlayerApi,
     }
   }
 
+  @Override
+  public void setMaxCacheSize(@NonNull Long maxBytes) {
+    if (cacheManager == null) {
+      return;
+    }
+    cacheManager.setMaxCacheSize(maxBytes);
+  }
+
+  @Override
+  public @NonNull CacheStats getCacheStats() {
+    if (cacheManager == null) {
+      return new CacheStats.Builder()
+          .setCachedBytes(0L)
+          .setMaxBytes(0L)
+          .setEffectiveMaxBytes(0L)
+          .setHitCount(0L)
+          .setMissCount(0L)
+          .setEvictedBytes(0L)
+          .setEvictedSpanCount(0L)
+          .build();
+    }
+    return cacheManager.getCacheStats();
+  }
+
+  @Override
+  public void startDownloads(
+      @NonNull List<String> urls,
+      @NonNull Long priority,
+      @NonNull Messages.Result<List<String>> result) {
+    if (cacheManager == null) {
+      result.success(Collections.nCopies(urls.size(), ""));
+      return;
+    }
+    cacheManager.startDownloads(urls, priority.intValue(), result);
+  }
+
+  @Override
+  public void cancelDownloads(
+      @NonNull List<String> urls, @NonNull Messages.Result<List<Boolean>> result) {
+    if (cacheManager == null) {
+      result.success(Collections.nCopies(urls.size(), false));
+      return;
+    }
+    cacheManager.cancelDownloads(urls, result);
+  }
+
+  @Override
+  public @NonNull List<DownloadProgress> getDownloadProgresses(@NonNull List<String> urls) {
+    List<DownloadProgress> progresses = new ArrayList<>(urls.size());
+    for (String url : urls) {
+      progresses.add(getDownloadProgress(url));
+    }
+    return progresses;
+  }
+
+  @Override
+  public @NonNull List<DownloadState> getDownloadStates(@NonNull List<String> urls) {
+    List<DownloadState> states = new ArrayList<>(urls.size());
+    for (String url : urls) {
+      states.add(getDownloadState(url));
+    }
+    return states;
+  }
+
+  @Override
+  public void setStreamingCache(@NonNull Boolean enabled, @NonNull Long maxItemBytes) {
+    if (cacheManager == null) {
+      return;
+    }
+    cacheManager.setStreamingCache(enabled, maxItemBytes);
+  }
+
+  @Override
+  public void setHttpEngine(@NonNull Boolean pooled, @NonNull Long maxIdleConnections) {
+    if (cacheManager == null) {
+      return;
+    }
+    cacheManager.setHttpEngine(
+        pooled
+            ? new PooledHttpEngine(maxIdleConnections.intValue())
+            : new PlatformHttpEngine());
+  }
+
+  @Override
+  public void setDownloadChunking(@NonNull Long chunkBytes, @NonNull Long parallelism) {
+    if (cacheManager == null) {
+      return;
+    }
+    cacheManager.setDownloadChunking(chunkBytes, parallelism.intValue());
+  }
+
+  @Override
+  public @NonNull Boolean setDownloadPriority(@NonNull String url, @NonNull Long priority) {
+    if (cacheManager == null) {
+      return false;
+    }
+    return cacheManager.setDownloadPriority(url, priority.intValue());
+  }
+
+  @Override
+  public void setDownloadThrottling(@NonNull Boolean enabled, @NonNull Long minBufferMs) {
+    if (downloadThrottle == null) {
+      return;
+    }
+    downloadThrottle.setEnabled(enabled, minBufferMs);
+  }
+
+  @Override
+  public @NonNull PlayerCacheStats getPlayerCacheStats(@NonNull Long playerId) {
+    // Throws the same descriptive error as other per-player calls for unknown IDs.
+    getPlayer(playerId);
+    CacheUsageCounter cacheUsage = cacheUsages.get(playerId);
+    return new PlayerCacheStats.Builder()
+        .setCachedBytesRead(cacheUsage.getCachedBytesRead())
+        .setNetworkBytesRead(cacheUsage.getNetworkBytesRead())
+        .build();
+  }
+
+  @Override
+  public void prefetchHead(
+      @NonNull String url,
+      @NonNull Long durationMs,
+      @Nullable String formatHint,
+      @Nullable Long maxBitrate,
+      @NonNull Messages.Result<Long> result) {
+    if (cacheManager == null) {
+      result.success(0L);
+      return;
+    }
+    int bitrateLimit =
+        maxBitrate == null ? Integer.MAX_VALUE : (int) Math.min(maxBitrate, Integer.MAX_VALUE);
+    cacheManager.prefetchHead(url, durationMs, formatHint, bitrateLimit, result);
+  }
+
+  @Override
+  public void setPlayerPoolSize(@NonNull Long maxIdlePlayers) {
+    ExoPlayerPool.getInstance(flutterState.applicationContext)
+        .setMaxIdlePlayers((int) Math.max(0, Math.min(maxIdlePlayers, Integer.MAX_VALUE)));
+  }
+
+  @Override
+  public @NonNull PlayerPoolStats getPlayerPoolStats() {
+    ExoPlayerPool pool = ExoPlayerPool.getInstance(flutterState.applicationContext);
+    return new PlayerPoolStats.Builder()
+        .setHitCount(pool.getHitCount())
+        .setMissCount(pool.getMissCount())
+        .setIdleCount((long) pool.getIdleCount())
+        .setAverageCreationTimeUs(pool.getAverageCreationTimeUs())
+        .setCreationTimeSavedUs(pool.getCreationTimeSavedUs())
+        .build();
+  }
+
+  @Override
+  public void setSharedPlaybackResources(
+      @NonNull Boolean enabled, @NonNull Long totalBufferBytes) {
+    Context context = flutterState.applicationContext;
+    SharedPlaybackResources.getInstance(context).setEnabled(enabled, totalBufferBytes);
+    // Idle players were built for the previous mode.
+    ExoPlayerPool.getInstance(context).clear();
+  }
+
+  @Override
+  public @NonNull PlayerEventStats getPlayerEventStats(@NonNull Long playerId) {
+    // Throws the same descriptive error as other per-player calls for unknown IDs.
+    getPlayer(playerId);
+    QueuingEventSink eventSink = eventSinks.get(playerId);
+    return new PlayerEventStats.Builder()
+        .setDroppedEventCount(eventSink.getDroppedEventCount())
+        .setCoalescedEventCount(eventSink.getCoalescedEventCount())
+        .build();
+  }
+
+  @Override
+  public @NonNull Boolean preload(
+      @NonNull String url,
+      @Nullable String formatHint,
+      @NonNull Map<String, String> httpHeaders,
+      @NonNull Long durationMs) {
+    // Local assets open fast enough that warming a player for them would only cost memory.
+    if (!url.startsWith("http://") && !url.startsWith("https://")) {
+      return false;
+    }
+    PlayerPreloader.getInstance(flutterState.applicationContext)
+        .preload(
+            preloadKey(url, formatHint, httpHeaders),
+            createRemoteAsset(url, formatHint, httpHeaders),
+            durationMs);
+    return true;
+  }
+
+  @Override
+  public void addPlaylistItem(
+      @NonNull Long playerId,
+      @NonNull String uri,
+      @Nullable String formatHint,
+      @NonNull Map<String, String> httpHeaders) {
+    VideoPlayer player = getPlayer(playerId);
+    VideoAsset videoAsset =
+        uri.startsWith("rtsp://")
+            ? VideoAsset.fromRtspUrl(uri)
+            : createRemoteAsset(uri, formatHint, httpHeaders);
+    player.addPlaylistItem(
+        videoAsset.getMediaItem(),
+        videoAsset.getMediaSourceFactory(flutterState.applicationContext));
+  }
+
+  @Override
+  public void removePlaylistItem(@NonNull Long playerId, @NonNull Long index) {
+    getPlayer(playerId).removePlaylistItem(index.intValue());
+  }
+
+  @Override
+  public @NonNull PlaybackStats getPlaybackStats(@NonNull Long playerId) {
+    PlaybackStatsCollector stats = getPlayer(playerId).getPlaybackStats();
+    long timeToFirstFrameMs = stats.getTimeToFirstFrameMs();
+    long joinLatencyMs = stats.getJoinLatencyMs();
+    long resumeTimeMs = stats.getResumeTimeMs();
+    return new PlaybackStats.Builder()
+        .setTimeToFirstFrameMs(timeToFirstFrameMs == C.TIME_UNSET ? null : timeToFirstFrameMs)
+        .setJoinLatencyMs(joinLatencyMs == C.TIME_UNSET ? null : joinLatencyMs)
+        .setRebufferCount((long) stats.getRebufferCount())
+        .setRebufferDurationMs(stats.getRebufferDurationMs(SystemClock.elapsedRealtime()))
+        .setDroppedFrameCount(stats.getDroppedFrameCount())
+        .setBitrateSwitchCount((long) stats.getBitrateSwitchCount())
+        .setBytesLoaded(stats.getBytesLoaded())
+        .setResumeTimeMs(resumeTimeMs == C.TIME_UNSET ? null : resumeTimeMs)
+        .build();
+  }
+
+  @Override
+  public @NonNull MetricsSnapshot getMetricsSnapshot() {
+    MetricsRegistry metrics = MetricsRegistry.getInstance();
+    List<CounterMetric> counters = new ArrayList<>();
+    for (Map.Entry<String, Long> counter : metrics.snapshotCounters().entrySet()) {
+      counters.add(
+          new CounterMetric.Builder()
+              .setName(counter.getKey())
+              .setValue(counter.getValue())
+              .build());
+    }
+    List<HistogramMetric> histograms = new ArrayList<>();
+    for (Map.Entry<String, MetricsRegistry.HistogramSnapshot> histogram :
+        metrics.snapshotHistograms().entrySet()) {
+      MetricsRegistry.HistogramSnapshot snapshot = histogram.getValue();
+      histograms.add(
+          new HistogramMetric.Builder()
+              .setName(histogram.getKey())
+              .setCount(snapshot.count)
+              .setSum(snapshot.sum)
+              .setMax(snapshot.max)
+              .setP50(snapshot.p50)
+              .setP90(snapshot.p90)
+              .setP99(snapshot.p99)
+              .build());
+    }
+    return new MetricsSnapshot.Builder().setCounters(counters).setHistograms(histograms).build();
+  }
+
   private interface KeyForAssetFn {
     String get(String asset);
   }
@@ -609,7 +1027,8 @@ public class VideoPlayerPlugin implements FlutterPlugin, AndroidVideoPlayerApi,
     }
 
     void startListening(VideoPlayerPlugin methodCallHandler, BinaryMessenger messenger) {
-      AndroidVideoPlayerApi.setUp(messenger, methodCallHandler);
+      AndroidVideoPlayerApi.setUp(
+          new MetricsBinaryMessenger(messenger, MetricsRegistry.getInstance()), methodCallHandler);
     }
 
     void stopListening(BinaryMessenger messenger) {
@@ -4,15 +4,18 @@
 
 package io.flutter.plugins.videoplayer.texture;
 
+import android.content.ComponentCallbacks2;
 import android.content.Context;
 import androidx.annotation.NonNull;
 import androidx.annotation.Nullable;
 import androidx.annotation.RestrictTo;
 import androidx.annotation.VisibleForTesting;
 import androidx.media3.common.MediaItem;
+import androidx.media3.common.Player;
 import androidx.media3.exoplayer.ExoPlayer;
 import io.flutter.plugins.videoplayer.ExoPlayerEventListener;
 import io.flutter.plugins.videoplayer.ExoPlayerState;
+import io.flutter.plugins.videoplayer.PlayerPreloader;
 import io.flutter.plugins.videoplayer.VideoAsset;
 import io.flutter.plugins.videoplayer.VideoPlayer;
 import io.flutter.plugins.videoplayer.VideoPlayerCallbacks;
@@ -25,9 +28,18 @@ import io.flutter.view.TextureRegistry.SurfaceProducer;
  *
  * <p>It manages the lifecycle of the texture and ensures that the video is properly displayed on
  * the texture.
+ *
+ * <p>When the surface is destroyed, for example while the app is in the background, only the
+ * surface is detached from the player. The player keeps its buffer, its connections and its
+ * decoders, so that the surface can be reattached without preparing the media again. The player is
+ * released only if the system runs critically low on memory while the surface is detached, and
+ * then recreated from its saved state once the surface is available again.
  */
 public final class TextureVideoPlayer extends VideoPlayer implements SurfaceProducer.Callback {
   @Nullable private ExoPlayerState savedStateDuring;
+  // Lifts the rendition override of a restored player on its first frame, until it has done so.
+  @Nullable private Player.Listener restoredRenditionListener;
+  private boolean surfaceDetached;
 
   /**
    * Creates a texture video player.
@@ -51,12 +63,7 @@ public final class TextureVideoPlayer extends VideoPlayer implements SurfaceProd
         surfaceProducer,
         asset.getMediaItem(),
         options,
-        () -> {
-          ExoPlayer.Builder builder =
-              new ExoPlayer.Builder(context)
-                  .setMediaSourceFactory(asset.getMediaSourceFactory(context));
-          return builder.build();
-        });
+        PlayerPreloader.getInstance(context).newProvider(context, asset));
   }
 
   @VisibleForTesting
@@ -91,11 +98,18 @@ public final class TextureVideoPlayer extends VideoPlayer implements SurfaceProd
 
   @RestrictTo(RestrictTo.Scope.LIBRARY)
   public void onSurfaceAvailable() {
+    if (!surfaceDetached) {
+      return;
+    }
+    surfaceDetached = false;
+    onVideoSurfaceReattached();
     if (savedStateDuring != null) {
       exoPlayer = createVideoPlayer();
       exoPlayer.setVideoSurface(surfaceProducer.getSurface());
-      savedStateDuring.restore(exoPlayer);
+      restoredRenditionListener = savedStateDuring.restore(exoPlayer);
       savedStateDuring = null;
+    } else {
+      exoPlayer.setVideoSurface(surfaceProducer.getSurface());
     }
   }
 
@@ -106,17 +120,43 @@ public final class TextureVideoPlayer extends VideoPlayer implements SurfaceProd
   public void onSurfaceDestroyed() {
     // Intentionally do not call pause/stop here, because the surface has already been released
     // at this point (see https://github.com/flutter/flutter/issues/156451).
+    exoPlayer.clearVideoSurface();
+    surfaceDetached = true;
+  }
+
+  @Override
+  public void onTrimMemory(int level) {
+    if (!surfaceDetached || playerHasBeenSuspended() || !isMemoryCritical(level)) {
+      return;
+    }
     savedStateDuring = ExoPlayerState.save(exoPlayer);
+    stopPositionUpdates();
     exoPlayer.release();
   }
 
+  // Android 14 and later only deliver TRIM_MEMORY_UI_HIDDEN and TRIM_MEMORY_BACKGROUND, so there a
+  // detached player is kept until the process is killed, which frees its memory anyway.
+  @SuppressWarnings("deprecation")
+  private static boolean isMemoryCritical(int level) {
+    return level >= ComponentCallbacks2.TRIM_MEMORY_MODERATE
+        || level == ComponentCallbacks2.TRIM_MEMORY_RUNNING_CRITICAL;
+  }
+
   private boolean playerHasBeenSuspended() {
     return savedStateDuring != null;
   }
 
   public void dispose() {
-    // Super must be called first to ensure the player is released before the surface.
-    super.dispose();
+    // Super must be called first to ensure the player is released before the surface. While
+    // suspended, the player was already released in onTrimMemory and must not be returned to the
+    // player pool.
+    if (!playerHasBeenSuspended()) {
+      if (restoredRenditionListener != null) {
+        exoPlayer.removeListener(restoredRenditionListener);
+        restoredRenditionListener = null;
+      }
+      super.dispose();
+    }
 
     surfaceProducer.release();
     // TODO(matanlurey): Remove when embedder no longer calls-back once released.
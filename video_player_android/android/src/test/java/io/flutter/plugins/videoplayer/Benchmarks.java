@@ -0,0 +1,25 @@
+// Copyright 2013 The Flutter Authors. All rights reserved.
+// Use of this source code is governed by a BSD-style license that can be
+// found in the LICENSE file.
+
+package io.flutter.plugins.videoplayer;
+
+import static org.junit.Assume.assumeTrue;
+
+/**
+ * Opt-in switch of the benchmarks among the unit tests.
+ *
+ * <p>Benchmarks depend on timing and take a while, so they only run with {@code
+ * -PvideoPlayerBenchmarks}, e.g. {@code ./gradlew testDebugUnitTest -PvideoPlayerBenchmarks}.
+ */
+final class Benchmarks {
+  /** System property set by the build when benchmarks are enabled. */
+  static final String ENABLED_PROPERTY = "videoPlayer.benchmarks";
+
+  private Benchmarks() {}
+
+  /** Skips the calling test unless benchmarks are enabled. */
+  static void assumeEnabled() {
+    assumeTrue("Benchmarks are opt-in", Boolean.getBoolean(ENABLED_PROPERTY));
+  }
+}
@@ -0,0 +1,47 @@
+// Copyright 2013 The Flutter Authors. All rights reserved.
+// Use of this source code is governed by a BSD-style license that can be
+// found in the LICENSE file.
+
+package io.flutter.plugins.videoplayer;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+
+import android.net.Uri;
+import androidx.media3.datasource.DataSource;
+import androidx.media3.datasource.DataSpec;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+
+/** Unit tests for {@link CacheUsageCounter}. */
+@RunWith(RobolectricTestRunner.class)
+public final class CacheUsageCounterTest {
+  private final DataSpec dataSpec = new DataSpec(Uri.parse("https://example.com/video.mp4"));
+
+  @Test
+  public void wrappedFactoryRegistersCounterOnEachDataSource() {
+    CacheUsageCounter counter = new CacheUsageCounter();
+    DataSource dataSource = mock(DataSource.class);
+
+    DataSource created = counter.wrap(() -> dataSource).createDataSource();
+
+    assertSame(dataSource, created);
+    verify(dataSource).addTransferListener(counter);
+  }
+
+  @Test
+  public void splitsBytesByTransferSource() {
+    CacheUsageCounter counter = new CacheUsageCounter();
+    DataSource dataSource = mock(DataSource.class);
+
+    counter.onBytesTransferred(dataSource, dataSpec, /* isNetwork= */ false, 100);
+    counter.onBytesTransferred(dataSource, dataSpec, /* isNetwork= */ true, 30);
+    counter.onBytesTransferred(dataSource, dataSpec, /* isNetwork= */ false, 20);
+
+    assertEquals(120, counter.getCachedBytesRead());
+    assertEquals(30, counter.getNetworkBytesRead());
+  }
+}
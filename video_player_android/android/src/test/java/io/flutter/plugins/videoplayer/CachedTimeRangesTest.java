@@ -0,0 +1,200 @@
+// Copyright 2013 The Flutter Authors. All rights reserved.
+// Use of this source code is governed by a BSD-style license that can be
+// found in the LICENSE file.
+
+package io.flutter.plugins.videoplayer;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+
+import androidx.media3.datasource.cache.CacheSpan;
+import androidx.media3.datasource.cache.ContentMetadataMutations;
+import androidx.media3.datasource.cache.NoOpCacheEvictor;
+import androidx.media3.datasource.cache.SimpleCache;
+import androidx.media3.test.utils.TestUtil;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Queue;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+
+/**
+ * Unit tests for {@link CachedTimeRanges}.
+ *
+ * <p>Each test tracks a key of a real {@link SimpleCache} backed by a temporary folder and fills it
+ * with synthetic spans of zeroed bytes. Calls into the cache run directly unless a test queues
+ * them.
+ */
+@RunWith(RobolectricTestRunner.class)
+public final class CachedTimeRangesTest {
+  private static final String KEY = "https://example.com/video.mp4";
+  private static final long CONTENT_LENGTH = 1000;
+  private static final long DURATION_MS = 10_000;
+
+  @Rule public final TemporaryFolder tempFolder = new TemporaryFolder();
+
+  private SimpleCache cache;
+
+  @Before
+  public void setUp() throws Exception {
+    cache =
+        new SimpleCache(
+            tempFolder.newFolder(), new NoOpCacheEvictor(), TestUtil.getInMemoryDatabaseProvider());
+    ContentMetadataMutations mutations = new ContentMetadataMutations();
+    ContentMetadataMutations.setContentLength(mutations, CONTENT_LENGTH);
+    cache.applyContentMetadataMutations(KEY, mutations);
+  }
+
+  @After
+  public void tearDown() {
+    cache.release();
+  }
+
+  private void writeSpan(long position, int length) throws Exception {
+    CacheSpan hole = cache.startReadWrite(KEY, position, length);
+    File file = cache.startFile(KEY, position, length);
+    try (FileOutputStream output = new FileOutputStream(file)) {
+      output.write(new byte[length]);
+    }
+    cache.commitFile(file, length);
+    cache.releaseHoleSpan(hole);
+  }
+
+  private static long[] timeRanges(CachedTimeRanges cachedTimeRanges, int maxRanges) {
+    long[] ranges = new long[2 * maxRanges];
+    int count = cachedTimeRanges.copyTimeRanges(DURATION_MS, ranges, maxRanges);
+    return Arrays.copyOf(ranges, 2 * count);
+  }
+
+  @Test
+  public void includesSpansCachedBeforeTracking() throws Exception {
+    writeSpan(0, 100);
+
+    CachedTimeRanges cachedTimeRanges = new CachedTimeRanges(cache, KEY, Runnable::run);
+
+    assertArrayEquals(new long[] {0, 1000}, timeRanges(cachedTimeRanges, 8));
+    cachedTimeRanges.release();
+  }
+
+  @Test
+  public void readsSpansOnTheExecutor() throws Exception {
+    writeSpan(0, 100);
+    Queue<Runnable> tasks = new ArrayDeque<>();
+
+    CachedTimeRanges cachedTimeRanges = new CachedTimeRanges(cache, KEY, tasks::add);
+
+    assertEquals(0, timeRanges(cachedTimeRanges, 8).length);
+    tasks.remove().run();
+    assertArrayEquals(new long[] {0, 1000}, timeRanges(cachedTimeRanges, 8));
+    cachedTimeRanges.release();
+  }
+
+  @Test
+  public void followsSpansAddedAfterTracking() throws Exception {
+    CachedTimeRanges cachedTimeRanges = new CachedTimeRanges(cache, KEY, Runnable::run);
+
+    writeSpan(500, 100);
+    writeSpan(0, 100);
+
+    assertArrayEquals(new long[] {0, 1000, 5000, 6000}, timeRanges(cachedTimeRanges, 8));
+    cachedTimeRanges.release();
+  }
+
+  @Test
+  public void mergesAdjacentSpans() throws Exception {
+    CachedTimeRanges cachedTimeRanges = new CachedTimeRanges(cache, KEY, Runnable::run);
+
+    writeSpan(0, 100);
+    writeSpan(100, 150);
+
+    assertArrayEquals(new long[] {0, 2500}, timeRanges(cachedTimeRanges, 8));
+    cachedTimeRanges.release();
+  }
+
+  @Test
+  public void dropsRemovedSpans() throws Exception {
+    CachedTimeRanges cachedTimeRanges = new CachedTimeRanges(cache, KEY, Runnable::run);
+    writeSpan(0, 100);
+    writeSpan(500, 100);
+
+    cache.removeSpan(cache.getCachedSpans(KEY).first());
+
+    assertArrayEquals(new long[] {5000, 6000}, timeRanges(cachedTimeRanges, 8));
+    cachedTimeRanges.release();
+  }
+
+  @Test
+  public void copiesAtMostTheRequestedNumberOfRanges() throws Exception {
+    CachedTimeRanges cachedTimeRanges = new CachedTimeRanges(cache, KEY, Runnable::run);
+    writeSpan(0, 100);
+    writeSpan(500, 100);
+
+    assertArrayEquals(new long[] {0, 1000}, timeRanges(cachedTimeRanges, 1));
+    cachedTimeRanges.release();
+  }
+
+  @Test
+  public void reportsNothingWhileContentLengthIsUnknown() throws Exception {
+    CachedTimeRanges cachedTimeRanges = new CachedTimeRanges(cache, "other", Runnable::run);
+
+    assertEquals(0, timeRanges(cachedTimeRanges, 8).length);
+    cachedTimeRanges.release();
+  }
+
+  @Test
+  public void stopsFollowingOnceReleased() throws Exception {
+    CachedTimeRanges cachedTimeRanges = new CachedTimeRanges(cache, KEY, Runnable::run);
+    cachedTimeRanges.release();
+
+    writeSpan(0, 100);
+
+    assertEquals(0, timeRanges(cachedTimeRanges, 8).length);
+  }
+
+  @Test
+  public void doesNotStartFollowingWhenReleasedBeforeReading() throws Exception {
+    Queue<Runnable> tasks = new ArrayDeque<>();
+    CachedTimeRanges cachedTimeRanges = new CachedTimeRanges(cache, KEY, tasks::add);
+    cachedTimeRanges.release();
+    while (!tasks.isEmpty()) {
+      tasks.remove().run();
+    }
+
+    writeSpan(0, 100);
+
+    assertEquals(0, timeRanges(cachedTimeRanges, 8).length);
+  }
+
+  @Test(timeout = 10_000)
+  public void tracksWhileSpansAreWrittenConcurrently() throws Exception {
+    Thread writer =
+        new Thread(
+            () -> {
+              try {
+                for (int i = 0; i < 100; i++) {
+                  writeSpan(10L * i, 10);
+                }
+              } catch (Exception e) {
+                throw new RuntimeException(e);
+              }
+            });
+    writer.start();
+
+    // Creating a tracker must not wait for the cache while a span callback waits for the tracker.
+    while (writer.isAlive()) {
+      new CachedTimeRanges(cache, KEY, Runnable::run).release();
+    }
+    writer.join();
+
+    CachedTimeRanges cachedTimeRanges = new CachedTimeRanges(cache, KEY, Runnable::run);
+    assertArrayEquals(new long[] {0, DURATION_MS}, timeRanges(cachedTimeRanges, 8));
+    cachedTimeRanges.release();
+  }
+}
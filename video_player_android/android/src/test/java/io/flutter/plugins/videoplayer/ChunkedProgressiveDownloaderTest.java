@@ -0,0 +1,378 @@
+// Copyright 2013 The Flutter Authors. All rights reserved.
+// Use of this source code is governed by a BSD-style license that can be
+// found in the LICENSE file.
+
+package io.flutter.plugins.videoplayer;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertThrows;
+import static org.junit.Assert.assertTrue;
+
+import android.net.Uri;
+import androidx.annotation.Nullable;
+import androidx.media3.datasource.DataSourceUtil;
+import androidx.media3.datasource.DataSpec;
+import androidx.media3.datasource.DefaultHttpDataSource;
+import androidx.media3.datasource.cache.CacheDataSource;
+import androidx.media3.datasource.cache.CacheWriter;
+import androidx.media3.datasource.cache.NoOpCacheEvictor;
+import androidx.media3.datasource.cache.SimpleCache;
+import androidx.media3.exoplayer.offline.DownloadRequest;
+import androidx.media3.exoplayer.offline.Downloader;
+import androidx.media3.test.utils.TestUtil;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import okhttp3.mockwebserver.Dispatcher;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import okhttp3.mockwebserver.RecordedRequest;
+import okio.Buffer;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+
+/**
+ * Unit tests for {@link ChunkedProgressiveDownloader}, against a loopback HTTP server that serves
+ * byte ranges.
+ */
+@RunWith(RobolectricTestRunner.class)
+public final class ChunkedProgressiveDownloaderTest {
+  private static final int CHUNK_BYTES = 16 * 1024;
+
+  @Rule public final TemporaryFolder tempFolder = new TemporaryFolder();
+
+  private final MockWebServer server = new MockWebServer();
+  private final RangeDispatcher dispatcher = new RangeDispatcher();
+  private final List<SimpleCache> caches = new ArrayList<>();
+
+  @Before
+  public void setUp() throws IOException {
+    server.setDispatcher(dispatcher);
+    server.start();
+  }
+
+  @After
+  public void tearDown() throws IOException {
+    for (SimpleCache cache : caches) {
+      cache.release();
+    }
+    server.shutdown();
+  }
+
+  /**
+   * Serves {@link #content}, or the body registered for the path, delaying each response and
+   * limiting the speed of each body.
+   *
+   * <p>With {@link #rangeBarrier} set, ranged requests are held until that many are in flight.
+   */
+  private static final class RangeDispatcher extends Dispatcher {
+    final List<String> ranges = Collections.synchronizedList(new ArrayList<>());
+    final Map<String, String> bodies = new HashMap<>();
+    final AtomicBoolean rangeBarrierTimedOut = new AtomicBoolean();
+    byte[] content = new byte[0];
+    long latencyMs;
+    long bytesPer100Ms = Long.MAX_VALUE;
+    @Nullable volatile CountDownLatch rangeBarrier;
+
+    @Override
+    public MockResponse dispatch(RecordedRequest request) throws InterruptedException {
+      String range = request.getHeader("Range");
+      ranges.add(range);
+      CountDownLatch barrier = rangeBarrier;
+      if (range != null && barrier != null) {
+        barrier.countDown();
+        if (!barrier.await(5, TimeUnit.SECONDS)) {
+          rangeBarrierTimedOut.set(true);
+        }
+      }
+      MockResponse response =
+          new MockResponse()
+              .setHeadersDelay(latencyMs, TimeUnit.MILLISECONDS)
+              .throttleBody(bytesPer100Ms, 100, TimeUnit.MILLISECONDS);
+      String body = bodies.get(request.getPath());
+      if (body != null) {
+        return response.setBody(body);
+      }
+      if (range == null) {
+        return response.setBody(new Buffer().write(content));
+      }
+      String[] bounds = range.substring("bytes=".length()).split("-", -1);
+      int start = Integer.parseInt(bounds[0]);
+      int end = bounds[1].isEmpty() ? content.length - 1 : Integer.parseInt(bounds[1]);
+      return response
+          .setResponseCode(206)
+          .setHeader("Content-Range", "bytes " + start + "-" + end + "/" + content.length)
+          .setBody(new Buffer().write(content, start, end - start + 1));
+    }
+  }
+
+  private static byte[] randomContent(int length) {
+    byte[] content = new byte[length];
+    new Random(0).nextBytes(content);
+    return content;
+  }
+
+  private SimpleCache newCache() throws IOException {
+    SimpleCache cache =
+        new SimpleCache(
+            tempFolder.newFolder(), new NoOpCacheEvictor(), TestUtil.getInMemoryDatabaseProvider());
+    caches.add(cache);
+    return cache;
+  }
+
+  private static CacheDataSource.Factory cacheDataSourceFactory(SimpleCache cache) {
+    return new CacheDataSource.Factory()
+        .setCache(cache)
+        .setUpstreamDataSourceFactory(new DefaultHttpDataSource.Factory());
+  }
+
+  private static ChunkedProgressiveDownloader.Factory newFactory(SimpleCache cache) {
+    return new ChunkedProgressiveDownloader.Factory(
+        cache, new DefaultHttpDataSource.Factory(), Runnable::run);
+  }
+
+  private DownloadRequest request(String path) {
+    Uri uri = Uri.parse(server.url(path).toString());
+    return new DownloadRequest.Builder(uri.toString(), uri).build();
+  }
+
+  // Reads the video from the cache only.
+  private static byte[] readCached(SimpleCache cache, DownloadRequest request) throws IOException {
+    CacheDataSource dataSource = new CacheDataSource(cache, /* upstreamDataSource= */ null);
+    try {
+      dataSource.open(new DataSpec(request.uri));
+      return DataSourceUtil.readToEnd(dataSource);
+    } finally {
+      dataSource.close();
+    }
+  }
+
+  private static boolean requestedRangeFrom(List<String> ranges, long position) {
+    for (String range : ranges) {
+      if (range != null && range.startsWith("bytes=" + position + "-")) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  @Test
+  public void downloadsVideoAsRanges() throws Exception {
+    dispatcher.content = randomContent(5 * CHUNK_BYTES + 100);
+    SimpleCache cache = newCache();
+    DownloadRequest request = request("/video.mp4");
+    long[] lastProgress = new long[2];
+    float[] lastPercent = new float[1];
+
+    new ChunkedProgressiveDownloader(request, cacheDataSourceFactory(cache), CHUNK_BYTES, 3)
+        .download(
+            (contentLength, bytesDownloaded, percentDownloaded) -> {
+              lastProgress[0] = contentLength;
+              lastProgress[1] = bytesDownloaded;
+              lastPercent[0] = percentDownloaded;
+            });
+
+    assertArrayEquals(dispatcher.content, readCached(cache, request));
+    // The first chunk is requested without a range, to learn the length.
+    assertEquals(6, dispatcher.ranges.size());
+    assertNull(dispatcher.ranges.get(0));
+    for (int i = 1; i < 6; i++) {
+      assertTrue(requestedRangeFrom(dispatcher.ranges, (long) i * CHUNK_BYTES));
+    }
+    assertEquals(dispatcher.content.length, lastProgress[0]);
+    assertEquals(dispatcher.content.length, lastProgress[1]);
+    assertEquals(100f, lastPercent[0], 0.001f);
+  }
+
+  @Test
+  public void resumesFromCachedChunks() throws Exception {
+    dispatcher.content = randomContent(6 * CHUNK_BYTES);
+    SimpleCache cache = newCache();
+    CacheDataSource.Factory cacheDataSourceFactory = cacheDataSourceFactory(cache);
+    DownloadRequest request = request("/video.mp4");
+    // An earlier attempt cached the second and third chunks.
+    new CacheWriter(
+            cacheDataSourceFactory.createDataSourceForDownloading(),
+            new DataSpec(request.uri, CHUNK_BYTES, 2 * CHUNK_BYTES),
+            /* temporaryBuffer= */ null,
+            /* progressListener= */ null)
+        .cache();
+    dispatcher.ranges.clear();
+
+    new ChunkedProgressiveDownloader(request, cacheDataSourceFactory, CHUNK_BYTES, 3)
+        .download(/* progressListener= */ null);
+
+    assertArrayEquals(dispatcher.content, readCached(cache, request));
+    assertFalse(requestedRangeFrom(dispatcher.ranges, CHUNK_BYTES));
+    assertFalse(requestedRangeFrom(dispatcher.ranges, 2 * CHUNK_BYTES));
+  }
+
+  @Test
+  public void skipsFullyCachedVideo() throws Exception {
+    dispatcher.content = randomContent(3 * CHUNK_BYTES);
+    SimpleCache cache = newCache();
+    DownloadRequest request = request("/video.mp4");
+    new ChunkedProgressiveDownloader(request, cacheDataSourceFactory(cache), CHUNK_BYTES, 2)
+        .download(/* progressListener= */ null);
+    dispatcher.ranges.clear();
+
+    new ChunkedProgressiveDownloader(request, cacheDataSourceFactory(cache), CHUNK_BYTES, 2)
+        .download(/* progressListener= */ null);
+
+    assertTrue(dispatcher.ranges.isEmpty());
+  }
+
+  @Test
+  public void factoryChunksOnlyProgressiveVideos() throws IOException {
+    ChunkedProgressiveDownloader.Factory factory = newFactory(newCache());
+
+    Downloader progressive = factory.createDownloader(request("/video.mp4"));
+    assertTrue(progressive instanceof ChunkedProgressiveDownloader);
+    assertEquals(
+        ChunkedProgressiveDownloader.DEFAULT_PARALLELISM,
+        ((ChunkedProgressiveDownloader) progressive).getParallelism());
+    assertFalse(
+        factory.createDownloader(request("/master.m3u8"))
+            instanceof ChunkedProgressiveDownloader);
+
+    factory.setChunking(CHUNK_BYTES, 1);
+    assertFalse(
+        factory.createDownloader(request("/video.mp4")) instanceof ChunkedProgressiveDownloader);
+  }
+
+  @Test
+  public void rejectsInvalidChunking() throws IOException {
+    ChunkedProgressiveDownloader.Factory factory = newFactory(newCache());
+
+    assertThrows(IllegalArgumentException.class, () -> factory.setChunking(0, 4));
+    assertThrows(IllegalArgumentException.class, () -> factory.setChunking(CHUNK_BYTES, 0));
+  }
+
+  @Test
+  public void factoryReportsKeysOfEachSegment() throws Exception {
+    dispatcher.content = randomContent(1000);
+    dispatcher.bodies.put(
+        "/media.m3u8",
+        "#EXTM3U\n"
+            + "#EXT-X-TARGETDURATION:2\n"
+            + "#EXTINF:2.0,\n"
+            + "segment0.ts\n"
+            + "#EXTINF:2.0,\n"
+            + "segment1.ts\n"
+            + "#EXT-X-ENDLIST\n");
+    ChunkedProgressiveDownloader.Factory factory = newFactory(newCache());
+    Set<String> keys = Collections.synchronizedSet(new HashSet<>());
+    factory.setCacheKeyListener(
+        (downloadId, key) -> {
+          assertEquals("media", downloadId);
+          keys.add(key);
+        });
+    Uri uri = Uri.parse(server.url("/media.m3u8").toString());
+
+    factory
+        .createDownloader(new DownloadRequest.Builder("media", uri).build())
+        .download(/* progressListener= */ null);
+
+    // Adaptive downloads write each segment under its own key, which must be pinned too.
+    assertTrue(keys.contains(uri.toString()));
+    assertTrue(keys.contains(server.url("/segment0.ts").toString()));
+    assertTrue(keys.contains(server.url("/segment1.ts").toString()));
+  }
+
+  @Test
+  public void factoryReportsBytesOfEachRun() throws Exception {
+    dispatcher.content = randomContent(3 * CHUNK_BYTES + 100);
+    SimpleCache cache = newCache();
+    DownloadRequest request = request("/video.mp4");
+    ChunkedProgressiveDownloader.Factory factory = newFactory(cache);
+    factory.setChunking(CHUNK_BYTES, 2);
+    List<Long> runBytes = Collections.synchronizedList(new ArrayList<>());
+    factory.setRunListener(
+        (downloadId, bytes, durationMs) -> {
+          assertEquals(request.id, downloadId);
+          runBytes.add(bytes);
+        });
+    long[] lastBytesDownloaded = new long[1];
+
+    factory
+        .createDownloader(request)
+        .download(
+            (contentLength, bytesDownloaded, percentDownloaded) ->
+                lastBytesDownloaded[0] = bytesDownloaded);
+
+    assertArrayEquals(dispatcher.content, readCached(cache, request));
+    assertEquals(dispatcher.content.length, lastBytesDownloaded[0]);
+    assertEquals(Collections.singletonList((long) dispatcher.content.length), runBytes);
+  }
+
+  @Test
+  public void fetchesChunksOverSeveralConnectionsAtOnce() throws Exception {
+    dispatcher.content = randomContent(8 * CHUNK_BYTES);
+    dispatcher.rangeBarrier = new CountDownLatch(4);
+    SimpleCache cache = newCache();
+    ChunkedProgressiveDownloader.Factory factory = newFactory(cache);
+    factory.setChunking(CHUNK_BYTES, 4);
+    DownloadRequest request = request("/video.mp4");
+
+    factory.createDownloader(request).download(/* progressListener= */ null);
+
+    assertArrayEquals(dispatcher.content, readCached(cache, request));
+    // The first four ranges were only answered once all of them had been requested.
+    assertFalse(dispatcher.rangeBarrierTimedOut.get());
+    assertEquals(8, dispatcher.ranges.size());
+    assertNull(dispatcher.ranges.get(0));
+    for (int i = 1; i < 8; i++) {
+      assertTrue(requestedRangeFrom(dispatcher.ranges, (long) i * CHUNK_BYTES));
+    }
+  }
+
+  // A benchmark rather than a unit test: each response is delayed and each connection is slow, as
+  // on a mobile network, so that fetching ranges over several connections pays off.
+  @Test
+  public void outpacesSingleRequestOverSlowConnections() throws Exception {
+    Benchmarks.assumeEnabled();
+    dispatcher.content = randomContent(16 * CHUNK_BYTES);
+    dispatcher.latencyMs = 50;
+    dispatcher.bytesPer100Ms = CHUNK_BYTES;
+
+    SimpleCache sequentialCache = newCache();
+    ChunkedProgressiveDownloader.Factory sequentialFactory = newFactory(sequentialCache);
+    sequentialFactory.setChunking(CHUNK_BYTES, 1);
+    Downloader sequentialDownloader =
+        sequentialFactory.createDownloader(request("/sequential.mp4"));
+    long startNanoTime = System.nanoTime();
+    sequentialDownloader.download(/* progressListener= */ null);
+    long sequentialNanos = System.nanoTime() - startNanoTime;
+
+    SimpleCache chunkedCache = newCache();
+    ChunkedProgressiveDownloader.Factory chunkedFactory = newFactory(chunkedCache);
+    chunkedFactory.setChunking(CHUNK_BYTES, 4);
+    Downloader chunkedDownloader = chunkedFactory.createDownloader(request("/chunked.mp4"));
+    startNanoTime = System.nanoTime();
+    chunkedDownloader.download(/* progressListener= */ null);
+    long chunkedNanos = System.nanoTime() - startNanoTime;
+
+    assertArrayEquals(dispatcher.content, readCached(chunkedCache, request("/chunked.mp4")));
+    // About 1.7s against 0.8s; the margin absorbs scheduling noise.
+    assertTrue(
+        "chunked " + chunkedNanos / 1000000 + "ms, sequential " + sequentialNanos / 1000000 + "ms",
+        chunkedNanos < sequentialNanos * 3 / 4);
+  }
+}
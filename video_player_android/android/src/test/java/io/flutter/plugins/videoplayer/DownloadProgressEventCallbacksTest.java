@@ -0,0 +1,54 @@
+// Copyright 2013 The Flutter Authors. All rights reserved.
+// Use of this source code is governed by a BSD-style license that can be
+// found in the LICENSE file.
+
+package io.flutter.plugins.videoplayer;
+
+import static org.junit.Assert.assertEquals;
+import static org.mockito.Mockito.verify;
+
+import io.flutter.plugin.common.EventChannel;
+import java.util.HashMap;
+import java.util.Map;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Captor;
+import org.mockito.Mock;
+import org.mockito.junit.MockitoJUnit;
+import org.mockito.junit.MockitoRule;
+import org.robolectric.RobolectricTestRunner;
+
+/** Unit tests {@link DownloadProgressEventCallbacks}. */
+@RunWith(RobolectricTestRunner.class)
+public final class DownloadProgressEventCallbacksTest {
+  private DownloadProgressEventCallbacks eventCallbacks;
+
+  @Mock private EventChannel.EventSink mockEventSink;
+
+  @Captor private ArgumentCaptor<Map<String, Object>> eventCaptor;
+
+  @Rule public MockitoRule initRule = MockitoJUnit.rule();
+
+  @Before
+  public void setUp() {
+    eventCallbacks = DownloadProgressEventCallbacks.withSink(mockEventSink);
+  }
+
+  @Test
+  public void onProgressSendsUrlProgressBytesAndState() {
+    eventCallbacks.onProgress("https://example.com/video.mp4", 0.25, 1024L, 1);
+
+    verify(mockEventSink).success(eventCaptor.capture());
+
+    Map<String, Object> actual = eventCaptor.getValue();
+    Map<String, Object> expected = new HashMap<>();
+    expected.put("url", "https://example.com/video.mp4");
+    expected.put("progress", 0.25);
+    expected.put("bytesDownloaded", 1024L);
+    expected.put("state", 1);
+    assertEquals(expected, actual);
+  }
+}
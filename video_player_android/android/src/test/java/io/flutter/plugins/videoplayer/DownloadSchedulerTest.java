@@ -0,0 +1,136 @@
+// Copyright 2013 The Flutter Authors. All rights reserved.
+// Use of this source code is governed by a BSD-style license that can be
+// found in the LICENSE file.
+
+package io.flutter.plugins.videoplayer;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertThrows;
+import static org.junit.Assert.assertTrue;
+
+import androidx.media3.exoplayer.offline.Download;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import org.junit.Test;
+
+/** Unit tests for {@link DownloadScheduler}. */
+public final class DownloadSchedulerTest {
+  // Stop reason changes in the order they were made, as "id=reason".
+  private final List<String> stopReasons = new ArrayList<>();
+  private final DownloadScheduler scheduler =
+      new DownloadScheduler((id, stopReason) -> stopReasons.add(id + "=" + stopReason), 2);
+
+  private static String preempted(String id) {
+    return id + "=" + DownloadScheduler.STOP_REASON_PREEMPTED;
+  }
+
+  private static String resumed(String id) {
+    return id + "=" + Download.STOP_REASON_NONE;
+  }
+
+  @Test
+  public void holdsBackDownloadsBeyondTheLimitInOrder() {
+    scheduler.add("a", DownloadScheduler.PRIORITY_BACKGROUND);
+    scheduler.add("b", DownloadScheduler.PRIORITY_BACKGROUND);
+    scheduler.add("c", DownloadScheduler.PRIORITY_BACKGROUND);
+    scheduler.add("d", DownloadScheduler.PRIORITY_BACKGROUND);
+
+    assertEquals(Arrays.asList(preempted("c"), preempted("d")), stopReasons);
+
+    stopReasons.clear();
+    scheduler.remove("a");
+    assertEquals(Collections.singletonList(resumed("c")), stopReasons);
+  }
+
+  @Test
+  public void urgentDownloadPreemptsRunningOne() {
+    scheduler.add("a", DownloadScheduler.PRIORITY_BACKGROUND);
+    scheduler.add("b", DownloadScheduler.PRIORITY_NEXT);
+
+    scheduler.add("c", DownloadScheduler.PRIORITY_VISIBLE);
+
+    assertEquals(Collections.singletonList(preempted("a")), stopReasons);
+    assertTrue(scheduler.isRunning("b"));
+    assertTrue(scheduler.isRunning("c"));
+
+    // The preempted download resumes once a slot is free.
+    stopReasons.clear();
+    scheduler.remove("c");
+    assertEquals(Collections.singletonList(resumed("a")), stopReasons);
+  }
+
+  @Test
+  public void equalPriorityDoesNotPreempt() {
+    scheduler.add("a", DownloadScheduler.PRIORITY_NEXT);
+    scheduler.add("b", DownloadScheduler.PRIORITY_NEXT);
+    scheduler.add("c", DownloadScheduler.PRIORITY_NEXT);
+    stopReasons.clear();
+
+    // "c" takes the slot of the demoted "a", and keeps it once "a" is promoted back.
+    scheduler.setPriority("a", DownloadScheduler.PRIORITY_BACKGROUND);
+    scheduler.setPriority("a", DownloadScheduler.PRIORITY_NEXT);
+
+    assertEquals(Arrays.asList(preempted("a"), resumed("c")), stopReasons);
+    assertFalse(scheduler.isRunning("a"));
+  }
+
+  @Test
+  public void reprioritizingAsUserScrolls() {
+    scheduler.add("a", DownloadScheduler.PRIORITY_VISIBLE);
+    scheduler.add("b", DownloadScheduler.PRIORITY_NEXT);
+    scheduler.add("c", DownloadScheduler.PRIORITY_BACKGROUND);
+    stopReasons.clear();
+
+    // "c" scrolls into view and "a" out of it.
+    assertTrue(scheduler.setPriority("c", DownloadScheduler.PRIORITY_VISIBLE));
+    assertTrue(scheduler.setPriority("a", DownloadScheduler.PRIORITY_BACKGROUND));
+
+    assertEquals(
+        Arrays.asList(preempted("b"), resumed("c"), preempted("a"), resumed("b")), stopReasons);
+    assertFalse(scheduler.isRunning("a"));
+  }
+
+  @Test
+  public void restoresDownloadsWithTheirStopReason() {
+    scheduler.restore("a", DownloadScheduler.STOP_REASON_PREEMPTED);
+    scheduler.restore("b", Download.STOP_REASON_NONE);
+
+    // "a" takes the free slot.
+    assertEquals(Collections.singletonList(resumed("a")), stopReasons);
+
+    stopReasons.clear();
+    scheduler.add("c", DownloadScheduler.PRIORITY_NEXT);
+    assertEquals(Collections.singletonList(preempted("b")), stopReasons);
+  }
+
+  @Test
+  public void restoreKeepsScheduledDownload() {
+    scheduler.add("a", DownloadScheduler.PRIORITY_VISIBLE);
+    scheduler.add("b", DownloadScheduler.PRIORITY_VISIBLE);
+    scheduler.add("c", DownloadScheduler.PRIORITY_NEXT);
+    stopReasons.clear();
+
+    scheduler.restore("c", Download.STOP_REASON_NONE);
+
+    assertTrue(stopReasons.isEmpty());
+    assertFalse(scheduler.isRunning("c"));
+  }
+
+  @Test
+  public void ignoresUnknownDownloads() {
+    assertFalse(scheduler.setPriority("a", DownloadScheduler.PRIORITY_VISIBLE));
+    scheduler.remove("a");
+
+    assertTrue(stopReasons.isEmpty());
+  }
+
+  @Test
+  public void rejectsUnknownPriority() {
+    assertThrows(IllegalArgumentException.class, () -> scheduler.add("a", 3));
+    assertThrows(
+        IllegalArgumentException.class, () -> new DownloadScheduler((id, reason) -> {}, 0));
+  }
+}
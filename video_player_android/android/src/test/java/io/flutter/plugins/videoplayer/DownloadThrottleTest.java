@@ -0,0 +1,171 @@
+// Copyright 2013 The Flutter Authors. All rights reserved.
+// Use of this source code is governed by a BSD-style license that can be
+// found in the LICENSE file.
+
+package io.flutter.plugins.videoplayer;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertThrows;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Mockito.when;
+import static org.robolectric.Shadows.shadowOf;
+
+import android.os.Handler;
+import android.os.Looper;
+import androidx.media3.common.Player;
+import androidx.media3.exoplayer.upstream.BandwidthMeter;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.junit.MockitoJUnit;
+import org.mockito.junit.MockitoRule;
+import org.robolectric.RobolectricTestRunner;
+
+/** Unit tests for {@link DownloadThrottle}. */
+@RunWith(RobolectricTestRunner.class)
+public final class DownloadThrottleTest {
+  private static final long MIN_BUFFER_MS = 4_000;
+
+  @Mock private Player mockPlayer;
+  @Mock private BandwidthMeter mockBandwidthMeter;
+
+  @Rule public MockitoRule initRule = MockitoJUnit.rule();
+
+  private final List<Player> players = new ArrayList<>();
+  private final TokenBucket tokenBucket = new TokenBucket();
+  private DownloadThrottle throttle;
+
+  @Before
+  public void setUp() {
+    throttle =
+        new DownloadThrottle(
+            tokenBucket, mockBandwidthMeter, () -> players, new Handler(Looper.getMainLooper()));
+    throttle.setEnabled(true, MIN_BUFFER_MS);
+    // 8 Mbit/s, so 100 kB/s while backing off.
+    when(mockBandwidthMeter.getBitrateEstimate()).thenReturn(8_000_000L);
+    players.add(mockPlayer);
+    setPlaying(true);
+  }
+
+  private void setPlaying(boolean playing) {
+    when(mockPlayer.getPlayWhenReady()).thenReturn(playing);
+    when(mockPlayer.getPlaybackState()).thenReturn(Player.STATE_READY);
+    when(mockPlayer.isLoading()).thenReturn(true);
+  }
+
+  private void setBufferedMs(long bufferedMs) {
+    when(mockPlayer.getTotalBufferedDuration()).thenReturn(bufferedMs);
+  }
+
+  private static void advance(long ms) {
+    shadowOf(Looper.getMainLooper()).idleFor(Duration.ofMillis(ms));
+  }
+
+  @Test
+  public void backsOffWhilePlayingVideoIsShortOfBuffer() {
+    setBufferedMs(MIN_BUFFER_MS - 1);
+    throttle.start();
+    assertFalse(throttle.isBackingOff());
+
+    advance(DownloadThrottle.CHECK_INTERVAL_MS);
+
+    assertTrue(throttle.isBackingOff());
+    assertEquals(100_000, tokenBucket.getRate());
+  }
+
+  @Test
+  public void recoversOnceBufferIsHalfAgainTheMinimum() {
+    setBufferedMs(MIN_BUFFER_MS - 1);
+    throttle.start();
+    advance(DownloadThrottle.CHECK_INTERVAL_MS);
+
+    setBufferedMs(MIN_BUFFER_MS);
+    advance(DownloadThrottle.CHECK_INTERVAL_MS);
+    assertTrue(throttle.isBackingOff());
+
+    setBufferedMs(MIN_BUFFER_MS * 3 / 2);
+    advance(DownloadThrottle.CHECK_INTERVAL_MS);
+    assertFalse(throttle.isBackingOff());
+    assertEquals(TokenBucket.UNLIMITED, tokenBucket.getRate());
+  }
+
+  @Test
+  public void ignoresPausedVideo() {
+    setPlaying(false);
+    setBufferedMs(0);
+    throttle.start();
+
+    advance(DownloadThrottle.CHECK_INTERVAL_MS);
+
+    assertFalse(throttle.isBackingOff());
+  }
+
+  @Test
+  public void ignoresVideoThatIsFullyLoaded() {
+    when(mockPlayer.isLoading()).thenReturn(false);
+    setBufferedMs(0);
+    throttle.start();
+
+    advance(DownloadThrottle.CHECK_INTERVAL_MS);
+
+    assertFalse(throttle.isBackingOff());
+  }
+
+  @Test
+  public void keepsDownloadsMovingOnSlowNetworks() {
+    when(mockBandwidthMeter.getBitrateEstimate()).thenReturn(100_000L);
+    setBufferedMs(0);
+    throttle.start();
+
+    advance(DownloadThrottle.CHECK_INTERVAL_MS);
+
+    assertEquals(DownloadThrottle.MIN_BACKOFF_BYTES_PER_SECOND, tokenBucket.getRate());
+  }
+
+  @Test
+  public void stopsOnceThereAreNoPlayers() {
+    setBufferedMs(0);
+    throttle.start();
+    advance(DownloadThrottle.CHECK_INTERVAL_MS);
+
+    players.clear();
+    advance(DownloadThrottle.CHECK_INTERVAL_MS);
+
+    assertFalse(throttle.isBackingOff());
+    assertEquals(TokenBucket.UNLIMITED, tokenBucket.getRate());
+
+    // Checks resume with the next player only.
+    players.add(mockPlayer);
+    advance(DownloadThrottle.CHECK_INTERVAL_MS);
+    assertFalse(throttle.isBackingOff());
+    throttle.start();
+    advance(DownloadThrottle.CHECK_INTERVAL_MS);
+    assertTrue(throttle.isBackingOff());
+  }
+
+  @Test
+  public void disablingLiftsTheLimit() {
+    setBufferedMs(0);
+    throttle.start();
+    advance(DownloadThrottle.CHECK_INTERVAL_MS);
+
+    throttle.setEnabled(false, MIN_BUFFER_MS);
+    assertFalse(throttle.isBackingOff());
+    advance(DownloadThrottle.CHECK_INTERVAL_MS);
+    assertFalse(throttle.isBackingOff());
+
+    throttle.setEnabled(true, MIN_BUFFER_MS);
+    assertTrue(throttle.isBackingOff());
+  }
+
+  @Test
+  public void rejectsInvalidMinBuffer() {
+    assertThrows(IllegalArgumentException.class, () -> throttle.setEnabled(true, 0));
+  }
+}
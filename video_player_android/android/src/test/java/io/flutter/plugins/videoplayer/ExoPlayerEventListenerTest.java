@@ -7,13 +7,17 @@ package io.flutter.plugins.videoplayer;
 import static org.mockito.ArgumentMatchers.contains;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.verifyNoMoreInteractions;
 import static org.mockito.Mockito.when;
 
+import androidx.media3.common.C;
+import androidx.media3.common.MediaItem;
 import androidx.media3.common.PlaybackException;
 import androidx.media3.common.Player;
+import androidx.media3.common.Timeline;
 import androidx.media3.exoplayer.ExoPlayer;
 import org.junit.Before;
 import org.junit.Rule;
@@ -64,11 +68,11 @@ public final class ExoPlayerEventListenerTest {
     eventListener.onPlaybackStateChanged(Player.STATE_BUFFERING);
 
     verify(mockCallbacks).onBufferingStart();
-    verify(mockCallbacks).onBufferingUpdate(10L);
+    verify(mockCallbacks).onBufferingUpdate(0L, 10L);
     verifyNoMoreInteractions(mockCallbacks);
 
     // If it's invoked again, only the update event is called.
-    verify(mockCallbacks).onBufferingUpdate(10L);
+    verify(mockCallbacks).onBufferingUpdate(0L, 10L);
     verifyNoMoreInteractions(mockCallbacks);
   }
 
@@ -85,7 +89,7 @@ public final class ExoPlayerEventListenerTest {
     when(mockExoPlayer.getBufferedPosition()).thenReturn(10L);
     eventListener.onPlaybackStateChanged(Player.STATE_BUFFERING);
     verify(mockCallbacks).onBufferingStart();
-    verify(mockCallbacks).onBufferingUpdate(10L);
+    verify(mockCallbacks).onBufferingUpdate(0L, 10L);
 
     eventListener.onPlaybackStateChanged(Player.STATE_ENDED);
     verify(mockCallbacks).onCompleted();
@@ -106,7 +110,7 @@ public final class ExoPlayerEventListenerTest {
     when(mockExoPlayer.getBufferedPosition()).thenReturn(10L);
     eventListener.onPlaybackStateChanged(Player.STATE_BUFFERING);
     verify(mockCallbacks).onBufferingStart();
-    verify(mockCallbacks).onBufferingUpdate(10L);
+    verify(mockCallbacks).onBufferingUpdate(0L, 10L);
 
     eventListener.onPlaybackStateChanged(Player.STATE_IDLE);
     verify(mockCallbacks).onBufferingEnd();
@@ -119,7 +123,7 @@ public final class ExoPlayerEventListenerTest {
     when(mockExoPlayer.getBufferedPosition()).thenReturn(10L);
     eventListener.onPlaybackStateChanged(Player.STATE_BUFFERING);
     verify(mockCallbacks).onBufferingStart();
-    verify(mockCallbacks).onBufferingUpdate(10L);
+    verify(mockCallbacks).onBufferingUpdate(0L, 10L);
 
     eventListener.onPlayerError(
         new PlaybackException("BAD", null, PlaybackException.ERROR_CODE_AUDIO_TRACK_INIT_FAILED));
@@ -145,4 +149,45 @@ public final class ExoPlayerEventListenerTest {
     eventListener.onIsPlayingChanged(false);
     verify(mockCallbacks).onIsPlayingStateUpdate(false);
   }
+
+  @Test
+  public void onMediaItemTransitionSendsPlaylistItemChanged() {
+    when(mockExoPlayer.getCurrentMediaItemIndex()).thenReturn(1);
+    when(mockExoPlayer.getDuration()).thenReturn(30000L);
+
+    eventListener.onMediaItemTransition(
+        MediaItem.fromUri("https://example.com/next.mp4"),
+        Player.MEDIA_ITEM_TRANSITION_REASON_AUTO);
+
+    verify(mockCallbacks).onPlaylistItemChanged(1, 30000L);
+  }
+
+  @Test
+  public void onMediaItemTransitionWaitsForDurationOfNewItem() {
+    when(mockExoPlayer.getCurrentMediaItemIndex()).thenReturn(1);
+    when(mockExoPlayer.getDuration()).thenReturn(C.TIME_UNSET);
+
+    eventListener.onMediaItemTransition(
+        MediaItem.fromUri("https://example.com/next.mp4"),
+        Player.MEDIA_ITEM_TRANSITION_REASON_AUTO);
+    verifyNoInteractions(mockCallbacks);
+
+    when(mockExoPlayer.getDuration()).thenReturn(30000L);
+    eventListener.onTimelineChanged(
+        mock(Timeline.class), Player.TIMELINE_CHANGE_REASON_SOURCE_UPDATE);
+    eventListener.onTimelineChanged(
+        mock(Timeline.class), Player.TIMELINE_CHANGE_REASON_SOURCE_UPDATE);
+
+    verify(mockCallbacks).onPlaylistItemChanged(1, 30000L);
+    verifyNoMoreInteractions(mockCallbacks);
+  }
+
+  @Test
+  public void onMediaItemTransitionIgnoresRepeatOfSameItem() {
+    eventListener.onMediaItemTransition(
+        MediaItem.fromUri("https://example.com/video.mp4"),
+        Player.MEDIA_ITEM_TRANSITION_REASON_REPEAT);
+
+    verifyNoInteractions(mockCallbacks);
+  }
 }
@@ -0,0 +1,157 @@
+// Copyright 2013 The Flutter Authors. All rights reserved.
+// Use of this source code is governed by a BSD-style license that can be
+// found in the LICENSE file.
+
+package io.flutter.plugins.videoplayer;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import androidx.media3.common.MediaItem;
+import androidx.media3.common.TrackSelectionParameters;
+import androidx.media3.exoplayer.ExoPlayer;
+import androidx.media3.exoplayer.source.MediaSource;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+
+/** Unit tests for {@link ExoPlayerPool}. */
+@RunWith(RobolectricTestRunner.class)
+public final class ExoPlayerPoolTest {
+  private final List<MediaSource.Factory> builtWithFactories = new ArrayList<>();
+
+  private ExoPlayerPool createPool(int maxIdlePlayers) {
+    return new ExoPlayerPool(
+        maxIdlePlayers,
+        mediaSourceFactory -> {
+          builtWithFactories.add(mediaSourceFactory);
+          ExoPlayer exoPlayer = mock(ExoPlayer.class);
+          when(exoPlayer.getTrackSelectionParameters())
+              .thenReturn(TrackSelectionParameters.DEFAULT_WITHOUT_CONTEXT);
+          return exoPlayer;
+        });
+  }
+
+  @Test
+  public void reusesRecycledPlayer() {
+    ExoPlayerPool pool = createPool(2);
+
+    ExoPlayerPool.PooledPlayer first = pool.lease(mock(MediaSource.Factory.class));
+    pool.recycle(first);
+    ExoPlayerPool.PooledPlayer second = pool.lease(mock(MediaSource.Factory.class));
+
+    assertSame(first.exoPlayer, second.exoPlayer);
+    assertEquals(1, builtWithFactories.size());
+    assertEquals(1, pool.getHitCount());
+    assertEquals(1, pool.getMissCount());
+    assertEquals(0, pool.getIdleCount());
+    assertEquals(pool.getAverageCreationTimeUs(), pool.getCreationTimeSavedUs());
+  }
+
+  @Test
+  public void buildsNewPlayerWhenPoolIsEmpty() {
+    ExoPlayerPool pool = createPool(2);
+
+    ExoPlayerPool.PooledPlayer first = pool.lease(mock(MediaSource.Factory.class));
+    ExoPlayerPool.PooledPlayer second = pool.lease(mock(MediaSource.Factory.class));
+
+    assertNotSame(first.exoPlayer, second.exoPlayer);
+    assertEquals(0, pool.getHitCount());
+    assertEquals(2, pool.getMissCount());
+  }
+
+  @Test
+  public void recycleResetsPlayer() {
+    ExoPlayerPool pool = createPool(2);
+    ExoPlayerPool.PooledPlayer pooled = pool.lease(mock(MediaSource.Factory.class));
+
+    pool.recycle(pooled);
+
+    verify(pooled.exoPlayer).stop();
+    verify(pooled.exoPlayer).clearMediaItems();
+    verify(pooled.exoPlayer).clearVideoSurface();
+    verify(pooled.exoPlayer).setPlayWhenReady(false);
+    verify(pooled.exoPlayer, never()).release();
+    assertEquals(1, pool.getIdleCount());
+  }
+
+  @Test
+  public void recycleDropsTrackOverrides() {
+    ExoPlayerPool pool = createPool(2);
+    ExoPlayerPool.PooledPlayer pooled = pool.lease(mock(MediaSource.Factory.class));
+    when(pooled.exoPlayer.getTrackSelectionParameters())
+        .thenReturn(
+            TrackSelectionParameters.DEFAULT_WITHOUT_CONTEXT
+                .buildUpon()
+                .setMaxVideoBitrate(1_000_000)
+                .build());
+
+    pool.recycle(pooled);
+
+    verify(pooled.exoPlayer)
+        .setTrackSelectionParameters(TrackSelectionParameters.DEFAULT_WITHOUT_CONTEXT);
+  }
+
+  @Test
+  public void recycleReleasesPlayerWhenPoolIsFull() {
+    ExoPlayerPool pool = createPool(1);
+    ExoPlayerPool.PooledPlayer first = pool.lease(mock(MediaSource.Factory.class));
+    ExoPlayerPool.PooledPlayer second = pool.lease(mock(MediaSource.Factory.class));
+
+    pool.recycle(first);
+    pool.recycle(second);
+
+    verify(first.exoPlayer, never()).release();
+    verify(second.exoPlayer).release();
+    assertEquals(1, pool.getIdleCount());
+  }
+
+  @Test
+  public void reusedPlayerCreatesMediaSourcesWithFactoryOfCurrentLease() {
+    ExoPlayerPool pool = createPool(1);
+    MediaSource.Factory firstAssetFactory = mock(MediaSource.Factory.class);
+    MediaSource.Factory secondAssetFactory = mock(MediaSource.Factory.class);
+    MediaItem mediaItem = MediaItem.fromUri("https://flutter.dev/movie.mp4");
+
+    pool.recycle(pool.lease(firstAssetFactory));
+    pool.lease(secondAssetFactory);
+    builtWithFactories.get(0).createMediaSource(mediaItem);
+
+    verify(secondAssetFactory).createMediaSource(mediaItem);
+    verify(firstAssetFactory, never()).createMediaSource(mediaItem);
+  }
+
+  @Test
+  public void shrinkingPoolReleasesExcessIdlePlayers() {
+    ExoPlayerPool pool = createPool(2);
+    ExoPlayerPool.PooledPlayer first = pool.lease(mock(MediaSource.Factory.class));
+    ExoPlayerPool.PooledPlayer second = pool.lease(mock(MediaSource.Factory.class));
+    pool.recycle(first);
+    pool.recycle(second);
+
+    pool.setMaxIdlePlayers(0);
+
+    verify(first.exoPlayer).release();
+    verify(second.exoPlayer).release();
+    assertEquals(0, pool.getIdleCount());
+  }
+
+  @Test
+  public void playersLeasedBeforeClearAreNotPooled() {
+    ExoPlayerPool pool = createPool(2);
+    ExoPlayerPool.PooledPlayer pooled = pool.lease(mock(MediaSource.Factory.class));
+
+    pool.clear();
+    pool.recycle(pooled);
+
+    verify(pooled.exoPlayer).release();
+    assertEquals(0, pool.getIdleCount());
+  }
+}
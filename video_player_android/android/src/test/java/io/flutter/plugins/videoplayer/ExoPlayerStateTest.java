@@ -0,0 +1,143 @@
+// Copyright 2013 The Flutter Authors. All rights reserved.
+// Use of this source code is governed by a BSD-style license that can be
+// found in the LICENSE file.
+
+package io.flutter.plugins.videoplayer;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import androidx.media3.common.C;
+import androidx.media3.common.Format;
+import androidx.media3.common.MimeTypes;
+import androidx.media3.common.PlaybackParameters;
+import androidx.media3.common.Player;
+import androidx.media3.common.TrackGroup;
+import androidx.media3.common.TrackSelectionOverride;
+import androidx.media3.common.TrackSelectionParameters;
+import androidx.media3.common.Tracks;
+import androidx.media3.exoplayer.ExoPlayer;
+import java.util.Arrays;
+import java.util.Collections;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Captor;
+import org.mockito.Mock;
+import org.mockito.junit.MockitoJUnit;
+import org.mockito.junit.MockitoRule;
+import org.robolectric.RobolectricTestRunner;
+
+/** Unit tests for {@link ExoPlayerState}. */
+@RunWith(RobolectricTestRunner.class)
+public final class ExoPlayerStateTest {
+  private static final TrackGroup VIDEO_GROUP =
+      new TrackGroup(
+          "video",
+          videoFormat("low", 500_000),
+          videoFormat("mid", 1_500_000),
+          videoFormat("high", 4_000_000));
+
+  @Mock private ExoPlayer mockSavedPlayer;
+  @Mock private ExoPlayer mockRestoredPlayer;
+  @Captor private ArgumentCaptor<TrackSelectionParameters> parametersCaptor;
+  @Captor private ArgumentCaptor<Player.Listener> listenerCaptor;
+
+  @Rule public MockitoRule initRule = MockitoJUnit.rule();
+
+  private static Format videoFormat(String id, int bitrate) {
+    return new Format.Builder()
+        .setId(id)
+        .setSampleMimeType(MimeTypes.VIDEO_H264)
+        .setAverageBitrate(bitrate)
+        .build();
+  }
+
+  private static Tracks tracksWithSelected(int selectedIndex) {
+    boolean[] selected = new boolean[VIDEO_GROUP.length];
+    selected[selectedIndex] = true;
+    int[] support = new int[VIDEO_GROUP.length];
+    Arrays.fill(support, C.FORMAT_HANDLED);
+    return new Tracks(
+        Collections.singletonList(
+            new Tracks.Group(VIDEO_GROUP, /* adaptiveSupported= */ true, support, selected)));
+  }
+
+  @Before
+  public void setUp() {
+    when(mockSavedPlayer.getPlaybackParameters()).thenReturn(PlaybackParameters.DEFAULT);
+    when(mockSavedPlayer.getCurrentTracks()).thenReturn(Tracks.EMPTY);
+    when(mockSavedPlayer.getTrackSelectionParameters())
+        .thenReturn(TrackSelectionParameters.DEFAULT_WITHOUT_CONTEXT);
+  }
+
+  @Test
+  public void restoresPlayWhenReady() {
+    when(mockSavedPlayer.getPlayWhenReady()).thenReturn(true);
+
+    ExoPlayerState.save(mockSavedPlayer).restore(mockRestoredPlayer);
+
+    verify(mockRestoredPlayer).setPlayWhenReady(true);
+  }
+
+  @Test
+  public void restoresTrackSelectionParameters() {
+    TrackSelectionParameters parameters =
+        TrackSelectionParameters.DEFAULT_WITHOUT_CONTEXT
+            .buildUpon()
+            .setPreferredAudioLanguage("de")
+            .build();
+    when(mockSavedPlayer.getTrackSelectionParameters()).thenReturn(parameters);
+
+    ExoPlayerState.save(mockSavedPlayer).restore(mockRestoredPlayer);
+
+    verify(mockRestoredPlayer).setTrackSelectionParameters(parameters);
+    verify(mockRestoredPlayer, never()).addListener(listenerCaptor.capture());
+  }
+
+  @Test
+  public void startsAtPreviousRenditionUntilFirstFrame() {
+    when(mockSavedPlayer.getCurrentTracks()).thenReturn(tracksWithSelected(2));
+
+    Player.Listener firstFrameListener =
+        ExoPlayerState.save(mockSavedPlayer).restore(mockRestoredPlayer);
+
+    verify(mockRestoredPlayer).setTrackSelectionParameters(parametersCaptor.capture());
+    TrackSelectionOverride override = parametersCaptor.getValue().overrides.get(VIDEO_GROUP);
+    assertEquals(Collections.singletonList(2), override.trackIndices);
+
+    // Once a frame is rendered, the override is lifted and adaptive selection takes over.
+    when(mockRestoredPlayer.getTrackSelectionParameters()).thenReturn(parametersCaptor.getValue());
+    verify(mockRestoredPlayer).addListener(listenerCaptor.capture());
+    assertSame(firstFrameListener, listenerCaptor.getValue());
+    listenerCaptor.getValue().onRenderedFirstFrame();
+
+    verify(mockRestoredPlayer).removeListener(listenerCaptor.getValue());
+    verify(mockRestoredPlayer, times(2))
+        .setTrackSelectionParameters(parametersCaptor.capture());
+    assertTrue(parametersCaptor.getValue().overrides.isEmpty());
+  }
+
+  @Test
+  public void keepsExplicitOverrideOfSelectedRendition() {
+    TrackSelectionParameters parameters =
+        TrackSelectionParameters.DEFAULT_WITHOUT_CONTEXT
+            .buildUpon()
+            .setOverrideForType(new TrackSelectionOverride(VIDEO_GROUP, 1))
+            .build();
+    when(mockSavedPlayer.getTrackSelectionParameters()).thenReturn(parameters);
+    when(mockSavedPlayer.getCurrentTracks()).thenReturn(tracksWithSelected(1));
+
+    ExoPlayerState.save(mockSavedPlayer).restore(mockRestoredPlayer);
+
+    verify(mockRestoredPlayer).setTrackSelectionParameters(parameters);
+    verify(mockRestoredPlayer, never()).addListener(listenerCaptor.capture());
+  }
+}
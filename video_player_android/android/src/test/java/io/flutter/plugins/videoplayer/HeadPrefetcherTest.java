@@ -0,0 +1,125 @@
+// Copyright 2013 The Flutter Authors. All rights reserved.
+// Use of this source code is governed by a BSD-style license that can be
+// found in the LICENSE file.
+
+package io.flutter.plugins.videoplayer;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import android.net.Uri;
+import androidx.media3.common.C;
+import androidx.media3.datasource.cache.NoOpCacheEvictor;
+import androidx.media3.datasource.cache.SimpleCache;
+import androidx.media3.test.utils.FakeDataSet;
+import androidx.media3.test.utils.FakeDataSource;
+import androidx.media3.test.utils.TestUtil;
+import java.nio.charset.StandardCharsets;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+
+/** Unit tests for {@link HeadPrefetcher}. */
+@RunWith(RobolectricTestRunner.class)
+public final class HeadPrefetcherTest {
+  private static final String MULTIVARIANT_URL = "https://example.com/master.m3u8";
+  private static final String LOW_URL = "https://example.com/low.m3u8";
+  private static final String HIGH_URL = "https://example.com/high.m3u8";
+
+  private static final String MULTIVARIANT_PLAYLIST =
+      "#EXTM3U\n"
+          + "#EXT-X-STREAM-INF:BANDWIDTH=500000\n"
+          + "low.m3u8\n"
+          + "#EXT-X-STREAM-INF:BANDWIDTH=2000000\n"
+          + "high.m3u8\n";
+
+  @Rule public final TemporaryFolder tempFolder = new TemporaryFolder();
+
+  private SimpleCache cache;
+  private HeadPrefetcher prefetcher;
+
+  @Before
+  public void setUp() throws Exception {
+    cache =
+        new SimpleCache(
+            tempFolder.newFolder(), new NoOpCacheEvictor(), TestUtil.getInMemoryDatabaseProvider());
+    FakeDataSet dataSet =
+        new FakeDataSet()
+            .setData(MULTIVARIANT_URL, MULTIVARIANT_PLAYLIST.getBytes(StandardCharsets.UTF_8))
+            .setData(LOW_URL, mediaPlaylist("low").getBytes(StandardCharsets.UTF_8))
+            .setData(HIGH_URL, mediaPlaylist("high").getBytes(StandardCharsets.UTF_8));
+    for (String rendition : new String[] {"low", "high"}) {
+      for (int i = 0; i < 3; i++) {
+        dataSet.setRandomData(segmentUrl(rendition, i), 100);
+      }
+    }
+    prefetcher =
+        new HeadPrefetcher(cache, new FakeDataSource.Factory().setFakeDataSet(dataSet));
+  }
+
+  @After
+  public void tearDown() {
+    cache.release();
+  }
+
+  private static String mediaPlaylist(String rendition) {
+    StringBuilder playlist =
+        new StringBuilder("#EXTM3U\n#EXT-X-TARGETDURATION:4\n#EXT-X-MEDIA-SEQUENCE:0\n");
+    for (int i = 0; i < 3; i++) {
+      playlist.append("#EXTINF:4.0,\n").append(rendition).append(i).append(".ts\n");
+    }
+    return playlist.append("#EXT-X-ENDLIST\n").toString();
+  }
+
+  private static String segmentUrl(String rendition, int index) {
+    return "https://example.com/" + rendition + index + ".ts";
+  }
+
+  private boolean isCached(String url) {
+    return !cache.getCachedSpans(url).isEmpty();
+  }
+
+  @Test
+  public void cachesManifestsAndSegmentsCoveringTheHead() throws Exception {
+    long bytes =
+        prefetcher.prefetch(
+            Uri.parse(MULTIVARIANT_URL), C.CONTENT_TYPE_HLS, 5_000_000, Integer.MAX_VALUE);
+
+    assertTrue(isCached(MULTIVARIANT_URL));
+    assertTrue(isCached(HIGH_URL));
+    assertTrue(isCached(segmentUrl("high", 0)));
+    assertTrue(isCached(segmentUrl("high", 1)));
+    assertFalse(isCached(segmentUrl("high", 2)));
+    assertEquals(200, bytes);
+  }
+
+  @Test
+  public void selectsHighestRenditionWithinBitrateLimit() throws Exception {
+    prefetcher.prefetch(Uri.parse(MULTIVARIANT_URL), C.CONTENT_TYPE_HLS, 1_000_000, 1_000_000);
+
+    assertTrue(isCached(segmentUrl("low", 0)));
+    assertFalse(isCached(HIGH_URL));
+  }
+
+  @Test
+  public void selectsLowestRenditionIfAllExceedBitrateLimit() throws Exception {
+    prefetcher.prefetch(Uri.parse(MULTIVARIANT_URL), C.CONTENT_TYPE_HLS, 1_000_000, 1);
+
+    assertTrue(isCached(segmentUrl("low", 0)));
+  }
+
+  @Test
+  public void secondPrefetchIsServedFromCache() throws Exception {
+    prefetcher.prefetch(Uri.parse(MULTIVARIANT_URL), C.CONTENT_TYPE_HLS, 5_000_000, 1);
+
+    long bytes =
+        prefetcher.prefetch(Uri.parse(MULTIVARIANT_URL), C.CONTENT_TYPE_HLS, 5_000_000, 1);
+
+    assertEquals(0, bytes);
+  }
+}
@@ -0,0 +1,70 @@
+// Copyright 2013 The Flutter Authors. All rights reserved.
+// Use of this source code is governed by a BSD-style license that can be
+// found in the LICENSE file.
+
+package io.flutter.plugins.videoplayer;
+
+import static org.junit.Assert.assertEquals;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+
+import io.flutter.plugin.common.BinaryMessenger;
+import java.nio.ByteBuffer;
+import org.junit.Test;
+import org.mockito.ArgumentCaptor;
+
+/** Unit tests for {@link MetricsBinaryMessenger}. */
+public final class MetricsBinaryMessengerTest {
+  private static final String CREATE_CHANNEL =
+      "dev.flutter.pigeon.video_player_android.AndroidVideoPlayerApi.create";
+
+  private final BinaryMessenger messenger = mock(BinaryMessenger.class);
+  private final MetricsRegistry metrics = new MetricsRegistry();
+
+  @Test
+  public void namesMetricAfterPigeonMethod() {
+    assertEquals("pigeon.create", MetricsBinaryMessenger.metricName(CREATE_CHANNEL));
+    assertEquals("pigeon.create", MetricsBinaryMessenger.metricName(CREATE_CHANNEL + ".suffix"));
+    assertEquals("channel.other", MetricsBinaryMessenger.metricName("other"));
+  }
+
+  @Test
+  public void recordsCallOnceReplied() {
+    new MetricsBinaryMessenger(messenger, metrics)
+        .setMessageHandler(CREATE_CHANNEL, (message, reply) -> reply.reply(null));
+    ArgumentCaptor<BinaryMessenger.BinaryMessageHandler> handler =
+        ArgumentCaptor.forClass(BinaryMessenger.BinaryMessageHandler.class);
+    verify(messenger).setMessageHandler(eq(CREATE_CHANNEL), handler.capture());
+    BinaryMessenger.BinaryReply reply = mock(BinaryMessenger.BinaryReply.class);
+
+    handler.getValue().onMessage(ByteBuffer.allocateDirect(0), reply);
+
+    verify(reply).reply(null);
+    assertEquals(1, metrics.histogram("pigeon.create").snapshot().count);
+  }
+
+  @Test
+  public void doesNotRecordUntilAsyncReply() {
+    BinaryMessenger.BinaryReply[] pendingReply = new BinaryMessenger.BinaryReply[1];
+    new MetricsBinaryMessenger(messenger, metrics)
+        .setMessageHandler(CREATE_CHANNEL, (message, reply) -> pendingReply[0] = reply);
+    ArgumentCaptor<BinaryMessenger.BinaryMessageHandler> handler =
+        ArgumentCaptor.forClass(BinaryMessenger.BinaryMessageHandler.class);
+    verify(messenger).setMessageHandler(eq(CREATE_CHANNEL), handler.capture());
+
+    handler.getValue().onMessage(null, mock(BinaryMessenger.BinaryReply.class));
+    assertEquals(0, metrics.histogram("pigeon.create").snapshot().count);
+
+    pendingReply[0].reply(null);
+    assertEquals(1, metrics.histogram("pigeon.create").snapshot().count);
+  }
+
+  @Test
+  public void passesRemovedHandlerThrough() {
+    new MetricsBinaryMessenger(messenger, metrics).setMessageHandler(CREATE_CHANNEL, null);
+
+    verify(messenger).setMessageHandler(eq(CREATE_CHANNEL), isNull());
+  }
+}
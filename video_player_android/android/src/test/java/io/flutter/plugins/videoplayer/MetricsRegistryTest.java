@@ -0,0 +1,97 @@
+// Copyright 2013 The Flutter Authors. All rights reserved.
+// Use of this source code is governed by a BSD-style license that can be
+// found in the LICENSE file.
+
+package io.flutter.plugins.videoplayer;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import org.junit.Test;
+
+/** Unit tests for {@link MetricsRegistry}. */
+public final class MetricsRegistryTest {
+  private final MetricsRegistry metrics = new MetricsRegistry();
+
+  @Test
+  public void returnsSameMetricForName() {
+    assertSame(metrics.counter("a"), metrics.counter("a"));
+    assertSame(metrics.histogram("a"), metrics.histogram("a"));
+  }
+
+  @Test
+  public void countsAcrossThreads() throws InterruptedException {
+    MetricsRegistry.Counter counter = metrics.counter("events");
+    List<Thread> threads = new ArrayList<>();
+    for (int i = 0; i < 8; i++) {
+      Thread thread =
+          new Thread(
+              () -> {
+                for (int j = 0; j < 10_000; j++) {
+                  counter.increment();
+                }
+              });
+      threads.add(thread);
+      thread.start();
+    }
+    for (Thread thread : threads) {
+      thread.join();
+    }
+
+    assertEquals(80_000, counter.get());
+  }
+
+  @Test
+  public void snapshotsCountersByName() {
+    metrics.counter("b").add(5);
+    metrics.counter("a").increment();
+
+    Map<String, Long> snapshot = metrics.snapshotCounters();
+
+    assertEquals(Arrays.asList("a", "b"), new ArrayList<>(snapshot.keySet()));
+    assertEquals(5L, (long) snapshot.get("b"));
+  }
+
+  @Test
+  public void summarizesHistogram() {
+    MetricsRegistry.Histogram histogram = metrics.histogram("latency");
+    for (int i = 1; i <= 100; i++) {
+      histogram.record(i);
+    }
+
+    MetricsRegistry.HistogramSnapshot snapshot = histogram.snapshot();
+
+    assertEquals(100, snapshot.count);
+    assertEquals(5050, snapshot.sum);
+    assertEquals(100, snapshot.max);
+    // Percentiles are the upper bound of their bucket: 50 is in [32, 64).
+    assertEquals(63, snapshot.p50);
+    // 90 and 99 are in [64, 128), whose bound is capped at the maximum.
+    assertEquals(100, snapshot.p90);
+    assertEquals(100, snapshot.p99);
+  }
+
+  @Test
+  public void recordsNegativeValuesAsZero() {
+    MetricsRegistry.Histogram histogram = metrics.histogram("latency");
+    histogram.record(-5);
+
+    MetricsRegistry.HistogramSnapshot snapshot = histogram.snapshot();
+
+    assertEquals(1, snapshot.count);
+    assertEquals(0, snapshot.sum);
+    assertEquals(0, snapshot.p99);
+  }
+
+  @Test
+  public void summarizesEmptyHistogram() {
+    MetricsRegistry.HistogramSnapshot snapshot = metrics.histogram("latency").snapshot();
+
+    assertEquals(0, snapshot.count);
+    assertEquals(0, snapshot.p50);
+  }
+}
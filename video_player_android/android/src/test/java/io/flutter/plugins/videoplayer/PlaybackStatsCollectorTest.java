@@ -0,0 +1,185 @@
+// Copyright 2013 The Flutter Authors. All rights reserved.
+// Use of this source code is governed by a BSD-style license that can be
+// found in the LICENSE file.
+
+package io.flutter.plugins.videoplayer;
+
+import static org.junit.Assert.assertEquals;
+import static org.mockito.Mockito.mock;
+
+import android.net.Uri;
+import androidx.annotation.Nullable;
+import androidx.media3.common.C;
+import androidx.media3.common.Format;
+import androidx.media3.common.MediaItem;
+import androidx.media3.common.Player;
+import androidx.media3.common.Timeline;
+import androidx.media3.datasource.DataSpec;
+import androidx.media3.exoplayer.analytics.AnalyticsListener.EventTime;
+import androidx.media3.exoplayer.source.LoadEventInfo;
+import androidx.media3.exoplayer.source.MediaLoadData;
+import androidx.media3.exoplayer.source.MediaSource.MediaPeriodId;
+import java.util.Collections;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+
+/** Unit tests for {@link PlaybackStatsCollector}. */
+@RunWith(RobolectricTestRunner.class)
+public final class PlaybackStatsCollectorTest {
+  private final PlaybackStatsCollector collector = new PlaybackStatsCollector(1000);
+
+  private static EventTime at(long realtimeMs) {
+    return at(realtimeMs, /* windowIndex= */ 0, /* mediaPeriodId= */ null);
+  }
+
+  private static EventTime at(
+      long realtimeMs, int windowIndex, @Nullable MediaPeriodId mediaPeriodId) {
+    return new EventTime(
+        realtimeMs,
+        Timeline.EMPTY,
+        windowIndex,
+        mediaPeriodId,
+        /* eventPlaybackPositionMs= */ 0,
+        Timeline.EMPTY,
+        /* currentWindowIndex= */ 0,
+        /* currentMediaPeriodId= */ null,
+        /* currentPlaybackPositionMs= */ 0,
+        /* totalBufferedDurationMs= */ 0);
+  }
+
+  private static MediaLoadData videoLoadData(int bitrate) {
+    return new MediaLoadData(
+        C.DATA_TYPE_MEDIA,
+        C.TRACK_TYPE_VIDEO,
+        new Format.Builder().setAverageBitrate(bitrate).setPeakBitrate(bitrate).build(),
+        C.SELECTION_REASON_ADAPTIVE,
+        /* trackSelectionData= */ null,
+        /* mediaStartTimeMs= */ 0,
+        /* mediaEndTimeMs= */ 4000);
+  }
+
+  private void startPlayback() {
+    collector.onPlayWhenReadyChanged(
+        at(1100), true, Player.PLAY_WHEN_READY_CHANGE_REASON_USER_REQUEST);
+    collector.onPlaybackStateChanged(at(1100), Player.STATE_BUFFERING);
+    collector.onPlaybackStateChanged(at(1350), Player.STATE_READY);
+    collector.onIsPlayingChanged(at(1350), true);
+  }
+
+  @Test
+  public void measuresStartup() {
+    collector.onRenderedFirstFrame(at(1300), new Object(), 0);
+    startPlayback();
+
+    assertEquals(300, collector.getTimeToFirstFrameMs());
+    assertEquals(250, collector.getJoinLatencyMs());
+    assertEquals(0, collector.getRebufferCount());
+  }
+
+  @Test
+  public void reportsStartupAsUnsetUntilItHappens() {
+    assertEquals(C.TIME_UNSET, collector.getTimeToFirstFrameMs());
+    assertEquals(C.TIME_UNSET, collector.getJoinLatencyMs());
+  }
+
+  @Test
+  public void measuresResumeFromReattachedSurface() {
+    collector.onRenderedFirstFrame(at(1300), new Object(), 0);
+    assertEquals(C.TIME_UNSET, collector.getResumeTimeMs());
+
+    collector.onSurfaceReattached(5000);
+    assertEquals(C.TIME_UNSET, collector.getResumeTimeMs());
+    collector.onRenderedFirstFrame(at(5040), new Object(), 0);
+    collector.onRenderedFirstFrame(at(6000), new Object(), 0);
+
+    assertEquals(40, collector.getResumeTimeMs());
+    assertEquals(300, collector.getTimeToFirstFrameMs());
+  }
+
+  @Test
+  public void countsStallsWhilePlaying() {
+    startPlayback();
+
+    collector.onPlaybackStateChanged(at(2000), Player.STATE_BUFFERING);
+    collector.onPlaybackStateChanged(at(2500), Player.STATE_READY);
+    collector.onPlaybackStateChanged(at(3000), Player.STATE_BUFFERING);
+
+    assertEquals(2, collector.getRebufferCount());
+    // The second stall is still ongoing.
+    assertEquals(500 + 200, collector.getRebufferDurationMs(3200));
+  }
+
+  @Test
+  public void doesNotCountBufferingAfterSeek() {
+    startPlayback();
+
+    collector.onPositionDiscontinuity(
+        at(2000),
+        mock(Player.PositionInfo.class),
+        mock(Player.PositionInfo.class),
+        Player.DISCONTINUITY_REASON_SEEK);
+    collector.onPlaybackStateChanged(at(2000), Player.STATE_BUFFERING);
+    collector.onPlaybackStateChanged(at(2400), Player.STATE_READY);
+
+    assertEquals(0, collector.getRebufferCount());
+    assertEquals(0, collector.getRebufferDurationMs(3000));
+  }
+
+  @Test
+  public void pausingEndsStall() {
+    startPlayback();
+
+    collector.onPlaybackStateChanged(at(2000), Player.STATE_BUFFERING);
+    collector.onPlayWhenReadyChanged(
+        at(2100), false, Player.PLAY_WHEN_READY_CHANGE_REASON_USER_REQUEST);
+
+    assertEquals(1, collector.getRebufferCount());
+    assertEquals(100, collector.getRebufferDurationMs(5000));
+  }
+
+  @Test
+  public void countsBitrateSwitchesOfVideo() {
+    collector.onDownstreamFormatChanged(at(1100), videoLoadData(500_000));
+    collector.onDownstreamFormatChanged(at(1200), videoLoadData(500_000));
+    collector.onDownstreamFormatChanged(at(1300), videoLoadData(1_500_000));
+    collector.onDownstreamFormatChanged(at(1400), videoLoadData(800_000));
+
+    assertEquals(2, collector.getBitrateSwitchCount());
+  }
+
+  @Test
+  public void doesNotCountBitrateChangesBetweenPlaylistItems() {
+    MediaPeriodId first = new MediaPeriodId(new Object(), /* windowSequenceNumber= */ 0);
+    MediaPeriodId second = new MediaPeriodId(new Object(), /* windowSequenceNumber= */ 1);
+    collector.onDownstreamFormatChanged(at(1100, 0, first), videoLoadData(500_000));
+    // The next item is loaded, and its format reported, before playback moves to it.
+    collector.onDownstreamFormatChanged(at(1200, 1, second), videoLoadData(1_500_000));
+    collector.onMediaItemTransition(
+        at(1300, 1, second), MediaItem.EMPTY, Player.MEDIA_ITEM_TRANSITION_REASON_AUTO);
+    collector.onDownstreamFormatChanged(at(1400, 1, second), videoLoadData(800_000));
+
+    assertEquals(1, collector.getBitrateSwitchCount());
+  }
+
+  @Test
+  public void sumsDroppedFramesAndLoadedBytes() {
+    LoadEventInfo loadEventInfo =
+        new LoadEventInfo(
+            /* loadTaskId= */ 1,
+            new DataSpec(Uri.parse("https://example.com/segment.ts")),
+            Uri.parse("https://example.com/segment.ts"),
+            Collections.emptyMap(),
+            /* elapsedRealtimeMs= */ 1100,
+            /* loadDurationMs= */ 100,
+            /* bytesLoaded= */ 2048);
+
+    collector.onDroppedVideoFrames(at(1100), 3, 1000);
+    collector.onDroppedVideoFrames(at(2100), 2, 1000);
+    collector.onLoadCompleted(at(1100), loadEventInfo, videoLoadData(500_000));
+    collector.onLoadCanceled(at(1200), loadEventInfo, videoLoadData(500_000));
+
+    assertEquals(5, collector.getDroppedFrameCount());
+    assertEquals(4096, collector.getBytesLoaded());
+  }
+}
@@ -0,0 +1,258 @@
+// Copyright 2013 The Flutter Authors. All rights reserved.
+// Use of this source code is governed by a BSD-style license that can be
+// found in the LICENSE file.
+
+package io.flutter.plugins.videoplayer;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.robolectric.Shadows.shadowOf;
+
+import android.content.Context;
+import android.os.Looper;
+import androidx.media3.common.C;
+import androidx.media3.common.MediaItem;
+import androidx.media3.common.Timeline;
+import androidx.media3.datasource.ByteArrayDataSource;
+import androidx.media3.exoplayer.ExoPlayer;
+import androidx.media3.exoplayer.LoadControl;
+import androidx.media3.exoplayer.Renderer;
+import androidx.media3.exoplayer.analytics.PlayerId;
+import androidx.media3.exoplayer.source.MediaSource;
+import androidx.media3.exoplayer.source.ProgressiveMediaSource;
+import androidx.media3.test.utils.FakeRenderer;
+import androidx.test.core.app.ApplicationProvider;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.BooleanSupplier;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+
+/** Unit tests for {@link PlayerPreloader}. */
+@RunWith(RobolectricTestRunner.class)
+public final class PlayerPreloaderTest {
+  private static final int MAX_PRELOAD_BYTES = 1024;
+
+  private final Context context = ApplicationProvider.getApplicationContext();
+  private final List<ExoPlayer> builtPlayers = new ArrayList<>();
+
+  private PlayerPreloader createPreloader(int maxPreloadedPlayers) {
+    return new PlayerPreloader(
+        context,
+        maxPreloadedPlayers,
+        MAX_PRELOAD_BYTES,
+        (mediaSourceFactory, loadControl) -> {
+          ExoPlayer exoPlayer = mock(ExoPlayer.class);
+          builtPlayers.add(exoPlayer);
+          return exoPlayer;
+        });
+  }
+
+  @Test
+  public void preparesPreloadedPlayer() {
+    PlayerPreloader preloader = createPreloader(2);
+    FakeVideoAsset asset = new FakeVideoAsset("https://example.com/a.mp4");
+
+    preloader.preload("a", asset, 2000);
+
+    ExoPlayer exoPlayer = builtPlayers.get(0);
+    verify(exoPlayer).setMediaItem(new MediaItem.Builder().setUri(asset.assetUrl).build());
+    verify(exoPlayer).prepare();
+    assertSame(asset, preloader.getPreloadedAsset("a"));
+    assertNull(preloader.getPreloadedAsset("b"));
+  }
+
+  @Test
+  public void ignoresRepeatedPreload() {
+    PlayerPreloader preloader = createPreloader(2);
+
+    preloader.preload("a", new FakeVideoAsset("https://example.com/a.mp4"), 2000);
+    preloader.preload("a", new FakeVideoAsset("https://example.com/a.mp4"), 2000);
+
+    assertEquals(1, builtPlayers.size());
+    assertEquals(1, preloader.getPreloadedCount());
+  }
+
+  @Test
+  public void releasesOldestPlayerWhenFull() {
+    PlayerPreloader preloader = createPreloader(2);
+
+    preloader.preload("a", new FakeVideoAsset("https://example.com/a.mp4"), 2000);
+    preloader.preload("b", new FakeVideoAsset("https://example.com/b.mp4"), 2000);
+    preloader.preload("c", new FakeVideoAsset("https://example.com/c.mp4"), 2000);
+
+    verify(builtPlayers.get(0)).release();
+    verify(builtPlayers.get(1), never()).release();
+    assertNull(preloader.getPreloadedAsset("a"));
+    assertEquals(2, preloader.getPreloadedCount());
+  }
+
+  @Test
+  public void providerHandsOverPreloadedPlayer() {
+    PlayerPreloader preloader = createPreloader(2);
+    FakeVideoAsset asset = new FakeVideoAsset("https://example.com/a.mp4");
+    preloader.preload("a", asset, 2000);
+
+    VideoPlayer.ExoPlayerProvider provider =
+        preloader.newProvider(context, preloader.getPreloadedAsset("a"));
+
+    assertSame(builtPlayers.get(0), provider.get());
+    assertEquals(0, preloader.getPreloadedCount());
+  }
+
+  @Test
+  public void providerIgnoresPlayerPreloadedForOtherAsset() {
+    PlayerPreloader preloader = createPreloader(2);
+    preloader.preload("a", new FakeVideoAsset("https://example.com/a.mp4"), 2000);
+
+    // Assets are matched by identity, as create reuses the preloaded asset.
+    preloader.newProvider(context, new FakeVideoAsset("https://example.com/a.mp4"));
+
+    assertEquals(1, preloader.getPreloadedCount());
+    verify(builtPlayers.get(0), never()).release();
+  }
+
+  @Test
+  public void clearReleasesAllPlayers() {
+    PlayerPreloader preloader = createPreloader(2);
+    preloader.preload("a", new FakeVideoAsset("https://example.com/a.mp4"), 2000);
+    preloader.preload("b", new FakeVideoAsset("https://example.com/b.mp4"), 2000);
+
+    preloader.clear();
+
+    verify(builtPlayers.get(0)).release();
+    verify(builtPlayers.get(1)).release();
+    assertEquals(0, preloader.getPreloadedCount());
+  }
+
+  // Calls the overload that ExoPlayer calls.
+  private static boolean shouldContinueLoading(
+      PlayerPreloader.PreloadLoadControl loadControl, long bufferedDurationUs) {
+    return loadControl.shouldContinueLoading(
+        new LoadControl.Parameters(
+            PlayerId.UNSET,
+            Timeline.EMPTY,
+            new MediaSource.MediaPeriodId(/* periodUid= */ new Object()),
+            /* playbackPositionUs= */ 0,
+            bufferedDurationUs,
+            /* playbackSpeed= */ 1f,
+            /* playWhenReady= */ false,
+            /* rebuffering= */ false,
+            /* targetLiveOffsetUs= */ C.TIME_UNSET));
+  }
+
+  @Test
+  public void loadControlStopsAtPreloadDuration() {
+    PlayerPreloader.PreloadLoadControl loadControl =
+        new PlayerPreloader.PreloadLoadControl(2000, MAX_PRELOAD_BYTES);
+    loadControl.onPrepared(PlayerId.UNSET);
+
+    assertTrue(shouldContinueLoading(loadControl, 1_000_000));
+    assertFalse(shouldContinueLoading(loadControl, 2_000_000));
+
+    loadControl.endPreload();
+
+    assertTrue(shouldContinueLoading(loadControl, 2_000_000));
+  }
+
+  // A minute of 16-bit mono PCM at 8 kHz, so 16 kB per second, in a WAV container.
+  private static byte[] createWav() {
+    int dataSize = 60 * 16_000;
+    ByteBuffer wav = ByteBuffer.allocate(44 + dataSize).order(ByteOrder.LITTLE_ENDIAN);
+    wav.put("RIFF".getBytes(StandardCharsets.US_ASCII)).putInt(36 + dataSize);
+    wav.put("WAVEfmt ".getBytes(StandardCharsets.US_ASCII)).putInt(16);
+    wav.putShort((short) 1).putShort((short) 1).putInt(8_000).putInt(16_000);
+    wav.putShort((short) 2).putShort((short) 16);
+    wav.put("data".getBytes(StandardCharsets.US_ASCII)).putInt(dataSize);
+    return wav.array();
+  }
+
+  // Builds real players, on top of an audio renderer that never plays.
+  private PlayerPreloader createRealPreloader(int maxPreloadBytes) {
+    return new PlayerPreloader(
+        context,
+        /* maxPreloadedPlayers= */ 1,
+        maxPreloadBytes,
+        (mediaSourceFactory, loadControl) -> {
+          ExoPlayer exoPlayer =
+              new ExoPlayer.Builder(
+                      context,
+                      (handler, videoListener, audioListener, textOutput, metadataOutput) ->
+                          new Renderer[] {new FakeRenderer(C.TRACK_TYPE_AUDIO)})
+                  .setMediaSourceFactory(mediaSourceFactory)
+                  .setLoadControl(loadControl)
+                  .build();
+          builtPlayers.add(exoPlayer);
+          return exoPlayer;
+        });
+  }
+
+  private static FakeVideoAsset createWavAsset() {
+    byte[] wav = createWav();
+    // Asks the load control after every 4 kB, i.e. every 250 ms of audio.
+    return new FakeVideoAsset(
+        "https://example.com/a.wav",
+        new ProgressiveMediaSource.Factory(() -> new ByteArrayDataSource(wav))
+            .setContinueLoadingCheckIntervalBytes(4 * 1024));
+  }
+
+  // Lets players load, advancing the clock so that their scheduled work runs, until the condition
+  // holds.
+  private static void runUntil(BooleanSupplier condition) throws InterruptedException {
+    long deadline = System.currentTimeMillis() + 10_000;
+    while (!condition.getAsBoolean()) {
+      if (System.currentTimeMillis() > deadline) {
+        throw new AssertionError("Timed out");
+      }
+      shadowOf(Looper.getMainLooper()).idleFor(Duration.ofMillis(10));
+      Thread.sleep(10);
+    }
+  }
+
+  private static void runUntilLoadingStops(ExoPlayer exoPlayer) throws InterruptedException {
+    runUntil(() -> !exoPlayer.isLoading() && exoPlayer.getTotalBufferedDuration() > 0);
+  }
+
+  @Test
+  public void preloadedPlayerStopsAtPreloadDuration() throws InterruptedException {
+    PlayerPreloader preloader = createRealPreloader(PlayerPreloader.DEFAULT_MAX_PRELOAD_BYTES);
+    FakeVideoAsset asset = createWavAsset();
+
+    preloader.preload("a", asset, 1000);
+    ExoPlayer exoPlayer = builtPlayers.get(0);
+    runUntilLoadingStops(exoPlayer);
+
+    long bufferedMs = exoPlayer.getTotalBufferedDuration();
+    assertTrue("buffered " + bufferedMs + "ms", bufferedMs >= 1000 && bufferedMs < 2000);
+
+    // Taking the player over lifts the limit.
+    preloader.newProvider(context, asset).get();
+    runUntil(() -> exoPlayer.getTotalBufferedDuration() >= 2000);
+    exoPlayer.release();
+  }
+
+  @Test
+  public void preloadedPlayerStopsAtByteBudget() throws InterruptedException {
+    // Two allocations hold about 8 seconds of the audio.
+    PlayerPreloader preloader = createRealPreloader(2 * C.DEFAULT_BUFFER_SEGMENT_SIZE);
+
+    preloader.preload("a", createWavAsset(), 30_000);
+    ExoPlayer exoPlayer = builtPlayers.get(0);
+    runUntilLoadingStops(exoPlayer);
+
+    long bufferedMs = exoPlayer.getTotalBufferedDuration();
+    assertTrue("buffered " + bufferedMs + "ms", bufferedMs < 15_000);
+    exoPlayer.release();
+  }
+}
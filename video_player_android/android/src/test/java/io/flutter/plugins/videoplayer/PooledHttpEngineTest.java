@@ -0,0 +1,178 @@
+// Copyright 2013 The Flutter Authors. All rights reserved.
+// Use of this source code is governed by a BSD-style license that can be
+// found in the LICENSE file.
+
+package io.flutter.plugins.videoplayer;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertThrows;
+import static org.junit.Assert.assertTrue;
+
+import android.net.Uri;
+import androidx.media3.datasource.DataSourceUtil;
+import androidx.media3.datasource.DataSpec;
+import androidx.media3.datasource.HttpDataSource;
+import java.io.IOException;
+import java.net.InetAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import okhttp3.OkHttpClient;
+import okhttp3.Protocol;
+import okhttp3.mockwebserver.Dispatcher;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import okhttp3.mockwebserver.RecordedRequest;
+import okhttp3.tls.HandshakeCertificates;
+import okhttp3.tls.HeldCertificate;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+
+/** Unit tests for {@link PooledHttpEngine}, against a loopback HTTP server. */
+@RunWith(RobolectricTestRunner.class)
+public final class PooledHttpEngineTest {
+  private static final int SEGMENT_COUNT = 4;
+
+  private final MockWebServer server = new MockWebServer();
+  private final ExecutorService executor = Executors.newFixedThreadPool(SEGMENT_COUNT);
+
+  @Before
+  public void setUp() {
+    // Segments are delayed, so that concurrent fetches overlap.
+    server.setDispatcher(
+        new Dispatcher() {
+          @Override
+          public MockResponse dispatch(RecordedRequest request) {
+            return new MockResponse()
+                .setBody(request.getPath())
+                .setBodyDelay(100, TimeUnit.MILLISECONDS);
+          }
+        });
+  }
+
+  @After
+  public void tearDown() throws IOException {
+    executor.shutdownNow();
+    server.shutdown();
+  }
+
+  private static String fetch(HttpEngine engine, String url) throws IOException {
+    HttpDataSource dataSource = engine.createDataSource();
+    try {
+      dataSource.open(new DataSpec(Uri.parse(url)));
+      return new String(DataSourceUtil.readToEnd(dataSource), StandardCharsets.UTF_8);
+    } finally {
+      dataSource.close();
+    }
+  }
+
+  private String[] fetchSegmentsConcurrently(HttpEngine engine) throws Exception {
+    List<Future<String>> fetches = new ArrayList<>();
+    for (int i = 0; i < SEGMENT_COUNT; i++) {
+      String url = server.url("/segment" + i + ".ts").toString();
+      fetches.add(executor.submit(() -> fetch(engine, url)));
+    }
+    String[] bodies = new String[SEGMENT_COUNT];
+    for (int i = 0; i < SEGMENT_COUNT; i++) {
+      bodies[i] = fetches.get(i).get(10, TimeUnit.SECONDS);
+    }
+    return bodies;
+  }
+
+  private static String[] expectedSegments() {
+    String[] bodies = new String[SEGMENT_COUNT];
+    for (int i = 0; i < SEGMENT_COUNT; i++) {
+      bodies[i] = "/segment" + i + ".ts";
+    }
+    return bodies;
+  }
+
+  @Test
+  public void reusesConnectionForConsecutiveFetches() throws Exception {
+    server.start();
+    PooledHttpEngine engine = new PooledHttpEngine(PooledHttpEngine.DEFAULT_MAX_IDLE_CONNECTIONS);
+
+    for (int i = 0; i < 5; i++) {
+      assertEquals("/manifest.m3u8", fetch(engine, server.url("/manifest.m3u8").toString()));
+    }
+
+    assertEquals(1, engine.getConnectionsOpened());
+    assertEquals(5, engine.getConnectionsAcquired());
+    // The server saw all requests arrive on one connection.
+    for (int i = 0; i < 5; i++) {
+      assertEquals(i, server.takeRequest().getSequenceNumber());
+    }
+  }
+
+  @Test
+  public void keepsConcurrentHttp1ConnectionsForLaterFetches() throws Exception {
+    server.start();
+    PooledHttpEngine engine = new PooledHttpEngine(PooledHttpEngine.DEFAULT_MAX_IDLE_CONNECTIONS);
+    fetch(engine, server.url("/manifest.m3u8").toString());
+
+    assertArrayEquals(expectedSegments(), fetchSegmentsConcurrently(engine));
+    // HTTP/1.1 cannot multiplex, so overlapping fetches need their own connections.
+    long openedConcurrently = engine.getConnectionsOpened();
+    assertTrue(openedConcurrently > 1 && openedConcurrently <= SEGMENT_COUNT);
+
+    assertArrayEquals(expectedSegments(), fetchSegmentsConcurrently(engine));
+    // The pool holds enough idle connections for the next round.
+    assertEquals(openedConcurrently, engine.getConnectionsOpened());
+    assertEquals(1 + 2 * SEGMENT_COUNT, engine.getConnectionsAcquired());
+  }
+
+  @Test
+  public void multiplexesConcurrentFetchesOverHttp2() throws Exception {
+    HeldCertificate certificate =
+        new HeldCertificate.Builder()
+            .addSubjectAlternativeName(InetAddress.getByName("localhost").getCanonicalHostName())
+            .build();
+    HandshakeCertificates serverCertificates =
+        new HandshakeCertificates.Builder().heldCertificate(certificate).build();
+    HandshakeCertificates clientCertificates =
+        new HandshakeCertificates.Builder()
+            .addTrustedCertificate(certificate.certificate())
+            .build();
+    server.useHttps(serverCertificates.sslSocketFactory(), false);
+    server.setProtocols(Arrays.asList(Protocol.HTTP_2, Protocol.HTTP_1_1));
+    server.start();
+    PooledHttpEngine engine =
+        new PooledHttpEngine(
+            new OkHttpClient.Builder()
+                .sslSocketFactory(
+                    clientCertificates.sslSocketFactory(), clientCertificates.trustManager()),
+            PooledHttpEngine.DEFAULT_MAX_IDLE_CONNECTIONS);
+    fetch(engine, server.url("/manifest.m3u8").toString());
+
+    assertArrayEquals(expectedSegments(), fetchSegmentsConcurrently(engine));
+
+    assertEquals(1, engine.getConnectionsOpened());
+    assertEquals(1 + SEGMENT_COUNT, engine.getConnectionsAcquired());
+  }
+
+  @Test
+  public void releaseClosesIdleConnections() throws IOException {
+    server.start();
+    PooledHttpEngine engine = new PooledHttpEngine(PooledHttpEngine.DEFAULT_MAX_IDLE_CONNECTIONS);
+    fetch(engine, server.url("/manifest.m3u8").toString());
+    assertEquals(1, engine.getIdleConnectionCount());
+
+    engine.release();
+
+    assertEquals(0, engine.getIdleConnectionCount());
+  }
+
+  @Test
+  public void rejectsNegativePoolSize() {
+    assertThrows(IllegalArgumentException.class, () -> new PooledHttpEngine(-1));
+  }
+}
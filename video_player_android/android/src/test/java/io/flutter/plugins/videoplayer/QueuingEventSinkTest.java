@@ -0,0 +1,141 @@
+// Copyright 2013 The Flutter Authors. All rights reserved.
+// Use of this source code is governed by a BSD-style license that can be
+// found in the LICENSE file.
+
+package io.flutter.plugins.videoplayer;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+import androidx.annotation.NonNull;
+import io.flutter.plugin.common.EventChannel;
+import java.util.List;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Captor;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.junit.MockitoJUnit;
+import org.mockito.junit.MockitoRule;
+import org.robolectric.RobolectricTestRunner;
+
+/** Unit tests for {@link QueuingEventSink}. */
+@RunWith(RobolectricTestRunner.class)
+public final class QueuingEventSinkTest {
+  // Events are {kind, value}. Kind 1 coalesces, kind 2 is terminal, anything else is droppable.
+  private static final QueuingEventSink.EventPolicy POLICY =
+      new QueuingEventSink.EventPolicy() {
+        @Override
+        public int coalescingKey(@NonNull Object event) {
+          return ((byte[]) event)[0] == 1 ? 1 : NOT_COALESCED;
+        }
+
+        @Override
+        public boolean isTerminal(@NonNull Object event) {
+          return ((byte[]) event)[0] == 2;
+        }
+      };
+
+  @Mock private EventChannel.EventSink mockDelegate;
+  @Captor private ArgumentCaptor<Object> eventCaptor;
+
+  @Rule public MockitoRule initRule = MockitoJUnit.rule();
+
+  private QueuingEventSink eventSink;
+
+  @Before
+  public void setUp() {
+    eventSink = new QueuingEventSink(3, POLICY);
+  }
+
+  private static byte[] event(int kind, int value) {
+    return new byte[] {(byte) kind, (byte) value};
+  }
+
+  private List<Object> deliveredEvents(int count) {
+    eventSink.setDelegate(mockDelegate);
+    verify(mockDelegate, times(count)).success(eventCaptor.capture());
+    return eventCaptor.getAllValues();
+  }
+
+  @Test
+  public void deliversImmediatelyOnceDelegateIsSet() {
+    eventSink.setDelegate(mockDelegate);
+    byte[] event = event(0, 1);
+
+    eventSink.success(event);
+
+    verify(mockDelegate).success(event);
+  }
+
+  @Test
+  public void newerEventReplacesQueuedEventOfSameKind() {
+    eventSink.success(event(1, 1));
+    eventSink.success(event(0, 2));
+    eventSink.success(event(1, 3));
+
+    List<Object> events = deliveredEvents(2);
+    assertArrayEquals(event(0, 2), (byte[]) events.get(0));
+    assertArrayEquals(event(1, 3), (byte[]) events.get(1));
+    assertEquals(1, eventSink.getCoalescedEventCount());
+    assertEquals(0, eventSink.getDroppedEventCount());
+  }
+
+  @Test
+  public void fullQueueDropsOldestNonTerminalEvent() {
+    eventSink.success(event(2, 1));
+    eventSink.success(event(0, 2));
+    eventSink.success(event(0, 3));
+    eventSink.success(event(0, 4));
+
+    List<Object> events = deliveredEvents(3);
+    assertArrayEquals(event(2, 1), (byte[]) events.get(0));
+    assertArrayEquals(event(0, 3), (byte[]) events.get(1));
+    assertArrayEquals(event(0, 4), (byte[]) events.get(2));
+    assertEquals(1, eventSink.getDroppedEventCount());
+  }
+
+  @Test
+  public void terminalEventsAreKeptWhenQueueIsFullOfThem() {
+    eventSink.success(event(2, 1));
+    eventSink.success(event(2, 2));
+    eventSink.success(event(2, 3));
+    eventSink.success(event(0, 4));
+    eventSink.success(event(2, 5));
+
+    List<Object> events = deliveredEvents(4);
+    assertArrayEquals(event(2, 5), (byte[]) events.get(3));
+    assertEquals(1, eventSink.getDroppedEventCount());
+  }
+
+  @Test
+  public void errorsAreNeverDropped() {
+    eventSink.error("code", "message", null);
+    eventSink.success(event(0, 1));
+    eventSink.success(event(0, 2));
+    eventSink.success(event(0, 3));
+
+    eventSink.setDelegate(mockDelegate);
+
+    InOrder order = inOrder(mockDelegate);
+    order.verify(mockDelegate).error("code", "message", null);
+    order.verify(mockDelegate, times(2)).success(eventCaptor.capture());
+    assertEquals(1, eventSink.getDroppedEventCount());
+  }
+
+  @Test
+  public void queuedByteArraysAreCopied() {
+    byte[] event = event(0, 1);
+    eventSink.success(event);
+    event[1] = 9;
+
+    List<Object> events = deliveredEvents(1);
+    assertArrayEquals(event(0, 1), (byte[]) events.get(0));
+  }
+}
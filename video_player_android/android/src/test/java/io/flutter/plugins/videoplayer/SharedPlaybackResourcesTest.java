@@ -0,0 +1,174 @@
+// Copyright 2013 The Flutter Authors. All rights reserved.
+// Use of this source code is governed by a BSD-style license that can be
+// found in the LICENSE file.
+
+package io.flutter.plugins.videoplayer;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.robolectric.Shadows.shadowOf;
+
+import android.content.Context;
+import android.os.Looper;
+import androidx.media3.common.C;
+import androidx.media3.common.Timeline;
+import androidx.media3.exoplayer.ExoPlayer;
+import androidx.media3.exoplayer.LoadControl;
+import androidx.media3.exoplayer.Renderer;
+import androidx.media3.exoplayer.analytics.PlayerId;
+import androidx.media3.exoplayer.source.MediaSource;
+import androidx.media3.exoplayer.upstream.Allocation;
+import androidx.media3.exoplayer.upstream.Allocator;
+import androidx.media3.test.utils.FakeMediaSource;
+import androidx.media3.test.utils.FakeRenderer;
+import androidx.test.core.app.ApplicationProvider;
+import java.util.function.BooleanSupplier;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+
+/** Unit tests for {@link SharedPlaybackResources}. */
+@RunWith(RobolectricTestRunner.class)
+public final class SharedPlaybackResourcesTest {
+  private static final int SEGMENT = C.DEFAULT_BUFFER_SEGMENT_SIZE;
+
+  private SharedPlaybackResources resources;
+
+  @Before
+  public void setUp() {
+    resources = new SharedPlaybackResources(ApplicationProvider.getApplicationContext());
+    resources.setEnabled(true, 4L * SEGMENT);
+  }
+
+  private static Allocation[] allocate(Allocator allocator, int count) {
+    Allocation[] allocations = new Allocation[count];
+    for (int i = 0; i < count; i++) {
+      allocations[i] = allocator.allocate();
+    }
+    return allocations;
+  }
+
+  // Calls the overload that ExoPlayer calls, for a player that has buffered nothing yet.
+  private static boolean shouldContinueLoading(SharedPlaybackResources.SharedLoadControl control) {
+    return control.shouldContinueLoading(
+        new LoadControl.Parameters(
+            PlayerId.UNSET,
+            Timeline.EMPTY,
+            new MediaSource.MediaPeriodId(/* periodUid= */ new Object()),
+            /* playbackPositionUs= */ 0,
+            /* bufferedDurationUs= */ 0,
+            /* playbackSpeed= */ 1f,
+            /* playWhenReady= */ true,
+            /* rebuffering= */ false,
+            /* targetLiveOffsetUs= */ C.TIME_UNSET));
+  }
+
+  // Runs the main looper until the condition holds, while the shared playback thread works.
+  private static void runMainLooperUntil(BooleanSupplier condition) throws InterruptedException {
+    long deadline = System.currentTimeMillis() + 10_000;
+    while (!condition.getAsBoolean()) {
+      if (System.currentTimeMillis() > deadline) {
+        throw new AssertionError("Timed out");
+      }
+      shadowOf(Looper.getMainLooper()).idle();
+      Thread.sleep(10);
+    }
+  }
+
+  private ExoPlayer buildPreparedPlayer() {
+    Context context = ApplicationProvider.getApplicationContext();
+    ExoPlayer player =
+        resources
+            .applyTo(
+                new ExoPlayer.Builder(
+                    context,
+                    (handler, videoListener, audioListener, textOutput, metadataOutput) ->
+                        new Renderer[] {new FakeRenderer(C.TRACK_TYPE_VIDEO)}))
+            .build();
+    player.setMediaSource(new FakeMediaSource());
+    player.prepare();
+    return player;
+  }
+
+  @Test
+  public void playersBuiltWithSharedResourcesSplitTheBudget() throws InterruptedException {
+    ExoPlayer first = buildPreparedPlayer();
+    ExoPlayer second = buildPreparedPlayer();
+
+    runMainLooperUntil(() -> resources.getPerPlayerBufferBytes() == 2L * SEGMENT);
+
+    second.release();
+    assertEquals(4L * SEGMENT, resources.getPerPlayerBufferBytes());
+    first.release();
+  }
+
+  @Test
+  public void splitsBudgetAcrossPreparedPlayers() {
+    SharedPlaybackResources.SharedLoadControl first = resources.createLoadControl();
+    SharedPlaybackResources.SharedLoadControl second = resources.createLoadControl();
+    first.onPrepared(PlayerId.UNSET);
+    second.onPrepared(PlayerId.UNSET);
+
+    allocate(first.getAllocator(), 2);
+
+    assertEquals(2L * SEGMENT, resources.getPerPlayerBufferBytes());
+    assertEquals(2L * SEGMENT, resources.getAllocatedBytes());
+    assertFalse(shouldContinueLoading(first));
+    assertTrue(shouldContinueLoading(second));
+  }
+
+  @Test
+  public void releasedPlayerGivesUpItsShare() {
+    SharedPlaybackResources.SharedLoadControl first = resources.createLoadControl();
+    SharedPlaybackResources.SharedLoadControl second = resources.createLoadControl();
+    first.onPrepared(PlayerId.UNSET);
+    second.onPrepared(PlayerId.UNSET);
+    allocate(second.getAllocator(), 2);
+
+    first.onReleased(PlayerId.UNSET);
+
+    assertEquals(4L * SEGMENT, resources.getPerPlayerBufferBytes());
+    assertTrue(shouldContinueLoading(second));
+  }
+
+  @Test
+  public void stopsAllPlayersOnceTotalBudgetIsAllocated() {
+    SharedPlaybackResources.SharedLoadControl first = resources.createLoadControl();
+    SharedPlaybackResources.SharedLoadControl second = resources.createLoadControl();
+    first.onPrepared(PlayerId.UNSET);
+    allocate(first.getAllocator(), 4);
+
+    // The late player is below its share, but nothing is left in the shared budget.
+    second.onPrepared(PlayerId.UNSET);
+
+    assertFalse(shouldContinueLoading(second));
+  }
+
+  @Test
+  public void countsReleasedAllocationsPerPlayer() {
+    SharedPlaybackResources.SharedLoadControl control = resources.createLoadControl();
+    control.onPrepared(PlayerId.UNSET);
+    Allocator allocator = control.getAllocator();
+    Allocation[] allocations = allocate(allocator, 3);
+
+    allocator.release(allocations[0]);
+
+    assertEquals(2 * SEGMENT, allocator.getTotalBytesAllocated());
+    assertEquals(2L * SEGMENT, resources.getAllocatedBytes());
+  }
+
+  @Test
+  public void resettingOnePlayerKeepsOtherPlayersAllocations() {
+    SharedPlaybackResources.SharedLoadControl first = resources.createLoadControl();
+    SharedPlaybackResources.SharedLoadControl second = resources.createLoadControl();
+    first.onPrepared(PlayerId.UNSET);
+    second.onPrepared(PlayerId.UNSET);
+    allocate(second.getAllocator(), 2);
+
+    first.onStopped(PlayerId.UNSET);
+
+    assertEquals(2L * SEGMENT, resources.getAllocatedBytes());
+  }
+}
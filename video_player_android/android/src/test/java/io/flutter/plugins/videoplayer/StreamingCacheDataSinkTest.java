@@ -0,0 +1,112 @@
+// Copyright 2013 The Flutter Authors. All rights reserved.
+// Use of this source code is governed by a BSD-style license that can be
+// found in the LICENSE file.
+
+package io.flutter.plugins.videoplayer;
+
+import static org.junit.Assert.assertEquals;
+
+import android.net.Uri;
+import androidx.media3.datasource.DataSpec;
+import androidx.media3.datasource.cache.CacheSpan;
+import androidx.media3.datasource.cache.NoOpCacheEvictor;
+import androidx.media3.datasource.cache.SimpleCache;
+import androidx.media3.test.utils.TestUtil;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+
+/** Unit tests for {@link StreamingCacheDataSink}. */
+@RunWith(RobolectricTestRunner.class)
+public final class StreamingCacheDataSinkTest {
+  private static final String KEY = "https://example.com/video.mp4";
+
+  @Rule public final TemporaryFolder tempFolder = new TemporaryFolder();
+
+  private SimpleCache cache;
+
+  @Before
+  public void setUp() throws Exception {
+    cache =
+        new SimpleCache(
+            tempFolder.newFolder(), new NoOpCacheEvictor(), TestUtil.getInMemoryDatabaseProvider());
+  }
+
+  @After
+  public void tearDown() {
+    cache.release();
+  }
+
+  private void stream(long position, int length, long maxItemBytes) throws Exception {
+    stream(new StreamingCacheDataSink(cache, maxItemBytes), KEY, position, length);
+  }
+
+  private static void stream(StreamingCacheDataSink sink, String key, long position, int length)
+      throws Exception {
+    sink.open(
+        new DataSpec.Builder()
+            .setUri(Uri.parse(key))
+            .setKey(key)
+            .setPosition(position)
+            .setLength(length)
+            .build());
+    // Write in several chunks, as CacheDataSource does while playback reads.
+    byte[] chunk = new byte[10];
+    for (int written = 0; written < length; written += chunk.length) {
+      sink.write(chunk, 0, Math.min(chunk.length, length - written));
+    }
+    sink.close();
+  }
+
+  private long cachedBytes() {
+    return cachedBytes(KEY);
+  }
+
+  private long cachedBytes(String key) {
+    long bytes = 0;
+    for (CacheSpan span : cache.getCachedSpans(key)) {
+      bytes += span.length;
+    }
+    return bytes;
+  }
+
+  @Test
+  public void cachesEverythingBelowTheCap() throws Exception {
+    stream(0, 100, 1000);
+
+    assertEquals(100, cachedBytes());
+  }
+
+  @Test
+  public void stopsCachingAtTheCap() throws Exception {
+    stream(0, 100, 45);
+
+    assertEquals(45, cachedBytes());
+  }
+
+  @Test
+  public void capAppliesAcrossRequestsForTheSameItem() throws Exception {
+    stream(0, 40, 60);
+    stream(40, 40, 60);
+    stream(80, 40, 60);
+
+    assertEquals(60, cachedBytes());
+  }
+
+  @Test
+  public void capAppliesAcrossSegmentsOfTheSameStream() throws Exception {
+    StreamingCacheDataSink sink = new StreamingCacheDataSink(cache, 60);
+
+    stream(sink, KEY + "/segment0.ts", 0, 40);
+    stream(sink, KEY + "/segment1.ts", 0, 40);
+    stream(sink, KEY + "/segment2.ts", 0, 40);
+
+    assertEquals(40, cachedBytes(KEY + "/segment0.ts"));
+    assertEquals(20, cachedBytes(KEY + "/segment1.ts"));
+    assertEquals(0, cachedBytes(KEY + "/segment2.ts"));
+  }
+}
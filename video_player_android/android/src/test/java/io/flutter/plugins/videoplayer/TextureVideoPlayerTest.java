@@ -8,15 +8,22 @@ import static org.junit.Assert.assertEquals;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.*;
 
+import android.content.ComponentCallbacks2;
 import android.view.Surface;
 import androidx.media3.common.AudioAttributes;
 import androidx.media3.common.C;
+import androidx.media3.common.Format;
+import androidx.media3.common.MimeTypes;
 import androidx.media3.common.PlaybackParameters;
 import androidx.media3.common.Player;
+import androidx.media3.common.TrackGroup;
+import androidx.media3.common.TrackSelectionParameters;
+import androidx.media3.common.Tracks;
 import androidx.media3.common.VideoSize;
 import androidx.media3.exoplayer.ExoPlayer;
 import io.flutter.plugins.videoplayer.texture.TextureVideoPlayer;
 import io.flutter.view.TextureRegistry;
+import java.util.Collections;
 import org.junit.Before;
 import org.junit.Rule;
 import org.junit.Test;
@@ -56,6 +63,9 @@ public final class TextureVideoPlayerTest {
     fakeVideoAsset = new FakeVideoAsset(FAKE_ASSET_URL);
     when(mockProducer.getSurface()).thenReturn(mock(Surface.class));
     when(mockProducer.handlesCropAndRotation()).thenReturn(true);
+    when(mockExoPlayer.getCurrentTracks()).thenReturn(Tracks.EMPTY);
+    when(mockExoPlayer.getTrackSelectionParameters())
+        .thenReturn(TrackSelectionParameters.DEFAULT_WITHOUT_CONTEXT);
   }
 
   private VideoPlayer createVideoPlayer() {
@@ -83,19 +93,41 @@ public final class TextureVideoPlayerTest {
   }
 
   @Test
-  public void onSurfaceProducerDestroyedAndAvailableReleasesAndThenRecreatesAndResumesPlayer() {
+  public void onSurfaceProducerDestroyedAndAvailableReattachesSurfaceWithoutReleasingPlayer() {
     VideoPlayer videoPlayer = createVideoPlayer();
 
     verify(mockProducer).setCallback(callbackCaptor.capture());
+    TextureRegistry.SurfaceProducer.Callback producerLifecycle = callbackCaptor.getValue();
+    simulateSurfaceDestruction(producerLifecycle);
+
+    verify(mockExoPlayer).clearVideoSurface();
     verify(mockExoPlayer, never()).release();
 
+    producerLifecycle.onSurfaceAvailable();
+
+    verify(mockExoPlayer, times(2)).setVideoSurface(any());
+    verify(mockExoPlayer, times(1)).prepare();
+    verify(mockExoPlayer, never()).seekTo(anyInt(), anyLong());
+    assertEquals(mockExoPlayer, videoPlayer.getExoPlayer());
+
+    videoPlayer.dispose();
+  }
+
+  @Test
+  public void criticalMemoryPressureWhileDetachedReleasesAndThenRecreatesAndResumesPlayer() {
+    VideoPlayer videoPlayer = createVideoPlayer();
+
+    verify(mockProducer).setCallback(callbackCaptor.capture());
+
     when(mockExoPlayer.getCurrentPosition()).thenReturn(10L);
     when(mockExoPlayer.getRepeatMode()).thenReturn(Player.REPEAT_MODE_ALL);
     when(mockExoPlayer.getVolume()).thenReturn(0.5f);
     when(mockExoPlayer.getPlaybackParameters()).thenReturn(new PlaybackParameters(2.5f));
+    when(mockExoPlayer.getPlayWhenReady()).thenReturn(true);
 
     TextureRegistry.SurfaceProducer.Callback producerLifecycle = callbackCaptor.getValue();
     simulateSurfaceDestruction(producerLifecycle);
+    videoPlayer.onTrimMemory(ComponentCallbacks2.TRIM_MEMORY_MODERATE);
 
     verify(mockExoPlayer).release();
 
@@ -104,10 +136,36 @@ public final class TextureVideoPlayerTest {
     producerLifecycle.onSurfaceAvailable();
 
     verify(mockExoPlayer).setVideoSurface(any());
-    verify(mockExoPlayer).seekTo(10L);
+    verify(mockExoPlayer).seekTo(0, 10L);
     verify(mockExoPlayer).setRepeatMode(Player.REPEAT_MODE_ALL);
     verify(mockExoPlayer).setVolume(0.5f);
     verify(mockExoPlayer).setPlaybackParameters(new PlaybackParameters(2.5f));
+    verify(mockExoPlayer).setPlayWhenReady(true);
+
+    videoPlayer.dispose();
+  }
+
+  @Test
+  public void memoryPressureDoesNotReleasePlayerWithAttachedSurface() {
+    VideoPlayer videoPlayer = createVideoPlayer();
+
+    videoPlayer.onTrimMemory(ComponentCallbacks2.TRIM_MEMORY_COMPLETE);
+
+    verify(mockExoPlayer, never()).release();
+
+    videoPlayer.dispose();
+  }
+
+  @Test
+  public void mildMemoryPressureDoesNotReleaseDetachedPlayer() {
+    VideoPlayer videoPlayer = createVideoPlayer();
+    verify(mockProducer).setCallback(callbackCaptor.capture());
+    simulateSurfaceDestruction(callbackCaptor.getValue());
+
+    videoPlayer.onTrimMemory(ComponentCallbacks2.TRIM_MEMORY_UI_HIDDEN);
+    videoPlayer.onTrimMemory(ComponentCallbacks2.TRIM_MEMORY_BACKGROUND);
+
+    verify(mockExoPlayer, never()).release();
 
     videoPlayer.dispose();
   }
@@ -143,8 +201,9 @@ public final class TextureVideoPlayerTest {
 
     // Pretend we have a video, and capture the registered event listener.
     when(mockExoPlayer.getVideoSize()).thenReturn(new VideoSize(300, 200));
-    verify(mockExoPlayer).addListener(listenerCaptor.capture());
-    Player.Listener listener = listenerCaptor.getValue();
+    // The event listener, followed by the position update listener.
+    verify(mockExoPlayer, times(2)).addListener(listenerCaptor.capture());
+    Player.Listener listener = listenerCaptor.getAllValues().get(0);
 
     // Trigger an event that would trigger onInitialized.
     listener.onPlaybackStateChanged(Player.STATE_READY);
@@ -167,13 +226,14 @@ public final class TextureVideoPlayerTest {
     verify(mockProducer).setCallback(callbackCaptor.capture());
     TextureRegistry.SurfaceProducer.Callback producerLifecycle = callbackCaptor.getValue();
 
-    // Trigger destroyed/available.
+    // Trigger destroyed/available, with the player released in between.
     simulateSurfaceDestruction(producerLifecycle);
+    videoPlayer.onTrimMemory(ComponentCallbacks2.TRIM_MEMORY_COMPLETE);
     producerLifecycle.onSurfaceAvailable();
 
-    // Initial listener, and the new one from the resume.
-    verify(mockExoPlayer, times(2)).addListener(listenerCaptor.capture());
-    Player.Listener listener = listenerCaptor.getValue();
+    // Initial listeners, and the new ones from the resume.
+    verify(mockExoPlayer, times(4)).addListener(listenerCaptor.capture());
+    Player.Listener listener = listenerCaptor.getAllValues().get(2);
 
     // Now trigger that same event, which would happen in the case of a background/resume.
     listener.onPlaybackStateChanged(Player.STATE_READY);
@@ -215,6 +275,39 @@ public final class TextureVideoPlayerTest {
     inOrder.verify(mockProducer).release();
   }
 
+  @Test
+  public void disposeRemovesRenditionListenerOfRestoredPlayer() {
+    VideoPlayer videoPlayer = createVideoPlayer();
+    verify(mockProducer).setCallback(callbackCaptor.capture());
+    TrackGroup videoGroup =
+        new TrackGroup(
+            new Format.Builder().setSampleMimeType(MimeTypes.VIDEO_H264).setId("low").build(),
+            new Format.Builder().setSampleMimeType(MimeTypes.VIDEO_H264).setId("high").build());
+    when(mockExoPlayer.getCurrentTracks())
+        .thenReturn(
+            new Tracks(
+                Collections.singletonList(
+                    new Tracks.Group(
+                        videoGroup,
+                        /* adaptiveSupported= */ true,
+                        new int[] {C.FORMAT_HANDLED, C.FORMAT_HANDLED},
+                        new boolean[] {false, true}))));
+
+    TextureRegistry.SurfaceProducer.Callback producerLifecycle = callbackCaptor.getValue();
+    simulateSurfaceDestruction(producerLifecycle);
+    videoPlayer.onTrimMemory(ComponentCallbacks2.TRIM_MEMORY_MODERATE);
+    mockExoPlayer = mock(ExoPlayer.class);
+    producerLifecycle.onSurfaceAvailable();
+    // The restored state adds its listener after the one of the video player.
+    verify(mockExoPlayer, atLeastOnce()).addListener(listenerCaptor.capture());
+    Player.Listener renditionListener = listenerCaptor.getValue();
+
+    // Disposed of before the first frame, so the listener must not follow the player to the pool.
+    videoPlayer.dispose();
+
+    verify(mockExoPlayer).removeListener(renditionListener);
+  }
+
   // TODO(matanlurey): Replace with inline calls to onSurfaceAvailable once
   // available on stable; see https://github.com/flutter/flutter/issues/155131.
   // This separate method only exists to scope the suppression.
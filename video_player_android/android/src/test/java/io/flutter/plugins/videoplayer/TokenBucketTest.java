@@ -0,0 +1,95 @@
+// Copyright 2013 The Flutter Authors. All rights reserved.
+// Use of this source code is governed by a BSD-style license that can be
+// found in the LICENSE file.
+
+package io.flutter.plugins.videoplayer;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertThrows;
+import static org.junit.Assert.assertTrue;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import org.junit.Test;
+
+/** Unit tests for {@link TokenBucket}, with real time. */
+public final class TokenBucketTest {
+  private static final long BYTES_PER_SECOND = 1_000_000;
+
+  private final TokenBucket tokenBucket = new TokenBucket();
+
+  @Test
+  public void unlimitedByDefault() throws InterruptedException {
+    long startNanoTime = System.nanoTime();
+    for (int i = 0; i < 100; i++) {
+      tokenBucket.acquire(BYTES_PER_SECOND);
+    }
+
+    assertEquals(TokenBucket.UNLIMITED, tokenBucket.getRate());
+    assertTrue(System.nanoTime() - startNanoTime < TimeUnit.MILLISECONDS.toNanos(100));
+  }
+
+  @Test
+  public void limitsRate() throws InterruptedException {
+    tokenBucket.setRate(BYTES_PER_SECOND);
+
+    long startNanoTime = System.nanoTime();
+    for (int i = 0; i < 5; i++) {
+      tokenBucket.acquire(100_000);
+    }
+    long elapsedMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNanoTime);
+
+    // 500 kB at 1 MB/s from an empty bucket; the margin absorbs scheduling noise.
+    assertTrue("took " + elapsedMs + "ms", elapsedMs >= 450);
+  }
+
+  @Test
+  public void liftingTheLimitReleasesBlockedThreads() throws InterruptedException {
+    tokenBucket.setRate(1);
+    CountDownLatch released = new CountDownLatch(1);
+    Thread thread =
+        new Thread(
+            () -> {
+              try {
+                tokenBucket.acquire(BYTES_PER_SECOND);
+                released.countDown();
+              } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+              }
+            });
+    thread.start();
+    assertFalse(released.await(100, TimeUnit.MILLISECONDS));
+
+    tokenBucket.setRate(TokenBucket.UNLIMITED);
+
+    assertTrue(released.await(1, TimeUnit.SECONDS));
+    thread.join();
+  }
+
+  @Test
+  public void interruptsBlockedThread() throws InterruptedException {
+    tokenBucket.setRate(1);
+    CountDownLatch interrupted = new CountDownLatch(1);
+    Thread thread =
+        new Thread(
+            () -> {
+              try {
+                tokenBucket.acquire(BYTES_PER_SECOND);
+              } catch (InterruptedException e) {
+                interrupted.countDown();
+              }
+            });
+    thread.start();
+
+    thread.interrupt();
+
+    assertTrue(interrupted.await(1, TimeUnit.SECONDS));
+    thread.join();
+  }
+
+  @Test
+  public void rejectsInvalidRate() {
+    assertThrows(IllegalArgumentException.class, () -> tokenBucket.setRate(0));
+  }
+}
@@ -0,0 +1,70 @@
+// Copyright 2013 The Flutter Authors. All rights reserved.
+// Use of this source code is governed by a BSD-style license that can be
+// found in the LICENSE file.
+
+package io.flutter.plugins.videoplayer;
+
+import android.content.Context;
+import androidx.test.core.app.ApplicationProvider;
+import java.util.HashMap;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+
+/**
+ * Benchmarks the part of create() that builds the media source of a remote video.
+ *
+ * <p>Opt-in, see {@link Benchmarks}. Results are printed, not asserted.
+ */
+@RunWith(RobolectricTestRunner.class)
+public final class VideoAssetBenchmark {
+  private static final int WARM_UP_ITERATIONS = 50;
+  private static final int ITERATIONS = 500;
+
+  private final Context context = ApplicationProvider.getApplicationContext();
+
+  @Before
+  public void setUp() {
+    Benchmarks.assumeEnabled();
+  }
+
+  private static VideoAsset newAsset(VideoAsset.StreamingFormat streamingFormat) {
+    return VideoAsset.fromRemoteUrl("https://flutter.dev/video", streamingFormat, new HashMap<>());
+  }
+
+  // Returns the average time to build the media source of a player, for a new asset each time as
+  // create() does, or for the same asset as a player leased again does.
+  private long averageMicros(VideoAsset.StreamingFormat streamingFormat, boolean reuseAsset) {
+    VideoAsset reusedAsset = newAsset(streamingFormat);
+    long totalNanos = 0;
+    for (int i = 0; i < WARM_UP_ITERATIONS + ITERATIONS; i++) {
+      long startNanoTime = System.nanoTime();
+      VideoAsset asset = reuseAsset ? reusedAsset : newAsset(streamingFormat);
+      asset.getMediaSourceFactory(context).createMediaSource(asset.getMediaItem());
+      if (i >= WARM_UP_ITERATIONS) {
+        totalNanos += System.nanoTime() - startNanoTime;
+      }
+    }
+    return totalNanos / ITERATIONS / 1000;
+  }
+
+  @Test
+  public void mediaSourceCreation() {
+    for (VideoAsset.StreamingFormat streamingFormat :
+        new VideoAsset.StreamingFormat[] {
+          VideoAsset.StreamingFormat.UNKNOWN,
+          VideoAsset.StreamingFormat.HTTP_LIVE,
+          VideoAsset.StreamingFormat.DYNAMIC_ADAPTIVE
+        }) {
+      System.out.println(
+          "VideoAssetBenchmark "
+              + streamingFormat
+              + ": new asset "
+              + averageMicros(streamingFormat, /* reuseAsset= */ false)
+              + "us, same asset "
+              + averageMicros(streamingFormat, /* reuseAsset= */ true)
+              + "us");
+    }
+  }
+}
@@ -6,24 +6,28 @@ package io.flutter.plugins.videoplayer;
 
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertThrows;
-import static org.mockito.ArgumentMatchers.anyBoolean;
-import static org.mockito.ArgumentMatchers.anyMap;
-import static org.mockito.ArgumentMatchers.anyString;
+import static org.junit.Assert.assertSame;
+import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.mock;
-import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
+import android.content.Context;
 import android.net.Uri;
+import androidx.media3.common.C;
 import androidx.media3.common.MediaItem;
-import androidx.media3.datasource.DefaultHttpDataSource;
+import androidx.media3.datasource.DataSource;
+import androidx.media3.datasource.DataSpec;
 import androidx.media3.exoplayer.source.MediaSource;
 import androidx.test.core.app.ApplicationProvider;
+import java.io.IOException;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.Objects;
 import org.junit.Test;
 import org.junit.runner.RunWith;
+import org.mockito.ArgumentCaptor;
 import org.robolectric.RobolectricTestRunner;
 
 /**
@@ -53,33 +57,36 @@ public final class VideoAssetTest {
     assertEquals(mediaItem.localConfiguration.uri, Uri.parse("asset:///asset-key"));
   }
 
-  private static DefaultHttpDataSource.Factory mockHttpFactory() {
-    DefaultHttpDataSource.Factory httpFactory = mock(DefaultHttpDataSource.Factory.class);
-    when(httpFactory.setUserAgent(anyString())).thenReturn(httpFactory);
-    when(httpFactory.setAllowCrossProtocolRedirects(anyBoolean())).thenReturn(httpFactory);
-    when(httpFactory.setDefaultRequestProperties(anyMap())).thenReturn(httpFactory);
-    return httpFactory;
+  // Opens a data source of the asset on top of a fake shared factory, and returns the headers that
+  // reached the shared data source.
+  private static Map<String, String> requestHeaders(VideoAsset asset) throws IOException {
+    DataSource sharedDataSource = mock(DataSource.class);
+    when(sharedDataSource.open(any())).thenReturn((long) C.LENGTH_UNSET);
+
+    // Cast to HttpVideoAsset to call a testing-only method to intercept calls.
+    ((HttpVideoAsset) asset)
+        .getDataSourceFactory(() -> sharedDataSource)
+        .createDataSource()
+        .open(new DataSpec(Uri.parse("https://flutter.dev/video.mp4")));
+
+    ArgumentCaptor<DataSpec> dataSpec = ArgumentCaptor.forClass(DataSpec.class);
+    verify(sharedDataSource).open(dataSpec.capture());
+    return dataSpec.getValue().httpRequestHeaders;
   }
 
   @Test
-  public void remoteVideoByDefaultSetsUserAgentAndCrossProtocolRedirects() {
+  public void remoteVideoByDefaultSetsUserAgent() throws IOException {
     VideoAsset asset =
         VideoAsset.fromRemoteUrl(
             "https://flutter.dev/video.mp4", VideoAsset.StreamingFormat.UNKNOWN, new HashMap<>());
 
-    DefaultHttpDataSource.Factory mockFactory = mockHttpFactory();
-
-    // Cast to HttpVideoAsset to call a testing-only method to intercept calls.
-    ((HttpVideoAsset) asset)
-        .getMediaSourceFactory(ApplicationProvider.getApplicationContext(), mockFactory);
+    Map<String, String> headers = requestHeaders(asset);
 
-    verify(mockFactory).setUserAgent("ExoPlayer");
-    verify(mockFactory).setAllowCrossProtocolRedirects(true);
-    verify(mockFactory, never()).setDefaultRequestProperties(anyMap());
+    assertEquals(Collections.singletonMap("User-Agent", "ExoPlayer"), headers);
   }
 
   @Test
-  public void remoteVideoOverridesUserAgentIfProvided() {
+  public void remoteVideoOverridesUserAgentIfProvided() throws IOException {
     Map<String, String> headers = new HashMap<>();
     headers.put("User-Agent", "FantasticalVideoBot");
 
@@ -87,15 +94,7 @@ public final class VideoAssetTest {
         VideoAsset.fromRemoteUrl(
             "https://flutter.dev/video.mp4", VideoAsset.StreamingFormat.UNKNOWN, headers);
 
-    DefaultHttpDataSource.Factory mockFactory = mockHttpFactory();
-
-    // Cast to HttpVideoAsset to call a testing-only method to intercept calls.
-    ((HttpVideoAsset) asset)
-        .getMediaSourceFactory(ApplicationProvider.getApplicationContext(), mockFactory);
-
-    verify(mockFactory).setUserAgent("FantasticalVideoBot");
-    verify(mockFactory).setAllowCrossProtocolRedirects(true);
-    verify(mockFactory).setDefaultRequestProperties(headers);
+    assertEquals(headers, requestHeaders(asset));
   }
 
   // This tests that without using the overrides we get a working, non-mocked object.
@@ -117,7 +116,19 @@ public final class VideoAssetTest {
   }
 
   @Test
-  public void remoteVideoSetsAdditionalHttpHeadersIfProvided() {
+  public void remoteVideoReusesMediaSourceFactory() {
+    Context context = ApplicationProvider.getApplicationContext();
+    VideoAsset asset =
+        VideoAsset.fromRemoteUrl(
+            "https://flutter.dev/video.mp4", VideoAsset.StreamingFormat.UNKNOWN, new HashMap<>());
+
+    MediaSource.Factory mediaSourceFactory = asset.getMediaSourceFactory(context);
+
+    assertSame(mediaSourceFactory, asset.getMediaSourceFactory(context));
+  }
+
+  @Test
+  public void remoteVideoSetsAdditionalHttpHeadersIfProvided() throws IOException {
     Map<String, String> headers = new HashMap<>();
     headers.put("X-Cache-Forever", "true");
 
@@ -125,15 +136,22 @@ public final class VideoAssetTest {
         VideoAsset.fromRemoteUrl(
             "https://flutter.dev/video.mp4", VideoAsset.StreamingFormat.UNKNOWN, headers);
 
-    DefaultHttpDataSource.Factory mockFactory = mockHttpFactory();
-
-    // Cast to HttpVideoAsset to call a testing-only method to intercept calls.
-    ((HttpVideoAsset) asset)
-        .getMediaSourceFactory(ApplicationProvider.getApplicationContext(), mockFactory);
+    Map<String, String> expectedHeaders = new HashMap<>(headers);
+    expectedHeaders.put("User-Agent", "ExoPlayer");
+    assertEquals(expectedHeaders, requestHeaders(asset));
+  }
 
-    verify(mockFactory).setUserAgent("ExoPlayer");
-    verify(mockFactory).setAllowCrossProtocolRedirects(true);
-    verify(mockFactory).setDefaultRequestProperties(headers);
+  @Test
+  public void remoteVideosShareDataSourceStack() {
+    VideoCacheManager cacheManager =
+        VideoCacheManager.getInstance(ApplicationProvider.getApplicationContext());
+
+    assertSame(
+        cacheManager.getStreamingDataSourceFactory(),
+        cacheManager.getStreamingDataSourceFactory());
+    assertSame(
+        cacheManager.getCachedPlaybackDataSourceFactory(),
+        cacheManager.getCachedPlaybackDataSourceFactory());
   }
 
   @Test
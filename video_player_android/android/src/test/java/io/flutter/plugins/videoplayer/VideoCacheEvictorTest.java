@@ -0,0 +1,197 @@
+// Copyright 2013 The Flutter Authors. All rights reserved.
+// Use of this source code is governed by a BSD-style license that can be
+// found in the LICENSE file.
+
+package io.flutter.plugins.videoplayer;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import androidx.media3.datasource.cache.CacheSpan;
+import androidx.media3.datasource.cache.SimpleCache;
+import androidx.media3.test.utils.TestUtil;
+import java.io.File;
+import java.io.FileOutputStream;
+import org.junit.After;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+
+/**
+ * Unit tests for {@link VideoCacheEvictor}.
+ *
+ * <p>Each test attaches the evictor to a real {@link SimpleCache} backed by a temporary folder and
+ * fills it with synthetic spans of zeroed bytes.
+ */
+@RunWith(RobolectricTestRunner.class)
+public final class VideoCacheEvictorTest {
+  private static final long UNLIMITED_FREE_SPACE = Long.MAX_VALUE / 2;
+
+  @Rule public final TemporaryFolder tempFolder = new TemporaryFolder();
+
+  private SimpleCache cache;
+  private long freeBytes = UNLIMITED_FREE_SPACE;
+
+  @After
+  public void tearDown() {
+    if (cache != null) {
+      cache.release();
+    }
+  }
+
+  private VideoCacheEvictor createCache(long maxBytes, long minFreeBytes) throws Exception {
+    VideoCacheEvictor evictor = new VideoCacheEvictor(maxBytes, minFreeBytes, () -> freeBytes);
+    cache =
+        new SimpleCache(tempFolder.newFolder(), evictor, TestUtil.getInMemoryDatabaseProvider());
+    return evictor;
+  }
+
+  private void writeSpan(String key, int length) throws Exception {
+    CacheSpan hole = cache.startReadWrite(key, 0, length);
+    File file = cache.startFile(key, 0, length);
+    try (FileOutputStream output = new FileOutputStream(file)) {
+      output.write(new byte[length]);
+    }
+    cache.commitFile(file, length);
+    cache.releaseHoleSpan(hole);
+    // Spans are ordered by their last touch timestamp, which has millisecond resolution.
+    Thread.sleep(2);
+  }
+
+  private void readSpan(String key) throws Exception {
+    cache.startReadWrite(key, 0, 1);
+    Thread.sleep(2);
+  }
+
+  private boolean isCached(String key) {
+    return !cache.getCachedSpans(key).isEmpty();
+  }
+
+  @Test
+  public void evictsLeastRecentlyUsedSpanWhenOverBudget() throws Exception {
+    VideoCacheEvictor evictor = createCache(300, 0);
+
+    writeSpan("a", 100);
+    writeSpan("b", 100);
+    writeSpan("c", 100);
+    writeSpan("d", 100);
+
+    assertFalse(isCached("a"));
+    assertTrue(isCached("b"));
+    assertTrue(isCached("c"));
+    assertTrue(isCached("d"));
+    assertEquals(300, evictor.getCurrentSize());
+    assertEquals(100, evictor.getEvictedBytes());
+    assertEquals(1, evictor.getEvictedSpanCount());
+  }
+
+  @Test
+  public void keepsRecentlyReadSpan() throws Exception {
+    createCache(300, 0);
+
+    writeSpan("a", 100);
+    writeSpan("b", 100);
+    writeSpan("c", 100);
+    readSpan("a");
+    writeSpan("d", 100);
+
+    assertTrue(isCached("a"));
+    assertFalse(isCached("b"));
+  }
+
+  @Test
+  public void neverEvictsPinnedSpans() throws Exception {
+    VideoCacheEvictor evictor = createCache(300, 0);
+    evictor.pin("a");
+
+    writeSpan("a", 100);
+    writeSpan("b", 100);
+    writeSpan("c", 100);
+    writeSpan("d", 100);
+
+    assertTrue(isCached("a"));
+    assertFalse(isCached("b"));
+  }
+
+  @Test
+  public void keepsPinnedSpansEvenIfBudgetCannotBeMet() throws Exception {
+    VideoCacheEvictor evictor = createCache(100, 0);
+    evictor.pin("a");
+    evictor.pin("b");
+
+    writeSpan("a", 100);
+    writeSpan("b", 100);
+
+    assertTrue(isCached("a"));
+    assertTrue(isCached("b"));
+    assertEquals(0, evictor.getEvictedBytes());
+  }
+
+  @Test
+  public void unpinnedSpansBecomeEvictable() throws Exception {
+    VideoCacheEvictor evictor = createCache(1000, 0);
+    evictor.pin("a");
+    writeSpan("a", 100);
+    writeSpan("b", 100);
+
+    evictor.unpin("a");
+    evictor.setMaxBytes(100);
+    evictor.trim(cache);
+
+    assertFalse(isCached("a"));
+    assertTrue(isCached("b"));
+  }
+
+  @Test
+  public void trimAppliesSmallerBudgetToExistingContent() throws Exception {
+    VideoCacheEvictor evictor = createCache(1000, 0);
+    writeSpan("a", 100);
+    writeSpan("b", 100);
+    writeSpan("c", 100);
+
+    evictor.setMaxBytes(100);
+    evictor.trim(cache);
+
+    assertFalse(isCached("a"));
+    assertFalse(isCached("b"));
+    assertTrue(isCached("c"));
+    assertEquals(100, evictor.getCurrentSize());
+    assertEquals(200, evictor.getEvictedBytes());
+  }
+
+  @Test
+  public void headroomPolicyShrinksBudgetWhenDiskIsNearlyFull() throws Exception {
+    VideoCacheEvictor evictor = createCache(/* maxBytes= */ 1000, /* minFreeBytes= */ 250);
+    freeBytes = 250;
+
+    writeSpan("a", 100);
+    writeSpan("b", 100);
+
+    // Only 250 bytes are free and all of them must stay free, so the cache cannot grow at all.
+    assertEquals(evictor.getCurrentSize(), evictor.getEffectiveMaxBytes());
+    assertFalse(isCached("a"));
+  }
+
+  @Test
+  public void headroomPolicyDoesNotExceedConfiguredBudget() throws Exception {
+    VideoCacheEvictor evictor = createCache(200, 0);
+
+    assertEquals(200, evictor.getEffectiveMaxBytes());
+  }
+
+  @Test
+  public void countsHitsAndMisses() throws Exception {
+    VideoCacheEvictor evictor = createCache(1000, 0);
+
+    writeSpan("a", 100);
+    writeSpan("b", 100);
+    readSpan("a");
+    readSpan("a");
+
+    assertEquals(2, evictor.getMissCount());
+    assertEquals(2, evictor.getHitCount());
+  }
+}
@@ -0,0 +1,350 @@
+// Copyright 2013 The Flutter Authors. All rights reserved.
+// Use of this source code is governed by a BSD-style license that can be
+// found in the LICENSE file.
+
+package io.flutter.plugins.videoplayer;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertThrows;
+import static org.junit.Assert.assertTrue;
+import static org.robolectric.Shadows.shadowOf;
+
+import android.content.Context;
+import android.net.Uri;
+import android.os.Looper;
+import android.util.Base64;
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+import androidx.media3.common.C;
+import androidx.media3.datasource.DataSource;
+import androidx.media3.datasource.DataSourceUtil;
+import androidx.media3.datasource.DataSpec;
+import androidx.media3.database.StandaloneDatabaseProvider;
+import androidx.media3.exoplayer.offline.DefaultDownloadIndex;
+import androidx.media3.exoplayer.offline.Download;
+import androidx.media3.exoplayer.offline.DownloadRequest;
+import androidx.test.core.app.ApplicationProvider;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
+import okhttp3.mockwebserver.Dispatcher;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import okhttp3.mockwebserver.RecordedRequest;
+import okio.Buffer;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+
+/** Unit tests for {@link VideoCacheManager}, downloading from a local server. */
+@RunWith(RobolectricTestRunner.class)
+public final class VideoCacheManagerTest {
+  private static final long TIMEOUT_MS = 10_000;
+  private static final String MEDIA_PLAYLIST =
+      "#EXTM3U\n"
+          + "#EXT-X-TARGETDURATION:2\n"
+          + "#EXTINF:2.0,\n"
+          + "segment0.ts\n"
+          + "#EXTINF:2.0,\n"
+          + "segment1.ts\n"
+          + "#EXT-X-ENDLIST\n";
+
+  private final Context context = ApplicationProvider.getApplicationContext();
+  private final MockWebServer server = new MockWebServer();
+  private String url;
+  @Nullable private VideoCacheManager cacheManager;
+
+  @Before
+  public void setUp() throws IOException {
+    server.start();
+    url = server.url("/video.mp4").toString();
+  }
+
+  @After
+  public void tearDown() throws IOException {
+    if (cacheManager != null) {
+      cacheManager.release();
+    }
+    server.shutdown();
+  }
+
+  // Serves the video slowly enough that its download never completes during a test.
+  private void enqueueSlowVideo() {
+    server.enqueue(
+        new MockResponse()
+            .setBody(new Buffer().write(new byte[1000]))
+            .throttleBody(10, 1, TimeUnit.SECONDS));
+  }
+
+  // Writes a download into the index, as a previous run would have left it.
+  private void putDownload(@Download.State int state) throws IOException {
+    DownloadRequest request =
+        new DownloadRequest.Builder(downloadId(), Uri.parse(url))
+            .setData(url.getBytes(StandardCharsets.UTF_8))
+            .build();
+    new DefaultDownloadIndex(new StandaloneDatabaseProvider(context))
+        .putDownload(
+            new Download(
+                request,
+                state,
+                /* startTimeMs= */ 0,
+                /* updateTimeMs= */ 0,
+                /* contentLength= */ C.LENGTH_UNSET,
+                /* stopReason= */ Download.STOP_REASON_NONE,
+                state == Download.STATE_FAILED
+                    ? Download.FAILURE_REASON_UNKNOWN
+                    : Download.FAILURE_REASON_NONE));
+  }
+
+  // Serves an HLS media playlist and 1000 bytes for any segment.
+  private void serveHlsStream() {
+    server.setDispatcher(
+        new Dispatcher() {
+          @Override
+          public MockResponse dispatch(RecordedRequest request) {
+            if ("/media.m3u8".equals(request.getPath())) {
+              return new MockResponse().setBody(MEDIA_PLAYLIST);
+            }
+            return new MockResponse().setBody(new Buffer().write(new byte[1000]));
+          }
+        });
+  }
+
+  // Reads the first segment of the stream served by serveHlsStream as a player of the asset would.
+  private byte[] readFirstSegment(VideoCacheManager manager, HttpVideoAsset asset)
+      throws IOException {
+    DataSource dataSource =
+        asset.getDataSourceFactory(manager.getStreamingDataSourceFactory()).createDataSource();
+    try {
+      dataSource.open(new DataSpec(Uri.parse(server.url("/segment0.ts").toString())));
+      return DataSourceUtil.readToEnd(dataSource);
+    } finally {
+      dataSource.close();
+    }
+  }
+
+  private String downloadId() {
+    return Base64.encodeToString(url.getBytes(StandardCharsets.UTF_8), Base64.NO_WRAP);
+  }
+
+  private VideoCacheManager createCacheManager() throws InterruptedException {
+    cacheManager = new VideoCacheManager(context);
+    runMainLooperUntil(cacheManager::isDownloadsLoaded);
+    return cacheManager;
+  }
+
+  // Runs the main looper, without advancing its clock, until the condition holds.
+  private static void runMainLooperUntil(BooleanSupplier condition) throws InterruptedException {
+    long deadline = System.currentTimeMillis() + TIMEOUT_MS;
+    while (!condition.getAsBoolean()) {
+      if (System.currentTimeMillis() > deadline) {
+        throw new AssertionError("Timed out");
+      }
+      shadowOf(Looper.getMainLooper()).idle();
+      Thread.sleep(10);
+    }
+  }
+
+  @Test
+  public void replacesFailedDownloadOnceItsRemovalIsReported() throws Exception {
+    enqueueSlowVideo();
+    putDownload(Download.STATE_FAILED);
+    VideoCacheManager manager = createCacheManager();
+
+    ResultRecorder<String> result = new ResultRecorder<>();
+    manager.startDownload(url, DownloadScheduler.PRIORITY_BACKGROUND, result);
+
+    assertNull(result.value);
+    runMainLooperUntil(() -> result.value != null);
+    assertEquals(downloadId(), result.value);
+    runMainLooperUntil(() -> server.getRequestCount() > 0);
+  }
+
+  @Test
+  public void addsDownloadIfRemovalIsNeverReported() throws Exception {
+    enqueueSlowVideo();
+    putDownload(Download.STATE_FAILED);
+    VideoCacheManager manager = createCacheManager();
+    // Leaves the mirror entry stale, so that the removal is never reported.
+    new DefaultDownloadIndex(new StandaloneDatabaseProvider(context)).removeDownload(downloadId());
+
+    ResultRecorder<String> result = new ResultRecorder<>();
+    manager.startDownload(url, DownloadScheduler.PRIORITY_BACKGROUND, result);
+    Thread.sleep(100);
+    shadowOf(Looper.getMainLooper()).idle();
+    assertNull(result.value);
+
+    shadowOf(Looper.getMainLooper())
+        .idleFor(Duration.ofMillis(VideoCacheManager.PENDING_REMOVAL_TIMEOUT_MS));
+
+    assertEquals(downloadId(), result.value);
+    runMainLooperUntil(() -> server.getRequestCount() > 0);
+  }
+
+  @Test
+  public void keepsRunningDownloadWhenStartedAgain() throws Exception {
+    enqueueSlowVideo();
+    VideoCacheManager manager = createCacheManager();
+    ResultRecorder<String> firstResult = new ResultRecorder<>();
+    manager.startDownload(url, DownloadScheduler.PRIORITY_BACKGROUND, firstResult);
+    assertEquals(downloadId(), firstResult.value);
+    // The download is reported as running before its request reaches the server.
+    runMainLooperUntil(() -> server.getRequestCount() > 0);
+    shadowOf(Looper.getMainLooper()).idle();
+    int requestCount = server.getRequestCount();
+
+    ResultRecorder<String> secondResult = new ResultRecorder<>();
+    manager.startDownload(url, DownloadScheduler.PRIORITY_VISIBLE, secondResult);
+
+    assertEquals(downloadId(), secondResult.value);
+    Thread.sleep(100);
+    shadowOf(Looper.getMainLooper()).idle();
+    assertEquals(1, manager.getDownloadState(url));
+    assertEquals(requestCount, server.getRequestCount());
+  }
+
+  @Test
+  public void downloadsSegmentsOfAdaptiveStreamsInParallel() throws Exception {
+    // Serves segments slowly enough that none completes during the test.
+    server.setDispatcher(
+        new Dispatcher() {
+          @Override
+          public MockResponse dispatch(RecordedRequest request) {
+            if ("/media.m3u8".equals(request.getPath())) {
+              return new MockResponse().setBody(MEDIA_PLAYLIST);
+            }
+            return new MockResponse()
+                .setBody(new Buffer().write(new byte[1000]))
+                .throttleBody(10, 1, TimeUnit.SECONDS);
+          }
+        });
+    VideoCacheManager manager = createCacheManager();
+
+    ResultRecorder<String> result = new ResultRecorder<>();
+    manager.startDownload(
+        server.url("/media.m3u8").toString(), DownloadScheduler.PRIORITY_VISIBLE, result);
+
+    // The playlist, then both segments while the first is still being served.
+    runMainLooperUntil(() -> server.getRequestCount() >= 3);
+  }
+
+  @Test
+  public void reportsCancellationRequestedWhileLoadingOnceApplied() throws Exception {
+    putDownload(Download.STATE_QUEUED);
+    cacheManager = new VideoCacheManager(context);
+
+    ResultRecorder<Boolean> result = new ResultRecorder<>();
+    cacheManager.cancelDownload(url, result);
+
+    runMainLooperUntil(() -> result.value != null);
+    assertTrue(result.value);
+  }
+
+  @Test
+  public void reportsNoProgressForResumedDownloadOfUnknownLength() throws Exception {
+    putDownload(Download.STATE_QUEUED);
+
+    VideoCacheManager manager = createCacheManager();
+
+    assertEquals(0.0, manager.getDownloadProgress(url), 0.0);
+  }
+
+  @Test
+  public void reportsDownloadIdOnlyForDownloadedVideos() throws Exception {
+    putDownload(Download.STATE_STOPPED);
+    VideoCacheManager manager = createCacheManager();
+
+    assertEquals(downloadId(), manager.getDownloadId(url));
+    assertNull(manager.getDownloadId(server.url("/other.mp4").toString()));
+  }
+
+  @Test
+  public void tracksCachedRangesOnlyForVideosThatCanBeCached() throws Exception {
+    putDownload(Download.STATE_STOPPED);
+    String streamedUrl = server.url("/other.mp4").toString();
+    VideoCacheManager manager = createCacheManager();
+
+    CachedTimeRanges downloaded = manager.trackCachedTimeRanges(url, /* formatHint= */ null);
+    assertNotNull(downloaded);
+    downloaded.release();
+    assertNull(manager.trackCachedTimeRanges(streamedUrl, /* formatHint= */ null));
+
+    manager.setStreamingCache(true, 1000);
+    CachedTimeRanges streamed = manager.trackCachedTimeRanges(streamedUrl, /* formatHint= */ null);
+    assertNotNull(streamed);
+    streamed.release();
+  }
+
+  @Test
+  public void disablingStreamingCacheIgnoresItemLimit() throws Exception {
+    VideoCacheManager manager = createCacheManager();
+
+    manager.setStreamingCache(false, 0);
+
+    assertThrows(IllegalArgumentException.class, () -> manager.setStreamingCache(true, 0));
+  }
+
+  @Test
+  public void streamingPlaybackReadsPrefetchedHeadFromCache() throws Exception {
+    serveHlsStream();
+    String playlistUrl = server.url("/media.m3u8").toString();
+    VideoCacheManager manager = createCacheManager();
+    ResultRecorder<Long> prefetched = new ResultRecorder<>();
+    manager.prefetchHead(playlistUrl, 2000, "hls", Integer.MAX_VALUE, prefetched);
+    runMainLooperUntil(() -> prefetched.value != null);
+    int requestCount = server.getRequestCount();
+
+    // Streaming caching is disabled, so playback must not write but still read the cache.
+    HttpVideoAsset asset =
+        (HttpVideoAsset)
+            VideoAsset.fromRemoteUrl(
+                playlistUrl, VideoAsset.StreamingFormat.HTTP_LIVE, new HashMap<>());
+
+    assertEquals(1000, readFirstSegment(manager, asset).length);
+    assertEquals(requestCount, server.getRequestCount());
+  }
+
+  @Test
+  public void routesOnlyDownloadedVideosToDownloadStack() throws Exception {
+    putDownload(Download.STATE_STOPPED);
+    serveHlsStream();
+    String playlistUrl = server.url("/media.m3u8").toString();
+    VideoCacheManager manager = createCacheManager();
+    ResultRecorder<Long> prefetched = new ResultRecorder<>();
+    manager.prefetchHead(playlistUrl, 2000, "hls", Integer.MAX_VALUE, prefetched);
+    runMainLooperUntil(() -> prefetched.value != null);
+    int requestCount = server.getRequestCount();
+
+    VideoAsset downloadedAsset =
+        VideoPlayerPlugin.createRemoteAsset(manager, url, /* formatHint= */ null, new HashMap<>());
+    VideoAsset prefetchedAsset =
+        VideoPlayerPlugin.createRemoteAsset(manager, playlistUrl, "hls", new HashMap<>());
+
+    assertTrue(downloadedAsset instanceof CachedHttpVideoAsset);
+    assertTrue(prefetchedAsset instanceof HttpVideoAsset);
+    assertEquals(1000, readFirstSegment(manager, (HttpVideoAsset) prefetchedAsset).length);
+    assertEquals(requestCount, server.getRequestCount());
+  }
+
+  /** Records the value passed to a {@link Messages.Result}. */
+  private static final class ResultRecorder<T> implements Messages.Result<T> {
+    @Nullable volatile T value;
+
+    @Override
+    public void success(@NonNull T result) {
+      value = result;
+    }
+
+    @Override
+    public void error(@NonNull Throwable error) {
+      throw new AssertionError(error);
+    }
+  }
+}
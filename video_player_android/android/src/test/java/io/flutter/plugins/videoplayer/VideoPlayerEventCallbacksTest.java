@@ -5,13 +5,20 @@
 package io.flutter.plugins.videoplayer;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 
-import java.util.Arrays;
-import java.util.Collections;
-import java.util.HashMap;
-import java.util.Map;
+import io.flutter.plugin.common.EventChannel;
+import java.lang.management.ManagementFactory;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
 import org.junit.Before;
 import org.junit.Rule;
 import org.junit.Test;
@@ -27,8 +34,8 @@ import org.robolectric.RobolectricTestRunner;
  * Unit tests {@link VideoPlayerEventCallbacks}.
  *
  * <p>This test suite <em>narrowly verifies</em> that calling the provided event callbacks, such as
- * {@link VideoPlayerEventCallbacks#onBufferingUpdate(long)}, produces the expected data as an
- * encoded {@link Map}.
+ * {@link VideoPlayerEventCallbacks#onBufferingUpdate(long, long)}, produces the expected data as an
+ * encoded byte array.
  *
  * <p>In other words, this tests that "the Java-side of the event channel works as expected".
  */
@@ -37,8 +44,9 @@ public final class VideoPlayerEventCallbacksTest {
   private VideoPlayerEventCallbacks eventCallbacks;
 
   @Mock private QueuingEventSink mockEventSink;
+  @Mock private CachedTimeRanges mockCachedTimeRanges;
 
-  @Captor private ArgumentCaptor<Map<String, Object>> eventCaptor;
+  @Captor private ArgumentCaptor<Object> eventCaptor;
 
   @Rule public MockitoRule initRule = MockitoJUnit.rule();
 
@@ -47,86 +55,70 @@ public final class VideoPlayerEventCallbacksTest {
     eventCallbacks = VideoPlayerEventCallbacks.withSink(mockEventSink);
   }
 
+  private ByteBuffer capturedEvent() {
+    verify(mockEventSink).success(eventCaptor.capture());
+    return ByteBuffer.wrap((byte[]) eventCaptor.getValue()).order(ByteOrder.LITTLE_ENDIAN);
+  }
+
   @Test
   public void onInitializedSendsWidthHeightAndDuration() {
     eventCallbacks.onInitialized(800, 400, 10L, 0);
 
-    verify(mockEventSink).success(eventCaptor.capture());
-
-    Map<String, Object> actual = eventCaptor.getValue();
-    Map<String, Object> expected = new HashMap<>();
-    expected.put("event", "initialized");
-    expected.put("duration", 10L);
-    expected.put("width", 800);
-    expected.put("height", 400);
-
-    assertEquals(expected, actual);
+    ByteBuffer event = capturedEvent();
+    assertEquals(VideoPlayerEventCallbacks.TAG_INITIALIZED, event.get());
+    assertEquals(800, event.getInt());
+    assertEquals(400, event.getInt());
+    assertEquals(10L, event.getLong());
+    assertEquals(0, event.getInt());
+    assertEquals(0, event.remaining());
   }
 
   @Test
-  public void onInitializedIncludesRotationCorrectIfNonZero() {
+  public void onInitializedIncludesRotationCorrection() {
     eventCallbacks.onInitialized(800, 400, 10L, 180);
 
-    verify(mockEventSink).success(eventCaptor.capture());
-
-    Map<String, Object> actual = eventCaptor.getValue();
-    Map<String, Object> expected = new HashMap<>();
-    expected.put("event", "initialized");
-    expected.put("duration", 10L);
-    expected.put("width", 800);
-    expected.put("height", 400);
-    expected.put("rotationCorrection", 180);
-
-    assertEquals(expected, actual);
+    ByteBuffer event = capturedEvent();
+    event.position(17);
+    assertEquals(180, event.getInt());
   }
 
   @Test
   public void onBufferingStart() {
     eventCallbacks.onBufferingStart();
 
-    verify(mockEventSink).success(eventCaptor.capture());
-
-    Map<String, Object> actual = eventCaptor.getValue();
-    Map<String, Object> expected = new HashMap<>();
-    expected.put("event", "bufferingStart");
-    assertEquals(expected, actual);
+    ByteBuffer event = capturedEvent();
+    assertEquals(VideoPlayerEventCallbacks.TAG_BUFFERING_START, event.get());
+    assertEquals(0, event.remaining());
   }
 
   @Test
   public void onBufferingUpdateProvidesAListWithASingleRange() {
-    eventCallbacks.onBufferingUpdate(10L);
-
-    verify(mockEventSink).success(eventCaptor.capture());
-
-    Map<String, Object> actual = eventCaptor.getValue();
-    Map<String, Object> expected = new HashMap<>();
-    expected.put("event", "bufferingUpdate");
-    expected.put("values", Collections.singletonList(Arrays.asList(0, 10L)));
-    assertEquals(expected, actual);
+    eventCallbacks.onBufferingUpdate(0L, 10L);
+
+    ByteBuffer event = capturedEvent();
+    assertEquals(VideoPlayerEventCallbacks.TAG_BUFFERING_UPDATE, event.get());
+    assertEquals(1, event.getInt());
+    assertEquals(0L, event.getLong());
+    assertEquals(10L, event.getLong());
+    assertEquals(0, event.remaining());
   }
 
   @Test
   public void onBufferingEnd() {
     eventCallbacks.onBufferingEnd();
 
-    verify(mockEventSink).success(eventCaptor.capture());
-
-    Map<String, Object> actual = eventCaptor.getValue();
-    Map<String, Object> expected = new HashMap<>();
-    expected.put("event", "bufferingEnd");
-    assertEquals(expected, actual);
+    ByteBuffer event = capturedEvent();
+    assertEquals(VideoPlayerEventCallbacks.TAG_BUFFERING_END, event.get());
+    assertEquals(0, event.remaining());
   }
 
   @Test
   public void onCompleted() {
     eventCallbacks.onCompleted();
 
-    verify(mockEventSink).success(eventCaptor.capture());
-
-    Map<String, Object> actual = eventCaptor.getValue();
-    Map<String, Object> expected = new HashMap<>();
-    expected.put("event", "completed");
-    assertEquals(expected, actual);
+    ByteBuffer event = capturedEvent();
+    assertEquals(VideoPlayerEventCallbacks.TAG_COMPLETED, event.get());
+    assertEquals(0, event.remaining());
   }
 
   @Test
@@ -140,12 +132,195 @@ public final class VideoPlayerEventCallbacksTest {
   public void onIsPlayingStateUpdate() {
     eventCallbacks.onIsPlayingStateUpdate(true);
 
-    verify(mockEventSink).success(eventCaptor.capture());
+    ByteBuffer event = capturedEvent();
+    assertEquals(VideoPlayerEventCallbacks.TAG_IS_PLAYING_STATE_UPDATE, event.get());
+    assertEquals(1, event.get());
+    assertEquals(0, event.remaining());
+  }
+
+  @Test
+  public void onPositionUpdateProvidesPositionAndBufferedRange() {
+    eventCallbacks.onPositionUpdate(5L, 10L);
+
+    ByteBuffer event = capturedEvent();
+    assertEquals(VideoPlayerEventCallbacks.TAG_POSITION_UPDATE, event.get());
+    assertEquals(5L, event.getLong());
+    assertEquals(1, event.getInt());
+    assertEquals(5L, event.getLong());
+    assertEquals(10L, event.getLong());
+    assertEquals(0, event.remaining());
+  }
+
+  private void stubCachedRanges(CachedTimeRanges cachedTimeRanges, long... ranges) {
+    doAnswer(
+            invocation -> {
+              long[] out = invocation.getArgument(1);
+              System.arraycopy(ranges, 0, out, 0, ranges.length);
+              return ranges.length / 2;
+            })
+        .when(cachedTimeRanges)
+        .copyTimeRanges(anyLong(), any(long[].class), anyInt());
+    eventCallbacks.setCachedTimeRanges(cachedTimeRanges);
+  }
+
+  @Test
+  public void bufferingUpdateMergesCachedRangesWithInMemoryBuffer() {
+    stubCachedRanges(mockCachedTimeRanges, 0L, 2000L, 4000L, 6000L, 9000L, 10000L);
+    eventCallbacks.onInitialized(800, 400, 10000L, 0);
+
+    eventCallbacks.onBufferingUpdate(5000L, 7000L);
+
+    verify(mockEventSink, times(2)).success(eventCaptor.capture());
+    ByteBuffer event =
+        ByteBuffer.wrap((byte[]) eventCaptor.getValue()).order(ByteOrder.LITTLE_ENDIAN);
+    assertEquals(VideoPlayerEventCallbacks.TAG_BUFFERING_UPDATE, event.get());
+    assertEquals(3, event.getInt());
+    assertEquals(0L, event.getLong());
+    assertEquals(2000L, event.getLong());
+    assertEquals(4000L, event.getLong());
+    assertEquals(7000L, event.getLong());
+    assertEquals(9000L, event.getLong());
+    assertEquals(10000L, event.getLong());
+    assertEquals(0, event.remaining());
+    verify(mockCachedTimeRanges)
+        .copyTimeRanges(
+            eq(10000L), any(long[].class), eq(VideoPlayerEventCallbacks.MAX_BUFFERED_RANGES - 1));
+  }
+
+  @Test
+  public void onPlaylistItemChangedSendsIndexAndDuration() {
+    eventCallbacks.onPlaylistItemChanged(2, 30000L);
+
+    ByteBuffer event = capturedEvent();
+    assertEquals(VideoPlayerEventCallbacks.TAG_PLAYLIST_ITEM_CHANGED, event.get());
+    assertEquals(2, event.getInt());
+    assertEquals(30000L, event.getLong());
+    assertEquals(0, event.remaining());
+  }
+
+  @Test
+  public void playlistItemChangeStopsReportingCachedRangesOfFirstItem() {
+    stubCachedRanges(mockCachedTimeRanges, 0L, 2000L);
+    eventCallbacks.onPlaylistItemChanged(1, 30000L);
+
+    eventCallbacks.onBufferingUpdate(0L, 1000L);
+
+    verify(mockEventSink, times(2)).success(eventCaptor.capture());
+    ByteBuffer event =
+        ByteBuffer.wrap((byte[]) eventCaptor.getValue()).order(ByteOrder.LITTLE_ENDIAN);
+    assertEquals(VideoPlayerEventCallbacks.TAG_BUFFERING_UPDATE, event.get());
+    assertEquals(1, event.getInt());
+    assertEquals(0L, event.getLong());
+    assertEquals(1000L, event.getLong());
+    verify(mockCachedTimeRanges, never()).copyTimeRanges(anyLong(), any(long[].class), anyInt());
+  }
+
+  @Test
+  public void returningToFirstItemReportsItsCachedRangesAgain() {
+    stubCachedRanges(mockCachedTimeRanges, 0L, 2000L);
+    eventCallbacks.onPlaylistItemChanged(1, 30000L);
+    eventCallbacks.onPlaylistItemChanged(0, 10000L);
+
+    eventCallbacks.onBufferingUpdate(0L, 1000L);
+
+    verify(mockCachedTimeRanges)
+        .copyTimeRanges(
+            eq(10000L), any(long[].class), eq(VideoPlayerEventCallbacks.MAX_BUFFERED_RANGES - 1));
+  }
+
+  @Test
+  public void removingFirstItemStopsReportingItsCachedRanges() {
+    stubCachedRanges(mockCachedTimeRanges, 0L, 2000L);
+    eventCallbacks.onPlaylistItemRemoved(0);
+    eventCallbacks.onPlaylistItemChanged(0, 30000L);
+
+    eventCallbacks.onBufferingUpdate(0L, 1000L);
+
+    verify(mockCachedTimeRanges, never()).copyTimeRanges(anyLong(), any(long[].class), anyInt());
+  }
+
+  @Test
+  public void positionUpdateInsertsInMemoryBufferBeforeLaterCachedRange() {
+    stubCachedRanges(mockCachedTimeRanges, 8000L, 9000L);
+
+    eventCallbacks.onPositionUpdate(1000L, 3000L);
+
+    ByteBuffer event = capturedEvent();
+    assertEquals(VideoPlayerEventCallbacks.TAG_POSITION_UPDATE, event.get());
+    assertEquals(1000L, event.getLong());
+    assertEquals(2, event.getInt());
+    assertEquals(1000L, event.getLong());
+    assertEquals(3000L, event.getLong());
+    assertEquals(8000L, event.getLong());
+    assertEquals(9000L, event.getLong());
+    assertEquals(0, event.remaining());
+  }
+
+  @Test
+  public void emptyInMemoryBufferSendsCachedRangesOnly() {
+    stubCachedRanges(mockCachedTimeRanges, 8000L, 9000L);
+
+    eventCallbacks.onBufferingUpdate(3000L, 3000L);
+
+    ByteBuffer event = capturedEvent();
+    event.position(1);
+    assertEquals(1, event.getInt());
+    assertEquals(8000L, event.getLong());
+    assertEquals(9000L, event.getLong());
+    assertEquals(0, event.remaining());
+  }
+
+  @Test
+  public void onPictureInPictureEnteredAndExited() {
+    eventCallbacks.onPictureInPictureEntered();
+    eventCallbacks.onPictureInPictureExited();
+
+    verify(mockEventSink, times(2)).success(eventCaptor.capture());
+    assertEquals(
+        VideoPlayerEventCallbacks.TAG_PIP_ENTERED,
+        ((byte[]) eventCaptor.getAllValues().get(0))[0]);
+    assertEquals(
+        VideoPlayerEventCallbacks.TAG_PIP_EXITED, ((byte[]) eventCaptor.getAllValues().get(1))[0]);
+  }
+
+  @Test
+  public void steadyStateEventsDoNotAllocate() {
+    QueuingEventSink eventSink = new QueuingEventSink();
+    eventSink.setDelegate(new NoOpEventSink());
+    VideoPlayerEventCallbacks callbacks = VideoPlayerEventCallbacks.withSink(eventSink);
+    com.sun.management.ThreadMXBean threadBean =
+        (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+    long threadId = Thread.currentThread().getId();
+    int iterations = 10_000;
+
+    // Warm up so that class loading and queue growth are not measured.
+    sendEvents(callbacks, iterations);
+    long before = threadBean.getThreadAllocatedBytes(threadId);
+    sendEvents(callbacks, iterations);
+    long allocated = threadBean.getThreadAllocatedBytes(threadId) - before;
+
+    // Leaves room for the measurement itself, but not for a single allocation per event.
+    assertTrue("Allocated " + allocated + " bytes", allocated < iterations);
+  }
+
+  private static void sendEvents(VideoPlayerEventCallbacks callbacks, int count) {
+    for (int i = 0; i < count; i++) {
+      callbacks.onPositionUpdate(i, i + 1000L);
+      callbacks.onBufferingUpdate(i, i + 1000L);
+      callbacks.onIsPlayingStateUpdate((i & 1) == 0);
+      callbacks.onBufferingStart();
+      callbacks.onBufferingEnd();
+    }
+  }
+
+  private static final class NoOpEventSink implements EventChannel.EventSink {
+    @Override
+    public void success(Object event) {}
+
+    @Override
+    public void error(String errorCode, String errorMessage, Object errorDetails) {}
 
-    Map<String, Object> actual = eventCaptor.getValue();
-    Map<String, Object> expected = new HashMap<>();
-    expected.put("event", "isPlayingStateUpdate");
-    expected.put("isPlaying", true);
-    assertEquals(expected, actual);
+    @Override
+    public void endOfStream() {}
   }
 }
@@ -5,8 +5,12 @@
 package io.flutter.plugins.videoplayer;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertThrows;
 import static org.mockito.Mockito.*;
+import static org.robolectric.Shadows.shadowOf;
 
+import android.content.Context;
+import android.os.Looper;
 import androidx.annotation.NonNull;
 import androidx.annotation.Nullable;
 import androidx.media3.common.AudioAttributes;
@@ -16,8 +20,10 @@ import androidx.media3.common.MediaItem;
 import androidx.media3.common.PlaybackParameters;
 import androidx.media3.common.Player;
 import androidx.media3.exoplayer.ExoPlayer;
+import androidx.media3.exoplayer.source.MediaSource;
 import io.flutter.plugins.videoplayer.platformview.PlatformViewExoPlayerEventListener;
 import io.flutter.view.TextureRegistry.SurfaceProducer;
+import java.time.Duration;
 import org.junit.Before;
 import org.junit.Rule;
 import org.junit.Test;
@@ -132,11 +138,51 @@ public final class VideoPlayerTest {
 
     when(mockExoPlayer.getBufferedPosition()).thenReturn(10L);
     videoPlayer.sendBufferingUpdate();
-    verify(mockEvents).onBufferingUpdate(10L);
+    verify(mockEvents).onBufferingUpdate(0L, 10L);
 
     videoPlayer.dispose();
   }
 
+  @Test
+  public void sendsPositionUpdatesOnlyWhilePlaying() {
+    VideoPlayer videoPlayer = createVideoPlayer();
+    verify(mockExoPlayer, times(2)).addListener(listenerCaptor.capture());
+    Player.Listener positionUpdateListener = listenerCaptor.getAllValues().get(1);
+    when(mockExoPlayer.getCurrentPosition()).thenReturn(5L);
+    when(mockExoPlayer.getBufferedPosition()).thenReturn(10L);
+
+    videoPlayer.setPositionUpdateInterval(100);
+    shadowOf(Looper.getMainLooper()).idleFor(Duration.ofMillis(300));
+    verify(mockEvents, never()).onPositionUpdate(anyLong(), anyLong());
+
+    when(mockExoPlayer.isPlaying()).thenReturn(true);
+    positionUpdateListener.onIsPlayingChanged(true);
+    shadowOf(Looper.getMainLooper()).idleFor(Duration.ofMillis(250));
+    // Once when playback starts, then after 100ms and 200ms.
+    verify(mockEvents, times(3)).onPositionUpdate(5L, 10L);
+
+    when(mockExoPlayer.isPlaying()).thenReturn(false);
+    positionUpdateListener.onIsPlayingChanged(false);
+    shadowOf(Looper.getMainLooper()).idleFor(Duration.ofMillis(300));
+    verify(mockEvents, times(3)).onPositionUpdate(5L, 10L);
+
+    videoPlayer.dispose();
+  }
+
+  @Test
+  public void disposeStopsPositionUpdates() {
+    VideoPlayer videoPlayer = createVideoPlayer();
+    when(mockExoPlayer.isPlaying()).thenReturn(true);
+    videoPlayer.setPositionUpdateInterval(100);
+    shadowOf(Looper.getMainLooper()).idle();
+    verify(mockEvents).onPositionUpdate(anyLong(), anyLong());
+
+    videoPlayer.dispose();
+    shadowOf(Looper.getMainLooper()).idleFor(Duration.ofMillis(300));
+
+    verify(mockEvents).onPositionUpdate(anyLong(), anyLong());
+  }
+
   @Test
   public void togglesLoopingEnablesAndDisablesRepeatMode() {
     VideoPlayer videoPlayer = createVideoPlayer();
@@ -195,8 +241,9 @@ public final class VideoPlayerTest {
     when(mockExoPlayer.getVideoFormat())
         .thenReturn(
             new Format.Builder().setWidth(300).setHeight(200).setRotationDegrees(0).build());
-    verify(mockExoPlayer).addListener(listenerCaptor.capture());
-    Player.Listener listener = listenerCaptor.getValue();
+    // The event listener, followed by the position update listener.
+    verify(mockExoPlayer, times(2)).addListener(listenerCaptor.capture());
+    Player.Listener listener = listenerCaptor.getAllValues().get(0);
 
     // Trigger an event that would trigger onInitialized.
     listener.onPlaybackStateChanged(Player.STATE_READY);
@@ -205,6 +252,53 @@ public final class VideoPlayerTest {
     videoPlayer.dispose();
   }
 
+  @Test
+  public void keepsBufferOfPreloadedPlayerAndReportsItReady() {
+    when(mockExoPlayer.getCurrentMediaItem()).thenReturn(fakeVideoAsset.getMediaItem());
+    when(mockExoPlayer.getPlaybackState()).thenReturn(Player.STATE_READY);
+    when(mockExoPlayer.getVideoFormat())
+        .thenReturn(
+            new Format.Builder().setWidth(300).setHeight(200).setRotationDegrees(0).build());
+
+    VideoPlayer videoPlayer = createVideoPlayer();
+
+    verify(mockExoPlayer, never()).setMediaItem(any(MediaItem.class));
+    verify(mockExoPlayer, never()).prepare();
+    verify(mockEvents).onInitialized(anyInt(), anyInt(), anyLong(), anyInt());
+
+    videoPlayer.dispose();
+  }
+
+  @Test
+  public void addPlaylistItemAppendsMediaSourceOfItem() {
+    VideoPlayer videoPlayer = createVideoPlayer();
+    FakeVideoAsset nextAsset = new FakeVideoAsset("https://flutter.dev/next.mp4");
+
+    videoPlayer.addPlaylistItem(
+        nextAsset.getMediaItem(), nextAsset.getMediaSourceFactory(mock(Context.class)));
+
+    verify(mockExoPlayer).addMediaSource(any(MediaSource.class));
+    verify(mockExoPlayer, times(1)).prepare();
+
+    videoPlayer.dispose();
+  }
+
+  @Test
+  public void removePlaylistItemRemovesItemFromPlayer() {
+    VideoPlayer videoPlayer = createVideoPlayer();
+    FakeVideoAsset nextAsset = new FakeVideoAsset("https://flutter.dev/next.mp4");
+    videoPlayer.addPlaylistItem(
+        nextAsset.getMediaItem(), nextAsset.getMediaSourceFactory(mock(Context.class)));
+
+    videoPlayer.removePlaylistItem(0);
+
+    verify(mockExoPlayer).removeMediaItem(0);
+    verify(mockEvents).onPlaylistItemRemoved(0);
+    assertThrows(IllegalArgumentException.class, () -> videoPlayer.removePlaylistItem(1));
+
+    videoPlayer.dispose();
+  }
+
   @Test
   public void disposeReleasesExoPlayer() {
     VideoPlayer videoPlayer = createVideoPlayer();
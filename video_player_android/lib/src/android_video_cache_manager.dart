@@ -4,6 +4,7 @@
 
 import 'dart:async';
 
+import 'package:flutter/services.dart';
 import 'package:video_player_platform_interface/video_player_platform_interface.dart';
 import 'package:video_player_platform_interface/src/video_cache.dart'
     as platform_interface;
@@ -23,47 +24,27 @@ class AndroidVideoCacheManager implements VideoCacheApi {
 
   final messages.AndroidVideoPlayerApi _api = messages.AndroidVideoPlayerApi();
 
-  // Stream controllers for each URL being downloaded
-  final Map<String, StreamController<platform_interface.DownloadProgress>>
-      _progressControllers = {};
+  static const EventChannel _progressChannel =
+      EventChannel('flutter.io/videoPlayer/downloadProgress');
+
+  // A single native subscription shared by all progress streams. The platform
+  // only computes progress while this stream has listeners.
+  late final Stream<_ProgressEvent> _progressEvents = _progressChannel
+      .receiveBroadcastStream()
+      .map((dynamic event) =>
+          _ProgressEvent.fromMap(event as Map<dynamic, dynamic>));
 
   /// Starts downloading a video for offline playback.
   ///
+  /// At most [getMaxConcurrentDownloads] downloads run at once. A download
+  /// with a more urgent [priority] than a running one preempts it; the
+  /// preempted download keeps its progress and resumes later.
+  ///
   /// Returns the unique ID for the download.
   @override
-  Future<String> startDownload(String url) async {
-    // Reset any existing progress controllers for this URL
-    if (_progressControllers.containsKey(url)) {
-      // Stop progress updates for the existing download
-      _stopProgressUpdates(url);
-
-      // Get a fresh controller (the previous one might still have listeners)
-      final oldController = _progressControllers[url]!;
-
-      // Create a new controller to replace the old one
-      final newController =
-          StreamController<platform_interface.DownloadProgress>.broadcast(
-        onListen: () {
-          _startProgressUpdates(url);
-        },
-        onCancel: () {
-          _stopProgressUpdates(url);
-        },
-      );
-
-      // Replace the controller in the map
-      _progressControllers[url] = newController;
-
-      // Close the old controller after all listeners have been notified
-      // of the download completion
-      scheduleMicrotask(() {
-        if (!oldController.isClosed) {
-          oldController.close();
-        }
-      });
-    }
-
-    final String result = await _api.startDownload(url);
+  Future<String> startDownload(String url,
+      {DownloadPriority priority = DownloadPriority.background}) async {
+    final String result = await _api.startDownload(url, priority.index);
     return result;
   }
 
@@ -132,8 +113,12 @@ class AndroidVideoCacheManager implements VideoCacheApi {
   @override
   Future<platform_interface.DownloadState> getDownloadState(String url) async {
     final messages.DownloadState state = await _api.getDownloadState(url);
+    return _toPlatformState(state);
+  }
 
-    // Convert the pigeon enum to the platform interface enum
+  // Convert the pigeon enum to the platform interface enum
+  static platform_interface.DownloadState _toPlatformState(
+      messages.DownloadState state) {
     return switch (state) {
       messages.DownloadState.initial =>
         platform_interface.DownloadState.initial,
@@ -145,110 +130,683 @@ class AndroidVideoCacheManager implements VideoCacheApi {
     };
   }
 
+  /// Starts downloading several videos in a single platform call.
+  ///
+  /// Returns the download IDs in the same order as [urls]. An ID is empty if
+  /// its download could not be started.
+  Future<List<String>> startDownloads(List<String> urls,
+      {DownloadPriority priority = DownloadPriority.background}) {
+    return _api.startDownloads(urls, priority.index);
+  }
+
+  /// Cancels several active downloads in a single platform call.
+  ///
+  /// Returns, in the same order as [urls], whether each download was canceled.
+  Future<List<bool>> cancelDownloads(List<String> urls) {
+    return _api.cancelDownloads(urls);
+  }
+
+  /// Gets the progress of several videos in a single platform call.
+  Future<List<platform_interface.DownloadProgress>> getDownloadProgresses(
+      List<String> urls) async {
+    final List<messages.DownloadProgress> progresses =
+        await _api.getDownloadProgresses(urls);
+    return <platform_interface.DownloadProgress>[
+      for (final messages.DownloadProgress progress in progresses)
+        platform_interface.DownloadProgress(
+          url: progress.url,
+          progress: progress.progress,
+          bytesDownloaded: progress.bytesDownloaded,
+        ),
+    ];
+  }
+
+  /// Gets the download state of several videos in a single platform call.
+  Future<List<platform_interface.DownloadState>> getDownloadStates(
+      List<String> urls) async {
+    final List<messages.DownloadState> states =
+        await _api.getDownloadStates(urls);
+    return states.map(_toPlatformState).toList();
+  }
+
+  /// Sets the maximum number of bytes the video cache may occupy on disk.
+  ///
+  /// Cached content that no longer fits is evicted in least-recently-used
+  /// order. Videos downloaded with [startDownload] are never evicted.
+  Future<void> setMaxCacheSize(int maxBytes) {
+    return _api.setMaxCacheSize(maxBytes);
+  }
+
+  /// Enables or disables caching of streamed playback.
+  ///
+  /// When enabled, videos created afterwards write the bytes they stream into
+  /// the video cache, so that a replay or a seek back is served from disk. At
+  /// most [maxItemBytes] are cached per video, or per track of an HLS, DASH or
+  /// SmoothStreaming video across its segments. [maxItemBytes] is ignored when
+  /// disabling. Streamed content is evicted like any other cached content once
+  /// the cache is full.
+  Future<void> setStreamingCache(bool enabled,
+      {int maxItemBytes = defaultMaxStreamingItemBytes}) {
+    return _api.setStreamingCache(enabled, maxItemBytes);
+  }
+
+  /// The default value of `maxItemBytes` in [setStreamingCache].
+  static const int defaultMaxStreamingItemBytes = 100 * 1024 * 1024;
+
+  /// Selects the HTTP engine that fetches videos from the network.
+  ///
+  /// Requests started afterwards use the new engine, including those of
+  /// existing players. With [AndroidHttpEngine.pooled], which is the default,
+  /// up to [maxIdleConnections] idle connections are kept alive for reuse.
+  Future<void> setHttpEngine(AndroidHttpEngine engine,
+      {int maxIdleConnections = defaultMaxIdleConnections}) {
+    return _api.setHttpEngine(
+        engine == AndroidHttpEngine.pooled, maxIdleConnections);
+  }
+
+  /// The default value of `maxIdleConnections` in [setHttpEngine].
+  static const int defaultMaxIdleConnections = 8;
+
+  /// Sets how downloads of progressive videos, such as MP4 files, are split.
+  ///
+  /// A video is fetched as byte ranges of [chunkBytes], [parallelism] of them
+  /// at once, and a resumed download only fetches the chunks that are not
+  /// cached yet. A [parallelism] of 1 fetches the whole video with a single
+  /// request. Applies to downloads started or resumed afterwards; HLS, DASH
+  /// and SmoothStreaming downloads are not affected.
+  Future<void> setDownloadChunking({
+    int chunkBytes = defaultDownloadChunkBytes,
+    int parallelism = defaultDownloadParallelism,
+  }) {
+    return _api.setDownloadChunking(chunkBytes, parallelism);
+  }
+
+  /// The default value of `chunkBytes` in [setDownloadChunking].
+  static const int defaultDownloadChunkBytes = 4 * 1024 * 1024;
+
+  /// The default value of `parallelism` in [setDownloadChunking].
+  static const int defaultDownloadParallelism = 4;
+
+  /// Changes the priority of the download of [url], e.g. as its video scrolls
+  /// into or out of view.
+  ///
+  /// Returns false if the video is not being downloaded.
+  Future<bool> setDownloadPriority(String url, DownloadPriority priority) {
+    return _api.setDownloadPriority(url, priority.index);
+  }
+
+  /// Enables or disables slowing down downloads while a video plays with
+  /// little buffer.
+  ///
+  /// When [enabled], which is the default, downloads and prefetches are
+  /// limited to a small share of the estimated bandwidth whenever a playing
+  /// video holds less than [minBuffer] ahead of its position, and run at full
+  /// speed again once every playing video holds half again as much.
+  Future<void> setDownloadThrottling(bool enabled,
+      {Duration minBuffer = defaultThrottleMinBuffer}) {
+    return _api.setDownloadThrottling(enabled, minBuffer.inMilliseconds);
+  }
+
+  /// The default value of `minBuffer` in [setDownloadThrottling].
+  static const Duration defaultThrottleMinBuffer = Duration(seconds: 10);
+
+  /// Gets the number of bytes the player with [playerId] read from the cache
+  /// and from the network.
+  ///
+  /// Videos that are fully or partially downloaded, or cached while
+  /// streaming, are read from the cache wherever possible, and only the
+  /// missing ranges are fetched from the network.
+  Future<PlayerCacheStats> getPlayerCacheStats(int playerId) async {
+    final messages.PlayerCacheStats stats =
+        await _api.getPlayerCacheStats(playerId);
+    return PlayerCacheStats(
+      cachedBytesRead: stats.cachedBytesRead,
+      networkBytesRead: stats.networkBytesRead,
+    );
+  }
+
+  /// Caches the beginning of an HLS, DASH or SmoothStreaming video so that it
+  /// starts playing from disk.
+  ///
+  /// The manifest, the initialization data and the segments covering the
+  /// first [duration] of one rendition are cached. The rendition with the
+  /// highest bitrate not above [maxBitrate] is chosen, or the lowest one if
+  /// all exceed it; by default the highest bitrate is chosen. The format is
+  /// inferred from the URL unless [formatHint] is given.
+  ///
+  /// Unlike downloads, prefetched content is evicted once the cache is full.
+  /// Returns the number of bytes that were not cached before.
+  Future<int> prefetchHead(
+    String url, {
+    Duration duration = const Duration(seconds: 3),
+    VideoFormat? formatHint,
+    int? maxBitrate,
+  }) {
+    return _api.prefetchHead(
+      url,
+      duration.inMilliseconds,
+      switch (formatHint) {
+        VideoFormat.hls => 'hls',
+        VideoFormat.dash => 'dash',
+        VideoFormat.ss => 'ss',
+        VideoFormat.other || null => null,
+      },
+      maxBitrate,
+    );
+  }
+
+  /// Sets how many idle ExoPlayer instances are kept for reuse.
+  ///
+  /// A disposed player is stopped, reset and kept in the pool, and the next
+  /// player created leases it instead of building a new ExoPlayer. Idle
+  /// players beyond [maxIdlePlayers] are released; 0 disables pooling. The
+  /// default is 2.
+  Future<void> setPlayerPoolSize(int maxIdlePlayers) {
+    return _api.setPlayerPoolSize(maxIdlePlayers);
+  }
+
+  /// Gets the hit and timing counters of the ExoPlayer pool.
+  Future<PlayerPoolStats> getPlayerPoolStats() async {
+    final messages.PlayerPoolStats stats = await _api.getPlayerPoolStats();
+    return PlayerPoolStats(
+      hitCount: stats.hitCount,
+      missCount: stats.missCount,
+      idleCount: stats.idleCount,
+      averageCreationTime: Duration(microseconds: stats.averageCreationTimeUs),
+      creationTimeSaved: Duration(microseconds: stats.creationTimeSavedUs),
+    );
+  }
+
+  /// Enables or disables sharing playback resources between players.
+  ///
+  /// When enabled, players created afterwards run on one shared playback
+  /// thread, share one app-wide bandwidth estimate, and draw their buffers
+  /// from one allocator. The [totalBufferBytes] budget is split evenly
+  /// across the players that are loading, so buffer memory stays bounded
+  /// however many players exist, e.g. for a grid of muted previews.
+  Future<void> setSharedPlaybackResources(bool enabled,
+      {int totalBufferBytes = defaultSharedBufferBytes}) {
+    return _api.setSharedPlaybackResources(enabled, totalBufferBytes);
+  }
+
+  /// The default value of `totalBufferBytes` in [setSharedPlaybackResources].
+  static const int defaultSharedBufferBytes = 64 * 1024 * 1024;
+
+  /// Gets the number of events the player with [playerId] discarded while
+  /// nothing listened to its event stream.
+  ///
+  /// Until a listener attaches, a player queues a bounded number of events.
+  /// A newer buffering, position or playing state update replaces the queued
+  /// one, and the oldest other event is dropped when the queue is full.
+  Future<PlayerEventStats> getPlayerEventStats(int playerId) async {
+    final messages.PlayerEventStats stats =
+        await _api.getPlayerEventStats(playerId);
+    return PlayerEventStats(
+      droppedEventCount: stats.droppedEventCount,
+      coalescedEventCount: stats.coalescedEventCount,
+    );
+  }
+
+  /// Prepares a player for a network video that is about to be shown.
+  ///
+  /// The player buffers up to [duration] of the video, within a budget of
+  /// 8 MB, before any widget is created. When a player is later created for
+  /// the same [url], [formatHint] and [httpHeaders], it takes over the
+  /// prepared player with its buffer, so the first frame shows without
+  /// waiting for the network. At most 3 players are preloaded; the oldest one
+  /// is released to make room for a new one, and all are released when the
+  /// system runs low on memory.
+  ///
+  /// Returns false if [url] is not a network URL, which is not preloaded.
+  Future<bool> preload(
+    String url, {
+    Duration duration = const Duration(seconds: 2),
+    VideoFormat? formatHint,
+    Map<String, String> httpHeaders = const <String, String>{},
+  }) {
+    return _api.preload(
+      url,
+      switch (formatHint) {
+        VideoFormat.hls => 'hls',
+        VideoFormat.dash => 'dash',
+        VideoFormat.ss => 'ss',
+        VideoFormat.other || null => null,
+      },
+      httpHeaders,
+      duration.inMilliseconds,
+    );
+  }
+
+  /// Appends a video to the playlist of the player with [playerId].
+  ///
+  /// The player keeps playing its current video, buffers into the next one
+  /// before the current one ends, and moves on without a gap. A
+  /// [VideoEventType.playlistItemChanged] event is sent whenever playback
+  /// moves to another item. The video the player was created with is the
+  /// first item.
+  Future<void> addPlaylistItem(
+    int playerId,
+    String uri, {
+    VideoFormat? formatHint,
+    Map<String, String> httpHeaders = const <String, String>{},
+  }) {
+    return _api.addPlaylistItem(
+      playerId,
+      uri,
+      switch (formatHint) {
+        VideoFormat.hls => 'hls',
+        VideoFormat.dash => 'dash',
+        VideoFormat.ss => 'ss',
+        VideoFormat.other || null => null,
+      },
+      httpHeaders,
+    );
+  }
+
+  /// Removes the item at [index] from the playlist of the player with
+  /// [playerId].
+  ///
+  /// Removing the current item continues with the next one.
+  Future<void> removePlaylistItem(int playerId, int index) {
+    return _api.removePlaylistItem(playerId, index);
+  }
+
+  /// Gets the quality of experience metrics of the player with [playerId].
+  ///
+  /// The metrics cover the whole life of the player, including players
+  /// rebuilt after the app was in the background.
+  Future<PlaybackStats> getPlaybackStats(int playerId) async {
+    final messages.PlaybackStats stats = await _api.getPlaybackStats(playerId);
+    return PlaybackStats(
+      timeToFirstFrame: stats.timeToFirstFrameMs == null
+          ? null
+          : Duration(milliseconds: stats.timeToFirstFrameMs!),
+      joinLatency: stats.joinLatencyMs == null
+          ? null
+          : Duration(milliseconds: stats.joinLatencyMs!),
+      rebufferCount: stats.rebufferCount,
+      rebufferDuration: Duration(milliseconds: stats.rebufferDurationMs),
+      droppedFrameCount: stats.droppedFrameCount,
+      bitrateSwitchCount: stats.bitrateSwitchCount,
+      bytesLoaded: stats.bytesLoaded,
+      resumeTime: stats.resumeTimeMs == null
+          ? null
+          : Duration(milliseconds: stats.resumeTimeMs!),
+    );
+  }
+
+  /// Gets the metrics of the player with [playerId] every [interval].
+  ///
+  /// Sampling stops when the subscription is cancelled. The metrics are only
+  /// read while listened to, so the player pays nothing for them otherwise.
+  Stream<PlaybackStats> watchPlaybackStats(
+    int playerId, {
+    Duration interval = const Duration(seconds: 1),
+  }) {
+    return Stream<void>.periodic(interval)
+        .asyncMap((_) => getPlaybackStats(playerId));
+  }
+
+  /// Gets the process-wide metrics of the plugin.
+  ///
+  /// Counters include the events sent per kind (`events.<kind>`), the players
+  /// created and disposed, the bytes read from the cache and the network, and
+  /// the completed downloads. Histograms include the latency of every host
+  /// call (`pigeon.<method>`) and of the download index queries, and the
+  /// throughput of completed downloads in bytes per second.
+  Future<VideoPlayerMetrics> getMetricsSnapshot() async {
+    final messages.MetricsSnapshot snapshot = await _api.getMetricsSnapshot();
+    return VideoPlayerMetrics(
+      counters: <String, int>{
+        for (final messages.CounterMetric counter in snapshot.counters)
+          counter.name: counter.value,
+      },
+      histograms: <String, MetricHistogram>{
+        for (final messages.HistogramMetric histogram in snapshot.histograms)
+          histogram.name: MetricHistogram(
+            count: histogram.count,
+            sum: histogram.sum,
+            max: histogram.max,
+            p50: histogram.p50,
+            p90: histogram.p90,
+            p99: histogram.p99,
+          ),
+      },
+    );
+  }
+
+  /// Gets the current size of the video cache and its eviction counters.
+  Future<VideoCacheStats> getCacheStats() async {
+    final messages.CacheStats stats = await _api.getCacheStats();
+    return VideoCacheStats(
+      cachedBytes: stats.cachedBytes,
+      maxBytes: stats.maxBytes,
+      effectiveMaxBytes: stats.effectiveMaxBytes,
+      hitCount: stats.hitCount,
+      missCount: stats.missCount,
+      evictedBytes: stats.evictedBytes,
+      evictedSpanCount: stats.evictedSpanCount,
+    );
+  }
+
   /// Gets a stream of download progress updates for a video.
   ///
   /// The stream will emit events as the download progresses and completes when the download finishes or fails.
   @override
   Stream<platform_interface.DownloadProgress> getDownloadProgressStream(
       String url) {
-    // Always check the download state first before creating/returning a stream
-    return Stream.fromFuture(getDownloadState(url)).asyncExpand((state) {
-      // If the URL isn't being downloaded, return an empty stream
-      if (state != platform_interface.DownloadState.downloading) {
-        return Stream.empty();
+    final StreamController<platform_interface.DownloadProgress> controller =
+        StreamController<platform_interface.DownloadProgress>();
+    StreamSubscription<_ProgressEvent>? subscription;
+    // Events pushed while the current progress is read, or null once it is.
+    List<_ProgressEvent>? pending = <_ProgressEvent>[];
+
+    void close() {
+      subscription?.cancel();
+      controller.close();
+    }
+
+    void onEvent(_ProgressEvent event) {
+      if (controller.isClosed) {
+        return;
+      }
+      if (event.state == messages.DownloadState.initial) {
+        // The download was canceled or removed
+        close();
+        return;
       }
+      controller.add(platform_interface.DownloadProgress(
+        url: url,
+        progress: event.progress,
+        bytesDownloaded: event.bytesDownloaded,
+      ));
+      if (event.state != messages.DownloadState.downloading) {
+        close();
+      }
+    }
 
-      // Create a new controller if needed
-      if (!_progressControllers.containsKey(url)) {
-        final controller =
-            StreamController<platform_interface.DownloadProgress>.broadcast(
-          onListen: () {
-            _startProgressUpdates(url);
-          },
-          onCancel: () {
-            _stopProgressUpdates(url);
-          },
-        );
-        _progressControllers[url] = controller;
+    Future<void> seed() async {
+      try {
+        final platform_interface.DownloadState state =
+            await getDownloadState(url);
+        if (pending!.isEmpty &&
+            state != platform_interface.DownloadState.downloading) {
+          close();
+          return;
+        }
+        // Start with the current progress, since updates are only pushed on
+        // change, unless an update was pushed meanwhile.
+        final platform_interface.DownloadProgress? current =
+            pending!.isEmpty ? await getDownloadProgress(url) : null;
+        if (controller.isClosed) {
+          return;
+        }
+        final List<_ProgressEvent> events = pending!;
+        pending = null;
+        if (events.isEmpty && current != null) {
+          controller.add(current);
+        }
+        events.forEach(onEvent);
+      } catch (error, stackTrace) {
+        if (!controller.isClosed) {
+          controller.addError(error, stackTrace);
+          close();
+        }
       }
+    }
 
-      return _progressControllers[url]!.stream;
-    });
+    controller.onListen = () {
+      // Subscribe before reading the current state, so that an update pushed
+      // meanwhile, such as the completion of the download, is not lost.
+      subscription = _progressEvents
+          .where((_ProgressEvent event) => event.url == url)
+          .listen((_ProgressEvent event) {
+        final List<_ProgressEvent>? buffer = pending;
+        if (buffer != null) {
+          buffer.add(event);
+        } else {
+          onEvent(event);
+        }
+      });
+      seed();
+    };
+    controller.onCancel = () => subscription?.cancel();
+    return controller.stream;
   }
 
-  // Start progress polling for the given URL
-  void _startProgressUpdates(String url) {
-    // Check if we already have a timer running
-    _progressTimers[url]?.cancel();
+  /// Disposes all resources used by the cache manager.
+  ///
+  /// Progress streams stop on their own once their download ends or their
+  /// subscription is canceled, so there is nothing left to release.
+  void dispose() {}
+}
 
-    // Initial progress check
-    _checkAndEmitProgress(url);
+/// A download progress update pushed by the platform.
+class _ProgressEvent {
+  _ProgressEvent.fromMap(Map<dynamic, dynamic> map)
+      : url = map['url']! as String,
+        progress = map['progress']! as double,
+        bytesDownloaded = map['bytesDownloaded']! as int,
+        state = messages.DownloadState.values[map['state']! as int];
+
+  final String url;
+  final double progress;
+  final int bytesDownloaded;
+  final messages.DownloadState state;
+}
 
-    // Create a timer that checks progress every 500ms
-    _progressTimers[url] =
-        Timer.periodic(const Duration(milliseconds: 500), (timer) {
-      _checkAndEmitProgress(url);
-    });
-  }
+/// Size and eviction counters of the Android video cache.
+class VideoCacheStats {
+  /// Creates a cache statistics snapshot.
+  const VideoCacheStats({
+    required this.cachedBytes,
+    required this.maxBytes,
+    required this.effectiveMaxBytes,
+    required this.hitCount,
+    required this.missCount,
+    required this.evictedBytes,
+    required this.evictedSpanCount,
+  });
 
-  // Check progress and emit an event if needed
-  Future<void> _checkAndEmitProgress(String url) async {
-    try {
-      final progressData = await _api.getDownloadProgress(url);
-      final controller = _progressControllers[url];
+  /// The number of bytes currently stored in the cache.
+  final int cachedBytes;
 
-      if (controller != null && !controller.isClosed) {
-        // Check if the download is still active
-        final state = await _api.getDownloadState(url);
-        if (state != messages.DownloadState.downloading &&
-            progressData.progress < 1.0) {
-          // Download was stopped or interrupted - close the stream
-          _stopProgressUpdates(url);
-          return;
-        }
+  /// The configured byte budget.
+  final int maxBytes;
 
-        controller.add(platform_interface.DownloadProgress(
-          url: url,
-          progress: progressData.progress,
-          bytesDownloaded: progressData.bytesDownloaded,
-        ));
-
-        // If download is complete or failed, clean up
-        if (progressData.progress >= 1.0 || progressData.progress < 0) {
-          _stopProgressUpdates(url);
-
-          // Wait a brief moment for the UI to update before closing
-          // the controller to avoid losing the final progress update
-          await Future.delayed(const Duration(milliseconds: 500));
-          if (!controller.isClosed) {
-            controller.close();
-          }
-        }
-      }
-    } catch (e) {
-      print('Error checking download progress: $e');
-      _stopProgressUpdates(url);
-    }
-  }
+  /// The byte budget in effect, which may be lower than [maxBytes] when the
+  /// device is running out of free storage.
+  final int effectiveMaxBytes;
 
-  // Stop progress polling for the given URL
-  void _stopProgressUpdates(String url) {
-    _progressTimers[url]?.cancel();
-    _progressTimers.remove(url);
-  }
+  /// The number of reads served from already cached data.
+  final int hitCount;
 
-  final Map<String, Timer> _progressTimers = {};
+  /// The number of reads that had to fetch data from the network.
+  final int missCount;
 
-  /// Disposes all resources used by the cache manager.
-  void dispose() {
-    for (final controller in _progressControllers.values) {
-      controller.close();
-    }
-    _progressControllers.clear();
+  /// The total number of bytes removed by eviction.
+  final int evictedBytes;
 
-    for (final timer in _progressTimers.values) {
-      timer.cancel();
-    }
-    _progressTimers.clear();
+  /// The total number of cache spans removed by eviction.
+  final int evictedSpanCount;
+}
+
+/// Bytes a player read from the Android video cache and from the network.
+class PlayerCacheStats {
+  /// Creates a player cache statistics snapshot.
+  const PlayerCacheStats({
+    required this.cachedBytesRead,
+    required this.networkBytesRead,
+  });
+
+  /// The number of bytes read from the cache.
+  final int cachedBytesRead;
+
+  /// The number of bytes read from the network.
+  final int networkBytesRead;
+}
+
+/// Hit and timing counters of the pool of idle Android ExoPlayer instances.
+class PlayerPoolStats {
+  /// Creates a player pool statistics snapshot.
+  const PlayerPoolStats({
+    required this.hitCount,
+    required this.missCount,
+    required this.idleCount,
+    required this.averageCreationTime,
+    required this.creationTimeSaved,
+  });
+
+  /// The number of players created from an idle pooled instance.
+  final int hitCount;
+
+  /// The number of players that had to build a new instance.
+  final int missCount;
+
+  /// The number of instances currently idle in the pool.
+  final int idleCount;
+
+  /// The average time spent building a new instance.
+  final Duration averageCreationTime;
+
+  /// An estimate of the creation time saved by the pool: [hitCount] times
+  /// [averageCreationTime].
+  final Duration creationTimeSaved;
+
+  /// The share of players served by the pool, between 0 and 1.
+  double get hitRate {
+    final int total = hitCount + missCount;
+    return total == 0 ? 0 : hitCount / total;
   }
 }
+
+/// Events an Android player discarded while nothing listened to it.
+class PlayerEventStats {
+  /// Creates a player event statistics snapshot.
+  const PlayerEventStats({
+    required this.droppedEventCount,
+    required this.coalescedEventCount,
+  });
+
+  /// The number of events dropped because the queue was full.
+  final int droppedEventCount;
+
+  /// The number of events replaced by a newer event of the same kind.
+  final int coalescedEventCount;
+}
+
+/// Quality of experience metrics of an Android player.
+class PlaybackStats {
+  /// Creates a playback statistics snapshot.
+  const PlaybackStats({
+    required this.timeToFirstFrame,
+    required this.joinLatency,
+    required this.rebufferCount,
+    required this.rebufferDuration,
+    required this.droppedFrameCount,
+    required this.bitrateSwitchCount,
+    required this.bytesLoaded,
+    this.resumeTime,
+  });
+
+  /// The time from creating the player to showing its first frame, or null
+  /// if no frame was shown yet.
+  final Duration? timeToFirstFrame;
+
+  /// The time from the first play request to the start of playback, or null
+  /// if playback has not started yet.
+  final Duration? joinLatency;
+
+  /// The number of times playback stalled to buffer after it started.
+  ///
+  /// Buffering after a seek is not a stall.
+  final int rebufferCount;
+
+  /// The total time playback stalled, including an ongoing stall.
+  final Duration rebufferDuration;
+
+  /// The number of video frames dropped because they were decoded too late.
+  final int droppedFrameCount;
+
+  /// The number of times the bitrate of the played rendition changed.
+  final int bitrateSwitchCount;
+
+  /// The number of bytes loaded for the video and its manifests, from the
+  /// network or the cache.
+  final int bytesLoaded;
+
+  /// The time from the latest return of the video surface, e.g. when the app
+  /// comes back from the background, to the first frame shown on it, or null
+  /// if the surface was never returned or no frame was shown on it yet.
+  final Duration? resumeTime;
+}
+
+/// Process-wide metrics of the Android video player plugin.
+class VideoPlayerMetrics {
+  /// Creates a metrics snapshot.
+  const VideoPlayerMetrics({required this.counters, required this.histograms});
+
+  /// The value of every counter, by name.
+  final Map<String, int> counters;
+
+  /// The summary of every histogram, by name.
+  final Map<String, MetricHistogram> histograms;
+}
+
+/// A summary of the values recorded in a histogram.
+///
+/// Latencies are in microseconds. Percentiles are rounded up to the next
+/// power of two, and are at most [max].
+class MetricHistogram {
+  /// Creates a histogram summary.
+  const MetricHistogram({
+    required this.count,
+    required this.sum,
+    required this.max,
+    required this.p50,
+    required this.p90,
+    required this.p99,
+  });
+
+  /// The number of recorded values.
+  final int count;
+
+  /// The sum of the recorded values.
+  final int sum;
+
+  /// The largest recorded value.
+  final int max;
+
+  /// The median.
+  final int p50;
+
+  /// The 90th percentile.
+  final int p90;
+
+  /// The 99th percentile.
+  final int p99;
+}
+
+/// The HTTP engines that can fetch videos on Android.
+enum AndroidHttpEngine {
+  /// A connection pool shared by all players, which keeps connections alive
+  /// between segment fetches and multiplexes concurrent fetches over HTTP/2
+  /// where the server supports it.
+  pooled,
+
+  /// The platform `HttpURLConnection`, which only speaks HTTP/1.1.
+  platform,
+}
+
+/// How urgently a video download is needed, which decides the order in which
+/// downloads run.
+enum DownloadPriority {
+  /// The video is on screen.
+  visible,
+
+  /// The video is about to be shown, such as the next one in a feed.
+  next,
+
+  /// The video is downloaded for later offline playback.
+  background,
+}
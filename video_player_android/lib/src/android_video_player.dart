@@ -3,6 +3,7 @@
 // found in the LICENSE file.
 
 import 'dart:async';
+import 'dart:typed_data';
 
 import 'package:flutter/services.dart';
 import 'package:flutter/widgets.dart';
@@ -132,49 +133,18 @@ class AndroidVideoPlayer extends VideoPlayerPlatform {
     return Duration(milliseconds: position);
   }
 
+  @override
+  Future<bool> setPositionUpdateInterval(
+      int playerId, Duration interval) async {
+    await _api.setPositionUpdateInterval(playerId, interval.inMilliseconds);
+    return true;
+  }
+
   @override
   Stream<VideoEvent> videoEventsFor(int playerId) {
     return _eventChannelFor(playerId)
         .receiveBroadcastStream()
-        .map((dynamic event) {
-      final Map<dynamic, dynamic> map = event as Map<dynamic, dynamic>;
-      switch (map['event']) {
-        case 'initialized':
-          return VideoEvent(
-            eventType: VideoEventType.initialized,
-            duration: Duration(milliseconds: map['duration'] as int),
-            size: Size((map['width'] as num?)?.toDouble() ?? 0.0,
-                (map['height'] as num?)?.toDouble() ?? 0.0),
-            rotationCorrection: map['rotationCorrection'] as int? ?? 0,
-          );
-        case 'completed':
-          return VideoEvent(
-            eventType: VideoEventType.completed,
-          );
-        case 'bufferingUpdate':
-          final List<dynamic> values = map['values'] as List<dynamic>;
-
-          return VideoEvent(
-            buffered: values.map<DurationRange>(_toDurationRange).toList(),
-            eventType: VideoEventType.bufferingUpdate,
-          );
-        case 'bufferingStart':
-          return VideoEvent(eventType: VideoEventType.bufferingStart);
-        case 'bufferingEnd':
-          return VideoEvent(eventType: VideoEventType.bufferingEnd);
-        case 'isPlayingStateUpdate':
-          return VideoEvent(
-            eventType: VideoEventType.isPlayingStateUpdate,
-            isPlaying: map['isPlaying'] as bool,
-          );
-        case 'pipEntered':
-          return VideoEvent(eventType: VideoEventType.pipEntered);
-        case 'pipExited':
-          return VideoEvent(eventType: VideoEventType.pipExited);
-        default:
-          return VideoEvent(eventType: VideoEventType.unknown);
-      }
-    });
+        .map((dynamic event) => _decodeVideoEvent(event as Uint8List));
   }
 
   @override
@@ -231,13 +201,83 @@ class AndroidVideoPlayer extends VideoPlayerPlatform {
     VideoFormat.other: 'other',
   };
 
-  DurationRange _toDurationRange(dynamic value) {
-    final List<dynamic> pair = value as List<dynamic>;
+}
+
+// Event tags, see VideoPlayerEventCallbacks.java for the encoding.
+const int _tagInitialized = 0;
+const int _tagCompleted = 1;
+const int _tagBufferingUpdate = 2;
+const int _tagBufferingStart = 3;
+const int _tagBufferingEnd = 4;
+const int _tagIsPlayingStateUpdate = 5;
+const int _tagPositionUpdate = 6;
+const int _tagPipEntered = 7;
+const int _tagPipExited = 8;
+const int _tagPlaylistItemChanged = 9;
+
+/// Decodes an event sent by VideoPlayerEventCallbacks.
+///
+/// Fields follow a one byte tag in little-endian order.
+VideoEvent _decodeVideoEvent(Uint8List bytes) {
+  final ByteData data = ByteData.sublistView(bytes);
+  switch (data.getUint8(0)) {
+    case _tagInitialized:
+      return VideoEvent(
+        eventType: VideoEventType.initialized,
+        size: Size(
+          data.getInt32(1, Endian.little).toDouble(),
+          data.getInt32(5, Endian.little).toDouble(),
+        ),
+        duration: Duration(milliseconds: data.getInt64(9, Endian.little)),
+        rotationCorrection: data.getInt32(17, Endian.little),
+      );
+    case _tagCompleted:
+      return VideoEvent(eventType: VideoEventType.completed);
+    case _tagBufferingUpdate:
+      return VideoEvent(
+        eventType: VideoEventType.bufferingUpdate,
+        buffered: _decodeDurationRanges(data, 1),
+      );
+    case _tagBufferingStart:
+      return VideoEvent(eventType: VideoEventType.bufferingStart);
+    case _tagBufferingEnd:
+      return VideoEvent(eventType: VideoEventType.bufferingEnd);
+    case _tagIsPlayingStateUpdate:
+      return VideoEvent(
+        eventType: VideoEventType.isPlayingStateUpdate,
+        isPlaying: data.getUint8(1) != 0,
+      );
+    case _tagPositionUpdate:
+      return VideoEvent(
+        eventType: VideoEventType.positionUpdate,
+        position: Duration(milliseconds: data.getInt64(1, Endian.little)),
+        buffered: _decodeDurationRanges(data, 9),
+      );
+    case _tagPipEntered:
+      return VideoEvent(eventType: VideoEventType.pipEntered);
+    case _tagPipExited:
+      return VideoEvent(eventType: VideoEventType.pipExited);
+    case _tagPlaylistItemChanged:
+      return VideoEvent(
+        eventType: VideoEventType.playlistItemChanged,
+        playlistIndex: data.getInt32(1, Endian.little),
+        duration: Duration(milliseconds: data.getInt64(5, Endian.little)),
+      );
+    default:
+      return VideoEvent(eventType: VideoEventType.unknown);
+  }
+}
+
+/// Decodes an int32 count followed by that many int64 start/end pairs.
+List<DurationRange> _decodeDurationRanges(ByteData data, int offset) {
+  final int count = data.getInt32(offset, Endian.little);
+  return List<DurationRange>.generate(count, (int i) {
+    final int start = offset + 4 + i * 16;
     return DurationRange(
-      Duration(milliseconds: pair[0] as int),
-      Duration(milliseconds: pair[1] as int),
+      Duration(milliseconds: data.getInt64(start, Endian.little)),
+      Duration(milliseconds: data.getInt64(start + 8, Endian.little)),
     );
-  }
+  });
 }
 
 PlatformVideoViewType _platformVideoViewTypeFromVideoViewType(
@@ -142,6 +142,320 @@ class DownloadProgress {
   }
 }
 
+/// Size and eviction counters of the video cache.
+class CacheStats {
+  CacheStats({
+    required this.cachedBytes,
+    required this.maxBytes,
+    required this.effectiveMaxBytes,
+    required this.hitCount,
+    required this.missCount,
+    required this.evictedBytes,
+    required this.evictedSpanCount,
+  });
+
+  int cachedBytes;
+
+  int maxBytes;
+
+  int effectiveMaxBytes;
+
+  int hitCount;
+
+  int missCount;
+
+  int evictedBytes;
+
+  int evictedSpanCount;
+
+  Object encode() {
+    return <Object?>[
+      cachedBytes,
+      maxBytes,
+      effectiveMaxBytes,
+      hitCount,
+      missCount,
+      evictedBytes,
+      evictedSpanCount,
+    ];
+  }
+
+  static CacheStats decode(Object result) {
+    result as List<Object?>;
+    return CacheStats(
+      cachedBytes: result[0]! as int,
+      maxBytes: result[1]! as int,
+      effectiveMaxBytes: result[2]! as int,
+      hitCount: result[3]! as int,
+      missCount: result[4]! as int,
+      evictedBytes: result[5]! as int,
+      evictedSpanCount: result[6]! as int,
+    );
+  }
+}
+
+/// Bytes a player read from the video cache and from the network.
+class PlayerCacheStats {
+  PlayerCacheStats({
+    required this.cachedBytesRead,
+    required this.networkBytesRead,
+  });
+
+  int cachedBytesRead;
+
+  int networkBytesRead;
+
+  Object encode() {
+    return <Object?>[
+      cachedBytesRead,
+      networkBytesRead,
+    ];
+  }
+
+  static PlayerCacheStats decode(Object result) {
+    result as List<Object?>;
+    return PlayerCacheStats(
+      cachedBytesRead: result[0]! as int,
+      networkBytesRead: result[1]! as int,
+    );
+  }
+}
+
+/// Hit and timing counters of the pool of idle ExoPlayer instances.
+class PlayerPoolStats {
+  PlayerPoolStats({
+    required this.hitCount,
+    required this.missCount,
+    required this.idleCount,
+    required this.averageCreationTimeUs,
+    required this.creationTimeSavedUs,
+  });
+
+  int hitCount;
+
+  int missCount;
+
+  int idleCount;
+
+  int averageCreationTimeUs;
+
+  int creationTimeSavedUs;
+
+  Object encode() {
+    return <Object?>[
+      hitCount,
+      missCount,
+      idleCount,
+      averageCreationTimeUs,
+      creationTimeSavedUs,
+    ];
+  }
+
+  static PlayerPoolStats decode(Object result) {
+    result as List<Object?>;
+    return PlayerPoolStats(
+      hitCount: result[0]! as int,
+      missCount: result[1]! as int,
+      idleCount: result[2]! as int,
+      averageCreationTimeUs: result[3]! as int,
+      creationTimeSavedUs: result[4]! as int,
+    );
+  }
+}
+
+/// Events that a player queued before its listener attached and then discarded.
+class PlayerEventStats {
+  PlayerEventStats({
+    required this.droppedEventCount,
+    required this.coalescedEventCount,
+  });
+
+  int droppedEventCount;
+
+  int coalescedEventCount;
+
+  Object encode() {
+    return <Object?>[
+      droppedEventCount,
+      coalescedEventCount,
+    ];
+  }
+
+  static PlayerEventStats decode(Object result) {
+    result as List<Object?>;
+    return PlayerEventStats(
+      droppedEventCount: result[0]! as int,
+      coalescedEventCount: result[1]! as int,
+    );
+  }
+}
+
+/// Quality of experience metrics of one player.
+class PlaybackStats {
+  PlaybackStats({
+    this.timeToFirstFrameMs,
+    this.joinLatencyMs,
+    required this.rebufferCount,
+    required this.rebufferDurationMs,
+    required this.droppedFrameCount,
+    required this.bitrateSwitchCount,
+    required this.bytesLoaded,
+    this.resumeTimeMs,
+  });
+
+  int? timeToFirstFrameMs;
+
+  int? joinLatencyMs;
+
+  int rebufferCount;
+
+  int rebufferDurationMs;
+
+  int droppedFrameCount;
+
+  int bitrateSwitchCount;
+
+  int bytesLoaded;
+
+  /// Time from the latest reattachment of the video surface to its first frame.
+  int? resumeTimeMs;
+
+  Object encode() {
+    return <Object?>[
+      timeToFirstFrameMs,
+      joinLatencyMs,
+      rebufferCount,
+      rebufferDurationMs,
+      droppedFrameCount,
+      bitrateSwitchCount,
+      bytesLoaded,
+      resumeTimeMs,
+    ];
+  }
+
+  static PlaybackStats decode(Object result) {
+    result as List<Object?>;
+    return PlaybackStats(
+      timeToFirstFrameMs: result[0] as int?,
+      joinLatencyMs: result[1] as int?,
+      rebufferCount: result[2]! as int,
+      rebufferDurationMs: result[3]! as int,
+      droppedFrameCount: result[4]! as int,
+      bitrateSwitchCount: result[5]! as int,
+      bytesLoaded: result[6]! as int,
+      resumeTimeMs: result[7] as int?,
+    );
+  }
+}
+
+/// The value of a process-wide counter.
+class CounterMetric {
+  CounterMetric({
+    required this.name,
+    required this.value,
+  });
+
+  String name;
+
+  int value;
+
+  Object encode() {
+    return <Object?>[
+      name,
+      value,
+    ];
+  }
+
+  static CounterMetric decode(Object result) {
+    result as List<Object?>;
+    return CounterMetric(
+      name: result[0]! as String,
+      value: result[1]! as int,
+    );
+  }
+}
+
+/// A summary of a process-wide histogram.
+///
+/// Latencies are in microseconds; percentiles are rounded up to a power of two.
+class HistogramMetric {
+  HistogramMetric({
+    required this.name,
+    required this.count,
+    required this.sum,
+    required this.max,
+    required this.p50,
+    required this.p90,
+    required this.p99,
+  });
+
+  String name;
+
+  int count;
+
+  int sum;
+
+  int max;
+
+  int p50;
+
+  int p90;
+
+  int p99;
+
+  Object encode() {
+    return <Object?>[
+      name,
+      count,
+      sum,
+      max,
+      p50,
+      p90,
+      p99,
+    ];
+  }
+
+  static HistogramMetric decode(Object result) {
+    result as List<Object?>;
+    return HistogramMetric(
+      name: result[0]! as String,
+      count: result[1]! as int,
+      sum: result[2]! as int,
+      max: result[3]! as int,
+      p50: result[4]! as int,
+      p90: result[5]! as int,
+      p99: result[6]! as int,
+    );
+  }
+}
+
+/// The process-wide metrics of the plugin.
+class MetricsSnapshot {
+  MetricsSnapshot({
+    required this.counters,
+    required this.histograms,
+  });
+
+  List<CounterMetric> counters;
+
+  List<HistogramMetric> histograms;
+
+  Object encode() {
+    return <Object?>[
+      counters,
+      histograms,
+    ];
+  }
+
+  static MetricsSnapshot decode(Object result) {
+    result as List<Object?>;
+    return MetricsSnapshot(
+      counters: (result[0] as List<Object?>?)!.cast<CounterMetric>(),
+      histograms: (result[1] as List<Object?>?)!.cast<HistogramMetric>(),
+    );
+  }
+}
+
 
 class _PigeonCodec extends StandardMessageCodec {
   const _PigeonCodec();
@@ -165,6 +479,30 @@ class _PigeonCodec extends StandardMessageCodec {
     }    else if (value is DownloadProgress) {
       buffer.putUint8(133);
       writeValue(buffer, value.encode());
+    }    else if (value is CacheStats) {
+      buffer.putUint8(134);
+      writeValue(buffer, value.encode());
+    }    else if (value is PlayerCacheStats) {
+      buffer.putUint8(135);
+      writeValue(buffer, value.encode());
+    }    else if (value is PlayerPoolStats) {
+      buffer.putUint8(136);
+      writeValue(buffer, value.encode());
+    }    else if (value is PlayerEventStats) {
+      buffer.putUint8(137);
+      writeValue(buffer, value.encode());
+    }    else if (value is PlaybackStats) {
+      buffer.putUint8(138);
+      writeValue(buffer, value.encode());
+    }    else if (value is CounterMetric) {
+      buffer.putUint8(139);
+      writeValue(buffer, value.encode());
+    }    else if (value is HistogramMetric) {
+      buffer.putUint8(140);
+      writeValue(buffer, value.encode());
+    }    else if (value is MetricsSnapshot) {
+      buffer.putUint8(141);
+      writeValue(buffer, value.encode());
     } else {
       super.writeValue(buffer, value);
     }
@@ -185,6 +523,22 @@ class _PigeonCodec extends StandardMessageCodec {
         return CreateMessage.decode(readValue(buffer)!);
       case 133: 
         return DownloadProgress.decode(readValue(buffer)!);
+      case 134: 
+        return CacheStats.decode(readValue(buffer)!);
+      case 135: 
+        return PlayerCacheStats.decode(readValue(buffer)!);
+      case 136: 
+        return PlayerPoolStats.decode(readValue(buffer)!);
+      case 137: 
+        return PlayerEventStats.decode(readValue(buffer)!);
+      case 138: 
+        return PlaybackStats.decode(readValue(buffer)!);
+      case 139: 
+        return CounterMetric.decode(readValue(buffer)!);
+      case 140: 
+        return HistogramMetric.decode(readValue(buffer)!);
+      case 141: 
+        return MetricsSnapshot.decode(readValue(buffer)!);
       default:
         return super.readValueOfType(type, buffer);
     }
@@ -456,7 +810,7 @@ class AndroidVideoPlayerApi {
     }
   }
 
-  Future<String> startDownload(String url) async {
+  Future<String> startDownload(String url, int priority) async {
     final String pigeonVar_channelName = 'dev.flutter.pigeon.video_player_android.AndroidVideoPlayerApi.startDownload$pigeonVar_messageChannelSuffix';
     final BasicMessageChannel<Object?> pigeonVar_channel = BasicMessageChannel<Object?>(
       pigeonVar_channelName,
@@ -464,7 +818,7 @@ class AndroidVideoPlayerApi {
       binaryMessenger: pigeonVar_binaryMessenger,
     );
     final List<Object?>? pigeonVar_replyList =
-        await pigeonVar_channel.send(<Object?>[url]) as List<Object?>?;
+        await pigeonVar_channel.send(<Object?>[url, priority]) as List<Object?>?;
     if (pigeonVar_replyList == null) {
       throw _createConnectionError(pigeonVar_channelName);
     } else if (pigeonVar_replyList.length > 1) {
@@ -720,4 +1074,575 @@ class AndroidVideoPlayerApi {
       return (pigeonVar_replyList[0] as bool?)!;
     }
   }
+
+  Future<void> setMaxCacheSize(int maxBytes) async {
+    final String pigeonVar_channelName = 'dev.flutter.pigeon.video_player_android.AndroidVideoPlayerApi.setMaxCacheSize$pigeonVar_messageChannelSuffix';
+    final BasicMessageChannel<Object?> pigeonVar_channel = BasicMessageChannel<Object?>(
+      pigeonVar_channelName,
+      pigeonChannelCodec,
+      binaryMessenger: pigeonVar_binaryMessenger,
+    );
+    final List<Object?>? pigeonVar_replyList =
+        await pigeonVar_channel.send(<Object?>[maxBytes]) as List<Object?>?;
+    if (pigeonVar_replyList == null) {
+      throw _createConnectionError(pigeonVar_channelName);
+    } else if (pigeonVar_replyList.length > 1) {
+      throw PlatformException(
+        code: pigeonVar_replyList[0]! as String,
+        message: pigeonVar_replyList[1] as String?,
+        details: pigeonVar_replyList[2],
+      );
+    } else {
+      return;
+    }
+  }
+
+  Future<CacheStats> getCacheStats() async {
+    final String pigeonVar_channelName = 'dev.flutter.pigeon.video_player_android.AndroidVideoPlayerApi.getCacheStats$pigeonVar_messageChannelSuffix';
+    final BasicMessageChannel<Object?> pigeonVar_channel = BasicMessageChannel<Object?>(
+      pigeonVar_channelName,
+      pigeonChannelCodec,
+      binaryMessenger: pigeonVar_binaryMessenger,
+    );
+    final List<Object?>? pigeonVar_replyList =
+        await pigeonVar_channel.send(null) as List<Object?>?;
+    if (pigeonVar_replyList == null) {
+      throw _createConnectionError(pigeonVar_channelName);
+    } else if (pigeonVar_replyList.length > 1) {
+      throw PlatformException(
+        code: pigeonVar_replyList[0]! as String,
+        message: pigeonVar_replyList[1] as String?,
+        details: pigeonVar_replyList[2],
+      );
+    } else if (pigeonVar_replyList[0] == null) {
+      throw PlatformException(
+        code: 'null-error',
+        message: 'Host platform returned null value for non-null return value.',
+      );
+    } else {
+      return (pigeonVar_replyList[0] as CacheStats?)!;
+    }
+  }
+
+  Future<List<String>> startDownloads(List<String> urls, int priority) async {
+    final String pigeonVar_channelName = 'dev.flutter.pigeon.video_player_android.AndroidVideoPlayerApi.startDownloads$pigeonVar_messageChannelSuffix';
+    final BasicMessageChannel<Object?> pigeonVar_channel = BasicMessageChannel<Object?>(
+      pigeonVar_channelName,
+      pigeonChannelCodec,
+      binaryMessenger: pigeonVar_binaryMessenger,
+    );
+    final List<Object?>? pigeonVar_replyList =
+        await pigeonVar_channel.send(<Object?>[urls, priority]) as List<Object?>?;
+    if (pigeonVar_replyList == null) {
+      throw _createConnectionError(pigeonVar_channelName);
+    } else if (pigeonVar_replyList.length > 1) {
+      throw PlatformException(
+        code: pigeonVar_replyList[0]! as String,
+        message: pigeonVar_replyList[1] as String?,
+        details: pigeonVar_replyList[2],
+      );
+    } else if (pigeonVar_replyList[0] == null) {
+      throw PlatformException(
+        code: 'null-error',
+        message: 'Host platform returned null value for non-null return value.',
+      );
+    } else {
+      return (pigeonVar_replyList[0] as List<Object?>?)!.cast<String>();
+    }
+  }
+
+  Future<List<bool>> cancelDownloads(List<String> urls) async {
+    final String pigeonVar_channelName = 'dev.flutter.pigeon.video_player_android.AndroidVideoPlayerApi.cancelDownloads$pigeonVar_messageChannelSuffix';
+    final BasicMessageChannel<Object?> pigeonVar_channel = BasicMessageChannel<Object?>(
+      pigeonVar_channelName,
+      pigeonChannelCodec,
+      binaryMessenger: pigeonVar_binaryMessenger,
+    );
+    final List<Object?>? pigeonVar_replyList =
+        await pigeonVar_channel.send(<Object?>[urls]) as List<Object?>?;
+    if (pigeonVar_replyList == null) {
+      throw _createConnectionError(pigeonVar_channelName);
+    } else if (pigeonVar_replyList.length > 1) {
+      throw PlatformException(
+        code: pigeonVar_replyList[0]! as String,
+        message: pigeonVar_replyList[1] as String?,
+        details: pigeonVar_replyList[2],
+      );
+    } else if (pigeonVar_replyList[0] == null) {
+      throw PlatformException(
+        code: 'null-error',
+        message: 'Host platform returned null value for non-null return value.',
+      );
+    } else {
+      return (pigeonVar_replyList[0] as List<Object?>?)!.cast<bool>();
+    }
+  }
+
+  Future<List<DownloadProgress>> getDownloadProgresses(List<String> urls) async {
+    final String pigeonVar_channelName = 'dev.flutter.pigeon.video_player_android.AndroidVideoPlayerApi.getDownloadProgresses$pigeonVar_messageChannelSuffix';
+    final BasicMessageChannel<Object?> pigeonVar_channel = BasicMessageChannel<Object?>(
+      pigeonVar_channelName,
+      pigeonChannelCodec,
+      binaryMessenger: pigeonVar_binaryMessenger,
+    );
+    final List<Object?>? pigeonVar_replyList =
+        await pigeonVar_channel.send(<Object?>[urls]) as List<Object?>?;
+    if (pigeonVar_replyList == null) {
+      throw _createConnectionError(pigeonVar_channelName);
+    } else if (pigeonVar_replyList.length > 1) {
+      throw PlatformException(
+        code: pigeonVar_replyList[0]! as String,
+        message: pigeonVar_replyList[1] as String?,
+        details: pigeonVar_replyList[2],
+      );
+    } else if (pigeonVar_replyList[0] == null) {
+      throw PlatformException(
+        code: 'null-error',
+        message: 'Host platform returned null value for non-null return value.',
+      );
+    } else {
+      return (pigeonVar_replyList[0] as List<Object?>?)!.cast<DownloadProgress>();
+    }
+  }
+
+  Future<List<DownloadState>> getDownloadStates(List<String> urls) async {
+    final String pigeonVar_channelName = 'dev.flutter.pigeon.video_player_android.AndroidVideoPlayerApi.getDownloadStates$pigeonVar_messageChannelSuffix';
+    final BasicMessageChannel<Object?> pigeonVar_channel = BasicMessageChannel<Object?>(
+      pigeonVar_channelName,
+      pigeonChannelCodec,
+      binaryMessenger: pigeonVar_binaryMessenger,
+    );
+    final List<Object?>? pigeonVar_replyList =
+        await pigeonVar_channel.send(<Object?>[urls]) as List<Object?>?;
+    if (pigeonVar_replyList == null) {
+      throw _createConnectionError(pigeonVar_channelName);
+    } else if (pigeonVar_replyList.length > 1) {
+      throw PlatformException(
+        code: pigeonVar_replyList[0]! as String,
+        message: pigeonVar_replyList[1] as String?,
+        details: pigeonVar_replyList[2],
+      );
+    } else if (pigeonVar_replyList[0] == null) {
+      throw PlatformException(
+        code: 'null-error',
+        message: 'Host platform returned null value for non-null return value.',
+      );
+    } else {
+      return (pigeonVar_replyList[0] as List<Object?>?)!.cast<DownloadState>();
+    }
+  }
+
+  Future<void> setStreamingCache(bool enabled, int maxItemBytes) async {
+    final String pigeonVar_channelName = 'dev.flutter.pigeon.video_player_android.AndroidVideoPlayerApi.setStreamingCache$pigeonVar_messageChannelSuffix';
+    final BasicMessageChannel<Object?> pigeonVar_channel = BasicMessageChannel<Object?>(
+      pigeonVar_channelName,
+      pigeonChannelCodec,
+      binaryMessenger: pigeonVar_binaryMessenger,
+    );
+    final List<Object?>? pigeonVar_replyList =
+        await pigeonVar_channel.send(<Object?>[enabled, maxItemBytes]) as List<Object?>?;
+    if (pigeonVar_replyList == null) {
+      throw _createConnectionError(pigeonVar_channelName);
+    } else if (pigeonVar_replyList.length > 1) {
+      throw PlatformException(
+        code: pigeonVar_replyList[0]! as String,
+        message: pigeonVar_replyList[1] as String?,
+        details: pigeonVar_replyList[2],
+      );
+    } else {
+      return;
+    }
+  }
+
+  Future<PlayerCacheStats> getPlayerCacheStats(int playerId) async {
+    final String pigeonVar_channelName = 'dev.flutter.pigeon.video_player_android.AndroidVideoPlayerApi.getPlayerCacheStats$pigeonVar_messageChannelSuffix';
+    final BasicMessageChannel<Object?> pigeonVar_channel = BasicMessageChannel<Object?>(
+      pigeonVar_channelName,
+      pigeonChannelCodec,
+      binaryMessenger: pigeonVar_binaryMessenger,
+    );
+    final List<Object?>? pigeonVar_replyList =
+        await pigeonVar_channel.send(<Object?>[playerId]) as List<Object?>?;
+    if (pigeonVar_replyList == null) {
+      throw _createConnectionError(pigeonVar_channelName);
+    } else if (pigeonVar_replyList.length > 1) {
+      throw PlatformException(
+        code: pigeonVar_replyList[0]! as String,
+        message: pigeonVar_replyList[1] as String?,
+        details: pigeonVar_replyList[2],
+      );
+    } else if (pigeonVar_replyList[0] == null) {
+      throw PlatformException(
+        code: 'null-error',
+        message: 'Host platform returned null value for non-null return value.',
+      );
+    } else {
+      return (pigeonVar_replyList[0] as PlayerCacheStats?)!;
+    }
+  }
+
+  Future<int> prefetchHead(String url, int durationMs, String? formatHint, int? maxBitrate) async {
+    final String pigeonVar_channelName = 'dev.flutter.pigeon.video_player_android.AndroidVideoPlayerApi.prefetchHead$pigeonVar_messageChannelSuffix';
+    final BasicMessageChannel<Object?> pigeonVar_channel = BasicMessageChannel<Object?>(
+      pigeonVar_channelName,
+      pigeonChannelCodec,
+      binaryMessenger: pigeonVar_binaryMessenger,
+    );
+    final List<Object?>? pigeonVar_replyList =
+        await pigeonVar_channel.send(<Object?>[url, durationMs, formatHint, maxBitrate]) as List<Object?>?;
+    if (pigeonVar_replyList == null) {
+      throw _createConnectionError(pigeonVar_channelName);
+    } else if (pigeonVar_replyList.length > 1) {
+      throw PlatformException(
+        code: pigeonVar_replyList[0]! as String,
+        message: pigeonVar_replyList[1] as String?,
+        details: pigeonVar_replyList[2],
+      );
+    } else if (pigeonVar_replyList[0] == null) {
+      throw PlatformException(
+        code: 'null-error',
+        message: 'Host platform returned null value for non-null return value.',
+      );
+    } else {
+      return (pigeonVar_replyList[0] as int?)!;
+    }
+  }
+
+  Future<void> setPlayerPoolSize(int maxIdlePlayers) async {
+    final String pigeonVar_channelName = 'dev.flutter.pigeon.video_player_android.AndroidVideoPlayerApi.setPlayerPoolSize$pigeonVar_messageChannelSuffix';
+    final BasicMessageChannel<Object?> pigeonVar_channel = BasicMessageChannel<Object?>(
+      pigeonVar_channelName,
+      pigeonChannelCodec,
+      binaryMessenger: pigeonVar_binaryMessenger,
+    );
+    final List<Object?>? pigeonVar_replyList =
+        await pigeonVar_channel.send(<Object?>[maxIdlePlayers]) as List<Object?>?;
+    if (pigeonVar_replyList == null) {
+      throw _createConnectionError(pigeonVar_channelName);
+    } else if (pigeonVar_replyList.length > 1) {
+      throw PlatformException(
+        code: pigeonVar_replyList[0]! as String,
+        message: pigeonVar_replyList[1] as String?,
+        details: pigeonVar_replyList[2],
+      );
+    } else {
+      return;
+    }
+  }
+
+  Future<PlayerPoolStats> getPlayerPoolStats() async {
+    final String pigeonVar_channelName = 'dev.flutter.pigeon.video_player_android.AndroidVideoPlayerApi.getPlayerPoolStats$pigeonVar_messageChannelSuffix';
+    final BasicMessageChannel<Object?> pigeonVar_channel = BasicMessageChannel<Object?>(
+      pigeonVar_channelName,
+      pigeonChannelCodec,
+      binaryMessenger: pigeonVar_binaryMessenger,
+    );
+    final List<Object?>? pigeonVar_replyList =
+        await pigeonVar_channel.send(null) as List<Object?>?;
+    if (pigeonVar_replyList == null) {
+      throw _createConnectionError(pigeonVar_channelName);
+    } else if (pigeonVar_replyList.length > 1) {
+      throw PlatformException(
+        code: pigeonVar_replyList[0]! as String,
+        message: pigeonVar_replyList[1] as String?,
+        details: pigeonVar_replyList[2],
+      );
+    } else if (pigeonVar_replyList[0] == null) {
+      throw PlatformException(
+        code: 'null-error',
+        message: 'Host platform returned null value for non-null return value.',
+      );
+    } else {
+      return (pigeonVar_replyList[0] as PlayerPoolStats?)!;
+    }
+  }
+
+  Future<void> setSharedPlaybackResources(bool enabled, int totalBufferBytes) async {
+    final String pigeonVar_channelName = 'dev.flutter.pigeon.video_player_android.AndroidVideoPlayerApi.setSharedPlaybackResources$pigeonVar_messageChannelSuffix';
+    final BasicMessageChannel<Object?> pigeonVar_channel = BasicMessageChannel<Object?>(
+      pigeonVar_channelName,
+      pigeonChannelCodec,
+      binaryMessenger: pigeonVar_binaryMessenger,
+    );
+    final List<Object?>? pigeonVar_replyList =
+        await pigeonVar_channel.send(<Object?>[enabled, totalBufferBytes]) as List<Object?>?;
+    if (pigeonVar_replyList == null) {
+      throw _createConnectionError(pigeonVar_channelName);
+    } else if (pigeonVar_replyList.length > 1) {
+      throw PlatformException(
+        code: pigeonVar_replyList[0]! as String,
+        message: pigeonVar_replyList[1] as String?,
+        details: pigeonVar_replyList[2],
+      );
+    } else {
+      return;
+    }
+  }
+
+  Future<void> setPositionUpdateInterval(int playerId, int intervalMs) async {
+    final String pigeonVar_channelName = 'dev.flutter.pigeon.video_player_android.AndroidVideoPlayerApi.setPositionUpdateInterval$pigeonVar_messageChannelSuffix';
+    final BasicMessageChannel<Object?> pigeonVar_channel = BasicMessageChannel<Object?>(
+      pigeonVar_channelName,
+      pigeonChannelCodec,
+      binaryMessenger: pigeonVar_binaryMessenger,
+    );
+    final List<Object?>? pigeonVar_replyList =
+        await pigeonVar_channel.send(<Object?>[playerId, intervalMs]) as List<Object?>?;
+    if (pigeonVar_replyList == null) {
+      throw _createConnectionError(pigeonVar_channelName);
+    } else if (pigeonVar_replyList.length > 1) {
+      throw PlatformException(
+        code: pigeonVar_replyList[0]! as String,
+        message: pigeonVar_replyList[1] as String?,
+        details: pigeonVar_replyList[2],
+      );
+    } else {
+      return;
+    }
+  }
+
+  Future<PlayerEventStats> getPlayerEventStats(int playerId) async {
+    final String pigeonVar_channelName = 'dev.flutter.pigeon.video_player_android.AndroidVideoPlayerApi.getPlayerEventStats$pigeonVar_messageChannelSuffix';
+    final BasicMessageChannel<Object?> pigeonVar_channel = BasicMessageChannel<Object?>(
+      pigeonVar_channelName,
+      pigeonChannelCodec,
+      binaryMessenger: pigeonVar_binaryMessenger,
+    );
+    final List<Object?>? pigeonVar_replyList =
+        await pigeonVar_channel.send(<Object?>[playerId]) as List<Object?>?;
+    if (pigeonVar_replyList == null) {
+      throw _createConnectionError(pigeonVar_channelName);
+    } else if (pigeonVar_replyList.length > 1) {
+      throw PlatformException(
+        code: pigeonVar_replyList[0]! as String,
+        message: pigeonVar_replyList[1] as String?,
+        details: pigeonVar_replyList[2],
+      );
+    } else if (pigeonVar_replyList[0] == null) {
+      throw PlatformException(
+        code: 'null-error',
+        message: 'Host platform returned null value for non-null return value.',
+      );
+    } else {
+      return (pigeonVar_replyList[0] as PlayerEventStats?)!;
+    }
+  }
+
+  Future<bool> preload(String url, String? formatHint, Map<String, String> httpHeaders, int durationMs) async {
+    final String pigeonVar_channelName = 'dev.flutter.pigeon.video_player_android.AndroidVideoPlayerApi.preload$pigeonVar_messageChannelSuffix';
+    final BasicMessageChannel<Object?> pigeonVar_channel = BasicMessageChannel<Object?>(
+      pigeonVar_channelName,
+      pigeonChannelCodec,
+      binaryMessenger: pigeonVar_binaryMessenger,
+    );
+    final List<Object?>? pigeonVar_replyList =
+        await pigeonVar_channel.send(<Object?>[url, formatHint, httpHeaders, durationMs]) as List<Object?>?;
+    if (pigeonVar_replyList == null) {
+      throw _createConnectionError(pigeonVar_channelName);
+    } else if (pigeonVar_replyList.length > 1) {
+      throw PlatformException(
+        code: pigeonVar_replyList[0]! as String,
+        message: pigeonVar_replyList[1] as String?,
+        details: pigeonVar_replyList[2],
+      );
+    } else if (pigeonVar_replyList[0] == null) {
+      throw PlatformException(
+        code: 'null-error',
+        message: 'Host platform returned null value for non-null return value.',
+      );
+    } else {
+      return (pigeonVar_replyList[0] as bool?)!;
+    }
+  }
+
+  Future<void> addPlaylistItem(int playerId, String uri, String? formatHint, Map<String, String> httpHeaders) async {
+    final String pigeonVar_channelName = 'dev.flutter.pigeon.video_player_android.AndroidVideoPlayerApi.addPlaylistItem$pigeonVar_messageChannelSuffix';
+    final BasicMessageChannel<Object?> pigeonVar_channel = BasicMessageChannel<Object?>(
+      pigeonVar_channelName,
+      pigeonChannelCodec,
+      binaryMessenger: pigeonVar_binaryMessenger,
+    );
+    final List<Object?>? pigeonVar_replyList =
+        await pigeonVar_channel.send(<Object?>[playerId, uri, formatHint, httpHeaders]) as List<Object?>?;
+    if (pigeonVar_replyList == null) {
+      throw _createConnectionError(pigeonVar_channelName);
+    } else if (pigeonVar_replyList.length > 1) {
+      throw PlatformException(
+        code: pigeonVar_replyList[0]! as String,
+        message: pigeonVar_replyList[1] as String?,
+        details: pigeonVar_replyList[2],
+      );
+    } else {
+      return;
+    }
+  }
+
+  Future<void> removePlaylistItem(int playerId, int index) async {
+    final String pigeonVar_channelName = 'dev.flutter.pigeon.video_player_android.AndroidVideoPlayerApi.removePlaylistItem$pigeonVar_messageChannelSuffix';
+    final BasicMessageChannel<Object?> pigeonVar_channel = BasicMessageChannel<Object?>(
+      pigeonVar_channelName,
+      pigeonChannelCodec,
+      binaryMessenger: pigeonVar_binaryMessenger,
+    );
+    final List<Object?>? pigeonVar_replyList =
+        await pigeonVar_channel.send(<Object?>[playerId, index]) as List<Object?>?;
+    if (pigeonVar_replyList == null) {
+      throw _createConnectionError(pigeonVar_channelName);
+    } else if (pigeonVar_replyList.length > 1) {
+      throw PlatformException(
+        code: pigeonVar_replyList[0]! as String,
+        message: pigeonVar_replyList[1] as String?,
+        details: pigeonVar_replyList[2],
+      );
+    } else {
+      return;
+    }
+  }
+
+  Future<PlaybackStats> getPlaybackStats(int playerId) async {
+    final String pigeonVar_channelName = 'dev.flutter.pigeon.video_player_android.AndroidVideoPlayerApi.getPlaybackStats$pigeonVar_messageChannelSuffix';
+    final BasicMessageChannel<Object?> pigeonVar_channel = BasicMessageChannel<Object?>(
+      pigeonVar_channelName,
+      pigeonChannelCodec,
+      binaryMessenger: pigeonVar_binaryMessenger,
+    );
+    final List<Object?>? pigeonVar_replyList =
+        await pigeonVar_channel.send(<Object?>[playerId]) as List<Object?>?;
+    if (pigeonVar_replyList == null) {
+      throw _createConnectionError(pigeonVar_channelName);
+    } else if (pigeonVar_replyList.length > 1) {
+      throw PlatformException(
+        code: pigeonVar_replyList[0]! as String,
+        message: pigeonVar_replyList[1] as String?,
+        details: pigeonVar_replyList[2],
+      );
+    } else if (pigeonVar_replyList[0] == null) {
+      throw PlatformException(
+        code: 'null-error',
+        message: 'Host platform returned null value for non-null return value.',
+      );
+    } else {
+      return (pigeonVar_replyList[0] as PlaybackStats?)!;
+    }
+  }
+
+  Future<MetricsSnapshot> getMetricsSnapshot() async {
+    final String pigeonVar_channelName = 'dev.flutter.pigeon.video_player_android.AndroidVideoPlayerApi.getMetricsSnapshot$pigeonVar_messageChannelSuffix';
+    final BasicMessageChannel<Object?> pigeonVar_channel = BasicMessageChannel<Object?>(
+      pigeonVar_channelName,
+      pigeonChannelCodec,
+      binaryMessenger: pigeonVar_binaryMessenger,
+    );
+    final List<Object?>? pigeonVar_replyList =
+        await pigeonVar_channel.send(null) as List<Object?>?;
+    if (pigeonVar_replyList == null) {
+      throw _createConnectionError(pigeonVar_channelName);
+    } else if (pigeonVar_replyList.length > 1) {
+      throw PlatformException(
+        code: pigeonVar_replyList[0]! as String,
+        message: pigeonVar_replyList[1] as String?,
+        details: pigeonVar_replyList[2],
+      );
+    } else if (pigeonVar_replyList[0] == null) {
+      throw PlatformException(
+        code: 'null-error',
+        message: 'Host platform returned null value for non-null return value.',
+      );
+    } else {
+      return (pigeonVar_replyList[0] as MetricsSnapshot?)!;
+    }
+  }
+
+  Future<void> setHttpEngine(bool pooled, int maxIdleConnections) async {
+    final String pigeonVar_channelName = 'dev.flutter.pigeon.video_player_android.AndroidVideoPlayerApi.setHttpEngine$pigeonVar_messageChannelSuffix';
+    final BasicMessageChannel<Object?> pigeonVar_channel = BasicMessageChannel<Object?>(
+      pigeonVar_channelName,
+      pigeonChannelCodec,
+      binaryMessenger: pigeonVar_binaryMessenger,
+    );
+    final List<Object?>? pigeonVar_replyList =
+        await pigeonVar_channel.send(<Object?>[pooled, maxIdleConnections]) as List<Object?>?;
+    if (pigeonVar_replyList == null) {
+      throw _createConnectionError(pigeonVar_channelName);
+    } else if (pigeonVar_replyList.length > 1) {
+      throw PlatformException(
+        code: pigeonVar_replyList[0]! as String,
+        message: pigeonVar_replyList[1] as String?,
+        details: pigeonVar_replyList[2],
+      );
+    } else {
+      return;
+    }
+  }
+
+  Future<void> setDownloadChunking(int chunkBytes, int parallelism) async {
+    final String pigeonVar_channelName = 'dev.flutter.pigeon.video_player_android.AndroidVideoPlayerApi.setDownloadChunking$pigeonVar_messageChannelSuffix';
+    final BasicMessageChannel<Object?> pigeonVar_channel = BasicMessageChannel<Object?>(
+      pigeonVar_channelName,
+      pigeonChannelCodec,
+      binaryMessenger: pigeonVar_binaryMessenger,
+    );
+    final List<Object?>? pigeonVar_replyList =
+        await pigeonVar_channel.send(<Object?>[chunkBytes, parallelism]) as List<Object?>?;
+    if (pigeonVar_replyList == null) {
+      throw _createConnectionError(pigeonVar_channelName);
+    } else if (pigeonVar_replyList.length > 1) {
+      throw PlatformException(
+        code: pigeonVar_replyList[0]! as String,
+        message: pigeonVar_replyList[1] as String?,
+        details: pigeonVar_replyList[2],
+      );
+    } else {
+      return;
+    }
+  }
+
+  Future<bool> setDownloadPriority(String url, int priority) async {
+    final String pigeonVar_channelName = 'dev.flutter.pigeon.video_player_android.AndroidVideoPlayerApi.setDownloadPriority$pigeonVar_messageChannelSuffix';
+    final BasicMessageChannel<Object?> pigeonVar_channel = BasicMessageChannel<Object?>(
+      pigeonVar_channelName,
+      pigeonChannelCodec,
+      binaryMessenger: pigeonVar_binaryMessenger,
+    );
+    final List<Object?>? pigeonVar_replyList =
+        await pigeonVar_channel.send(<Object?>[url, priority]) as List<Object?>?;
+    if (pigeonVar_replyList == null) {
+      throw _createConnectionError(pigeonVar_channelName);
+    } else if (pigeonVar_replyList.length > 1) {
+      throw PlatformException(
+        code: pigeonVar_replyList[0]! as String,
+        message: pigeonVar_replyList[1] as String?,
+        details: pigeonVar_replyList[2],
+      );
+    } else if (pigeonVar_replyList[0] == null) {
+      throw PlatformException(
+        code: 'null-error',
+        message: 'Host platform returned null value for non-null return value.',
+      );
+    } else {
+      return (pigeonVar_replyList[0] as bool?)!;
+    }
+  }
+
+  Future<void> setDownloadThrottling(bool enabled, int minBufferMs) async {
+    final String pigeonVar_channelName = 'dev.flutter.pigeon.video_player_android.AndroidVideoPlayerApi.setDownloadThrottling$pigeonVar_messageChannelSuffix';
+    final BasicMessageChannel<Object?> pigeonVar_channel = BasicMessageChannel<Object?>(
+      pigeonVar_channelName,
+      pigeonChannelCodec,
+      binaryMessenger: pigeonVar_binaryMessenger,
+    );
+    final List<Object?>? pigeonVar_replyList =
+        await pigeonVar_channel.send(<Object?>[enabled, minBufferMs]) as List<Object?>?;
+    if (pigeonVar_replyList == null) {
+      throw _createConnectionError(pigeonVar_channelName);
+    } else if (pigeonVar_replyList.length > 1) {
+      throw PlatformException(
+        code: pigeonVar_replyList[0]! as String,
+        message: pigeonVar_replyList[1] as String?,
+        details: pigeonVar_replyList[2],
+      );
+    } else {
+      return;
+    }
+  }
 }
@@ -60,6 +60,130 @@ class DownloadProgress {
   int bytesDownloaded;
 }
 
+/// Size and eviction counters of the video cache.
+class CacheStats {
+  CacheStats({
+    required this.cachedBytes,
+    required this.maxBytes,
+    required this.effectiveMaxBytes,
+    required this.hitCount,
+    required this.missCount,
+    required this.evictedBytes,
+    required this.evictedSpanCount,
+  });
+
+  int cachedBytes;
+  int maxBytes;
+  int effectiveMaxBytes;
+  int hitCount;
+  int missCount;
+  int evictedBytes;
+  int evictedSpanCount;
+}
+
+/// Bytes a player read from the video cache and from the network.
+class PlayerCacheStats {
+  PlayerCacheStats({
+    required this.cachedBytesRead,
+    required this.networkBytesRead,
+  });
+
+  int cachedBytesRead;
+  int networkBytesRead;
+}
+
+/// Hit and timing counters of the pool of idle ExoPlayer instances.
+class PlayerPoolStats {
+  PlayerPoolStats({
+    required this.hitCount,
+    required this.missCount,
+    required this.idleCount,
+    required this.averageCreationTimeUs,
+    required this.creationTimeSavedUs,
+  });
+
+  int hitCount;
+  int missCount;
+  int idleCount;
+  int averageCreationTimeUs;
+  int creationTimeSavedUs;
+}
+
+/// Events that a player queued before its listener attached and then discarded.
+class PlayerEventStats {
+  PlayerEventStats({
+    required this.droppedEventCount,
+    required this.coalescedEventCount,
+  });
+
+  int droppedEventCount;
+  int coalescedEventCount;
+}
+
+/// Quality of experience metrics of one player.
+class PlaybackStats {
+  PlaybackStats({
+    required this.rebufferCount,
+    required this.rebufferDurationMs,
+    required this.droppedFrameCount,
+    required this.bitrateSwitchCount,
+    required this.bytesLoaded,
+    this.timeToFirstFrameMs,
+    this.joinLatencyMs,
+    this.resumeTimeMs,
+  });
+
+  int? timeToFirstFrameMs;
+  int? joinLatencyMs;
+  int rebufferCount;
+  int rebufferDurationMs;
+  int droppedFrameCount;
+  int bitrateSwitchCount;
+  int bytesLoaded;
+
+  /// Time from the latest reattachment of the video surface to its first frame.
+  int? resumeTimeMs;
+}
+
+/// The value of a process-wide counter.
+class CounterMetric {
+  CounterMetric({required this.name, required this.value});
+
+  String name;
+  int value;
+}
+
+/// A summary of a process-wide histogram.
+///
+/// Latencies are in microseconds; percentiles are rounded up to a power of two.
+class HistogramMetric {
+  HistogramMetric({
+    required this.name,
+    required this.count,
+    required this.sum,
+    required this.max,
+    required this.p50,
+    required this.p90,
+    required this.p99,
+  });
+
+  String name;
+  int count;
+  int sum;
+  int max;
+  int p50;
+  int p90;
+  int p99;
+}
+
+/// The process-wide metrics of the plugin.
+class MetricsSnapshot {
+  MetricsSnapshot({required this.counters, required this.histograms});
+
+  List<CounterMetric> counters;
+  List<HistogramMetric> histograms;
+}
+
 @HostApi(dartHostTestHandler: 'TestHostVideoPlayerApi')
 abstract class AndroidVideoPlayerApi {
   void initialize();
@@ -75,8 +199,11 @@ abstract class AndroidVideoPlayerApi {
   void setMixWithOthers(bool mixWithOthers);
 
   // Video caching API
-  String startDownload(String url);
+  @async
+  String startDownload(String url, int priority);
+  @async
   bool cancelDownload(String url);
+  @async
   bool removeDownload(String url);
   DownloadProgress getDownloadProgress(String url);
   String? getCachedVideoPath(String url);
@@ -87,4 +214,65 @@ abstract class AndroidVideoPlayerApi {
   bool enterPictureInPictureMode(int playerId);
   bool isPictureInPictureSupported();
   bool isInPictureInPictureMode(int playerId);
+
+  // Cache eviction API
+  void setMaxCacheSize(int maxBytes);
+  CacheStats getCacheStats();
+
+  // Batch caching API. Results are in the same order as the given URLs.
+  @async
+  List<String> startDownloads(List<String> urls, int priority);
+  @async
+  List<bool> cancelDownloads(List<String> urls);
+  List<DownloadProgress> getDownloadProgresses(List<String> urls);
+  List<DownloadState> getDownloadStates(List<String> urls);
+
+  // Streaming cache API
+  void setStreamingCache(bool enabled, int maxItemBytes);
+  PlayerCacheStats getPlayerCacheStats(int playerId);
+
+  // Prefetch API
+  @async
+  int prefetchHead(
+      String url, int durationMs, String? formatHint, int? maxBitrate);
+
+  // Player pool API
+  void setPlayerPoolSize(int maxIdlePlayers);
+  PlayerPoolStats getPlayerPoolStats();
+
+  // Shared playback resources API
+  void setSharedPlaybackResources(bool enabled, int totalBufferBytes);
+
+  // Position update API
+  void setPositionUpdateInterval(int playerId, int intervalMs);
+
+  // Event queue API
+  PlayerEventStats getPlayerEventStats(int playerId);
+
+  // Preload API
+  bool preload(String url, String? formatHint, Map<String, String> httpHeaders,
+      int durationMs);
+
+  // Playlist API
+  void addPlaylistItem(int playerId, String uri, String? formatHint,
+      Map<String, String> httpHeaders);
+  void removePlaylistItem(int playerId, int index);
+
+  // Playback stats API
+  PlaybackStats getPlaybackStats(int playerId);
+
+  // Metrics API
+  MetricsSnapshot getMetricsSnapshot();
+
+  // HTTP engine API
+  void setHttpEngine(bool pooled, int maxIdleConnections);
+
+  // Chunked download API
+  void setDownloadChunking(int chunkBytes, int parallelism);
+
+  // Download priority API
+  bool setDownloadPriority(String url, int priority);
+
+  // Download throttling API
+  void setDownloadThrottling(bool enabled, int minBufferMs);
 }
@@ -2,6 +2,8 @@
 // Use of this source code is governed by a BSD-style license that can be
 // found in the LICENSE file.
 
+import 'dart:typed_data';
+
 import 'package:flutter/services.dart';
 import 'package:flutter/widgets.dart';
 import 'package:flutter_test/flutter_test.dart';
@@ -15,8 +17,20 @@ import 'test_api.g.dart';
 class _ApiLogger implements TestHostVideoPlayerApi {
   final List<String> log = <String>[];
   int? passedPlayerId;
+  List<Object?>? passedPrefetch;
+  List<Object?>? passedPreload;
+  List<Object?>? passedPlaylistItem;
+  int? passedPoolSize;
+  List<Object?>? passedSharedResources;
+  List<Object?>? passedHttpEngine;
+  List<Object?>? passedDownloadChunking;
+  int? passedDownloadPriority;
+  List<Object?>? passedDownloadThrottling;
+  messages.DownloadState downloadState = messages.DownloadState.initial;
+  void Function()? onGetDownloadState;
   messages.CreateMessage? passedCreateMessage;
   int? passedPosition;
+  int? passedPositionUpdateInterval;
   bool? passedLooping;
   double? passedVolume;
   double? passedPlaybackSpeed;
@@ -94,7 +108,7 @@ class _ApiLogger implements TestHostVideoPlayerApi {
   }
 
   @override
-  bool cancelDownload(String url) {
+  Future<bool> cancelDownload(String url) {
     // TODO: implement cancelDownload
     throw UnimplementedError();
   }
@@ -112,27 +126,29 @@ class _ApiLogger implements TestHostVideoPlayerApi {
   }
 
   @override
-  bool removeDownload(String url) {
+  Future<bool> removeDownload(String url) {
     // TODO: implement removeDownload
     throw UnimplementedError();
   }
 
   @override
-  String startDownload(String url) {
+  Future<String> startDownload(String url, int priority) {
     // TODO: implement startDownload
     throw UnimplementedError();
   }
 
   @override
   messages.DownloadProgress getDownloadProgress(String url) {
-    // TODO: implement getDownloadProgress
-    throw UnimplementedError();
+    log.add('getDownloadProgress');
+    return messages.DownloadProgress(
+        url: url, progress: 0.5, bytesDownloaded: 50);
   }
-  
+
   @override
   messages.DownloadState getDownloadState(String url) {
-    // TODO: implement getDownloadState
-    throw UnimplementedError();
+    log.add('getDownloadState');
+    onGetDownloadState?.call();
+    return downloadState;
   }
   
   @override
@@ -152,6 +168,195 @@ class _ApiLogger implements TestHostVideoPlayerApi {
     // TODO: implement isPictureInPictureSupported
     throw UnimplementedError();
   }
+
+  @override
+  void setMaxCacheSize(int maxBytes) {
+    log.add('setMaxCacheSize');
+  }
+
+  @override
+  messages.CacheStats getCacheStats() {
+    log.add('getCacheStats');
+    return messages.CacheStats(
+      cachedBytes: 0,
+      maxBytes: 0,
+      effectiveMaxBytes: 0,
+      hitCount: 0,
+      missCount: 0,
+      evictedBytes: 0,
+      evictedSpanCount: 0,
+    );
+  }
+
+  @override
+  void setStreamingCache(bool enabled, int maxItemBytes) {
+    log.add('setStreamingCache');
+  }
+
+  @override
+  messages.PlayerCacheStats getPlayerCacheStats(int playerId) {
+    log.add('getPlayerCacheStats');
+    passedPlayerId = playerId;
+    return messages.PlayerCacheStats(cachedBytesRead: 30, networkBytesRead: 70);
+  }
+
+  @override
+  Future<int> prefetchHead(
+      String url, int durationMs, String? formatHint, int? maxBitrate) async {
+    log.add('prefetchHead');
+    passedPrefetch = <Object?>[url, durationMs, formatHint, maxBitrate];
+    return 1024;
+  }
+
+  @override
+  bool preload(String url, String? formatHint, Map<String, String> httpHeaders,
+      int durationMs) {
+    log.add('preload');
+    passedPreload = <Object?>[url, formatHint, httpHeaders, durationMs];
+    return true;
+  }
+
+  @override
+  void addPlaylistItem(int playerId, String uri, String? formatHint,
+      Map<String, String> httpHeaders) {
+    log.add('addPlaylistItem');
+    passedPlaylistItem = <Object?>[playerId, uri, formatHint, httpHeaders];
+  }
+
+  @override
+  void removePlaylistItem(int playerId, int index) {
+    log.add('removePlaylistItem');
+    passedPlaylistItem = <Object?>[playerId, index];
+  }
+
+  @override
+  messages.PlaybackStats getPlaybackStats(int playerId) {
+    log.add('getPlaybackStats');
+    passedPlayerId = playerId;
+    return messages.PlaybackStats(
+      timeToFirstFrameMs: 420,
+      rebufferCount: 2,
+      rebufferDurationMs: 1300,
+      droppedFrameCount: 7,
+      bitrateSwitchCount: 3,
+      bytesLoaded: 4096,
+      resumeTimeMs: 35,
+    );
+  }
+
+  @override
+  messages.MetricsSnapshot getMetricsSnapshot() {
+    log.add('getMetricsSnapshot');
+    return messages.MetricsSnapshot(
+      counters: <messages.CounterMetric>[
+        messages.CounterMetric(name: 'players.created', value: 3),
+      ],
+      histograms: <messages.HistogramMetric>[
+        messages.HistogramMetric(
+          name: 'pigeon.create',
+          count: 3,
+          sum: 2400,
+          max: 1500,
+          p50: 1023,
+          p90: 1500,
+          p99: 1500,
+        ),
+      ],
+    );
+  }
+
+  @override
+  void setHttpEngine(bool pooled, int maxIdleConnections) {
+    log.add('setHttpEngine');
+    passedHttpEngine = <Object?>[pooled, maxIdleConnections];
+  }
+
+  @override
+  void setDownloadChunking(int chunkBytes, int parallelism) {
+    log.add('setDownloadChunking');
+    passedDownloadChunking = <Object?>[chunkBytes, parallelism];
+  }
+
+  @override
+  bool setDownloadPriority(String url, int priority) {
+    log.add('setDownloadPriority');
+    passedDownloadPriority = priority;
+    return url == 'a';
+  }
+
+  @override
+  void setDownloadThrottling(bool enabled, int minBufferMs) {
+    log.add('setDownloadThrottling');
+    passedDownloadThrottling = <Object?>[enabled, minBufferMs];
+  }
+
+  @override
+  void setPlayerPoolSize(int maxIdlePlayers) {
+    log.add('setPlayerPoolSize');
+    passedPoolSize = maxIdlePlayers;
+  }
+
+  @override
+  messages.PlayerPoolStats getPlayerPoolStats() {
+    log.add('getPlayerPoolStats');
+    return messages.PlayerPoolStats(
+      hitCount: 3,
+      missCount: 1,
+      idleCount: 2,
+      averageCreationTimeUs: 40000,
+      creationTimeSavedUs: 120000,
+    );
+  }
+
+  @override
+  void setSharedPlaybackResources(bool enabled, int totalBufferBytes) {
+    log.add('setSharedPlaybackResources');
+    passedSharedResources = <Object?>[enabled, totalBufferBytes];
+  }
+
+  @override
+  messages.PlayerEventStats getPlayerEventStats(int playerId) {
+    log.add('getPlayerEventStats');
+    passedPlayerId = playerId;
+    return messages.PlayerEventStats(
+        droppedEventCount: 4, coalescedEventCount: 12);
+  }
+
+  @override
+  void setPositionUpdateInterval(int playerId, int intervalMs) {
+    log.add('setPositionUpdateInterval');
+    passedPlayerId = playerId;
+    passedPositionUpdateInterval = intervalMs;
+  }
+
+  @override
+  Future<List<String>> startDownloads(List<String> urls, int priority) async {
+    log.add('startDownloads');
+    passedDownloadPriority = priority;
+    return urls;
+  }
+
+  @override
+  Future<List<bool>> cancelDownloads(List<String> urls) async {
+    log.add('cancelDownloads');
+    return List<bool>.filled(urls.length, false);
+  }
+
+  @override
+  List<messages.DownloadProgress> getDownloadProgresses(List<String> urls) {
+    log.add('getDownloadProgresses');
+    return <messages.DownloadProgress>[
+      for (final String url in urls)
+        messages.DownloadProgress(url: url, progress: 0, bytesDownloaded: 0),
+    ];
+  }
+
+  @override
+  List<messages.DownloadState> getDownloadStates(List<String> urls) {
+    log.add('getDownloadStates');
+    return List<messages.DownloadState>.filled(
+        urls.length, messages.DownloadState.initial);
+  }
 }
 
 void main() {
@@ -437,6 +642,15 @@ void main() {
       expect(position, const Duration(milliseconds: 234));
     });
 
+    test('setPositionUpdateInterval', () async {
+      final bool supported = await player.setPositionUpdateInterval(
+          1, const Duration(milliseconds: 250));
+      expect(log.log.last, 'setPositionUpdateInterval');
+      expect(log.passedPlayerId, 1);
+      expect(log.passedPositionUpdateInterval, 250);
+      expect(supported, isTrue);
+    });
+
     test('videoEventsFor', () async {
       const String mockChannel = 'flutter.io/videoPlayer/videoEvents123';
       TestDefaultBinaryMessengerBinding.instance.defaultBinaryMessenger
@@ -451,12 +665,25 @@ void main() {
                 .handlePlatformMessage(
                     mockChannel,
                     const StandardMethodCodec()
-                        .encodeSuccessEnvelope(<String, dynamic>{
-                      'event': 'initialized',
-                      'duration': 98765,
-                      'width': 1920,
-                      'height': 1080,
-                    }),
+                        .encodeSuccessEnvelope((_EventWriter(0)
+                          ..int32(1920)
+                          ..int32(1080)
+                          ..int64(98765)
+                          ..int32(0))
+                        .toBytes()),
+                    (ByteData? data) {});
+
+            await TestDefaultBinaryMessengerBinding
+                .instance.defaultBinaryMessenger
+                .handlePlatformMessage(
+                    mockChannel,
+                    const StandardMethodCodec()
+                        .encodeSuccessEnvelope((_EventWriter(0)
+                          ..int32(1920)
+                          ..int32(1080)
+                          ..int64(98765)
+                          ..int32(180))
+                        .toBytes()),
                     (ByteData? data) {});
 
             await TestDefaultBinaryMessengerBinding
@@ -464,13 +691,7 @@ void main() {
                 .handlePlatformMessage(
                     mockChannel,
                     const StandardMethodCodec()
-                        .encodeSuccessEnvelope(<String, dynamic>{
-                      'event': 'initialized',
-                      'duration': 98765,
-                      'width': 1920,
-                      'height': 1080,
-                      'rotationCorrection': 180,
-                    }),
+                        .encodeSuccessEnvelope(_EventWriter(1).toBytes()),
                     (ByteData? data) {});
 
             await TestDefaultBinaryMessengerBinding
@@ -478,9 +699,13 @@ void main() {
                 .handlePlatformMessage(
                     mockChannel,
                     const StandardMethodCodec()
-                        .encodeSuccessEnvelope(<String, dynamic>{
-                      'event': 'completed',
-                    }),
+                        .encodeSuccessEnvelope((_EventWriter(2)
+                          ..int32(2)
+                          ..int64(0)
+                          ..int64(1234)
+                          ..int64(1235)
+                          ..int64(4000))
+                        .toBytes()),
                     (ByteData? data) {});
 
             await TestDefaultBinaryMessengerBinding
@@ -488,13 +713,7 @@ void main() {
                 .handlePlatformMessage(
                     mockChannel,
                     const StandardMethodCodec()
-                        .encodeSuccessEnvelope(<String, dynamic>{
-                      'event': 'bufferingUpdate',
-                      'values': <List<dynamic>>[
-                        <int>[0, 1234],
-                        <int>[1235, 4000],
-                      ],
-                    }),
+                        .encodeSuccessEnvelope(_EventWriter(3).toBytes()),
                     (ByteData? data) {});
 
             await TestDefaultBinaryMessengerBinding
@@ -502,9 +721,7 @@ void main() {
                 .handlePlatformMessage(
                     mockChannel,
                     const StandardMethodCodec()
-                        .encodeSuccessEnvelope(<String, dynamic>{
-                      'event': 'bufferingStart',
-                    }),
+                        .encodeSuccessEnvelope(_EventWriter(4).toBytes()),
                     (ByteData? data) {});
 
             await TestDefaultBinaryMessengerBinding
@@ -512,9 +729,7 @@ void main() {
                 .handlePlatformMessage(
                     mockChannel,
                     const StandardMethodCodec()
-                        .encodeSuccessEnvelope(<String, dynamic>{
-                      'event': 'bufferingEnd',
-                    }),
+                        .encodeSuccessEnvelope((_EventWriter(5)..int8(1)).toBytes()),
                     (ByteData? data) {});
 
             await TestDefaultBinaryMessengerBinding
@@ -522,10 +737,7 @@ void main() {
                 .handlePlatformMessage(
                     mockChannel,
                     const StandardMethodCodec()
-                        .encodeSuccessEnvelope(<String, dynamic>{
-                      'event': 'isPlayingStateUpdate',
-                      'isPlaying': true,
-                    }),
+                        .encodeSuccessEnvelope((_EventWriter(5)..int8(0)).toBytes()),
                     (ByteData? data) {});
 
             await TestDefaultBinaryMessengerBinding
@@ -533,10 +745,23 @@ void main() {
                 .handlePlatformMessage(
                     mockChannel,
                     const StandardMethodCodec()
-                        .encodeSuccessEnvelope(<String, dynamic>{
-                      'event': 'isPlayingStateUpdate',
-                      'isPlaying': false,
-                    }),
+                        .encodeSuccessEnvelope((_EventWriter(6)
+                          ..int64(1500)
+                          ..int32(1)
+                          ..int64(0)
+                          ..int64(3000))
+                        .toBytes()),
+                    (ByteData? data) {});
+
+            await TestDefaultBinaryMessengerBinding
+                .instance.defaultBinaryMessenger
+                .handlePlatformMessage(
+                    mockChannel,
+                    const StandardMethodCodec()
+                        .encodeSuccessEnvelope((_EventWriter(9)
+                          ..int32(1)
+                          ..int64(45000))
+                        .toBytes()),
                     (ByteData? data) {});
 
             return const StandardMethodCodec().encodeSuccessEnvelope(null);
@@ -585,7 +810,317 @@ void main() {
               eventType: VideoEventType.isPlayingStateUpdate,
               isPlaying: false,
             ),
+            VideoEvent(
+              eventType: VideoEventType.positionUpdate,
+              position: const Duration(milliseconds: 1500),
+              buffered: <DurationRange>[
+                DurationRange(
+                  Duration.zero,
+                  const Duration(milliseconds: 3000),
+                ),
+              ],
+            ),
+            VideoEvent(
+              eventType: VideoEventType.playlistItemChanged,
+              playlistIndex: 1,
+              duration: const Duration(milliseconds: 45000),
+            ),
           ]));
     });
   });
+
+  group('$AndroidVideoCacheManager', () {
+    final AndroidVideoCacheManager cacheManager =
+        AndroidVideoCacheManager.instance;
+    late _ApiLogger log;
+
+    setUp(() {
+      log = _ApiLogger();
+      TestHostVideoPlayerApi.setUp(log);
+    });
+
+    test('startDownloads', () async {
+      final List<String> ids =
+          await cacheManager.startDownloads(<String>['a', 'b']);
+      expect(log.log.last, 'startDownloads');
+      expect(ids, <String>['a', 'b']);
+      expect(log.passedDownloadPriority, DownloadPriority.background.index);
+
+      await cacheManager.startDownloads(<String>['a'],
+          priority: DownloadPriority.visible);
+      expect(log.passedDownloadPriority, DownloadPriority.visible.index);
+    });
+
+    test('setDownloadPriority', () async {
+      expect(
+          await cacheManager.setDownloadPriority('a', DownloadPriority.next),
+          true);
+      expect(log.log.last, 'setDownloadPriority');
+      expect(log.passedDownloadPriority, DownloadPriority.next.index);
+      expect(
+          await cacheManager.setDownloadPriority('b', DownloadPriority.next),
+          false);
+    });
+
+    test('cancelDownloads', () async {
+      final List<bool> canceled =
+          await cacheManager.cancelDownloads(<String>['a', 'b']);
+      expect(log.log.last, 'cancelDownloads');
+      expect(canceled, <bool>[false, false]);
+    });
+
+    test('getDownloadProgresses', () async {
+      final List<DownloadProgress> progresses =
+          await cacheManager.getDownloadProgresses(<String>['a', 'b']);
+      expect(log.log.last, 'getDownloadProgresses');
+      expect(progresses.map((DownloadProgress p) => p.url),
+          <String>['a', 'b']);
+    });
+
+    group('getDownloadProgressStream', () {
+      MockStreamHandlerEventSink? progressSink;
+
+      setUp(() {
+        TestDefaultBinaryMessengerBinding.instance.defaultBinaryMessenger
+            .setMockStreamHandler(
+                const EventChannel('flutter.io/videoPlayer/downloadProgress'),
+                MockStreamHandler.inline(onListen:
+                    (Object? arguments, MockStreamHandlerEventSink events) {
+          progressSink = events;
+        }));
+      });
+
+      Map<String, Object> progressEvent(
+              String url, double progress, messages.DownloadState state) =>
+          <String, Object>{
+            'url': url,
+            'progress': progress,
+            'bytesDownloaded': (progress * 100).round(),
+            'state': state.index,
+          };
+
+      test('is empty unless downloading', () async {
+        expect(await cacheManager.getDownloadProgressStream('a').toList(),
+            isEmpty);
+        expect(log.log, isNot(contains('getDownloadProgress')));
+      });
+
+      test('starts with the current progress', () async {
+        log.downloadState = messages.DownloadState.downloading;
+        final Stream<DownloadProgress> stream =
+            cacheManager.getDownloadProgressStream('a');
+        final Future<List<DownloadProgress>> progresses = stream.toList();
+        await pumpEventQueue();
+
+        progressSink!.success(
+            progressEvent('b', 0.7, messages.DownloadState.downloading));
+        progressSink!
+            .success(progressEvent('a', 1, messages.DownloadState.downloaded));
+
+        expect((await progresses).map((DownloadProgress p) => p.progress),
+            <double>[0.5, 1]);
+      });
+
+      test('keeps an update pushed while the state is read', () async {
+        log.downloadState = messages.DownloadState.downloading;
+        // The download completes between the state query and the progress
+        // query.
+        log.onGetDownloadState = () => progressSink!
+            .success(progressEvent('a', 1, messages.DownloadState.downloaded));
+
+        final List<DownloadProgress> progresses =
+            await cacheManager.getDownloadProgressStream('a').toList();
+
+        expect(progresses.last.progress, 1);
+        expect(progresses.last.bytesDownloaded, 100);
+      });
+    });
+
+    test('getPlayerCacheStats', () async {
+      final PlayerCacheStats stats = await cacheManager.getPlayerCacheStats(1);
+      expect(log.log.last, 'getPlayerCacheStats');
+      expect(log.passedPlayerId, 1);
+      expect(stats.cachedBytesRead, 30);
+      expect(stats.networkBytesRead, 70);
+    });
+
+    test('getPlayerEventStats', () async {
+      final PlayerEventStats stats = await cacheManager.getPlayerEventStats(1);
+      expect(log.log.last, 'getPlayerEventStats');
+      expect(log.passedPlayerId, 1);
+      expect(stats.droppedEventCount, 4);
+      expect(stats.coalescedEventCount, 12);
+    });
+
+    test('prefetchHead', () async {
+      final int bytes = await cacheManager.prefetchHead(
+        'https://example.com/master.m3u8',
+        duration: const Duration(seconds: 2),
+        formatHint: VideoFormat.hls,
+        maxBitrate: 800000,
+      );
+      expect(log.log.last, 'prefetchHead');
+      expect(log.passedPrefetch, <Object?>[
+        'https://example.com/master.m3u8',
+        2000,
+        'hls',
+        800000,
+      ]);
+      expect(bytes, 1024);
+    });
+
+    test('preload', () async {
+      final bool preloaded = await cacheManager.preload(
+        'https://example.com/video.mp4',
+        duration: const Duration(seconds: 1),
+        httpHeaders: <String, String>{'Authorization': 'token'},
+      );
+      expect(log.log.last, 'preload');
+      expect(log.passedPreload, <Object?>[
+        'https://example.com/video.mp4',
+        null,
+        <String, String>{'Authorization': 'token'},
+        1000,
+      ]);
+      expect(preloaded, true);
+    });
+
+    test('addPlaylistItem', () async {
+      await cacheManager.addPlaylistItem(
+        1,
+        'https://example.com/next.m3u8',
+        formatHint: VideoFormat.hls,
+      );
+      expect(log.log.last, 'addPlaylistItem');
+      expect(log.passedPlaylistItem, <Object?>[
+        1,
+        'https://example.com/next.m3u8',
+        'hls',
+        <String, String>{},
+      ]);
+    });
+
+    test('removePlaylistItem', () async {
+      await cacheManager.removePlaylistItem(1, 2);
+      expect(log.log.last, 'removePlaylistItem');
+      expect(log.passedPlaylistItem, <Object?>[1, 2]);
+    });
+
+    test('getPlaybackStats', () async {
+      final PlaybackStats stats = await cacheManager.getPlaybackStats(1);
+      expect(log.log.last, 'getPlaybackStats');
+      expect(log.passedPlayerId, 1);
+      expect(stats.timeToFirstFrame, const Duration(milliseconds: 420));
+      expect(stats.joinLatency, isNull);
+      expect(stats.rebufferCount, 2);
+      expect(stats.rebufferDuration, const Duration(milliseconds: 1300));
+      expect(stats.droppedFrameCount, 7);
+      expect(stats.bitrateSwitchCount, 3);
+      expect(stats.bytesLoaded, 4096);
+      expect(stats.resumeTime, const Duration(milliseconds: 35));
+    });
+
+    test('getMetricsSnapshot', () async {
+      final VideoPlayerMetrics metrics =
+          await cacheManager.getMetricsSnapshot();
+      expect(log.log.last, 'getMetricsSnapshot');
+      expect(metrics.counters, <String, int>{'players.created': 3});
+      final MetricHistogram create = metrics.histograms['pigeon.create']!;
+      expect(create.count, 3);
+      expect(create.sum, 2400);
+      expect(create.max, 1500);
+      expect(create.p50, 1023);
+      expect(create.p99, 1500);
+    });
+
+    test('setPlayerPoolSize', () async {
+      await cacheManager.setPlayerPoolSize(4);
+      expect(log.log.last, 'setPlayerPoolSize');
+      expect(log.passedPoolSize, 4);
+    });
+
+    test('getPlayerPoolStats', () async {
+      final PlayerPoolStats stats = await cacheManager.getPlayerPoolStats();
+      expect(log.log.last, 'getPlayerPoolStats');
+      expect(stats.idleCount, 2);
+      expect(stats.hitRate, 0.75);
+      expect(stats.averageCreationTime, const Duration(milliseconds: 40));
+      expect(stats.creationTimeSaved, const Duration(milliseconds: 120));
+    });
+
+    test('setHttpEngine', () async {
+      await cacheManager.setHttpEngine(AndroidHttpEngine.pooled);
+      expect(log.log.last, 'setHttpEngine');
+      expect(log.passedHttpEngine, <Object?>[
+        true,
+        AndroidVideoCacheManager.defaultMaxIdleConnections,
+      ]);
+
+      await cacheManager.setHttpEngine(AndroidHttpEngine.platform);
+      expect(log.passedHttpEngine?.first, false);
+    });
+
+    test('setDownloadChunking', () async {
+      await cacheManager.setDownloadChunking();
+      expect(log.log.last, 'setDownloadChunking');
+      expect(log.passedDownloadChunking, <Object?>[
+        AndroidVideoCacheManager.defaultDownloadChunkBytes,
+        AndroidVideoCacheManager.defaultDownloadParallelism,
+      ]);
+
+      await cacheManager.setDownloadChunking(parallelism: 1);
+      expect(log.passedDownloadChunking?.last, 1);
+    });
+
+    test('setDownloadThrottling', () async {
+      await cacheManager.setDownloadThrottling(true);
+      expect(log.log.last, 'setDownloadThrottling');
+      expect(log.passedDownloadThrottling, <Object?>[
+        true,
+        AndroidVideoCacheManager.defaultThrottleMinBuffer.inMilliseconds,
+      ]);
+
+      await cacheManager.setDownloadThrottling(false,
+          minBuffer: const Duration(seconds: 4));
+      expect(log.passedDownloadThrottling, <Object?>[false, 4000]);
+    });
+
+    test('setSharedPlaybackResources', () async {
+      await cacheManager.setSharedPlaybackResources(true);
+      expect(log.log.last, 'setSharedPlaybackResources');
+      expect(log.passedSharedResources, <Object?>[
+        true,
+        AndroidVideoCacheManager.defaultSharedBufferBytes,
+      ]);
+    });
+
+    test('getDownloadStates', () async {
+      final List<DownloadState> states =
+          await cacheManager.getDownloadStates(<String>['a', 'b']);
+      expect(log.log.last, 'getDownloadStates');
+      expect(states, <DownloadState>[
+        DownloadState.initial,
+        DownloadState.initial,
+      ]);
+    });
+  });
+}
+
+/// Encodes an event the way VideoPlayerEventCallbacks.java does.
+class _EventWriter {
+  _EventWriter(int tag) {
+    int8(tag);
+  }
+
+  final BytesBuilder _bytes = BytesBuilder();
+
+  void int8(int value) => _bytes.addByte(value);
+
+  void int32(int value) => _bytes.add(
+      (ByteData(4)..setInt32(0, value, Endian.little)).buffer.asUint8List());
+
+  void int64(int value) => _bytes.add(
+      (ByteData(8)..setInt64(0, value, Endian.little)).buffer.asUint8List());
+
+  Uint8List toBytes() => _bytes.toBytes();
 }
@@ -36,6 +36,30 @@ class _PigeonCodec extends StandardMessageCodec {
     }    else if (value is DownloadProgress) {
       buffer.putUint8(133);
       writeValue(buffer, value.encode());
+    }    else if (value is CacheStats) {
+      buffer.putUint8(134);
+      writeValue(buffer, value.encode());
+    }    else if (value is PlayerCacheStats) {
+      buffer.putUint8(135);
+      writeValue(buffer, value.encode());
+    }    else if (value is PlayerPoolStats) {
+      buffer.putUint8(136);
+      writeValue(buffer, value.encode());
+    }    else if (value is PlayerEventStats) {
+      buffer.putUint8(137);
+      writeValue(buffer, value.encode());
+    }    else if (value is PlaybackStats) {
+      buffer.putUint8(138);
+      writeValue(buffer, value.encode());
+    }    else if (value is CounterMetric) {
+      buffer.putUint8(139);
+      writeValue(buffer, value.encode());
+    }    else if (value is HistogramMetric) {
+      buffer.putUint8(140);
+      writeValue(buffer, value.encode());
+    }    else if (value is MetricsSnapshot) {
+      buffer.putUint8(141);
+      writeValue(buffer, value.encode());
     } else {
       super.writeValue(buffer, value);
     }
@@ -56,6 +80,22 @@ class _PigeonCodec extends StandardMessageCodec {
         return CreateMessage.decode(readValue(buffer)!);
       case 133: 
         return DownloadProgress.decode(readValue(buffer)!);
+      case 134: 
+        return CacheStats.decode(readValue(buffer)!);
+      case 135: 
+        return PlayerCacheStats.decode(readValue(buffer)!);
+      case 136: 
+        return PlayerPoolStats.decode(readValue(buffer)!);
+      case 137: 
+        return PlayerEventStats.decode(readValue(buffer)!);
+      case 138: 
+        return PlaybackStats.decode(readValue(buffer)!);
+      case 139: 
+        return CounterMetric.decode(readValue(buffer)!);
+      case 140: 
+        return HistogramMetric.decode(readValue(buffer)!);
+      case 141: 
+        return MetricsSnapshot.decode(readValue(buffer)!);
       default:
         return super.readValueOfType(type, buffer);
     }
@@ -88,11 +128,11 @@ abstract class TestHostVideoPlayerApi {
 
   void setMixWithOthers(bool mixWithOthers);
 
-  String startDownload(String url);
+  Future<String> startDownload(String url, int priority);
 
-  bool cancelDownload(String url);
+  Future<bool> cancelDownload(String url);
 
-  bool removeDownload(String url);
+  Future<bool> removeDownload(String url);
 
   DownloadProgress getDownloadProgress(String url);
 
@@ -108,6 +148,52 @@ abstract class TestHostVideoPlayerApi {
 
   bool isInPictureInPictureMode(int playerId);
 
+  void setMaxCacheSize(int maxBytes);
+
+  CacheStats getCacheStats();
+
+  Future<List<String>> startDownloads(List<String> urls, int priority);
+
+  Future<List<bool>> cancelDownloads(List<String> urls);
+
+  List<DownloadProgress> getDownloadProgresses(List<String> urls);
+
+  List<DownloadState> getDownloadStates(List<String> urls);
+
+  void setStreamingCache(bool enabled, int maxItemBytes);
+
+  PlayerCacheStats getPlayerCacheStats(int playerId);
+
+  Future<int> prefetchHead(String url, int durationMs, String? formatHint, int? maxBitrate);
+
+  void setPlayerPoolSize(int maxIdlePlayers);
+
+  PlayerPoolStats getPlayerPoolStats();
+
+  void setSharedPlaybackResources(bool enabled, int totalBufferBytes);
+
+  void setPositionUpdateInterval(int playerId, int intervalMs);
+
+  PlayerEventStats getPlayerEventStats(int playerId);
+
+  bool preload(String url, String? formatHint, Map<String, String> httpHeaders, int durationMs);
+
+  void addPlaylistItem(int playerId, String uri, String? formatHint, Map<String, String> httpHeaders);
+
+  void removePlaylistItem(int playerId, int index);
+
+  PlaybackStats getPlaybackStats(int playerId);
+
+  MetricsSnapshot getMetricsSnapshot();
+
+  void setHttpEngine(bool pooled, int maxIdleConnections);
+
+  void setDownloadChunking(int chunkBytes, int parallelism);
+
+  bool setDownloadPriority(String url, int priority);
+
+  void setDownloadThrottling(bool enabled, int minBufferMs);
+
   static void setUp(TestHostVideoPlayerApi? api, {BinaryMessenger? binaryMessenger, String messageChannelSuffix = '',}) {
     messageChannelSuffix = messageChannelSuffix.isNotEmpty ? '.$messageChannelSuffix' : '';
     {
@@ -405,8 +491,11 @@ abstract class TestHostVideoPlayerApi {
           final String? arg_url = (args[0] as String?);
           assert(arg_url != null,
               'Argument for dev.flutter.pigeon.video_player_android.AndroidVideoPlayerApi.startDownload was null, expected non-null String.');
+          final int? arg_priority = (args[1] as int?);
+          assert(arg_priority != null,
+              'Argument for dev.flutter.pigeon.video_player_android.AndroidVideoPlayerApi.startDownload was null, expected non-null int.');
           try {
-            final String output = api.startDownload(arg_url!);
+            final String output = await api.startDownload(arg_url!, arg_priority!);
             return <Object?>[output];
           } on PlatformException catch (e) {
             return wrapResponse(error: e);
@@ -431,7 +520,7 @@ abstract class TestHostVideoPlayerApi {
           assert(arg_url != null,
               'Argument for dev.flutter.pigeon.video_player_android.AndroidVideoPlayerApi.cancelDownload was null, expected non-null String.');
           try {
-            final bool output = api.cancelDownload(arg_url!);
+            final bool output = await api.cancelDownload(arg_url!);
             return <Object?>[output];
           } on PlatformException catch (e) {
             return wrapResponse(error: e);
@@ -456,7 +545,7 @@ abstract class TestHostVideoPlayerApi {
           assert(arg_url != null,
               'Argument for dev.flutter.pigeon.video_player_android.AndroidVideoPlayerApi.removeDownload was null, expected non-null String.');
           try {
-            final bool output = api.removeDownload(arg_url!);
+            final bool output = await api.removeDownload(arg_url!);
             return <Object?>[output];
           } on PlatformException catch (e) {
             return wrapResponse(error: e);
@@ -629,5 +718,608 @@ abstract class TestHostVideoPlayerApi {
         });
       }
     }
+    {
+      final BasicMessageChannel<Object?> pigeonVar_channel = BasicMessageChannel<Object?>(
+          'dev.flutter.pigeon.video_player_android.AndroidVideoPlayerApi.setMaxCacheSize$messageChannelSuffix', pigeonChannelCodec,
+          binaryMessenger: binaryMessenger);
+      if (api == null) {
+        _testBinaryMessengerBinding!.defaultBinaryMessenger.setMockDecodedMessageHandler<Object?>(pigeonVar_channel, null);
+      } else {
+        _testBinaryMessengerBinding!.defaultBinaryMessenger.setMockDecodedMessageHandler<Object?>(pigeonVar_channel, (Object? message) async {
+          assert(message != null,
+          'Argument for dev.flutter.pigeon.video_player_android.AndroidVideoPlayerApi.setMaxCacheSize was null.');
+          final List<Object?> args = (message as List<Object?>?)!;
+          final int? arg_maxBytes = (args[0] as int?);
+          assert(arg_maxBytes != null,
+              'Argument for dev.flutter.pigeon.video_player_android.AndroidVideoPlayerApi.setMaxCacheSize was null, expected non-null int.');
+          try {
+            api.setMaxCacheSize(arg_maxBytes!);
+            return wrapResponse(empty: true);
+          } on PlatformException catch (e) {
+            return wrapResponse(error: e);
+          }          catch (e) {
+            return wrapResponse(error: PlatformException(code: 'error', message: e.toString()));
+          }
+        });
+      }
+    }
+    {
+      final BasicMessageChannel<Object?> pigeonVar_channel = BasicMessageChannel<Object?>(
+          'dev.flutter.pigeon.video_player_android.AndroidVideoPlayerApi.getCacheStats$messageChannelSuffix', pigeonChannelCodec,
+          binaryMessenger: binaryMessenger);
+      if (api == null) {
+        _testBinaryMessengerBinding!.defaultBinaryMessenger.setMockDecodedMessageHandler<Object?>(pigeonVar_channel, null);
+      } else {
+        _testBinaryMessengerBinding!.defaultBinaryMessenger.setMockDecodedMessageHandler<Object?>(pigeonVar_channel, (Object? message) async {
+          try {
+            final CacheStats output = api.getCacheStats();
+            return <Object?>[output];
+          } on PlatformException catch (e) {
+            return wrapResponse(error: e);
+          }          catch (e) {
+            return wrapResponse(error: PlatformException(code: 'error', message: e.toString()));
+          }
+        });
+      }
+    }
+    {
+      final BasicMessageChannel<Object?> pigeonVar_channel = BasicMessageChannel<Object?>(
+          'dev.flutter.pigeon.video_player_android.AndroidVideoPlayerApi.startDownloads$messageChannelSuffix', pigeonChannelCodec,
+          binaryMessenger: binaryMessenger);
+      if (api == null) {
+        _testBinaryMessengerBinding!.defaultBinaryMessenger.setMockDecodedMessageHandler<Object?>(pigeonVar_channel, null);
+      } else {
+        _testBinaryMessengerBinding!.defaultBinaryMessenger.setMockDecodedMessageHandler<Object?>(pigeonVar_channel, (Object? message) async {
+          assert(message != null,
+          'Argument for dev.flutter.pigeon.video_player_android.AndroidVideoPlayerApi.startDownloads was null.');
+          final List<Object?> args = (message as List<Object?>?)!;
+          final List<String>? arg_urls = (args[0] as List<Object?>?)?.cast<String>();
+          assert(arg_urls != null,
+              'Argument for dev.flutter.pigeon.video_player_android.AndroidVideoPlayerApi.startDownloads was null, expected non-null List<String>.');
+          final int? arg_priority = (args[1] as int?);
+          assert(arg_priority != null,
+              'Argument for dev.flutter.pigeon.video_player_android.AndroidVideoPlayerApi.startDownloads was null, expected non-null int.');
+          try {
+            final List<String> output = await api.startDownloads(arg_urls!, arg_priority!);
+            return <Object?>[output];
+          } on PlatformException catch (e) {
+            return wrapResponse(error: e);
+          }          catch (e) {
+            return wrapResponse(error: PlatformException(code: 'error', message: e.toString()));
+          }
+        });
+      }
+    }
+    {
+      final BasicMessageChannel<Object?> pigeonVar_channel = BasicMessageChannel<Object?>(
+          'dev.flutter.pigeon.video_player_android.AndroidVideoPlayerApi.cancelDownloads$messageChannelSuffix', pigeonChannelCodec,
+          binaryMessenger: binaryMessenger);
+      if (api == null) {
+        _testBinaryMessengerBinding!.defaultBinaryMessenger.setMockDecodedMessageHandler<Object?>(pigeonVar_channel, null);
+      } else {
+        _testBinaryMessengerBinding!.defaultBinaryMessenger.setMockDecodedMessageHandler<Object?>(pigeonVar_channel, (Object? message) async {
+          assert(message != null,
+          'Argument for dev.flutter.pigeon.video_player_android.AndroidVideoPlayerApi.cancelDownloads was null.');
+          final List<Object?> args = (message as List<Object?>?)!;
+          final List<String>? arg_urls = (args[0] as List<Object?>?)?.cast<String>();
+          assert(arg_urls != null,
+              'Argument for dev.flutter.pigeon.video_player_android.AndroidVideoPlayerApi.cancelDownloads was null, expected non-null List<String>.');
+          try {
+            final List<bool> output = await api.cancelDownloads(arg_urls!);
+            return <Object?>[output];
+          } on PlatformException catch (e) {
+            return wrapResponse(error: e);
+          }          catch (e) {
+            return wrapResponse(error: PlatformException(code: 'error', message: e.toString()));
+          }
+        });
+      }
+    }
+    {
+      final BasicMessageChannel<Object?> pigeonVar_channel = BasicMessageChannel<Object?>(
+          'dev.flutter.pigeon.video_player_android.AndroidVideoPlayerApi.getDownloadProgresses$messageChannelSuffix', pigeonChannelCodec,
+          binaryMessenger: binaryMessenger);
+      if (api == null) {
+        _testBinaryMessengerBinding!.defaultBinaryMessenger.setMockDecodedMessageHandler<Object?>(pigeonVar_channel, null);
+      } else {
+        _testBinaryMessengerBinding!.defaultBinaryMessenger.setMockDecodedMessageHandler<Object?>(pigeonVar_channel, (Object? message) async {
+          assert(message != null,
+          'Argument for dev.flutter.pigeon.video_player_android.AndroidVideoPlayerApi.getDownloadProgresses was null.');
+          final List<Object?> args = (message as List<Object?>?)!;
+          final List<String>? arg_urls = (args[0] as List<Object?>?)?.cast<String>();
+          assert(arg_urls != null,
+              'Argument for dev.flutter.pigeon.video_player_android.AndroidVideoPlayerApi.getDownloadProgresses was null, expected non-null List<String>.');
+          try {
+            final List<DownloadProgress> output = api.getDownloadProgresses(arg_urls!);
+            return <Object?>[output];
+          } on PlatformException catch (e) {
+            return wrapResponse(error: e);
+          }          catch (e) {
+            return wrapResponse(error: PlatformException(code: 'error', message: e.toString()));
+          }
+        });
+      }
+    }
+    {
+      final BasicMessageChannel<Object?> pigeonVar_channel = BasicMessageChannel<Object?>(
+          'dev.flutter.pigeon.video_player_android.AndroidVideoPlayerApi.getDownloadStates$messageChannelSuffix', pigeonChannelCodec,
+          binaryMessenger: binaryMessenger);
+      if (api == null) {
+        _testBinaryMessengerBinding!.defaultBinaryMessenger.setMockDecodedMessageHandler<Object?>(pigeonVar_channel, null);
+      } else {
+        _testBinaryMessengerBinding!.defaultBinaryMessenger.setMockDecodedMessageHandler<Object?>(pigeonVar_channel, (Object? message) async {
+          assert(message != null,
+          'Argument for dev.flutter.pigeon.video_player_android.AndroidVideoPlayerApi.getDownloadStates was null.');
+          final List<Object?> args = (message as List<Object?>?)!;
+          final List<String>? arg_urls = (args[0] as List<Object?>?)?.cast<String>();
+          assert(arg_urls != null,
+              'Argument for dev.flutter.pigeon.video_player_android.AndroidVideoPlayerApi.getDownloadStates was null, expected non-null List<String>.');
+          try {
+            final List<DownloadState> output = api.getDownloadStates(arg_urls!);
+            return <Object?>[output];
+          } on PlatformException catch (e) {
+            return wrapResponse(error: e);
+          }          catch (e) {
+            return wrapResponse(error: PlatformException(code: 'error', message: e.toString()));
+          }
+        });
+      }
+    }
+    {
+      final BasicMessageChannel<Object?> pigeonVar_channel = BasicMessageChannel<Object?>(
+          'dev.flutter.pigeon.video_player_android.AndroidVideoPlayerApi.setStreamingCache$messageChannelSuffix', pigeonChannelCodec,
+          binaryMessenger: binaryMessenger);
+      if (api == null) {
+        _testBinaryMessengerBinding!.defaultBinaryMessenger.setMockDecodedMessageHandler<Object?>(pigeonVar_channel, null);
+      } else {
+        _testBinaryMessengerBinding!.defaultBinaryMessenger.setMockDecodedMessageHandler<Object?>(pigeonVar_channel, (Object? message) async {
+          assert(message != null,
+          'Argument for dev.flutter.pigeon.video_player_android.AndroidVideoPlayerApi.setStreamingCache was null.');
+          final List<Object?> args = (message as List<Object?>?)!;
+          final bool? arg_enabled = (args[0] as bool?);
+          assert(arg_enabled != null,
+              'Argument for dev.flutter.pigeon.video_player_android.AndroidVideoPlayerApi.setStreamingCache was null, expected non-null bool.');
+          final int? arg_maxItemBytes = (args[1] as int?);
+          assert(arg_maxItemBytes != null,
+              'Argument for dev.flutter.pigeon.video_player_android.AndroidVideoPlayerApi.setStreamingCache was null, expected non-null int.');
+          try {
+            api.setStreamingCache(arg_enabled!, arg_maxItemBytes!);
+            return wrapResponse(empty: true);
+          } on PlatformException catch (e) {
+            return wrapResponse(error: e);
+          }          catch (e) {
+            return wrapResponse(error: PlatformException(code: 'error', message: e.toString()));
+          }
+        });
+      }
+    }
+    {
+      final BasicMessageChannel<Object?> pigeonVar_channel = BasicMessageChannel<Object?>(
+          'dev.flutter.pigeon.video_player_android.AndroidVideoPlayerApi.getPlayerCacheStats$messageChannelSuffix', pigeonChannelCodec,
+          binaryMessenger: binaryMessenger);
+      if (api == null) {
+        _testBinaryMessengerBinding!.defaultBinaryMessenger.setMockDecodedMessageHandler<Object?>(pigeonVar_channel, null);
+      } else {
+        _testBinaryMessengerBinding!.defaultBinaryMessenger.setMockDecodedMessageHandler<Object?>(pigeonVar_channel, (Object? message) async {
+          assert(message != null,
+          'Argument for dev.flutter.pigeon.video_player_android.AndroidVideoPlayerApi.getPlayerCacheStats was null.');
+          final List<Object?> args = (message as List<Object?>?)!;
+          final int? arg_playerId = (args[0] as int?);
+          assert(arg_playerId != null,
+              'Argument for dev.flutter.pigeon.video_player_android.AndroidVideoPlayerApi.getPlayerCacheStats was null, expected non-null int.');
+          try {
+            final PlayerCacheStats output = api.getPlayerCacheStats(arg_playerId!);
+            return <Object?>[output];
+          } on PlatformException catch (e) {
+            return wrapResponse(error: e);
+          }          catch (e) {
+            return wrapResponse(error: PlatformException(code: 'error', message: e.toString()));
+          }
+        });
+      }
+    }
+    {
+      final BasicMessageChannel<Object?> pigeonVar_channel = BasicMessageChannel<Object?>(
+          'dev.flutter.pigeon.video_player_android.AndroidVideoPlayerApi.prefetchHead$messageChannelSuffix', pigeonChannelCodec,
+          binaryMessenger: binaryMessenger);
+      if (api == null) {
+        _testBinaryMessengerBinding!.defaultBinaryMessenger.setMockDecodedMessageHandler<Object?>(pigeonVar_channel, null);
+      } else {
+        _testBinaryMessengerBinding!.defaultBinaryMessenger.setMockDecodedMessageHandler<Object?>(pigeonVar_channel, (Object? message) async {
+          assert(message != null,
+          'Argument for dev.flutter.pigeon.video_player_android.AndroidVideoPlayerApi.prefetchHead was null.');
+          final List<Object?> args = (message as List<Object?>?)!;
+          final String? arg_url = (args[0] as String?);
+          assert(arg_url != null,
+              'Argument for dev.flutter.pigeon.video_player_android.AndroidVideoPlayerApi.prefetchHead was null, expected non-null String.');
+          final int? arg_durationMs = (args[1] as int?);
+          assert(arg_durationMs != null,
+              'Argument for dev.flutter.pigeon.video_player_android.AndroidVideoPlayerApi.prefetchHead was null, expected non-null int.');
+          final String? arg_formatHint = (args[2] as String?);
+          final int? arg_maxBitrate = (args[3] as int?);
+          try {
+            final int output = await api.prefetchHead(arg_url!, arg_durationMs!, arg_formatHint, arg_maxBitrate);
+            return <Object?>[output];
+          } on PlatformException catch (e) {
+            return wrapResponse(error: e);
+          }          catch (e) {
+            return wrapResponse(error: PlatformException(code: 'error', message: e.toString()));
+          }
+        });
+      }
+    }
+    {
+      final BasicMessageChannel<Object?> pigeonVar_channel = BasicMessageChannel<Object?>(
+          'dev.flutter.pigeon.video_player_android.AndroidVideoPlayerApi.setPlayerPoolSize$messageChannelSuffix', pigeonChannelCodec,
+          binaryMessenger: binaryMessenger);
+      if (api == null) {
+        _testBinaryMessengerBinding!.defaultBinaryMessenger.setMockDecodedMessageHandler<Object?>(pigeonVar_channel, null);
+      } else {
+        _testBinaryMessengerBinding!.defaultBinaryMessenger.setMockDecodedMessageHandler<Object?>(pigeonVar_channel, (Object? message) async {
+          assert(message != null,
+          'Argument for dev.flutter.pigeon.video_player_android.AndroidVideoPlayerApi.setPlayerPoolSize was null.');
+          final List<Object?> args = (message as List<Object?>?)!;
+          final int? arg_maxIdlePlayers = (args[0] as int?);
+          assert(arg_maxIdlePlayers != null,
+              'Argument for dev.flutter.pigeon.video_player_android.AndroidVideoPlayerApi.setPlayerPoolSize was null, expected non-null int.');
+          try {
+            api.setPlayerPoolSize(arg_maxIdlePlayers!);
+            return wrapResponse(empty: true);
+          } on PlatformException catch (e) {
+            return wrapResponse(error: e);
+          }          catch (e) {
+            return wrapResponse(error: PlatformException(code: 'error', message: e.toString()));
+          }
+        });
+      }
+    }
+    {
+      final BasicMessageChannel<Object?> pigeonVar_channel = BasicMessageChannel<Object?>(
+          'dev.flutter.pigeon.video_player_android.AndroidVideoPlayerApi.getPlayerPoolStats$messageChannelSuffix', pigeonChannelCodec,
+          binaryMessenger: binaryMessenger);
+      if (api == null) {
+        _testBinaryMessengerBinding!.defaultBinaryMessenger.setMockDecodedMessageHandler<Object?>(pigeonVar_channel, null);
+      } else {
+        _testBinaryMessengerBinding!.defaultBinaryMessenger.setMockDecodedMessageHandler<Object?>(pigeonVar_channel, (Object? message) async {
+          try {
+            final PlayerPoolStats output = api.getPlayerPoolStats();
+            return <Object?>[output];
+          } on PlatformException catch (e) {
+            return wrapResponse(error: e);
+          }          catch (e) {
+            return wrapResponse(error: PlatformException(code: 'error', message: e.toString()));
+          }
+        });
+      }
+    }
+    {
+      final BasicMessageChannel<Object?> pigeonVar_channel = BasicMessageChannel<Object?>(
+          'dev.flutter.pigeon.video_player_android.AndroidVideoPlayerApi.setSharedPlaybackResources$messageChannelSuffix', pigeonChannelCodec,
+          binaryMessenger: binaryMessenger);
+      if (api == null) {
+        _testBinaryMessengerBinding!.defaultBinaryMessenger.setMockDecodedMessageHandler<Object?>(pigeonVar_channel, null);
+      } else {
+        _testBinaryMessengerBinding!.defaultBinaryMessenger.setMockDecodedMessageHandler<Object?>(pigeonVar_channel, (Object? message) async {
+          assert(message != null,
+          'Argument for dev.flutter.pigeon.video_player_android.AndroidVideoPlayerApi.setSharedPlaybackResources was null.');
+          final List<Object?> args = (message as List<Object?>?)!;
+          final bool? arg_enabled = (args[0] as bool?);
+          assert(arg_enabled != null,
+              'Argument for dev.flutter.pigeon.video_player_android.AndroidVideoPlayerApi.setSharedPlaybackResources was null, expected non-null bool.');
+          final int? arg_totalBufferBytes = (args[1] as int?);
+          assert(arg_totalBufferBytes != null,
+              'Argument for dev.flutter.pigeon.video_player_android.AndroidVideoPlayerApi.setSharedPlaybackResources was null, expected non-null int.');
+          try {
+            api.setSharedPlaybackResources(arg_enabled!, arg_totalBufferBytes!);
+            return wrapResponse(empty: true);
+          } on PlatformException catch (e) {
+            return wrapResponse(error: e);
+          }          catch (e) {
+            return wrapResponse(error: PlatformException(code: 'error', message: e.toString()));
+          }
+        });
+      }
+    }
+    {
+      final BasicMessageChannel<Object?> pigeonVar_channel = BasicMessageChannel<Object?>(
+          'dev.flutter.pigeon.video_player_android.AndroidVideoPlayerApi.setPositionUpdateInterval$messageChannelSuffix', pigeonChannelCodec,
+          binaryMessenger: binaryMessenger);
+      if (api == null) {
+        _testBinaryMessengerBinding!.defaultBinaryMessenger.setMockDecodedMessageHandler<Object?>(pigeonVar_channel, null);
+      } else {
+        _testBinaryMessengerBinding!.defaultBinaryMessenger.setMockDecodedMessageHandler<Object?>(pigeonVar_channel, (Object? message) async {
+          assert(message != null,
+          'Argument for dev.flutter.pigeon.video_player_android.AndroidVideoPlayerApi.setPositionUpdateInterval was null.');
+          final List<Object?> args = (message as List<Object?>?)!;
+          final int? arg_playerId = (args[0] as int?);
+          assert(arg_playerId != null,
+              'Argument for dev.flutter.pigeon.video_player_android.AndroidVideoPlayerApi.setPositionUpdateInterval was null, expected non-null int.');
+          final int? arg_intervalMs = (args[1] as int?);
+          assert(arg_intervalMs != null,
+              'Argument for dev.flutter.pigeon.video_player_android.AndroidVideoPlayerApi.setPositionUpdateInterval was null, expected non-null int.');
+          try {
+            api.setPositionUpdateInterval(arg_playerId!, arg_intervalMs!);
+            return wrapResponse(empty: true);
+          } on PlatformException catch (e) {
+            return wrapResponse(error: e);
+          }          catch (e) {
+            return wrapResponse(error: PlatformException(code: 'error', message: e.toString()));
+          }
+        });
+      }
+    }
+    {
+      final BasicMessageChannel<Object?> pigeonVar_channel = BasicMessageChannel<Object?>(
+          'dev.flutter.pigeon.video_player_android.AndroidVideoPlayerApi.getPlayerEventStats$messageChannelSuffix', pigeonChannelCodec,
+          binaryMessenger: binaryMessenger);
+      if (api == null) {
+        _testBinaryMessengerBinding!.defaultBinaryMessenger.setMockDecodedMessageHandler<Object?>(pigeonVar_channel, null);
+      } else {
+        _testBinaryMessengerBinding!.defaultBinaryMessenger.setMockDecodedMessageHandler<Object?>(pigeonVar_channel, (Object? message) async {
+          assert(message != null,
+          'Argument for dev.flutter.pigeon.video_player_android.AndroidVideoPlayerApi.getPlayerEventStats was null.');
+          final List<Object?> args = (message as List<Object?>?)!;
+          final int? arg_playerId = (args[0] as int?);
+          assert(arg_playerId != null,
+              'Argument for dev.flutter.pigeon.video_player_android.AndroidVideoPlayerApi.getPlayerEventStats was null, expected non-null int.');
+          try {
+            final PlayerEventStats output = api.getPlayerEventStats(arg_playerId!);
+            return <Object?>[output];
+          } on PlatformException catch (e) {
+            return wrapResponse(error: e);
+          }          catch (e) {
+            return wrapResponse(error: PlatformException(code: 'error', message: e.toString()));
+          }
+        });
+      }
+    }
+    {
+      final BasicMessageChannel<Object?> pigeonVar_channel = BasicMessageChannel<Object?>(
+          'dev.flutter.pigeon.video_player_android.AndroidVideoPlayerApi.preload$messageChannelSuffix', pigeonChannelCodec,
+          binaryMessenger: binaryMessenger);
+      if (api == null) {
+        _testBinaryMessengerBinding!.defaultBinaryMessenger.setMockDecodedMessageHandler<Object?>(pigeonVar_channel, null);
+      } else {
+        _testBinaryMessengerBinding!.defaultBinaryMessenger.setMockDecodedMessageHandler<Object?>(pigeonVar_channel, (Object? message) async {
+          assert(message != null,
+          'Argument for dev.flutter.pigeon.video_player_android.AndroidVideoPlayerApi.preload was null.');
+          final List<Object?> args = (message as List<Object?>?)!;
+          final String? arg_url = (args[0] as String?);
+          assert(arg_url != null,
+              'Argument for dev.flutter.pigeon.video_player_android.AndroidVideoPlayerApi.preload was null, expected non-null String.');
+          final String? arg_formatHint = (args[1] as String?);
+          final Map<String, String>? arg_httpHeaders = (args[2] as Map<Object?, Object?>?)?.cast<String, String>();
+          assert(arg_httpHeaders != null,
+              'Argument for dev.flutter.pigeon.video_player_android.AndroidVideoPlayerApi.preload was null, expected non-null Map<String, String>.');
+          final int? arg_durationMs = (args[3] as int?);
+          assert(arg_durationMs != null,
+              'Argument for dev.flutter.pigeon.video_player_android.AndroidVideoPlayerApi.preload was null, expected non-null int.');
+          try {
+            final bool output = api.preload(arg_url!, arg_formatHint, arg_httpHeaders!, arg_durationMs!);
+            return <Object?>[output];
+          } on PlatformException catch (e) {
+            return wrapResponse(error: e);
+          }          catch (e) {
+            return wrapResponse(error: PlatformException(code: 'error', message: e.toString()));
+          }
+        });
+      }
+    }
+    {
+      final BasicMessageChannel<Object?> pigeonVar_channel = BasicMessageChannel<Object?>(
+          'dev.flutter.pigeon.video_player_android.AndroidVideoPlayerApi.addPlaylistItem$messageChannelSuffix', pigeonChannelCodec,
+          binaryMessenger: binaryMessenger);
+      if (api == null) {
+        _testBinaryMessengerBinding!.defaultBinaryMessenger.setMockDecodedMessageHandler<Object?>(pigeonVar_channel, null);
+      } else {
+        _testBinaryMessengerBinding!.defaultBinaryMessenger.setMockDecodedMessageHandler<Object?>(pigeonVar_channel, (Object? message) async {
+          assert(message != null,
+          'Argument for dev.flutter.pigeon.video_player_android.AndroidVideoPlayerApi.addPlaylistItem was null.');
+          final List<Object?> args = (message as List<Object?>?)!;
+          final int? arg_playerId = (args[0] as int?);
+          assert(arg_playerId != null,
+              'Argument for dev.flutter.pigeon.video_player_android.AndroidVideoPlayerApi.addPlaylistItem was null, expected non-null int.');
+          final String? arg_uri = (args[1] as String?);
+          assert(arg_uri != null,
+              'Argument for dev.flutter.pigeon.video_player_android.AndroidVideoPlayerApi.addPlaylistItem was null, expected non-null String.');
+          final String? arg_formatHint = (args[2] as String?);
+          final Map<String, String>? arg_httpHeaders = (args[3] as Map<Object?, Object?>?)?.cast<String, String>();
+          assert(arg_httpHeaders != null,
+              'Argument for dev.flutter.pigeon.video_player_android.AndroidVideoPlayerApi.addPlaylistItem was null, expected non-null Map<String, String>.');
+          try {
+            api.addPlaylistItem(arg_playerId!, arg_uri!, arg_formatHint, arg_httpHeaders!);
+            return wrapResponse(empty: true);
+          } on PlatformException catch (e) {
+            return wrapResponse(error: e);
+          }          catch (e) {
+            return wrapResponse(error: PlatformException(code: 'error', message: e.toString()));
+          }
+        });
+      }
+    }
+    {
+      final BasicMessageChannel<Object?> pigeonVar_channel = BasicMessageChannel<Object?>(
+          'dev.flutter.pigeon.video_player_android.AndroidVideoPlayerApi.removePlaylistItem$messageChannelSuffix', pigeonChannelCodec,
+          binaryMessenger: binaryMessenger);
+      if (api == null) {
+        _testBinaryMessengerBinding!.defaultBinaryMessenger.setMockDecodedMessageHandler<Object?>(pigeonVar_channel, null);
+      } else {
+        _testBinaryMessengerBinding!.defaultBinaryMessenger.setMockDecodedMessageHandler<Object?>(pigeonVar_channel, (Object? message) async {
+          assert(message != null,
+          'Argument for dev.flutter.pigeon.video_player_android.AndroidVideoPlayerApi.removePlaylistItem was null.');
+          final List<Object?> args = (message as List<Object?>?)!;
+          final int? arg_playerId = (args[0] as int?);
+          assert(arg_playerId != null,
+              'Argument for dev.flutter.pigeon.video_player_android.AndroidVideoPlayerApi.removePlaylistItem was null, expected non-null int.');
+          final int? arg_index = (args[1] as int?);
+          assert(arg_index != null,
+              'Argument for dev.flutter.pigeon.video_player_android.AndroidVideoPlayerApi.removePlaylistItem was null, expected non-null int.');
+          try {
+            api.removePlaylistItem(arg_playerId!, arg_index!);
+            return wrapResponse(empty: true);
+          } on PlatformException catch (e) {
+            return wrapResponse(error: e);
+          }          catch (e) {
+            return wrapResponse(error: PlatformException(code: 'error', message: e.toString()));
+          }
+        });
+      }
+    }
+    {
+      final BasicMessageChannel<Object?> pigeonVar_channel = BasicMessageChannel<Object?>(
+          'dev.flutter.pigeon.video_player_android.AndroidVideoPlayerApi.getPlaybackStats$messageChannelSuffix', pigeonChannelCodec,
+          binaryMessenger: binaryMessenger);
+      if (api == null) {
+        _testBinaryMessengerBinding!.defaultBinaryMessenger.setMockDecodedMessageHandler<Object?>(pigeonVar_channel, null);
+      } else {
+        _testBinaryMessengerBinding!.defaultBinaryMessenger.setMockDecodedMessageHandler<Object?>(pigeonVar_channel, (Object? message) async {
+          assert(message != null,
+          'Argument for dev.flutter.pigeon.video_player_android.AndroidVideoPlayerApi.getPlaybackStats was null.');
+          final List<Object?> args = (message as List<Object?>?)!;
+          final int? arg_playerId = (args[0] as int?);
+          assert(arg_playerId != null,
+              'Argument for dev.flutter.pigeon.video_player_android.AndroidVideoPlayerApi.getPlaybackStats was null, expected non-null int.');
+          try {
+            final PlaybackStats output = api.getPlaybackStats(arg_playerId!);
+            return <Object?>[output];
+          } on PlatformException catch (e) {
+            return wrapResponse(error: e);
+          }          catch (e) {
+            return wrapResponse(error: PlatformException(code: 'error', message: e.toString()));
+          }
+        });
+      }
+    }
+    {
+      final BasicMessageChannel<Object?> pigeonVar_channel = BasicMessageChannel<Object?>(
+          'dev.flutter.pigeon.video_player_android.AndroidVideoPlayerApi.getMetricsSnapshot$messageChannelSuffix', pigeonChannelCodec,
+          binaryMessenger: binaryMessenger);
+      if (api == null) {
+        _testBinaryMessengerBinding!.defaultBinaryMessenger.setMockDecodedMessageHandler<Object?>(pigeonVar_channel, null);
+      } else {
+        _testBinaryMessengerBinding!.defaultBinaryMessenger.setMockDecodedMessageHandler<Object?>(pigeonVar_channel, (Object? message) async {
+          try {
+            final MetricsSnapshot output = api.getMetricsSnapshot();
+            return <Object?>[output];
+          } on PlatformException catch (e) {
+            return wrapResponse(error: e);
+          }          catch (e) {
+            return wrapResponse(error: PlatformException(code: 'error', message: e.toString()));
+          }
+        });
+      }
+    }
+    {
+      final BasicMessageChannel<Object?> pigeonVar_channel = BasicMessageChannel<Object?>(
+          'dev.flutter.pigeon.video_player_android.AndroidVideoPlayerApi.setHttpEngine$messageChannelSuffix', pigeonChannelCodec,
+          binaryMessenger: binaryMessenger);
+      if (api == null) {
+        _testBinaryMessengerBinding!.defaultBinaryMessenger.setMockDecodedMessageHandler<Object?>(pigeonVar_channel, null);
+      } else {
+        _testBinaryMessengerBinding!.defaultBinaryMessenger.setMockDecodedMessageHandler<Object?>(pigeonVar_channel, (Object? message) async {
+          assert(message != null,
+          'Argument for dev.flutter.pigeon.video_player_android.AndroidVideoPlayerApi.setHttpEngine was null.');
+          final List<Object?> args = (message as List<Object?>?)!;
+          final bool? arg_pooled = (args[0] as bool?);
+          assert(arg_pooled != null,
+              'Argument for dev.flutter.pigeon.video_player_android.AndroidVideoPlayerApi.setHttpEngine was null, expected non-null bool.');
+          final int? arg_maxIdleConnections = (args[1] as int?);
+          assert(arg_maxIdleConnections != null,
+              'Argument for dev.flutter.pigeon.video_player_android.AndroidVideoPlayerApi.setHttpEngine was null, expected non-null int.');
+          try {
+            api.setHttpEngine(arg_pooled!, arg_maxIdleConnections!);
+            return wrapResponse(empty: true);
+          } on PlatformException catch (e) {
+            return wrapResponse(error: e);
+          }          catch (e) {
+            return wrapResponse(error: PlatformException(code: 'error', message: e.toString()));
+          }
+        });
+      }
+    }
+    {
+      final BasicMessageChannel<Object?> pigeonVar_channel = BasicMessageChannel<Object?>(
+          'dev.flutter.pigeon.video_player_android.AndroidVideoPlayerApi.setDownloadChunking$messageChannelSuffix', pigeonChannelCodec,
+          binaryMessenger: binaryMessenger);
+      if (api == null) {
+        _testBinaryMessengerBinding!.defaultBinaryMessenger.setMockDecodedMessageHandler<Object?>(pigeonVar_channel, null);
+      } else {
+        _testBinaryMessengerBinding!.defaultBinaryMessenger.setMockDecodedMessageHandler<Object?>(pigeonVar_channel, (Object? message) async {
+          assert(message != null,
+          'Argument for dev.flutter.pigeon.video_player_android.AndroidVideoPlayerApi.setDownloadChunking was null.');
+          final List<Object?> args = (message as List<Object?>?)!;
+          final int? arg_chunkBytes = (args[0] as int?);
+          assert(arg_chunkBytes != null,
+              'Argument for dev.flutter.pigeon.video_player_android.AndroidVideoPlayerApi.setDownloadChunking was null, expected non-null int.');
+          final int? arg_parallelism = (args[1] as int?);
+          assert(arg_parallelism != null,
+              'Argument for dev.flutter.pigeon.video_player_android.AndroidVideoPlayerApi.setDownloadChunking was null, expected non-null int.');
+          try {
+            api.setDownloadChunking(arg_chunkBytes!, arg_parallelism!);
+            return wrapResponse(empty: true);
+          } on PlatformException catch (e) {
+            return wrapResponse(error: e);
+          }          catch (e) {
+            return wrapResponse(error: PlatformException(code: 'error', message: e.toString()));
+          }
+        });
+      }
+    }
+    {
+      final BasicMessageChannel<Object?> pigeonVar_channel = BasicMessageChannel<Object?>(
+          'dev.flutter.pigeon.video_player_android.AndroidVideoPlayerApi.setDownloadPriority$messageChannelSuffix', pigeonChannelCodec,
+          binaryMessenger: binaryMessenger);
+      if (api == null) {
+        _testBinaryMessengerBinding!.defaultBinaryMessenger.setMockDecodedMessageHandler<Object?>(pigeonVar_channel, null);
+      } else {
+        _testBinaryMessengerBinding!.defaultBinaryMessenger.setMockDecodedMessageHandler<Object?>(pigeonVar_channel, (Object? message) async {
+          assert(message != null,
+          'Argument for dev.flutter.pigeon.video_player_android.AndroidVideoPlayerApi.setDownloadPriority was null.');
+          final List<Object?> args = (message as List<Object?>?)!;
+          final String? arg_url = (args[0] as String?);
+          assert(arg_url != null,
+              'Argument for dev.flutter.pigeon.video_player_android.AndroidVideoPlayerApi.setDownloadPriority was null, expected non-null String.');
+          final int? arg_priority = (args[1] as int?);
+          assert(arg_priority != null,
+              'Argument for dev.flutter.pigeon.video_player_android.AndroidVideoPlayerApi.setDownloadPriority was null, expected non-null int.');
+          try {
+            final bool output = api.setDownloadPriority(arg_url!, arg_priority!);
+            return <Object?>[output];
+          } on PlatformException catch (e) {
+            return wrapResponse(error: e);
+          }          catch (e) {
+            return wrapResponse(error: PlatformException(code: 'error', message: e.toString()));
+          }
+        });
+      }
+    }
+    {
+      final BasicMessageChannel<Object?> pigeonVar_channel = BasicMessageChannel<Object?>(
+          'dev.flutter.pigeon.video_player_android.AndroidVideoPlayerApi.setDownloadThrottling$messageChannelSuffix', pigeonChannelCodec,
+          binaryMessenger: binaryMessenger);
+      if (api == null) {
+        _testBinaryMessengerBinding!.defaultBinaryMessenger.setMockDecodedMessageHandler<Object?>(pigeonVar_channel, null);
+      } else {
+        _testBinaryMessengerBinding!.defaultBinaryMessenger.setMockDecodedMessageHandler<Object?>(pigeonVar_channel, (Object? message) async {
+          assert(message != null,
+          'Argument for dev.flutter.pigeon.video_player_android.AndroidVideoPlayerApi.setDownloadThrottling was null.');
+          final List<Object?> args = (message as List<Object?>?)!;
+          final bool? arg_enabled = (args[0] as bool?);
+          assert(arg_enabled != null,
+              'Argument for dev.flutter.pigeon.video_player_android.AndroidVideoPlayerApi.setDownloadThrottling was null, expected non-null bool.');
+          final int? arg_minBufferMs = (args[1] as int?);
+          assert(arg_minBufferMs != null,
+              'Argument for dev.flutter.pigeon.video_player_android.AndroidVideoPlayerApi.setDownloadThrottling was null, expected non-null int.');
+          try {
+            api.setDownloadThrottling(arg_enabled!, arg_minBufferMs!);
+            return wrapResponse(empty: true);
+          } on PlatformException catch (e) {
+            return wrapResponse(error: e);
+          }          catch (e) {
+            return wrapResponse(error: PlatformException(code: 'error', message: e.toString()));
+          }
+        });
+      }
+    }
   }
 }
@@ -102,6 +102,16 @@ abstract class VideoPlayerPlatform extends PlatformInterface {
     throw UnimplementedError('getPosition() has not been implemented.');
   }
 
+  /// Asks the player with [playerId] to send [VideoEventType.positionUpdate]
+  /// events every [interval] while it is playing.
+  ///
+  /// Returns false if the platform does not send position updates, in which
+  /// case callers have to poll [getPosition]. A zero [interval] stops the
+  /// updates.
+  Future<bool> setPositionUpdateInterval(int playerId, Duration interval) {
+    return Future<bool>.value(false);
+  }
+
   /// Returns a widget displaying the video with a given playerId.
   @Deprecated('Use buildViewWithOptions() instead.')
   Widget buildView(int playerId) {
@@ -267,6 +277,8 @@ class VideoEvent {
     this.rotationCorrection,
     this.buffered,
     this.isPlaying,
+    this.position,
+    this.playlistIndex,
   });
 
   /// The type of the event.
@@ -274,7 +286,8 @@ class VideoEvent {
 
   /// Duration of the video.
   ///
-  /// Only used if [eventType] is [VideoEventType.initialized].
+  /// Only used if [eventType] is [VideoEventType.initialized] or
+  /// [VideoEventType.playlistItemChanged].
   final Duration? duration;
 
   /// Size of the video.
@@ -289,7 +302,8 @@ class VideoEvent {
 
   /// Buffered parts of the video.
   ///
-  /// Only used if [eventType] is [VideoEventType.bufferingUpdate].
+  /// Only used if [eventType] is [VideoEventType.bufferingUpdate] or
+  /// [VideoEventType.positionUpdate].
   final List<DurationRange>? buffered;
 
   /// Whether the video is currently playing.
@@ -297,6 +311,16 @@ class VideoEvent {
   /// Only used if [eventType] is [VideoEventType.isPlayingStateUpdate].
   final bool? isPlaying;
 
+  /// The current playback position.
+  ///
+  /// Only used if [eventType] is [VideoEventType.positionUpdate].
+  final Duration? position;
+
+  /// Index of the playlist item that is now playing.
+  ///
+  /// Only used if [eventType] is [VideoEventType.playlistItemChanged].
+  final int? playlistIndex;
+
   @override
   bool operator ==(Object other) {
     return identical(this, other) ||
@@ -307,7 +331,9 @@ class VideoEvent {
             size == other.size &&
             rotationCorrection == other.rotationCorrection &&
             listEquals(buffered, other.buffered) &&
-            isPlaying == other.isPlaying;
+            isPlaying == other.isPlaying &&
+            position == other.position &&
+            playlistIndex == other.playlistIndex;
   }
 
   @override
@@ -318,6 +344,8 @@ class VideoEvent {
         rotationCorrection,
         buffered,
         isPlaying,
+        position,
+        playlistIndex,
       );
 }
 
@@ -357,6 +385,17 @@ enum VideoEventType {
 
   /// The video has exited picture-in-picture mode.
   pipExited,
+
+  /// Updated playback position and buffered parts of a playing video.
+  ///
+  /// Only sent after [VideoPlayerPlatform.setPositionUpdateInterval] returned
+  /// true.
+  positionUpdate,
+
+  /// Playback moved to another item of the playlist.
+  ///
+  /// Only sent by platforms that queue several items in one player.
+  playlistItemChanged,
 }
 
 /// Describes a discrete segment of time within a video using a [start] and
@@ -22,4 +22,13 @@ void main() {
       throwsUnimplementedError,
     );
   });
+
+  test('default implementation setPositionUpdateInterval returns false',
+      () async {
+    expect(
+      await initialInstance.setPositionUpdateInterval(
+          1, const Duration(milliseconds: 100)),
+      isFalse,
+    );
+  });
 }